@@ -0,0 +1,12 @@
+package com.customworld.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active l'exécution des tâches planifiées (@Scheduled) de l'application.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -6,30 +6,52 @@ import com.customworld.dto.request.RegisterRequest;
 import com.customworld.dto.request.EmailRequest;
 import com.customworld.dto.response.ApiResponseWrapper;
 import com.customworld.dto.response.CategoryResponse;
+import com.customworld.dto.response.CursorPage;
+import com.customworld.dto.response.DeliveryResponse;
+import com.customworld.dto.response.LiveMetrics;
 import com.customworld.dto.response.OrderResponse;
+import com.customworld.dto.response.OrphanFileReport;
 import com.customworld.dto.response.ProductResponse;
+import com.customworld.dto.response.SalesBucketResponse;
+import com.customworld.dto.response.TrackingEvent;
+import com.customworld.dto.response.UserMatchResponse;
 import com.customworld.entity.User;
 import com.customworld.enums.OrderStatus;
+import com.customworld.enums.SalesGranularity;
 import com.customworld.enums.UserRole;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.service.AdminService;
 import com.customworld.service.AuthService;
+import com.customworld.service.DeliveryDispatchService;
+import com.customworld.service.DeliveryService;
 import com.customworld.service.FileStorageService;
+import com.customworld.service.LiveMetricsService;
 import com.customworld.service.ProductService;
 import com.customworld.service.VendorService;
 import com.customworld.service.OrderService;
+import com.customworld.service.OrphanFileCollectorService;
+import com.customworld.service.SalesRollupService;
+import com.customworld.service.TrackingService;
+import com.customworld.service.UserSearchService;
+import com.customworld.service.VendorSalesRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -51,10 +73,22 @@ public class AdminController {
     private final OrderService orderService;
     private final NotificationController notificationController;
     private final FileStorageService fileStorageService;
+    private final OrphanFileCollectorService orphanFileCollectorService;
+    private final DeliveryDispatchService deliveryDispatchService;
+    private final TrackingService trackingService;
+    private final DeliveryService deliveryService;
+    private final VendorSalesRollupService vendorSalesRollupService;
+    private final SalesRollupService salesRollupService;
+    private final LiveMetricsService liveMetricsService;
+    private final UserSearchService userSearchService;
 
     public AdminController(AdminService adminService, ProductService productService, AuthService authService, 
                            VendorService vendorService, OrderService orderService, NotificationController notificationController,
-                           FileStorageService fileStorageService) {
+                           FileStorageService fileStorageService, OrphanFileCollectorService orphanFileCollectorService,
+                           DeliveryDispatchService deliveryDispatchService, TrackingService trackingService,
+                           DeliveryService deliveryService, VendorSalesRollupService vendorSalesRollupService,
+                           SalesRollupService salesRollupService, LiveMetricsService liveMetricsService,
+                           UserSearchService userSearchService) {
         this.adminService = adminService;
         this.productService = productService;
         this.authService = authService;
@@ -62,6 +96,14 @@ public class AdminController {
         this.orderService = orderService;
         this.notificationController = notificationController;
         this.fileStorageService = fileStorageService;
+        this.orphanFileCollectorService = orphanFileCollectorService;
+        this.deliveryDispatchService = deliveryDispatchService;
+        this.trackingService = trackingService;
+        this.deliveryService = deliveryService;
+        this.vendorSalesRollupService = vendorSalesRollupService;
+        this.salesRollupService = salesRollupService;
+        this.liveMetricsService = liveMetricsService;
+        this.userSearchService = userSearchService;
     }
 
     @GetMapping("/users")
@@ -71,6 +113,15 @@ public class AdminController {
         return Mono.fromSupplier(() -> ResponseEntity.ok(adminService.getAllUsers()));
     }
 
+    @GetMapping("/users/search")
+    @Operation(summary = "Recherche d'utilisateurs par nom ou email, tolérante aux fautes de frappe, les plus proches d'abord")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<UserMatchResponse>>> searchUsers(@RequestParam("q") String query,
+                                                                     @RequestParam(defaultValue = "20") int limit) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(userSearchService.search(query, limit)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     @PostMapping("/users")
     @Operation(summary = "Inscription d'un utilisateur par un admin")
     @ApiResponses(value = {
@@ -172,6 +223,65 @@ public class AdminController {
         return Mono.fromSupplier(() -> ResponseEntity.ok(orderService.assignOrderToDeliverer(id, delivererId)));
     }
 
+    @PostMapping("/deliveries/dispatch")
+    @Operation(summary = "Lance immédiatement l'assignation automatique des commandes confirmées ou payées aux livreurs les moins chargés")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bilan de l'assignation (commandes assignées, lots)")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Map<String, Object>>> dispatchPendingOrders() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(deliveryDispatchService.dispatchPendingOrders()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/vendor-rollups/rebuild")
+    @Operation(summary = "Reconstruit les agrégats de ventes des vendeurs sur une période (bornes incluses)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nombre de couples (vendeur, jour) recalculés"),
+            @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Map<String, Object>>> rebuildVendorRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(Map.<String, Object>of(
+                        "from", from, "to", to, "rebuiltVendorDays", vendorSalesRollupService.rebuild(from, to))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/deliveries")
+    @Operation(summary = "Historique des livraisons paginé par curseur (du plus récent au plus ancien), filtrable par statut et période")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de livraisons et curseur de la page suivante"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<CursorPage<DeliveryResponse>>> getDeliveryHistory(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(deliveryService.getDeliveryHistoryPage(status, from, to, cursor, size)));
+    }
+
+    @GetMapping(value = "/deliveries/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suit en temps réel les changements de statut de toutes les livraisons (Server-Sent Events, reprise via Last-Event-ID)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<ServerSentEvent<TrackingEvent>> streamDeliveryEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return trackingService.allDeliveryEvents(lastEventId);
+    }
+
+    @GetMapping(value = "/orders/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suit en temps réel les changements de statut d'une commande et de sa livraison (Server-Sent Events, reprise via Last-Event-ID)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<ServerSentEvent<TrackingEvent>> streamOrderEvents(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return trackingService.orderEvents(id, lastEventId);
+    }
+
     @PutMapping("/products/{id}/validate")
     @Operation(summary = "Valide un produit")
     @PreAuthorize("hasRole('ADMIN')")
@@ -230,6 +340,65 @@ public class AdminController {
         return Mono.fromSupplier(() -> ResponseEntity.ok(adminService.getDashboardStatistics()));
     }
 
+    @GetMapping("/statistics/sales")
+    @Operation(summary = "Série temporelle des commandes passées (nombre, articles, montant) par heure, jour ou mois, bornes incluses")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série dense, seaux vides à zéro"),
+            @ApiResponse(responseCode = "400", description = "Période invalide ou trop de points")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<SalesBucketResponse>>> getSalesSeries(
+            @RequestParam(defaultValue = "DAY") SalesGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(salesRollupService.getSeries(granularity, from, to)));
+    }
+
+    @GetMapping(value = "/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Indicateurs en direct (commandes par minute et par heure, inscriptions, paiements, incidents de livraison) en Server-Sent Events")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<ServerSentEvent<LiveMetrics>> streamLiveMetrics() {
+        return liveMetricsService.stream();
+    }
+
+    @PostMapping("/statistics/sales/rebuild")
+    @Operation(summary = "Recalcule depuis les commandes les agrégats de ventes d'une période (bornes incluses)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nombre de seaux horaires recalculés"),
+            @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Map<String, Object>>> rebuildSalesRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(Map.<String, Object>of(
+                        "from", from, "to", to, "rebuiltHours", salesRollupService.rebuild(from, to))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/files/cache-statistics")
+    @Operation(summary = "Récupère les métriques du cache des fichiers (taux de succès, octets résidents)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métriques récupérées")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Map<String, Object>>> getFileCacheStatistics() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(fileStorageService.getCacheStatistics()));
+    }
+
+    @PostMapping("/files/gc")
+    @Operation(summary = "Supprime les fichiers uploadés qui ne sont plus référencés (dryRun=true par défaut : rapport seul)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rapport du nettoyage"),
+            @ApiResponse(responseCode = "400", description = "Un nettoyage est déjà en cours")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<OrphanFileReport>> collectOrphanFiles(
+            @RequestParam(value = "dryRun", defaultValue = "true") boolean dryRun) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(orphanFileCollectorService.collect(dryRun)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     @PostMapping(value = "/categories", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Crée une nouvelle catégorie sans fichier")
     @ApiResponses(value = {
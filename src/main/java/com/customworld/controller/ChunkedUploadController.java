@@ -0,0 +1,80 @@
+package com.customworld.controller;
+
+import com.customworld.dto.request.UploadSessionRequest;
+import com.customworld.dto.response.UploadSessionResponse;
+import com.customworld.service.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrôleur REST pour l'upload reprenable des fichiers volumineux.
+ * Le client ouvre une session, envoie les morceaux à leur offset (dans n'importe quel ordre,
+ * en reprenant les morceaux manquants après une coupure), puis finalise l'upload.
+ */
+@RestController
+@RequestMapping("/api/files/uploads")
+@Tag(name = "Upload par morceaux", description = "Upload reprenable des fichiers volumineux (designs, templates).")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public ChunkedUploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Ouvre une session d'upload par morceaux")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session créée, la réponse indique la taille des morceaux"),
+            @ApiResponse(responseCode = "400", description = "Nom, taille ou empreinte invalide")
+    })
+    public Mono<ResponseEntity<UploadSessionResponse>> createSession(@Valid @RequestBody UploadSessionRequest request) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(chunkedUploadService.createSession(request)));
+    }
+
+    @PutMapping("/{sessionId}/chunks")
+    @Operation(summary = "Envoie un morceau du fichier à l'offset indiqué")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Morceau enregistré"),
+            @ApiResponse(responseCode = "400", description = "Offset ou longueur du morceau invalide"),
+            @ApiResponse(responseCode = "404", description = "Session inconnue ou expirée")
+    })
+    public Mono<ResponseEntity<UploadSessionResponse>> writeChunk(@PathVariable String sessionId,
+                                                                  @RequestParam long offset,
+                                                                  @RequestBody Flux<DataBuffer> content) {
+        return Mono.defer(() -> chunkedUploadService.writeChunk(sessionId, offset, content))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{sessionId}")
+    @Operation(summary = "Récupère l'état d'une session (morceaux manquants) pour reprendre un upload")
+    public Mono<ResponseEntity<UploadSessionResponse>> getSession(@PathVariable String sessionId) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(chunkedUploadService.getSession(sessionId)));
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    @Operation(summary = "Finalise l'upload après vérification de l'empreinte SHA-256")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fichier stocké, la réponse contient son nom"),
+            @ApiResponse(responseCode = "400", description = "Morceaux manquants ou empreinte invalide")
+    })
+    public Mono<ResponseEntity<UploadSessionResponse>> completeSession(@PathVariable String sessionId) {
+        return Mono.defer(() -> chunkedUploadService.completeSession(sessionId))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{sessionId}")
+    @Operation(summary = "Abandonne une session d'upload")
+    public Mono<ResponseEntity<Void>> cancelSession(@PathVariable String sessionId) {
+        return Mono.fromRunnable(() -> chunkedUploadService.cancelSession(sessionId))
+                .thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+}
@@ -1,22 +1,37 @@
 package com.customworld.controller;
 
 import com.customworld.dto.request.OrderCreationRequest;
+import com.customworld.dto.request.ProductSearchFilter;
 import com.customworld.dto.response.OrderResponse;
 import com.customworld.dto.response.ProductResponse;
+import com.customworld.dto.response.ProductSearchResponse;
+import com.customworld.dto.response.SuggestionResponse;
+import com.customworld.dto.response.TrendingProductResponse;
+import com.customworld.dto.response.RelatedProductResponse;
 import com.customworld.dto.response.ContextResponse;
 import com.customworld.dto.request.EmailRequest;
 import com.customworld.dto.response.ApiResponseWrapper;
 import com.customworld.dto.response.CartResponse;
 import com.customworld.dto.response.CategoryResponse;
+import com.customworld.dto.response.DeliveryPositionResponse;
+import com.customworld.dto.response.TrackingEvent;
 import com.customworld.service.CustomerService;
+import com.customworld.service.DelivererLocationService;
 import com.customworld.service.CartService;
+import com.customworld.service.ProductSearchService;
+import com.customworld.service.ProductSuggestService;
+import com.customworld.service.ProductTrendingService;
+import com.customworld.service.RelatedProductService;
 import com.customworld.service.ProductService;
 import com.customworld.service.OrderService;
+import com.customworld.service.TrackingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -24,6 +39,7 @@ import com.customworld.repository.UserRepository;
 import com.customworld.entity.User;
 import com.customworld.exception.ResourceNotFoundException;
 import com.utils.UserInterceptor;
+import reactor.core.publisher.Flux;
 
 import java.util.HashMap;
 import java.util.List;
@@ -51,16 +67,31 @@ public class CustomerController {
     private final OrderService orderService;
     private final UserRepository userRepository;
     private final NotificationController notificationController;
+    private final TrackingService trackingService;
+    private final DelivererLocationService locationService;
+    private final ProductSearchService productSearchService;
+    private final ProductSuggestService productSuggestService;
+    private final ProductTrendingService productTrendingService;
+    private final RelatedProductService relatedProductService;
 
     public CustomerController(CustomerService customerService, CartService cartService, 
                              ProductService productService, OrderService orderService,
-                             UserRepository userRepository, NotificationController notificationController) {
+                             UserRepository userRepository, NotificationController notificationController,
+                             TrackingService trackingService, DelivererLocationService locationService,
+                             ProductSearchService productSearchService, ProductSuggestService productSuggestService,
+                             ProductTrendingService productTrendingService, RelatedProductService relatedProductService) {
         this.customerService = customerService;
         this.cartService = cartService;
         this.productService = productService;
         this.orderService = orderService;
         this.userRepository = userRepository;
         this.notificationController = notificationController;
+        this.trackingService = trackingService;
+        this.locationService = locationService;
+        this.productSearchService = productSearchService;
+        this.productSuggestService = productSuggestService;
+        this.productTrendingService = productTrendingService;
+        this.relatedProductService = relatedProductService;
     }
 
     @GetMapping("/products")
@@ -75,12 +106,61 @@ public class CustomerController {
         return ResponseEntity.ok(productService.getProductsByCategory(category));
     }
 
+    @GetMapping("/products/search")
+    @Operation(summary = "Recherche plein texte dans le catalogue (nom, description, catégorie, couleurs), accents ignorés, résultats classés par pertinence, avec filtres et comptes de facettes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de résultats"),
+            @ApiResponse(responseCode = "400", description = "Numéro de page invalide")
+    })
+    public ResponseEntity<ProductSearchResponse> searchProducts(@RequestParam(value = "q", required = false) String query,
+                                                                @RequestParam(required = false) List<String> category,
+                                                                @RequestParam(required = false) List<String> color,
+                                                                @RequestParam(required = false) Boolean onSale,
+                                                                @RequestParam(required = false) Boolean isNew,
+                                                                @RequestParam(required = false) Boolean approved,
+                                                                @RequestParam(required = false) Double minPrice,
+                                                                @RequestParam(required = false) Double maxPrice,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        ProductSearchFilter filter = ProductSearchFilter.builder()
+                .categories(category)
+                .colors(color)
+                .onSale(onSale)
+                .isNew(isNew)
+                .approved(approved)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return ResponseEntity.ok(productSearchService.search(query, filter, page, size));
+    }
+
+    @GetMapping("/products/suggest")
+    @Operation(summary = "Suggestions de complétion (produits et catégories) pour la saisie en cours, les plus aimées d'abord")
+    public ResponseEntity<List<SuggestionResponse>> suggestProducts(@RequestParam("q") String prefix,
+                                                                    @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productSuggestService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/products/trending")
+    @Operation(summary = "Produits tendance de la semaine (j'aime et avis récents, les plus récents pesant davantage), au global ou dans une catégorie")
+    public ResponseEntity<List<TrendingProductResponse>> getTrendingProducts(@RequestParam(required = false) Long categoryId,
+                                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productTrendingService.trending(categoryId, limit));
+    }
+
     @GetMapping("/products/{id}")
     @Operation(summary = "Récupère un produit spécifique par son identifiant")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         return ResponseEntity.ok(productService.getProductById(id));
     }
 
+    @GetMapping("/products/{id}/related")
+    @Operation(summary = "Produits souvent aimés ou commandés avec ce produit (« les clients ont aussi aimé »), les plus similaires d'abord")
+    public ResponseEntity<List<RelatedProductResponse>> getRelatedProducts(@PathVariable Long id,
+                                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(relatedProductService.related(id, limit));
+    }
+
     @GetMapping("/cart")
     @Operation(summary = "Récupère le panier d’un client")
     public ResponseEntity<CartResponse> getCart() {
@@ -226,6 +306,44 @@ public class CustomerController {
         }
     }
 
+    @GetMapping(value = "/orders/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suit en temps réel les changements de statut d'une commande et de sa livraison (Server-Sent Events)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flux d'événements ouvert ; l'en-tête Last-Event-ID permet de reprendre après une déconnexion"),
+            @ApiResponse(responseCode = "403", description = "Accès non autorisé"),
+            @ApiResponse(responseCode = "404", description = "Commande non trouvée")
+    })
+    public ResponseEntity<Flux<ServerSentEvent<TrackingEvent>>> streamOrderEvents(
+            @PathVariable Long orderId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        OrderResponse order;
+        try {
+            order = orderService.getOrderById(orderId);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!order.getCustomerId().equals(user.getId())) {
+            log.warn("User {} denied tracking of order {}", user.getId(), orderId);
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(trackingService.orderEvents(orderId, lastEventId));
+    }
+
+    @GetMapping("/orders/{orderId}/position")
+    @Operation(summary = "Récupère la dernière position connue du livreur d'une commande en cours de livraison")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Position du livreur"),
+            @ApiResponse(responseCode = "204", description = "Le livreur n'a pas encore envoyé de position"),
+            @ApiResponse(responseCode = "404", description = "Aucune livraison en cours pour cette commande du client")
+    })
+    public ResponseEntity<DeliveryPositionResponse> getDelivererPosition(@PathVariable Long orderId) {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        return locationService.getOrderPosition(orderId, user.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     @GetMapping("/context")
     @Operation(summary = "Récupère les catégories, les produits et le panier du client")
     public ResponseEntity<ContextResponse> getCustomerContext(@RequestParam(required = false) String category) {
@@ -1,20 +1,31 @@
 package com.customworld.controller;
 
+import com.customworld.dto.request.LocationPingRequest;
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.DeliveryResponse;
+import com.customworld.dto.response.TrackingEvent;
 import com.customworld.entity.Delivery;
 import com.customworld.entity.User;
+import com.customworld.service.DelivererLocationService;
 import com.customworld.service.DeliveryService;
+import com.customworld.service.TrackingService;
 import com.utils.UserInterceptor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import com.customworld.repository.UserRepository;
 import com.customworld.entity.User;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,15 +40,22 @@ public class DeliveryController {
 
     private final DeliveryService deliveryService;
     private final UserRepository userRepository;
+    private final TrackingService trackingService;
+    private final DelivererLocationService locationService;
 
     /**
      * Constructs a DeliveryController with required dependencies.
      *
      * @param deliveryService Service layer component for delivery operations
+     * @param trackingService Real-time status stream for the deliverer's deliveries
+     * @param locationService In-memory store of the deliverers' latest positions
      */
-    public DeliveryController(DeliveryService deliveryService, UserRepository userRepository) {
+    public DeliveryController(DeliveryService deliveryService, UserRepository userRepository,
+                              TrackingService trackingService, DelivererLocationService locationService) {
         this.deliveryService = deliveryService;
         this.userRepository = userRepository;
+        this.trackingService = trackingService;
+        this.locationService = locationService;
     }
 
     /**
@@ -56,6 +74,74 @@ public class DeliveryController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns one page of the authenticated deliverer's deliveries, newest first.
+     * Pages are keyset-based: pass back {@code nextCursor} to get the following page.
+     *
+     * @param status Optional status filter
+     * @param from Optional inclusive lower bound on the delivery date
+     * @param to Optional exclusive upper bound on the delivery date
+     * @param cursor Cursor returned by the previous page, absent for the first page
+     * @param size Page size (at most 100)
+     * @return ResponseEntity containing the page of DeliveryResponse objects
+     */
+    @Operation(summary = "Returns one keyset-paginated page of the authenticated deliverer's deliveries, newest first.")
+    @GetMapping("/deliveries/page")
+    public ResponseEntity<CursorPage<DeliveryResponse>> getDelivererDeliveriesPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        return ResponseEntity.ok(deliveryService.getDelivererDeliveriesPage(user.getId(), status, from, to, cursor, size));
+    }
+
+    /**
+     * Claims the next available delivery for the authenticated deliverer.
+     * Concurrent callers each receive a different delivery.
+     *
+     * @return ResponseEntity with the claimed delivery, or 204 when none is available
+     */
+    @Operation(summary = "Claims the next available delivery for the authenticated deliverer (204 when none is available).")
+    @PostMapping("/deliveries/claim")
+    public ResponseEntity<DeliveryResponse> claimNextDelivery() {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        return deliveryService.claimNextDelivery(user.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Streams status changes of the authenticated deliverer's deliveries as Server-Sent Events.
+     * Reconnecting clients send the Last-Event-ID header to receive the events they missed.
+     *
+     * @param lastEventId ID of the last event received before a reconnection, if any
+     * @return Event stream, with periodic heartbeat comments
+     */
+    @Operation(summary = "Streams status changes of the authenticated deliverer's deliveries (Server-Sent Events).")
+    @GetMapping(value = "/deliveries/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TrackingEvent>> streamDeliveryEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        return trackingService.delivererEvents(user.getId(), lastEventId);
+    }
+
+    /**
+     * Records a GPS position of the authenticated deliverer.
+     * Positions are kept in memory and only a down-sampled history reaches the database,
+     * so devices can ping every few seconds.
+     *
+     * @param ping Position and optional device timestamp
+     * @return 202 Accepted
+     */
+    @Operation(summary = "Records a GPS position of the authenticated deliverer (high-rate, kept in memory).")
+    @PostMapping("/location")
+    public ResponseEntity<Void> recordLocation(@Valid @RequestBody LocationPingRequest ping) {
+        locationService.recordPing(UserInterceptor.getAuthenticatedEmail(), ping);
+        return ResponseEntity.accepted().build();
+    }
+
     /**
      * Updates the status of a specific delivery.
      *
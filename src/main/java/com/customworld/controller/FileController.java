@@ -1,6 +1,7 @@
 package com.customworld.controller;
 
 import com.customworld.service.FileStorageService;
+import com.customworld.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.core.io.Resource;
@@ -19,14 +20,17 @@ import org.springframework.web.multipart.MultipartFile;
 public class FileController {
 
     private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
 
     /**
      * Constructeur pour l'injection de dépendance du service de stockage.
      *
      * @param fileStorageService Service responsable du stockage physique des fichiers
+     * @param imageVariantService Service des variantes redimensionnées des images
      */
-    public FileController(FileStorageService fileStorageService) {
+    public FileController(FileStorageService fileStorageService, ImageVariantService imageVariantService) {
         this.fileStorageService = fileStorageService;
+        this.imageVariantService = imageVariantService;
     }
 
     /**
@@ -46,12 +50,16 @@ public class FileController {
      * Endpoint pour le téléchargement de fichiers.
      *
      * @param nomFichier Nom du fichier à récupérer (inclus dans le chemin d'URL)
+     * @param largeur Largeur souhaitée (optionnelle) : sert la variante redimensionnée la plus proche
      * @return ResponseEntity avec le fichier en flux et les en-têtes appropriés
      */
-    @Operation(summary = "Endpoint pour le téléchargement de fichiers.")
+    @Operation(summary = "Endpoint pour le téléchargement de fichiers. Le paramètre w sert une variante redimensionnée des images.")
     @GetMapping("/{nomFichier:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String nomFichier) {
-        Resource fichier = fileStorageService.loadFileAsResource(nomFichier);
+    public ResponseEntity<Resource> downloadFile(@PathVariable String nomFichier,
+                                                 @RequestParam(value = "w", required = false) Integer largeur) {
+        Resource fichier = largeur != null
+                ? imageVariantService.loadVariant(nomFichier, largeur)
+                : fileStorageService.loadFileAsResource(nomFichier);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fichier.getFilename() + "\"")
                 .body(fichier);
@@ -4,6 +4,7 @@ import com.customworld.dto.request.PaymentRequest;
 import com.customworld.dto.response.PaymentResponse;
 import com.customworld.entity.Order;
 import com.customworld.enums.OrderStatus;
+import com.customworld.event.PaymentStatusChangedEvent;
 import com.customworld.repository.OrderRepository;
 import com.customworld.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,13 +30,16 @@ public class PaymentController {
 
     private final OrderRepository orderRepository;
     private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${notchpay.private-key}")
     private String privateKey;
 
-    public PaymentController(OrderRepository orderRepository, PaymentService paymentService) {
+    public PaymentController(OrderRepository orderRepository, PaymentService paymentService,
+                             ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.paymentService = paymentService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Operation(summary = "Initier un paiement", description = "Crée une transaction de paiement via Notch Pay (Orange Money, MTN Mobile Money, etc.).")
@@ -96,11 +101,13 @@ public class PaymentController {
                 order.setStatus(OrderStatus.PAID);
                 order.setUpdatedAt(java.time.Instant.now());
                 orderRepository.save(order);
+                eventPublisher.publishEvent(new PaymentStatusChangedEvent(order.getId(), OrderStatus.PAID));
                 log.info("Paiement réussi pour transaction: {}, commande mise à jour à PAID", transactionId);
             } else if ("payment.failed".equals(event)) {
                 order.setStatus(OrderStatus.FAILED);
                 order.setUpdatedAt(java.time.Instant.now());
                 orderRepository.save(order);
+                eventPublisher.publishEvent(new PaymentStatusChangedEvent(order.getId(), OrderStatus.FAILED));
                 log.warn("Paiement échoué pour transaction: {}, événement: {}", transactionId, event);
             } else {
                 log.warn("Événement inconnu pour transaction: {}, événement: {}", transactionId, event);
@@ -1,6 +1,7 @@
 package com.customworld.controller;
 
 import com.customworld.dto.request.ReviewRequest;
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.ReviewResponse;
 import com.customworld.service.ProductInteractionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -51,6 +52,17 @@ public class ProductInteractionController {
         return Mono.fromSupplier(() -> ResponseEntity.ok(Map.of("liked", interactionService.hasCurrentUserLiked(productId))));
     }
 
+    @GetMapping("/likes/me")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Indique, pour une page de produits, ceux que l'utilisateur connecté a likés (un seul appel pour toute une grille)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Indicateur par identifiant de produit"),
+            @ApiResponse(responseCode = "400", description = "Trop de produits demandés")
+    })
+    public Mono<ResponseEntity<Map<Long, Boolean>>> getLikedFlags(@RequestParam("ids") List<Long> productIds) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(interactionService.getCurrentUserLikedFlags(productIds)));
+    }
+
     @PostMapping("/{productId}/reviews")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Soumettre un avis/témoignage sur un produit")
@@ -65,9 +77,15 @@ public class ProductInteractionController {
     }
 
     @GetMapping("/{productId}/reviews")
-    @Operation(summary = "Récupère tous les avis d'un produit (du plus récent au plus ancien)")
-    public Mono<ResponseEntity<List<ReviewResponse>>> getReviews(@PathVariable Long productId) {
-        return Mono.fromSupplier(() -> ResponseEntity.ok(interactionService.getProductReviews(productId)));
+    @Operation(summary = "Récupère les avis d'un produit paginés par curseur (du plus récent au plus ancien)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page d'avis et curseur de la page suivante"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    public Mono<ResponseEntity<CursorPage<ReviewResponse>>> getReviews(@PathVariable Long productId,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int size) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(interactionService.getProductReviews(productId, cursor, size)));
     }
 
     @DeleteMapping("/reviews/{reviewId}")
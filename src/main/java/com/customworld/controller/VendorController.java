@@ -3,12 +3,14 @@ package com.customworld.controller;
 import com.customworld.dto.request.ProductRequest;
 import com.customworld.dto.response.OrderResponse;
 import com.customworld.dto.response.ProductResponse;
+import com.customworld.dto.response.VendorStatisticsResponse;
 import com.customworld.service.VendorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
 import com.customworld.enums.OrderStatus;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -195,15 +198,20 @@ public class VendorController {
      * GET /api/vendor/statistics
      * Récupère les statistiques liées au vendeur (ventes, produits, etc.).
      *
-     * @return Objet contenant les statistiques du vendeur.
+     * @param from Premier jour de la période (par défaut : 29 jours avant {@code to}).
+     * @param to Dernier jour de la période (par défaut : aujourd'hui).
+     * @return Statistiques du vendeur sur la période.
      */
     @Operation(summary = "Récupère les statistiques liées au vendeur (ventes, produits, etc.).")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Statistiques récupérées")
+            @ApiResponse(responseCode = "200", description = "Statistiques récupérées"),
+            @ApiResponse(responseCode = "400", description = "Période invalide")
     })
     @PreAuthorize("hasRole('VENDOR')")
     @GetMapping("/statistics")
-    public Mono<ResponseEntity<Object>> getVendorStatistics() {
-        return Mono.fromSupplier(() -> ResponseEntity.ok(vendorService.getVendorStatistics()));
+    public Mono<ResponseEntity<VendorStatisticsResponse>> getVendorStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(vendorService.getVendorStatistics(from, to)));
     }
 }
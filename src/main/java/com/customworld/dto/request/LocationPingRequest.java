@@ -0,0 +1,36 @@
+package com.customworld.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO d'une position GPS envoyée par un livreur.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LocationPingRequest {
+
+    @NotNull(message = "La latitude est requise")
+    @DecimalMin(value = "-90.0", message = "Latitude invalide")
+    @DecimalMax(value = "90.0", message = "Latitude invalide")
+    private Double latitude;
+
+    @NotNull(message = "La longitude est requise")
+    @DecimalMin(value = "-180.0", message = "Longitude invalide")
+    @DecimalMax(value = "180.0", message = "Longitude invalide")
+    private Double longitude;
+
+    /**
+     * Instant de la mesure sur l'appareil ; l'heure du serveur est utilisée s'il est absent ou dans le futur
+     */
+    private Instant recordedAt;
+}
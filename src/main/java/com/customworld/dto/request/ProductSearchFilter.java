@@ -0,0 +1,27 @@
+package com.customworld.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filtres de facettes d'une recherche dans le catalogue. Les valeurs d'une même facette se combinent en OU,
+ * les facettes entre elles en ET ; un champ null ou vide ne filtre pas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchFilter {
+
+    private List<String> categories;
+    private List<String> colors;
+    private Boolean onSale;
+    private Boolean isNew;
+    private Boolean approved;
+    private Double minPrice;
+    private Double maxPrice;
+}
@@ -1,6 +1,9 @@
 package com.customworld.dto.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,4 +17,9 @@ public class ReviewRequest {
 
     @NotBlank(message = "Le contenu de l'avis ne peut pas être vide")
     private String content;
+
+    @NotNull(message = "La note est obligatoire")
+    @Min(value = 1, message = "La note doit être comprise entre 1 et 5")
+    @Max(value = 5, message = "La note doit être comprise entre 1 et 5")
+    private Integer rating;
 }
@@ -11,4 +11,6 @@ public class TemplateRequest {
     private String description;
     private Long productId;
     private Long createdById;
+    /** Nom du fichier produit par une session d'upload par morceaux terminée de l'appelant, utilisé à défaut de fichier multipart. */
+    private String uploadedFileName;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.customworld.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO d'ouverture d'une session d'upload par morceaux.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadSessionRequest {
+
+    @NotBlank(message = "Le nom du fichier est requis")
+    private String fileName;
+
+    @NotNull
+    @Positive(message = "La taille du fichier doit être positive")
+    private Long totalSize;
+
+    /**
+     * Empreinte SHA-256 (hexadécimal) du fichier complet, vérifiée à la finalisation
+     */
+    @NotBlank(message = "L'empreinte SHA-256 est requise")
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "L'empreinte doit être un SHA-256 hexadécimal")
+    private String checksum;
+}
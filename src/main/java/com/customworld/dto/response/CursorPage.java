@@ -0,0 +1,23 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page d'une pagination par curseur. {@code nextCursor} est à renvoyer tel quel pour obtenir la page suivante ;
+ * il est nul sur la dernière page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,25 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO représentant la dernière position connue du livreur d'une livraison en cours.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeliveryPositionResponse {
+
+    private Long deliveryId;
+    private Long orderId;
+    private Long delivererId;
+    private double latitude;
+    private double longitude;
+    private Instant recordedAt;
+}
@@ -0,0 +1,30 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Indicateurs en direct du tableau de bord administrateur, calculés sur fenêtres glissantes.
+ * {@code paymentSuccessRate} est nul quand aucun paiement n'a abouti ni échoué sur la fenêtre.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LiveMetrics {
+
+    private Instant generatedAt;
+    private long ordersLastMinute;
+    private long ordersLastHour;
+    private long registrationsLastHour;
+    private long paymentsSucceeded;
+    private long paymentsFailed;
+    private Double paymentSuccessRate;
+    private long paymentWindowMinutes;
+    private long deliveryIssuesLastHour;
+    private int connectedAdmins;
+}
@@ -0,0 +1,32 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO représentant le résultat d'un passage du ramasse-miettes des fichiers uploadés.
+ * En mode simulation (dryRun), les fichiers orphelins sont listés mais pas supprimés.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrphanFileReport {
+
+    private boolean dryRun;
+    private Instant startedAt;
+    private long durationMs;
+    private long referenceCount;
+    private long bloomFilterBytes;
+    private long scannedFiles;
+    private long skippedRecentFiles;
+    private long orphanFiles;
+    private long orphanBytes;
+    private long deletedFiles;
+    private List<String> sampleOrphans;
+}
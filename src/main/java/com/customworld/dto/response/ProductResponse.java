@@ -29,6 +29,12 @@ public class ProductResponse {
     private boolean isNew;
     private boolean isOnSale;
     private Integer rating;
+    private Double averageRating;
+    private Long ratingCount;
+    /**
+     * Nombre de notes par étoile, de 1 à 5.
+     */
+    private List<Long> ratingHistogram;
     private Long likeCount;
     private Long reviewCount;
     private Instant createdAt;
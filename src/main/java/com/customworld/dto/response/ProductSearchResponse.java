@@ -0,0 +1,46 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page de résultats d'une recherche plein texte dans le catalogue, du plus pertinent au moins pertinent.
+ * Les résultats sont servis depuis l'index en mémoire, sans requête en base.
+ * {@code facets} donne, pour chaque facette, le nombre de produits par valeur parmi les résultats
+ * (les filtres de la facette elle-même étant ignorés).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchResponse {
+
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private List<Hit> hits;
+    private Map<String, Map<String, Long>> facets;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Hit {
+        private Long productId;
+        private String name;
+        private String category;
+        private Double price;
+        private Double originalPrice;
+        private String imagePath;
+        private boolean approved;
+        private boolean isNew;
+        private boolean isOnSale;
+        private double score;
+    }
+}
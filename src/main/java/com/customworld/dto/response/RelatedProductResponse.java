@@ -0,0 +1,19 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Produit souvent aimé ou commandé avec un autre, et sa similarité (cosinus des co-occurrences, entre 0 et 1).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RelatedProductResponse {
+
+    private Long productId;
+    private double score;
+}
@@ -18,6 +18,7 @@ public class ReviewResponse {
     private Long userId;
     private String userName;
     private String content;
+    private Integer rating;
     private Instant createdAt;
     private Instant updatedAt;
 }
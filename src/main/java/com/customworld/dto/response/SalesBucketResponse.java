@@ -0,0 +1,23 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point d'une série de ventes : commandes passées dans le seau commençant à {@code bucketStart}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalesBucketResponse {
+
+    private LocalDateTime bucketStart;
+    private long orderCount;
+    private long itemCount;
+    private double amount;
+}
@@ -0,0 +1,22 @@
+package com.customworld.dto.response;
+
+import com.customworld.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Suggestion de complétion pour la barre de recherche.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    private SuggestionType type;
+    private Long id;
+    private String text;
+    private long weight;
+}
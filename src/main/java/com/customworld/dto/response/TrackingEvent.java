@@ -0,0 +1,28 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO représentant un événement de suivi poussé aux clients (Server-Sent Events).
+ * L'identifiant est croissant et sert de Last-Event-ID pour reprendre un flux après une déconnexion.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrackingEvent {
+
+    private long id;
+    private String type;
+    private Long orderId;
+    private Long deliveryId;
+    private Long delivererId;
+    private String status;
+    private String issueDescription;
+    private Instant occurredAt;
+}
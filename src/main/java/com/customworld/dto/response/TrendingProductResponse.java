@@ -0,0 +1,24 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Produit du classement des tendances : score de popularité amorti dans le temps et activité
+ * (j'aime nets, avis) sur la fenêtre glissante.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrendingProductResponse {
+
+    private int rank;
+    private Long productId;
+    private Long categoryId;
+    private double score;
+    private long likes;
+    private long reviews;
+}
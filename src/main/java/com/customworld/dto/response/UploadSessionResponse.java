@@ -0,0 +1,31 @@
+package com.customworld.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO représentant l'état d'une session d'upload par morceaux.
+ * Les morceaux manquants permettent au client de reprendre un upload interrompu.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadSessionResponse {
+
+    private String sessionId;
+    private String fileName;
+    private long totalSize;
+    private int chunkSize;
+    private int chunkCount;
+    private long receivedBytes;
+    private List<Integer> missingChunks;
+    private boolean completed;
+    private String storedFileName;
+    private Instant expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.customworld.dto.response;
+
+import com.customworld.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Utilisateur trouvé par la recherche approximative de l'administration, avec son score de proximité.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserMatchResponse {
+
+    private Long id;
+    private String name;
+    private String email;
+    private UserRole role;
+    private double score;
+}
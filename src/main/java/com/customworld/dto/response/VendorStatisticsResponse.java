@@ -0,0 +1,47 @@
+package com.customworld.dto.response;
+
+import com.customworld.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques d'un vendeur sur une période (bornes incluses), lues dans les agrégats journaliers.
+ * Le chiffre d'affaires et les unités ne comptent que les commandes payées ou en cours de traitement.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VendorStatisticsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private double revenue;
+    private long unitsSold;
+    private long orderCount;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private List<ProductStatistics> topProducts;
+    private List<ProductStatistics> products;
+    private Instant generatedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class ProductStatistics {
+        private Long productId;
+        private String name;
+        private long unitsSold;
+        private double revenue;
+        private long orderCount;
+        private long likeCount;
+        private long reviewCount;
+    }
+}
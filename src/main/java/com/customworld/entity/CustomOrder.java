@@ -15,7 +15,8 @@ import java.util.List;
  * Entité représentant une commande dans le système.
  */
 @Entity
-@Table(name = "custom_orders")
+@Table(name = "custom_orders",
+        indexes = @Index(name = "idx_custom_orders_order_date", columnList = "order_date"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,36 @@
+package com.customworld.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Historique sous-échantillonné des positions des livreurs.
+ * Les lignes sont écrites par lots depuis la mémoire ; la position courante n'est jamais lue ici.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "deliverer_positions",
+        indexes = @Index(name = "idx_deliverer_positions_deliverer_time", columnList = "deliverer_id, recorded_at"))
+public class DelivererPosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "deliverer_id", nullable = false)
+    private Long delivererId;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
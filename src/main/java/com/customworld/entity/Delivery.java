@@ -15,7 +15,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "deliveries")
+@Table(name = "deliveries", indexes = {
+        @Index(name = "idx_deliveries_deliverer_status_date", columnList = "deliverer_id, status, delivery_date, id"),
+        @Index(name = "idx_deliveries_status_date", columnList = "status, delivery_date, id"),
+        @Index(name = "idx_deliveries_deliverer_date", columnList = "deliverer_id, delivery_date, id"),
+        @Index(name = "idx_deliveries_date", columnList = "delivery_date, id")
+})
 public class Delivery {
 
     @Id
@@ -47,7 +52,15 @@ public class Delivery {
     @Column(length = 500)
     private String issueDescription;
 
+    /**
+     * Date de création de la livraison, clé de tri de l'historique et des listes de travail
+     */
     private LocalDateTime deliveryDate;
 
-
+    @PrePersist
+    protected void onCreate() {
+        if (deliveryDate == null) {
+            deliveryDate = LocalDateTime.now();
+        }
+    }
 }
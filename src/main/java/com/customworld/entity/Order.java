@@ -7,7 +7,8 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_created_at", columnList = "created_at"))
 @Data
 @Builder
 @NoArgsConstructor
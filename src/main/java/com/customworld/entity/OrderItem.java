@@ -25,6 +25,12 @@ public class OrderItem {
     @Column(name = "quantity", nullable = false)
     private int quantity;
 
+    /**
+     * Prix unitaire au moment de la commande (null pour les commandes antérieures : le prix courant du produit s'applique).
+     */
+    @Column(name = "unit_price")
+    private Double unitPrice;
+
     @Column(name = "image_path")
     private String imagePath;
 
@@ -84,6 +84,28 @@ public class Product {
     @Builder.Default
     private boolean isOnSale= false;
 
+    /**
+     * Nombre de j'aime, tenu à jour par lots depuis la mémoire (voir ProductCounterService) ;
+     * jamais écrit par la sauvegarde de l'entité.
+     */
+    @Column(name = "like_count", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long likeCount;
+
+    /**
+     * Nombre d'avis, tenu à jour comme {@code likeCount}.
+     */
+    @Column(name = "review_count", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long reviewCount;
+
+    /**
+     * Notes des avis (nombre, somme, histogramme).
+     */
+    @Embedded
+    @Builder.Default
+    private RatingSummary ratingSummary = new RatingSummary();
+
     @Column(name = "created_at")
     @Builder.Default
     private Instant createdAt = Instant.now();
@@ -92,6 +114,10 @@ public class Product {
     @Builder.Default
     private Instant updatedAt= Instant.now();
 
+    public RatingSummary getRatingSummary() {
+        return ratingSummary != null ? ratingSummary : new RatingSummary();
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -10,7 +10,9 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "product_reviews")
+@Table(name = "product_reviews", indexes = {
+        @Index(name = "idx_product_reviews_product_created", columnList = "product_id, created_at, id")
+})
 public class ProductReview {
 
     @Id
@@ -28,6 +30,11 @@ public class ProductReview {
     @Column(length = 2000)
     private String content;
 
+    /**
+     * Note de 1 à 5 étoiles (null pour les avis antérieurs aux notes).
+     */
+    private Integer rating;
+
     @Column(name = "created_at")
     @Builder.Default
     private Instant createdAt = Instant.now();
@@ -0,0 +1,56 @@
+package com.customworld.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Agrégat des notes d'un produit (nombre, somme, histogramme de 1 à 5 étoiles), tenu à jour par un
+ * {@code UPDATE} atomique à chaque ajout ou suppression d'avis noté : la moyenne se lit sans parcourir les avis.
+ * Les colonnes ne sont jamais écrites par la sauvegarde du produit.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingSummary {
+
+    @Column(name = "rating_count", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long count;
+
+    @Column(name = "rating_sum", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long sum;
+
+    @Column(name = "rating_1", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long oneStar;
+
+    @Column(name = "rating_2", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long twoStars;
+
+    @Column(name = "rating_3", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long threeStars;
+
+    @Column(name = "rating_4", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long fourStars;
+
+    @Column(name = "rating_5", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long fiveStars;
+
+    /**
+     * Note moyenne, ou null si le produit n'a aucune note.
+     */
+    public Double average() {
+        return count > 0 ? (double) sum / count : null;
+    }
+
+    /**
+     * Nombre de notes par étoile, de 1 à 5.
+     */
+    public List<Long> histogram() {
+        return List.of(oneStar, twoStars, threeStars, fourStars, fiveStars);
+    }
+}
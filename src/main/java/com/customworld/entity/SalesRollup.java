@@ -0,0 +1,47 @@
+package com.customworld.entity;
+
+import com.customworld.enums.SalesGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Commandes passées agrégées par seau de temps (heure, jour ou mois, heure locale du serveur).
+ * Le montant est celui des commandes à leur création, quel que soit leur statut ultérieur.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "sales_rollups")
+public class SalesRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 8)
+        private SalesGranularity granularity;
+
+        @Column(name = "bucket_start", nullable = false)
+        private LocalDateTime bucketStart;
+    }
+}
@@ -0,0 +1,44 @@
+package com.customworld.entity;
+
+import com.customworld.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Nombre de commandes par vendeur, jour de commande et statut courant.
+ * Une commande contenant plusieurs produits d'un même vendeur n'est comptée qu'une fois pour ce vendeur.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "vendor_daily_order_status")
+public class VendorDailyOrderStatus {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "vendor_id", nullable = false)
+        private Long vendorId;
+
+        @Column(name = "sales_day", nullable = false)
+        private LocalDate salesDay;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private OrderStatus status;
+    }
+}
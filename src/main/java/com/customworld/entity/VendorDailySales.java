@@ -0,0 +1,48 @@
+package com.customworld.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Ventes agrégées par vendeur, jour et produit (commandes payées ou en cours de traitement uniquement).
+ * Les lignes sont recalculées par (vendeur, jour) à partir des commandes ; elles ne sont jamais modifiées ailleurs.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "vendor_daily_sales")
+public class VendorDailySales {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "vendor_id", nullable = false)
+        private Long vendorId;
+
+        @Column(name = "sales_day", nullable = false)
+        private LocalDate salesDay;
+
+        @Column(name = "product_id", nullable = false)
+        private Long productId;
+    }
+}
@@ -1,5 +1,11 @@
 package com.customworld.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum DeliveryStatus {
     PENDING,
     ASSIGNED,
@@ -8,17 +14,41 @@ public enum DeliveryStatus {
     CANCELLED,
     ISSUE_REPORTED;
 
+    /**
+     * Table des transitions autorisées : statut courant -> statuts cibles possibles.
+     */
+    private static final Map<DeliveryStatus, Set<DeliveryStatus>> TRANSITIONS = new EnumMap<>(DeliveryStatus.class);
+
+    /**
+     * Table inverse : statut cible -> statuts depuis lesquels il est atteignable (clause {@code status IN (...)}).
+     */
+    private static final Map<DeliveryStatus, Set<DeliveryStatus>> SOURCES = new EnumMap<>(DeliveryStatus.class);
+
+    static {
+        allow(PENDING, ASSIGNED, CANCELLED);
+        allow(ASSIGNED, IN_PROGRESS, CANCELLED, ISSUE_REPORTED);
+        allow(IN_PROGRESS, DELIVERED, ISSUE_REPORTED);
+    }
+
+    private static void allow(DeliveryStatus from, DeliveryStatus... targets) {
+        TRANSITIONS.put(from, Collections.unmodifiableSet(EnumSet.of(targets[0], targets)));
+        for (DeliveryStatus target : targets) {
+            SOURCES.computeIfAbsent(target, key -> EnumSet.noneOf(DeliveryStatus.class)).add(from);
+        }
+    }
+
     public boolean canTransitionTo(DeliveryStatus newStatus) {
-        // Implémenter la logique métier des transitions autorisées
-        return switch (this) {
-            case PENDING -> newStatus == ASSIGNED || newStatus == CANCELLED;
-            case ASSIGNED -> newStatus == IN_PROGRESS || newStatus == CANCELLED;
-            case IN_PROGRESS -> newStatus == DELIVERED || newStatus == ISSUE_REPORTED;
-            default -> false;
-        };
+        return TRANSITIONS.getOrDefault(this, Set.of()).contains(newStatus);
+    }
+
+    /**
+     * Statuts à partir desquels une livraison peut passer au statut donné.
+     */
+    public static Set<DeliveryStatus> sourcesOf(DeliveryStatus target) {
+        return Collections.unmodifiableSet(SOURCES.getOrDefault(target, EnumSet.noneOf(DeliveryStatus.class)));
     }
 
     public boolean isActiveStatus() {
         return this == IN_PROGRESS || this == ASSIGNED;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.customworld.enums;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Déclinaisons redimensionnées d'une image uploadée.
+ * Chaque variante est stockée à côté de l'original sous le nom {@code <nom>@w<largeur>.<ext>}.
+ */
+public enum ImageVariant {
+    THUMBNAIL(160),  // Vignette des grilles catalogue
+    CARD(480),       // Carte produit
+    DETAIL(1080);    // Page détail
+
+    /**
+     * Seules les largeurs réellement produites sont reconnues. Un nom d'upload peut lui-même contenir
+     * {@code @w<nombre>} : ce motif ne suffit pas à prouver qu'un fichier est une variante.
+     */
+    private static final Pattern VARIANT_NAME = Pattern.compile("^(.+)@w("
+            + Arrays.stream(values()).map(variant -> String.valueOf(variant.width)).collect(Collectors.joining("|"))
+            + ")(\\.[^.]*)?$");
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Choisit la plus petite variante couvrant la largeur demandée (DETAIL au-delà).
+     */
+    public static ImageVariant forWidth(int requestedWidth) {
+        for (ImageVariant variant : values()) {
+            if (requestedWidth <= variant.width) {
+                return variant;
+            }
+        }
+        return DETAIL;
+    }
+
+    /**
+     * Nom de fichier de cette variante pour un fichier original donné.
+     */
+    public String fileNameFor(String originalFileName) {
+        int dot = originalFileName.lastIndexOf('.');
+        if (dot <= 0) {
+            return originalFileName + "@w" + width;
+        }
+        return originalFileName.substring(0, dot) + "@w" + width + originalFileName.substring(dot);
+    }
+
+    public static boolean isVariantFileName(String fileName) {
+        return VARIANT_NAME.matcher(fileName).matches();
+    }
+
+    /**
+     * Retrouve le nom de l'original à partir du nom d'une variante (renvoie le nom tel quel sinon).
+     */
+    public static String originalFileNameOf(String fileName) {
+        Matcher matcher = VARIANT_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return fileName;
+        }
+        return matcher.group(1) + (matcher.group(3) != null ? matcher.group(3) : "");
+    }
+}
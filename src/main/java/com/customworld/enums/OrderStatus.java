@@ -1,5 +1,11 @@
 package com.customworld.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Énumération des statuts de commande
  */
@@ -14,7 +20,42 @@ public enum OrderStatus {
     PAID,           // Payée
     FAILED; // Échec du paiement
 
+    /**
+     * Table des transitions autorisées et sa table inverse (statut cible -> statuts sources),
+     * utilisée pour générer les mises à jour conditionnelles {@code WHERE status IN (...)}.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(PENDING, CONFIRMED, IN_PROGRESS, PAID, FAILED, CANCELLED);
+        allow(FAILED, PENDING, PAID);
+        allow(CONFIRMED, IN_PROGRESS, PAID);
+        allow(PAID, CONFIRMED, IN_PROGRESS, COMPLETED, SHIPPED);
+        allow(IN_PROGRESS, COMPLETED, SHIPPED, DELIVERED, CANCELLED);
+        allow(COMPLETED, SHIPPED, DELIVERED);
+        allow(SHIPPED, DELIVERED);
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... targets) {
+        TRANSITIONS.put(from, Collections.unmodifiableSet(EnumSet.of(targets[0], targets)));
+        for (OrderStatus target : targets) {
+            SOURCES.computeIfAbsent(target, key -> EnumSet.noneOf(OrderStatus.class)).add(from);
+        }
+    }
+
+    public boolean canTransitionTo(OrderStatus newStatus) {
+        return TRANSITIONS.getOrDefault(this, Set.of()).contains(newStatus);
+    }
+
+    /**
+     * Statuts à partir desquels une commande peut passer au statut donné.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        return Collections.unmodifiableSet(SOURCES.getOrDefault(target, EnumSet.noneOf(OrderStatus.class)));
+    }
+
     public boolean canBeCancelled() {
-        return this == PENDING || this == IN_PROGRESS;
+        return canTransitionTo(CANCELLED);
     }
 }
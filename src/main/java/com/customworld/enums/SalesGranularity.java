@@ -0,0 +1,36 @@
+package com.customworld.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularité des agrégats de ventes ({@code sales_rollups}).
+ * Les heures sont alimentées en continu ; les jours sont compactés depuis les heures, les mois depuis les jours.
+ */
+public enum SalesGranularity {
+    HOUR,   // Heure
+    DAY,    // Jour
+    MONTH;  // Mois
+
+    /**
+     * Début du seau contenant l'instant donné.
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Début du seau suivant.
+     */
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.customworld.enums;
+
+/**
+ * Nature d'une suggestion de la barre de recherche.
+ */
+public enum SuggestionType {
+    PRODUCT,    // Produit
+    CATEGORY    // Catégorie
+}
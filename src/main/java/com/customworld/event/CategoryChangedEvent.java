@@ -0,0 +1,24 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après la création, le renommage ou la suppression d'une catégorie.
+ * Les index en mémoire du catalogue, qui recopient le nom de catégorie de chaque produit, relisent alors
+ * les produits de la catégorie.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+
+    /**
+     * ID de la catégorie
+     */
+    private final Long categoryId;
+
+    /**
+     * Vrai si la catégorie a été supprimée
+     */
+    private final boolean deleted;
+}
@@ -0,0 +1,38 @@
+package com.customworld.event;
+
+import com.customworld.enums.DeliveryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après un changement de statut (ou la création) d'une livraison.
+ */
+@Getter
+@AllArgsConstructor
+public class DeliveryStatusChangedEvent {
+
+    /**
+     * ID de la livraison (null pour les livraisons créées en lot par le moteur d'assignation)
+     */
+    private final Long deliveryId;
+
+    /**
+     * ID de la commande livrée
+     */
+    private final Long orderId;
+
+    /**
+     * ID du livreur, ou null si la livraison n'est pas encore attribuée
+     */
+    private final Long delivererId;
+
+    /**
+     * Nouveau statut
+     */
+    private final DeliveryStatus status;
+
+    /**
+     * Description du problème signalé, le cas échéant
+     */
+    private final String issueDescription;
+}
@@ -0,0 +1,24 @@
+package com.customworld.event;
+
+import com.customworld.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après tout changement de statut d'une commande payée directement (table {@code orders}) par le
+ * vendeur. Les issues de paiement sont en plus annoncées par {@link PaymentStatusChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class DirectOrderStatusChangedEvent {
+
+    /**
+     * ID de la commande ({@link com.customworld.entity.Order})
+     */
+    private final Long orderId;
+
+    /**
+     * Nouveau statut
+     */
+    private final OrderStatus status;
+}
@@ -0,0 +1,17 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après la suppression d'un fichier du dossier de stockage.
+ */
+@Getter
+@AllArgsConstructor
+public class FileDeletedEvent {
+
+    /**
+     * Nom du fichier supprimé
+     */
+    private final String fileName;
+}
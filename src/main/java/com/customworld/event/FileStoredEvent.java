@@ -0,0 +1,17 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après l'enregistrement d'un fichier dans le dossier de stockage.
+ */
+@Getter
+@AllArgsConstructor
+public class FileStoredEvent {
+
+    /**
+     * Nom du fichier enregistré (tel que renvoyé par FileStorageService)
+     */
+    private final String fileName;
+}
@@ -0,0 +1,34 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement publié à la création d'une commande panier ({@link com.customworld.entity.CustomOrder}).
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPlacedEvent {
+
+    /**
+     * ID de la commande
+     */
+    private final Long orderId;
+
+    /**
+     * Date de la commande
+     */
+    private final LocalDateTime orderDate;
+
+    /**
+     * Montant total
+     */
+    private final double amount;
+
+    /**
+     * Nombre d'articles (somme des quantités)
+     */
+    private final long itemCount;
+}
@@ -0,0 +1,23 @@
+package com.customworld.event;
+
+import com.customworld.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après un changement de statut d'une commande.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+
+    /**
+     * ID de la commande
+     */
+    private final Long orderId;
+
+    /**
+     * Nouveau statut
+     */
+    private final OrderStatus status;
+}
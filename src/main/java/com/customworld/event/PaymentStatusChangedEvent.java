@@ -0,0 +1,24 @@
+package com.customworld.event;
+
+import com.customworld.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié quand le paiement d'une commande payée directement (table {@code orders}) aboutit ou échoue
+ * ({@code PAID} ou {@code FAILED}), par notification de paiement ou par le vendeur.
+ */
+@Getter
+@AllArgsConstructor
+public class PaymentStatusChangedEvent {
+
+    /**
+     * ID de la commande ({@link com.customworld.entity.Order})
+     */
+    private final Long orderId;
+
+    /**
+     * Nouveau statut
+     */
+    private final OrderStatus status;
+}
@@ -0,0 +1,23 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après la création, la modification, la validation ou la suppression d'un produit.
+ * Les index en mémoire du catalogue relisent le produit depuis la base à la réception.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    /**
+     * ID du produit
+     */
+    private final Long productId;
+
+    /**
+     * Vrai si le produit a été supprimé
+     */
+    private final boolean deleted;
+}
@@ -0,0 +1,41 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après qu'un client a aimé un produit ou retiré son j'aime.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductLikedEvent {
+
+    /**
+     * ID du produit
+     */
+    private final Long productId;
+
+    /**
+     * ID de la catégorie du produit (peut être null)
+     */
+    private final Long categoryId;
+
+    /**
+     * ID du client
+     */
+    private final Long userId;
+
+    /**
+     * Vrai pour un j'aime, faux pour un retrait
+     */
+    private final boolean liked;
+
+    /**
+     * ID du j'aime créé (null pour un retrait, ou s'il n'est pas connu)
+     */
+    private final Long likeId;
+
+    public ProductLikedEvent(Long productId, Long categoryId, Long userId, boolean liked) {
+        this(productId, categoryId, userId, liked, null);
+    }
+}
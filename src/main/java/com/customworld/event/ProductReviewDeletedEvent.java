@@ -0,0 +1,22 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après la suppression d'un avis sur un produit.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductReviewDeletedEvent {
+
+    /**
+     * ID du produit
+     */
+    private final Long productId;
+
+    /**
+     * ID de l'avis supprimé
+     */
+    private final Long reviewId;
+}
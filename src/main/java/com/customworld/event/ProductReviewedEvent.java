@@ -0,0 +1,27 @@
+package com.customworld.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après l'ajout d'un avis sur un produit.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductReviewedEvent {
+
+    /**
+     * ID du produit
+     */
+    private final Long productId;
+
+    /**
+     * ID de la catégorie du produit (peut être null)
+     */
+    private final Long categoryId;
+
+    /**
+     * ID de l'auteur de l'avis
+     */
+    private final Long userId;
+}
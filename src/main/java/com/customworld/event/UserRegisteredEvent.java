@@ -0,0 +1,23 @@
+package com.customworld.event;
+
+import com.customworld.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Événement publié après l'inscription d'un utilisateur.
+ */
+@Getter
+@AllArgsConstructor
+public class UserRegisteredEvent {
+
+    /**
+     * ID de l'utilisateur
+     */
+    private final Long userId;
+
+    /**
+     * Rôle choisi à l'inscription
+     */
+    private final UserRole role;
+}
@@ -1,10 +1,42 @@
 package com.customworld.repository;
 
 import com.customworld.entity.CustomOrder;
+import com.customworld.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomOrderRepository extends JpaRepository<CustomOrder, Long> {
     List<CustomOrder> findByCustomerId(Long customerId);
-}
\ No newline at end of file
+
+    @Query("SELECT MIN(o.orderDate) FROM CustomOrder o")
+    LocalDateTime findEarliestOrderDate();
+
+    /**
+     * Plus grand ID de commande (null si aucune).
+     */
+    @Query("SELECT MAX(o.id) FROM CustomOrder o")
+    Long findMaxId();
+
+    /**
+     * Commandes prêtes à être livrées et sans livraison, les plus anciennes d'abord.
+     */
+    @Query("SELECT o.id FROM CustomOrder o WHERE o.status IN :statuses "
+            + "AND NOT EXISTS (SELECT d.id FROM Delivery d WHERE d.order = o) ORDER BY o.orderDate ASC, o.id ASC")
+    List<Long> findUndispatchedOrderIds(@Param("statuses") Collection<OrderStatus> statuses, Pageable pageable);
+
+    /**
+     * Transition de statut conditionnelle (compare-and-set) : 1 si la ligne a changé, 0 sinon.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomOrder o SET o.status = :target WHERE o.id = :id AND o.status IN :sources")
+    int updateStatus(@Param("id") Long id,
+                     @Param("sources") Collection<OrderStatus> sources,
+                     @Param("target") OrderStatus target);
+}
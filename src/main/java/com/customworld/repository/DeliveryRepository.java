@@ -1,11 +1,18 @@
 package com.customworld.repository;
 
+import com.customworld.dto.response.DeliveryResponse;
 import com.customworld.entity.Delivery;
 import com.customworld.enums.DeliveryStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
@@ -17,4 +24,132 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     List<Delivery> findByStatus(DeliveryStatus status);
 
     List<Delivery> findAllByOrderByDeliveryDateDesc();
-}
\ No newline at end of file
+
+    /**
+     * Page de l'historique, du plus récent au plus ancien, strictement après le curseur (date, id).
+     * Projection directe en DTO : ni entité, ni graphe de relations chargé. Index (status, delivery_date, id).
+     */
+    @Query("SELECT new com.customworld.dto.response.DeliveryResponse(d.id, d.order.id, dl.id, d.status, "
+            + "d.issueDescription, d.deliveryDate) FROM Delivery d LEFT JOIN d.deliverer dl "
+            + "WHERE d.status IN :statuses AND d.deliveryDate >= :from AND d.deliveryDate < :to "
+            + "AND (d.deliveryDate < :cursorDate OR (d.deliveryDate = :cursorDate AND d.id < :cursorId)) "
+            + "ORDER BY d.deliveryDate DESC, d.id DESC")
+    List<DeliveryResponse> findHistoryPage(@Param("statuses") Collection<DeliveryStatus> statuses,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("cursorDate") LocalDateTime cursorDate,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    /**
+     * Page de l'historique tous statuts confondus : sans prédicat sur le statut, l'index (delivery_date, id) fournit
+     * directement l'ordre demandé, là où un {@code status IN (...)} à plusieurs valeurs imposerait un tri.
+     */
+    @Query("SELECT new com.customworld.dto.response.DeliveryResponse(d.id, d.order.id, dl.id, d.status, "
+            + "d.issueDescription, d.deliveryDate) FROM Delivery d LEFT JOIN d.deliverer dl "
+            + "WHERE d.deliveryDate >= :from AND d.deliveryDate < :to "
+            + "AND (d.deliveryDate < :cursorDate OR (d.deliveryDate = :cursorDate AND d.id < :cursorId)) "
+            + "ORDER BY d.deliveryDate DESC, d.id DESC")
+    List<DeliveryResponse> findHistoryPageAnyStatus(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("cursorDate") LocalDateTime cursorDate,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * Même page, restreinte aux livraisons d'un livreur. Index (deliverer_id, status, delivery_date, id).
+     */
+    @Query("SELECT new com.customworld.dto.response.DeliveryResponse(d.id, d.order.id, d.deliverer.id, d.status, "
+            + "d.issueDescription, d.deliveryDate) FROM Delivery d "
+            + "WHERE d.deliverer.id = :delivererId AND d.status IN :statuses "
+            + "AND d.deliveryDate >= :from AND d.deliveryDate < :to "
+            + "AND (d.deliveryDate < :cursorDate OR (d.deliveryDate = :cursorDate AND d.id < :cursorId)) "
+            + "ORDER BY d.deliveryDate DESC, d.id DESC")
+    List<DeliveryResponse> findDelivererPage(@Param("delivererId") Long delivererId,
+                                             @Param("statuses") Collection<DeliveryStatus> statuses,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("cursorDate") LocalDateTime cursorDate,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    /**
+     * Page d'un livreur tous statuts confondus. Index (deliverer_id, delivery_date, id).
+     */
+    @Query("SELECT new com.customworld.dto.response.DeliveryResponse(d.id, d.order.id, d.deliverer.id, d.status, "
+            + "d.issueDescription, d.deliveryDate) FROM Delivery d "
+            + "WHERE d.deliverer.id = :delivererId "
+            + "AND d.deliveryDate >= :from AND d.deliveryDate < :to "
+            + "AND (d.deliveryDate < :cursorDate OR (d.deliveryDate = :cursorDate AND d.id < :cursorId)) "
+            + "ORDER BY d.deliveryDate DESC, d.id DESC")
+    List<DeliveryResponse> findDelivererPageAnyStatus(@Param("delivererId") Long delivererId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to,
+                                                      @Param("cursorDate") LocalDateTime cursorDate,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+
+    /**
+     * Renseigne la date des livraisons créées avant qu'elle ne soit systématiquement remplie,
+     * à partir de la date de commande.
+     */
+    @Modifying
+    @Query(value = "UPDATE deliveries d SET delivery_date = COALESCE("
+            + "(SELECT o.order_date FROM custom_orders o WHERE o.id = d.order_id), CURRENT_TIMESTAMP) "
+            + "WHERE d.delivery_date IS NULL", nativeQuery = true)
+    int backfillMissingDeliveryDates();
+
+    /**
+     * Livraisons d'une commande appartenant au client donné, dans les statuts donnés, la plus récente en premier.
+     */
+    @Query("SELECT d FROM Delivery d JOIN FETCH d.deliverer WHERE d.order.id = :orderId "
+            + "AND d.order.customer.id = :customerId AND d.status IN :statuses ORDER BY d.id DESC")
+    List<Delivery> findCustomerOrderDeliveries(@Param("orderId") Long orderId,
+                                               @Param("customerId") Long customerId,
+                                               @Param("statuses") Collection<DeliveryStatus> statuses);
+
+    /**
+     * Charge active par livreur : [delivererId, nombre de livraisons dans les statuts donnés].
+     */
+    @Query("SELECT d.deliverer.id, COUNT(d) FROM Delivery d WHERE d.status IN :statuses GROUP BY d.deliverer.id")
+    List<Object[]> countByDelivererAndStatusIn(@Param("statuses") Collection<DeliveryStatus> statuses);
+
+    /**
+     * Verrouille la prochaine livraison PENDING libre (ou déjà destinée à ce livreur). Les livraisons libres sont
+     * créées par le moteur d'assignation pour les commandes qu'aucun livreur n'a pu prendre en charge.
+     * Les lignes verrouillées par d'autres transactions sont sautées : chaque livreur obtient une ligne différente
+     * sans attendre. À appeler dans une transaction, le verrou est tenu jusqu'au commit.
+     */
+    @Query(value = "SELECT id FROM deliveries WHERE status = 'PENDING' "
+            + "AND (deliverer_id IS NULL OR deliverer_id = :delivererId) "
+            + "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> findNextClaimableIdForUpdate(@Param("delivererId") Long delivererId);
+
+    /**
+     * Attribue la livraison au livreur si elle est toujours PENDING.
+     *
+     * @return 1 si la livraison a été attribuée, 0 sinon.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE deliveries SET status = 'ASSIGNED', deliverer_id = :delivererId "
+            + "WHERE id = :id AND status = 'PENDING'", nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("delivererId") Long delivererId);
+
+    /**
+     * Change le statut en une seule requête si le statut courant fait partie des sources autorisées.
+     *
+     * @return 1 si la ligne a changé, 0 sinon (livraison absente ou transition refusée).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Delivery d SET d.status = :target WHERE d.id = :id AND d.status IN :sources")
+    int updateStatus(@Param("id") Long id,
+                     @Param("sources") Collection<DeliveryStatus> sources,
+                     @Param("target") DeliveryStatus target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Delivery d SET d.status = :target, d.issueDescription = :issue WHERE d.id = :id AND d.status IN :sources")
+    int updateStatusWithIssue(@Param("id") Long id,
+                              @Param("sources") Collection<DeliveryStatus> sources,
+                              @Param("target") DeliveryStatus target,
+                              @Param("issue") String issue);
+}
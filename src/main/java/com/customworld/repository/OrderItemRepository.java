@@ -2,6 +2,23 @@ package com.customworld.repository;
 
 import com.customworld.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT oi.imagePath FROM OrderItem oi WHERE oi.imagePath IS NOT NULL")
+    Stream<String> streamImagePaths();
+
+    /**
+     * Toutes les lignes de commande, groupées par commande : [orderId, productId].
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi ORDER BY oi.order.id")
+    Stream<Object[]> streamOrderProductPairs();
+}
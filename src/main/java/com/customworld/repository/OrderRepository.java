@@ -1,10 +1,29 @@
 package com.customworld.repository;
 
 import com.customworld.entity.Order;
+import com.customworld.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional <Order> findByTransactionId(String transactionId);
 
-}
\ No newline at end of file
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    Instant findEarliestCreatedAt();
+
+    /**
+     * Transition de statut conditionnelle (compare-and-set) : 1 si la ligne a changé, 0 sinon.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :updatedAt WHERE o.id = :id AND o.status IN :sources")
+    int updateStatus(@Param("id") Long id,
+                     @Param("sources") Collection<OrderStatus> sources,
+                     @Param("target") OrderStatus target,
+                     @Param("updatedAt") Instant updatedAt);
+}
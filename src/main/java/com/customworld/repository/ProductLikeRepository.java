@@ -1,15 +1,69 @@
 package com.customworld.repository;
 
 import com.customworld.entity.ProductLike;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductLikeRepository extends JpaRepository<ProductLike, Long> {
     boolean existsByProductIdAndUserId(Long productId, Long userId);
     Optional<ProductLike> findByProductIdAndUserId(Long productId, Long userId);
     long countByProductId(Long productId);
-    void deleteByProductIdAndUserId(Long productId, Long userId);
+
+    /**
+     * J'aime par produit du vendeur : [productId, nombre].
+     */
+    @Query("SELECT l.product.id, COUNT(l) FROM ProductLike l WHERE l.product.vendor.id = :vendorId GROUP BY l.product.id")
+    List<Object[]> countPerProductOfVendor(@Param("vendorId") Long vendorId);
+
+    /**
+     * J'aime par produit, tous vendeurs confondus : [productId, nombre].
+     */
+    @Query("SELECT l.product.id, COUNT(l) FROM ProductLike l GROUP BY l.product.id")
+    List<Object[]> countPerProduct();
+
+    /**
+     * J'aime reçus depuis la date donnée : [productId, ID de catégorie, date].
+     */
+    @Query("SELECT l.product.id, c.id, l.createdAt FROM ProductLike l LEFT JOIN l.product.category c WHERE l.createdAt >= :since")
+    List<Object[]> findRecent(@Param("since") Instant since);
+
+    /**
+     * Produits aimés par un utilisateur.
+     */
+    @Query("SELECT l.product.id FROM ProductLike l WHERE l.user.id = :userId")
+    List<Long> findProductIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Plus grand ID de j'aime (null si aucun).
+     */
+    @Query("SELECT MAX(l.id) FROM ProductLike l")
+    Long findMaxId();
+
+    /**
+     * J'aime d'ID inférieur ou égal à {@code maxId}, groupés par utilisateur : [userId, productId].
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.user.id, l.product.id FROM ProductLike l WHERE l.id <= :maxId ORDER BY l.user.id")
+    Stream<Object[]> streamUserProductPairs(@Param("maxId") long maxId);
+
+    /**
+     * Retire le j'aime en une seule requête.
+     *
+     * @return Nombre de lignes supprimées (0 si le produit n'était pas aimé).
+     */
+    @Modifying
+    @Query("DELETE FROM ProductLike l WHERE l.product.id = :productId AND l.user.id = :userId")
+    int deleteByProductIdAndUserId(@Param("productId") Long productId, @Param("userId") Long userId);
 }
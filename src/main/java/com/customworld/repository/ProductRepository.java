@@ -2,20 +2,65 @@ package com.customworld.repository;
 
 import com.customworld.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByVendorId(Long vendorId);
+
+    /**
+     * Produits d'un vendeur : [id, nom].
+     */
+    @Query("SELECT p.id, p.name FROM Product p WHERE p.vendor.id = :vendorId ORDER BY p.id")
+    List<Object[]> findIdAndNameByVendorId(@Param("vendorId") Long vendorId);
+
+    /**
+     * Tous les produits : [id, nom, ID de catégorie].
+     */
+    @Query("SELECT p.id, p.name, p.category.id FROM Product p")
+    List<Object[]> findIdNameAndCategoryId();
     List<Product> findByCategoryName(String categoryName);
+    List<Product> findByCategoryId(Long categoryId);
     Optional<Product> findById(Long id);
 
     long countByIsOnSaleTrue();
 
     @Query("SELECT p.category, COUNT(p) FROM Product p GROUP BY p.category")
     List<Object[]> countByCategory();
-    
+
+    /**
+     * Nombre de produits par catégorie : [id de catégorie, nom, nombre].
+     */
+    @Query("SELECT c.id, c.name, COUNT(p) FROM Product p JOIN p.category c GROUP BY c.id, c.name")
+    List<Object[]> countPerCategory();
+
+    /**
+     * Ajoute ({@code delta = 1}) ou retire ({@code delta = -1}) une note à l'agrégat du produit, en une
+     * seule instruction : nombre, somme et case de l'histogramme restent cohérents entre eux.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET rating_count = rating_count + :delta, rating_sum = rating_sum + :delta * :rating, "
+            + "rating_1 = rating_1 + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, "
+            + "rating_2 = rating_2 + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, "
+            + "rating_3 = rating_3 + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, "
+            + "rating_4 = rating_4 + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, "
+            + "rating_5 = rating_5 + CASE WHEN :rating = 5 THEN :delta ELSE 0 END "
+            + "WHERE id = :productId", nativeQuery = true)
+    int addRating(@Param("productId") Long productId, @Param("rating") int rating, @Param("delta") int delta);
+
+    /**
+     * Références de fichiers lues en flux par le ramasse-miettes des uploads (à consommer dans une transaction).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.imagePath FROM Product p WHERE p.imagePath IS NOT NULL")
+    Stream<String> streamImagePaths();
 }
@@ -1,13 +1,54 @@
 package com.customworld.repository;
 
+import com.customworld.dto.response.ReviewResponse;
 import com.customworld.entity.ProductReview;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface ProductReviewRepository extends JpaRepository<ProductReview, Long> {
-    List<ProductReview> findByProductIdOrderByCreatedAtDesc(Long productId);
+    /**
+     * Page d'avis d'un produit, du plus récent au plus ancien, strictement après le curseur (date, id).
+     * Projection directe en DTO avec le seul nom de l'auteur : ni entité ni utilisateur chargés.
+     * Index (product_id, created_at, id).
+     */
+    @Query("SELECT new com.customworld.dto.response.ReviewResponse(r.id, r.product.id, u.id, u.name, r.content, "
+            + "r.rating, r.createdAt, r.updatedAt) FROM ProductReview r JOIN r.user u "
+            + "WHERE r.product.id = :productId "
+            + "AND (r.createdAt < :cursorDate OR (r.createdAt = :cursorDate AND r.id < :cursorId)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findPage(@Param("productId") Long productId,
+                                  @Param("cursorDate") Instant cursorDate,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
     long countByProductId(Long productId);
+
+    /**
+     * Avis par produit du vendeur : [productId, nombre].
+     */
+    @Query("SELECT r.product.id, COUNT(r) FROM ProductReview r WHERE r.product.vendor.id = :vendorId GROUP BY r.product.id")
+    List<Object[]> countPerProductOfVendor(@Param("vendorId") Long vendorId);
+
+    /**
+     * Avis publiés depuis la date donnée : [productId, ID de catégorie, date].
+     */
+    @Query("SELECT r.product.id, c.id, r.createdAt FROM ProductReview r LEFT JOIN r.product.category c WHERE r.createdAt >= :since")
+    List<Object[]> findRecent(@Param("since") Instant since);
+
+    /**
+     * Supprime un avis en une requête.
+     *
+     * @return Nombre de lignes supprimées : 0 si l'avis a déjà été supprimé.
+     */
+    @Modifying
+    @Query("DELETE FROM ProductReview r WHERE r.id = :id")
+    int deleteReviewById(@Param("id") Long id);
 }
@@ -0,0 +1,69 @@
+package com.customworld.repository;
+
+import com.customworld.entity.SalesRollup;
+import com.customworld.enums.SalesGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollup.Key> {
+
+    @Query("SELECT r FROM SalesRollup r WHERE r.id.granularity = :granularity "
+            + "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to ORDER BY r.id.bucketStart")
+    List<SalesRollup> findRange(@Param("granularity") SalesGranularity granularity,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.id.granularity = :granularity "
+            + "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to")
+    int deleteRange(@Param("granularity") SalesGranularity granularity,
+                    @Param("from") LocalDateTime from,
+                    @Param("to") LocalDateTime to);
+
+    /**
+     * Recalcule les seaux horaires de la plage depuis les commandes d'ID au plus {@code maxOrderId}
+     * (à précéder de {@link #deleteRange}).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (granularity, bucket_start, order_count, item_count, amount) "
+            + "SELECT 'HOUR', date_trunc('hour', o.order_date), COUNT(*), COALESCE(SUM(i.items), 0), COALESCE(SUM(o.amount), 0) "
+            + "FROM custom_orders o "
+            + "LEFT JOIN (SELECT order_id, SUM(quantity) AS items FROM order_items GROUP BY order_id) i ON i.order_id = o.id "
+            + "WHERE o.order_date >= :from AND o.order_date < :to AND o.id <= :maxOrderId "
+            + "GROUP BY date_trunc('hour', o.order_date)",
+            nativeQuery = true)
+    int insertHoursFromOrders(@Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              @Param("maxOrderId") long maxOrderId);
+
+    /**
+     * Compacte les heures de la plage en jours (les jours existants sont remplacés).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (granularity, bucket_start, order_count, item_count, amount) "
+            + "SELECT 'DAY', date_trunc('day', bucket_start), SUM(order_count), SUM(item_count), SUM(amount) "
+            + "FROM sales_rollups WHERE granularity = 'HOUR' AND bucket_start >= :from AND bucket_start < :to "
+            + "GROUP BY date_trunc('day', bucket_start) "
+            + "ON CONFLICT (granularity, bucket_start) DO UPDATE SET order_count = EXCLUDED.order_count, "
+            + "item_count = EXCLUDED.item_count, amount = EXCLUDED.amount",
+            nativeQuery = true)
+    int compactDays(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Compacte les jours de la plage en mois (les mois existants sont remplacés).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (granularity, bucket_start, order_count, item_count, amount) "
+            + "SELECT 'MONTH', date_trunc('month', bucket_start), SUM(order_count), SUM(item_count), SUM(amount) "
+            + "FROM sales_rollups WHERE granularity = 'DAY' AND bucket_start >= :from AND bucket_start < :to "
+            + "GROUP BY date_trunc('month', bucket_start) "
+            + "ON CONFLICT (granularity, bucket_start) DO UPDATE SET order_count = EXCLUDED.order_count, "
+            + "item_count = EXCLUDED.item_count, amount = EXCLUDED.amount",
+            nativeQuery = true)
+    int compactMonths(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
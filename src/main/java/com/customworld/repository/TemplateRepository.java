@@ -2,11 +2,20 @@ package com.customworld.repository;
 
 import com.customworld.entity.Template;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TemplateRepository extends JpaRepository<Template, Long> {
     List<Template> findByProductId(Long productId);
     List<Template> findByCreatedById(Long createdById);
     List<Template> findByProductIdAndCreatedById(Long productId, Long createdById);
-}
\ No newline at end of file
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.templatePath FROM Template t WHERE t.templatePath IS NOT NULL")
+    Stream<String> streamTemplatePaths();
+}
@@ -26,11 +26,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByRole(UserRole role);
 
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") UserRole role);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email AND u.role = :role")
+    Optional<Long> findIdByEmailAndRole(@Param("email") String email, @Param("role") UserRole role);
+
     Optional<User> findByPasswordResetToken(String token);
+
+    /**
+     * Champs utiles à la recherche d'utilisateurs : [id, nom, email, rôle].
+     */
+    @Query("SELECT u.id, u.name, u.email, u.role FROM User u")
+    List<Object[]> findSearchFields();
     
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") UserRole role);
 
    long countByCreatedAtAfter(LocalDate startOfMonth);
+
+   long countByCreatedAtGreaterThanEqual(LocalDate date);
 }
\ No newline at end of file
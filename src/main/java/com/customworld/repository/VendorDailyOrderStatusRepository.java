@@ -0,0 +1,52 @@
+package com.customworld.repository;
+
+import com.customworld.entity.VendorDailyOrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface VendorDailyOrderStatusRepository extends JpaRepository<VendorDailyOrderStatus, VendorDailyOrderStatus.Key> {
+
+    @Modifying
+    @Query("DELETE FROM VendorDailyOrderStatus s WHERE s.id.vendorId = :vendorId AND s.id.salesDay = :day")
+    int deleteVendorDay(@Param("vendorId") Long vendorId, @Param("day") LocalDate day);
+
+    /**
+     * Recalcule la répartition par statut des commandes d'un vendeur pour un jour.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vendor_daily_order_status (vendor_id, sales_day, status, order_count) "
+            + "SELECT :vendorId, :day, l.status, COUNT(DISTINCT l.order_ref) "
+            + "FROM (" + VendorDailySalesRepository.VENDOR_ORDER_LINES + ") l "
+            + "WHERE l.status IS NOT NULL GROUP BY l.status",
+            nativeQuery = true)
+    int insertVendorDay(@Param("vendorId") Long vendorId,
+                        @Param("day") LocalDate day,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("startInstant") Instant startInstant,
+                        @Param("endInstant") Instant endInstant);
+
+    /**
+     * Commandes par statut sur la période : [statut, nombre].
+     */
+    @Query("SELECT s.id.status, SUM(s.orderCount) FROM VendorDailyOrderStatus s "
+            + "WHERE s.id.vendorId = :vendorId AND s.id.salesDay BETWEEN :from AND :to GROUP BY s.id.status")
+    List<Object[]> countPerStatus(@Param("vendorId") Long vendorId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    /**
+     * Couples [vendorId, jour] déjà agrégés sur la plage ; toute commande a un statut, donc cette table
+     * couvre aussi les clés de {@code vendor_daily_sales}.
+     */
+    @Query("SELECT DISTINCT s.id.vendorId, s.id.salesDay FROM VendorDailyOrderStatus s "
+            + "WHERE s.id.salesDay BETWEEN :from AND :to")
+    List<Object[]> findKeysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,99 @@
+package com.customworld.repository;
+
+import com.customworld.entity.VendorDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface VendorDailySalesRepository extends JpaRepository<VendorDailySales, VendorDailySales.Key> {
+
+    /**
+     * Lignes de vente d'un vendeur sur une plage de dates, des deux modèles de commande :
+     * paniers ({@code custom_orders}/{@code order_items}) et paiements directs ({@code orders}, un article).
+     * Colonnes : product_id, quantity, revenue, order_ref, status.
+     */
+    String VENDOR_ORDER_LINES = "SELECT oi.product_id, oi.quantity, "
+            + "oi.quantity * COALESCE(oi.unit_price, p.price, 0) AS revenue, CONCAT('C', o.id) AS order_ref, o.status "
+            + "FROM custom_orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id "
+            + "WHERE p.vendor_id = :vendorId AND o.order_date >= :start AND o.order_date < :end "
+            + "UNION ALL "
+            + "SELECT o.product_id, 1, COALESCE(o.amount, 0), CONCAT('P', o.id), o.status "
+            + "FROM orders o JOIN products p ON p.id = o.product_id "
+            + "WHERE p.vendor_id = :vendorId AND o.created_at >= :startInstant AND o.created_at < :endInstant";
+
+    @Modifying
+    @Query("DELETE FROM VendorDailySales s WHERE s.id.vendorId = :vendorId AND s.id.salesDay = :day")
+    int deleteVendorDay(@Param("vendorId") Long vendorId, @Param("day") LocalDate day);
+
+    /**
+     * Recalcule les ventes d'un vendeur pour un jour, à partir des commandes dans les statuts donnés.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vendor_daily_sales (vendor_id, sales_day, product_id, units_sold, revenue, order_count) "
+            + "SELECT :vendorId, :day, l.product_id, SUM(l.quantity), SUM(l.revenue), COUNT(DISTINCT l.order_ref) "
+            + "FROM (" + VENDOR_ORDER_LINES + ") l WHERE l.status IN (:statuses) GROUP BY l.product_id",
+            nativeQuery = true)
+    int insertVendorDay(@Param("vendorId") Long vendorId,
+                        @Param("day") LocalDate day,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("startInstant") Instant startInstant,
+                        @Param("endInstant") Instant endInstant,
+                        @Param("statuses") Collection<String> statuses);
+
+    /**
+     * Ventes par produit sur la période : [productId, unités, chiffre d'affaires, commandes], par chiffre d'affaires décroissant.
+     */
+    @Query("SELECT s.id.productId, SUM(s.unitsSold), SUM(s.revenue), SUM(s.orderCount) FROM VendorDailySales s "
+            + "WHERE s.id.vendorId = :vendorId AND s.id.salesDay BETWEEN :from AND :to "
+            + "GROUP BY s.id.productId ORDER BY SUM(s.revenue) DESC")
+    List<Object[]> sumPerProduct(@Param("vendorId") Long vendorId,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    /**
+     * Couples [vendorId, jour de commande] touchés par les commandes panier données.
+     */
+    @Query(value = "SELECT DISTINCT p.vendor_id, CAST(o.order_date AS date) FROM custom_orders o "
+            + "JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id "
+            + "WHERE o.id IN (:orderIds) AND p.vendor_id IS NOT NULL AND o.order_date IS NOT NULL",
+            nativeQuery = true)
+    List<Object[]> findCustomOrderKeys(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Couples [vendorId, jour de commande] touchés par les commandes à paiement direct données.
+     *
+     * @param zone Fuseau du découpage en jours (et non celui de la session SQL)
+     */
+    @Query(value = "SELECT DISTINCT p.vendor_id, CAST(o.created_at AT TIME ZONE :zone AS date) FROM orders o "
+            + "JOIN products p ON p.id = o.product_id "
+            + "WHERE o.id IN (:orderIds) AND p.vendor_id IS NOT NULL AND o.created_at IS NOT NULL",
+            nativeQuery = true)
+    List<Object[]> findPaymentOrderKeys(@Param("orderIds") Collection<Long> orderIds, @Param("zone") String zone);
+
+    /**
+     * Couples [vendorId, jour de commande] ayant au moins une commande sur la plage (reconstruction de l'historique).
+     *
+     * @param zone Fuseau du découpage en jours des commandes à paiement direct
+     */
+    @Query(value = "SELECT p.vendor_id, CAST(o.order_date AS date) FROM custom_orders o "
+            + "JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id "
+            + "WHERE p.vendor_id IS NOT NULL AND o.order_date >= :start AND o.order_date < :end "
+            + "UNION "
+            + "SELECT p.vendor_id, CAST(o.created_at AT TIME ZONE :zone AS date) FROM orders o "
+            + "JOIN products p ON p.id = o.product_id "
+            + "WHERE p.vendor_id IS NOT NULL AND o.created_at >= :startInstant AND o.created_at < :endInstant",
+            nativeQuery = true)
+    List<Object[]> findOrderKeysBetween(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        @Param("startInstant") Instant startInstant,
+                                        @Param("endInstant") Instant endInstant,
+                                        @Param("zone") String zone);
+}
@@ -0,0 +1,17 @@
+package com.customworld.service;
+
+import com.customworld.dto.request.UploadSessionRequest;
+import com.customworld.dto.response.UploadSessionResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ChunkedUploadService {
+    UploadSessionResponse createSession(UploadSessionRequest request);
+    Mono<UploadSessionResponse> writeChunk(String sessionId, long offset, Flux<DataBuffer> content);
+    UploadSessionResponse getSession(String sessionId);
+    Mono<UploadSessionResponse> completeSession(String sessionId);
+    void cancelSession(String sessionId);
+    String consumeCompletedUpload(String storedFileName);
+    void expireAbandonedSessions();
+}
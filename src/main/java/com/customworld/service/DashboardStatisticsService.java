@@ -0,0 +1,9 @@
+package com.customworld.service;
+
+import java.util.Map;
+
+public interface DashboardStatisticsService {
+    Map<String, Object> getSnapshot();
+    void reconcile();
+    void scheduledReconcile();
+}
@@ -0,0 +1,12 @@
+package com.customworld.service;
+
+import com.customworld.dto.request.LocationPingRequest;
+import com.customworld.dto.response.DeliveryPositionResponse;
+
+import java.util.Optional;
+
+public interface DelivererLocationService {
+    void recordPing(String delivererEmail, LocationPingRequest ping);
+    Optional<DeliveryPositionResponse> getOrderPosition(Long orderId, Long customerId);
+    int flushHistory();
+}
@@ -0,0 +1,9 @@
+package com.customworld.service;
+
+import java.util.Map;
+
+public interface DeliveryDispatchService {
+    Map<String, Object> dispatchPendingOrders();
+    void assignOrder(Long orderId, Long delivererId);
+    void scheduledDispatch();
+}
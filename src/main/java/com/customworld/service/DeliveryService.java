@@ -1,9 +1,12 @@
 package com.customworld.service;
 
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.DeliveryResponse;
 import com.customworld.entity.Delivery;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface DeliveryService {
     List<Delivery> getDeliveriesByDeliverer(Long delivererId);
@@ -14,6 +17,7 @@ public interface DeliveryService {
 
     List<DeliveryResponse> getDeliveriesByStatus(String status);
     DeliveryResponse acceptDelivery(Long deliveryId);
+    Optional<DeliveryResponse> claimNextDelivery(Long delivererId);
     DeliveryResponse startDelivery(Long deliveryId);
     //DeliveryResponse completeDelivery(Long deliveryId, String status);
 
@@ -21,4 +25,9 @@ public interface DeliveryService {
 
     DeliveryResponse reportDeliveryIssue(Long deliveryId, String issue);
     List<DeliveryResponse> getDeliveryHistory();
+    CursorPage<DeliveryResponse> getDeliveryHistoryPage(String status, LocalDateTime from, LocalDateTime to,
+                                                         String cursor, int size);
+    CursorPage<DeliveryResponse> getDelivererDeliveriesPage(Long delivererId, String status, LocalDateTime from,
+                                                            LocalDateTime to, String cursor, int size);
+    void backfillDeliveryDates();
 }
\ No newline at end of file
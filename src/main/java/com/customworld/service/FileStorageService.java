@@ -5,9 +5,15 @@ import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Path;
+import java.util.Map;
+
 public interface FileStorageService {
     String storeFile(MultipartFile file);
     Mono<String> storeFile(FilePart file);
+    String storeFile(Path source, String originalFilename);
     Resource loadFileAsResource(String fileName);
     void deleteFile(String fileName);
+    Path resolveFilePath(String fileName);
+    Map<String, Object> getCacheStatistics();
 }
@@ -0,0 +1,9 @@
+package com.customworld.service;
+
+import org.springframework.core.io.Resource;
+
+public interface ImageVariantService {
+    void generateVariantsAsync(String fileName);
+    Resource loadVariant(String fileName, int width);
+    void deleteVariants(String fileName);
+}
@@ -0,0 +1,19 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.LiveMetrics;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.event.UserRegisteredEvent;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+public interface LiveMetricsService {
+    Flux<ServerSentEvent<LiveMetrics>> stream();
+    LiveMetrics snapshot();
+    void broadcast();
+    void onOrderPlaced(OrderPlacedEvent event);
+    void onUserRegistered(UserRegisteredEvent event);
+    void onPaymentStatusChanged(PaymentStatusChangedEvent event);
+    void onDeliveryStatusChanged(DeliveryStatusChangedEvent event);
+}
@@ -0,0 +1,8 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.OrphanFileReport;
+
+public interface OrphanFileCollectorService {
+    OrphanFileReport collect(boolean dryRun);
+    void scheduledCollect();
+}
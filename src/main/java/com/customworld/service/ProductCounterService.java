@@ -0,0 +1,16 @@
+package com.customworld.service;
+
+import com.customworld.entity.Product;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
+
+public interface ProductCounterService {
+    long likeCount(Product product);
+    long reviewCount(Product product);
+    int flush();
+    int reconcile();
+    void onProductLiked(ProductLikedEvent event);
+    void onProductReviewed(ProductReviewedEvent event);
+    void onProductReviewDeleted(ProductReviewDeletedEvent event);
+}
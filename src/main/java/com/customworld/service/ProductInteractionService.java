@@ -1,7 +1,9 @@
 package com.customworld.service;
 
 import com.customworld.dto.request.ReviewRequest;
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.ReviewResponse;
+import com.customworld.entity.RatingSummary;
 
 import java.util.List;
 import java.util.Map;
@@ -14,12 +16,22 @@ public interface ProductInteractionService {
 
     boolean hasCurrentUserLiked(Long productId);
 
+    Map<Long, Boolean> getCurrentUserLikedFlags(List<Long> productIds);
+
     ReviewResponse addReview(Long productId, ReviewRequest request);
 
-    List<ReviewResponse> getProductReviews(Long productId);
+    CursorPage<ReviewResponse> getProductReviews(Long productId, String cursor, int size);
 
     void deleteReview(Long reviewId);
 
+    /**
+     * Note affichée : moyenne arrondie des étoiles si le produit a été noté, sinon estimation par les likes.
+     */
+    static int calculateRating(RatingSummary ratings, long likeCount) {
+        Double average = ratings.average();
+        return average != null ? (int) Math.round(average) : calculateRating(likeCount);
+    }
+
     static int calculateRating(long likeCount) {
         if (likeCount == 0) return 0;
         if (likeCount < 5) return 1;
@@ -0,0 +1,13 @@
+package com.customworld.service;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.customworld.dto.response.ProductSearchResponse;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+
+public interface ProductSearchService {
+    ProductSearchResponse search(String query, ProductSearchFilter filter, int page, int size);
+    int rebuild();
+    void onProductChanged(ProductChangedEvent event);
+    void onCategoryChanged(CategoryChangedEvent event);
+}
@@ -0,0 +1,15 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.SuggestionResponse;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+
+import java.util.List;
+
+public interface ProductSuggestService {
+    List<SuggestionResponse> suggest(String prefix, int limit);
+    int rebuild();
+    void refresh();
+    void onProductChanged(ProductChangedEvent event);
+    void onCategoryChanged(CategoryChangedEvent event);
+}
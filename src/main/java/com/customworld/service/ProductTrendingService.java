@@ -0,0 +1,17 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.TrendingProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewedEvent;
+
+import java.util.List;
+
+public interface ProductTrendingService {
+    List<TrendingProductResponse> trending(Long categoryId, int limit);
+    int backfill();
+    void refresh();
+    void onProductLiked(ProductLikedEvent event);
+    void onProductReviewed(ProductReviewedEvent event);
+    void onProductChanged(ProductChangedEvent event);
+}
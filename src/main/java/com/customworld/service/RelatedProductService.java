@@ -0,0 +1,14 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.RelatedProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+
+import java.util.List;
+
+public interface RelatedProductService {
+    List<RelatedProductResponse> related(Long productId, int limit);
+    int rebuild();
+    void onProductLiked(ProductLikedEvent event);
+    void onProductChanged(ProductChangedEvent event);
+}
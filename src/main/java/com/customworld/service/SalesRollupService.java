@@ -0,0 +1,17 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.SalesBucketResponse;
+import com.customworld.enums.SalesGranularity;
+import com.customworld.event.OrderPlacedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesRollupService {
+    void onOrderPlaced(OrderPlacedEvent event);
+    int flush();
+    List<SalesBucketResponse> getSeries(SalesGranularity granularity, LocalDate from, LocalDate to);
+    int rebuild(LocalDate from, LocalDate to);
+    void nightlyMaintenance();
+    void backfillOnStartup();
+}
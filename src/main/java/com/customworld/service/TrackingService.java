@@ -0,0 +1,16 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.TrackingEvent;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+public interface TrackingService {
+    Flux<ServerSentEvent<TrackingEvent>> orderEvents(Long orderId, String lastEventId);
+    Flux<ServerSentEvent<TrackingEvent>> delivererEvents(Long delivererId, String lastEventId);
+    Flux<ServerSentEvent<TrackingEvent>> allDeliveryEvents(String lastEventId);
+    void onOrderStatusChanged(OrderStatusChangedEvent event);
+    void onDeliveryStatusChanged(DeliveryStatusChangedEvent event);
+    void evictIdleTopics();
+}
@@ -0,0 +1,12 @@
+package com.customworld.service;
+
+import com.customworld.event.ProductLikedEvent;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface UserLikesService {
+    boolean hasLiked(Long userId, Long productId);
+    Map<Long, Boolean> likedFlags(Long userId, Collection<Long> productIds);
+    void onProductLiked(ProductLikedEvent event);
+}
@@ -0,0 +1,11 @@
+package com.customworld.service;
+
+import com.customworld.dto.response.UserMatchResponse;
+import com.customworld.event.UserRegisteredEvent;
+
+import java.util.List;
+
+public interface UserSearchService {
+    List<UserMatchResponse> search(String query, int limit);
+    void onUserRegistered(UserRegisteredEvent event);
+}
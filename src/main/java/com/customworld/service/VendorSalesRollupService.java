@@ -0,0 +1,16 @@
+package com.customworld.service;
+
+import com.customworld.event.DirectOrderStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+
+import java.time.LocalDate;
+
+public interface VendorSalesRollupService {
+    void onOrderStatusChanged(OrderStatusChangedEvent event);
+    void onPaymentStatusChanged(PaymentStatusChangedEvent event);
+    void onDirectOrderStatusChanged(DirectOrderStatusChangedEvent event);
+    int flush();
+    int rebuild(LocalDate from, LocalDate to);
+    void backfillOnStartup();
+}
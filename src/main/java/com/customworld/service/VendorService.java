@@ -3,10 +3,12 @@ package com.customworld.service;
 import com.customworld.dto.request.ProductRequest;
 import com.customworld.dto.response.OrderResponse;
 import com.customworld.dto.response.ProductResponse;
+import com.customworld.dto.response.VendorStatisticsResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 import com.customworld.enums.OrderStatus;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface VendorService {
@@ -17,6 +19,6 @@ public interface VendorService {
     ProductResponse updateProduct(Long productId, ProductRequest productRequest);
     void deleteProduct(Long productId);
     OrderResponse updateOrderStatus(Long orderId, OrderStatus status);
-    Object getVendorStatistics();
+    VendorStatisticsResponse getVendorStatistics(LocalDate from, LocalDate to);
     ProductResponse getProductById(Long id);
 }
@@ -14,15 +14,20 @@ import com.customworld.entity.User;
 import com.customworld.enums.DeliveryStatus;
 import com.customworld.enums.OrderStatus;
 import com.customworld.enums.UserRole;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.event.ProductChangedEvent;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.CategoryRepository;
 import com.customworld.repository.CustomOrderRepository;
 import com.customworld.repository.DeliveryRepository;
-import com.customworld.repository.ProductLikeRepository;
 import com.customworld.repository.ProductRepository;
-import com.customworld.repository.ProductReviewRepository;
 import com.customworld.repository.UserRepository;
 import com.customworld.service.AdminService;
+import com.customworld.service.DashboardStatisticsService;
+import com.customworld.service.DeliveryDispatchService;
+import com.customworld.service.ProductCounterService;
 import com.customworld.service.ProductInteractionService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,15 +35,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import java.time.LocalDate;
-import java.util.Map;
 /**
  * Service d'implémentation pour les opérations administratives.
  * Gère les utilisateurs, commandes, produits et livraisons.
@@ -54,8 +57,10 @@ public  class AdminServiceImpl implements AdminService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final DeliveryRepository deliveryRepository;
-    private final ProductLikeRepository likeRepository;
-    private final ProductReviewRepository reviewRepository;
+    private final ProductCounterService productCounterService;
+    private final DeliveryDispatchService deliveryDispatchService;
+    private final DashboardStatisticsService dashboardStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(AdminServiceImpl.class);
 
     public AdminServiceImpl(UserRepository userRepository,
@@ -63,15 +68,19 @@ public  class AdminServiceImpl implements AdminService {
                             ProductRepository productRepository,
                             DeliveryRepository deliveryRepository,
                             CategoryRepository categoryRepository,
-                            ProductLikeRepository likeRepository,
-                            ProductReviewRepository reviewRepository) {
+                            ProductCounterService productCounterService,
+                            DeliveryDispatchService deliveryDispatchService,
+                            DashboardStatisticsService dashboardStatisticsService,
+                            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.deliveryRepository = deliveryRepository;
         this.categoryRepository = categoryRepository;
-        this.likeRepository = likeRepository;
-        this.reviewRepository = reviewRepository;
+        this.productCounterService = productCounterService;
+        this.deliveryDispatchService = deliveryDispatchService;
+        this.dashboardStatisticsService = dashboardStatisticsService;
+        this.eventPublisher = eventPublisher;
     }
     /**
      * Récupère tous les utilisateurs.
@@ -134,12 +143,18 @@ public  class AdminServiceImpl implements AdminService {
         CustomOrder order = orderRepository.findById(orderId)
                 .orElseThrow(() -> {
                     log.error("Order not found for status update: {}", orderId);
-                    return new ResourceNotFoundException("Commande non trouvée");   
+                    return new ResourceNotFoundException("Commande non trouvée");
                 });
-        order.setStatus(status);
-        order = orderRepository.save(order);
+        // Réponse construite avant la mise à jour, qui détache la commande : ni relecture ni chargement paresseux après
+        OrderResponse response = convertToOrderResponse(order);
+        if (orderRepository.updateStatus(orderId, OrderStatus.sourcesOf(status), status) == 0) {
+            log.warn("Invalid status transition from {} to {} for order {}", order.getStatus(), status, orderId);
+            throw new IllegalStateException("Transition de statut non autorisée: " + order.getStatus() + " -> " + status);
+        }
         log.info("Order {} status updated to {}", orderId, status);
-        return convertToOrderResponse(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, status));
+        response.setStatus(status);
+        return response;
     }
     /**
      * Assigne une commande à un livreur.
@@ -176,8 +191,11 @@ public  class AdminServiceImpl implements AdminService {
                 .status(DeliveryStatus.ASSIGNED)
                 .build();
 
-        deliveryRepository.save(delivery);
+        delivery = deliveryRepository.save(delivery);
         log.info("Delivery created for order {} with deliverer {}", orderId, delivererId);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, OrderStatus.IN_PROGRESS));
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                delivery.getId(), orderId, delivererId, DeliveryStatus.ASSIGNED, null));
 
         return convertToOrderResponse(order);
     }
@@ -200,6 +218,7 @@ public  class AdminServiceImpl implements AdminService {
         product.setApproved(true);
         product = productRepository.save(product);
         log.info("Product {} validated by admin", productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, false));
 
         return convertToProductResponse(product);
     }
@@ -245,6 +264,7 @@ public  class AdminServiceImpl implements AdminService {
 
         product = productRepository.save(product);
         log.info("Product updated: {}", productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, false));
 
         return convertToProductResponse(product);
     }
@@ -274,8 +294,8 @@ public  class AdminServiceImpl implements AdminService {
      * @return ProductResponse DTO converti
      */
      private ProductResponse convertToProductResponse(Product product) {
-        long likeCount = likeRepository.countByProductId(product.getId());
-        long reviewCount = reviewRepository.countByProductId(product.getId());
+        long likeCount = productCounterService.likeCount(product);
+        long reviewCount = productCounterService.reviewCount(product);
         log.info("Converting product to response: {}", product);
         return ProductResponse.builder()
                 .id(product.getId())
@@ -291,7 +311,10 @@ public  class AdminServiceImpl implements AdminService {
                 .color(product.getColor())
                 .likeCount(likeCount)
                 .reviewCount(reviewCount)
-                .rating(ProductInteractionService.calculateRating(likeCount))
+                .rating(ProductInteractionService.calculateRating(product.getRatingSummary(), likeCount))
+                .averageRating(product.getRatingSummary().average())
+                .ratingCount(product.getRatingSummary().getCount())
+                .ratingHistogram(product.getRatingSummary().histogram())
                 .isOnSale(product.isOnSale())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
@@ -346,6 +369,7 @@ public  class AdminServiceImpl implements AdminService {
 
         productRepository.deleteById(productId);
         log.info("Product deleted: {}", productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, true));
     }
 
     @Override
@@ -376,43 +400,20 @@ public  class AdminServiceImpl implements AdminService {
 
 @Override
 public Object getDashboardStatistics() {
-    // Initialisation des statistiques
-    Map<String, Object> statistics = new HashMap<>();
-
-    // Total des produits
-    long totalProducts = productRepository.count();
-    statistics.put("totalProducts", totalProducts);
-
-    // Statistiques par catégorie
-    List<Object[]> categoryStats = productRepository.countByCategory();
-    List<Map<String, Object>> categories = categoryStats.stream()
-            .map(row -> {
-                Map<String, Object> categoryMap = new HashMap<>();
-                categoryMap.put("category", row[0].toString());
-                categoryMap.put("count", ((Number) row[1]).longValue());
-                return categoryMap;
-            })
-            .collect(Collectors.toList());
-    statistics.put("categories", categories);
-
-    // Nombre de produits en promotion
-    long onSaleProducts = productRepository.countByIsOnSaleTrue();
-    statistics.put("onSaleProducts", onSaleProducts);
-
-    // Nouveaux utilisateurs ce mois-ci
-    LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-    long newUsersThisMonth = userRepository.countByCreatedAtAfter(startOfMonth);
-    statistics.put("newUsersThisMonth", newUsersThisMonth);
-
-    // Total des utilisateurs
-    long totalUsers = userRepository.count();
-    statistics.put("totalUsers", totalUsers);
-
-    return statistics;
+    // Servi depuis les compteurs en mémoire, sans requête de comptage
+    return dashboardStatisticsService.getSnapshot();
 }
 
+    /**
+     * Assigne un livreur à une commande via le moteur d'assignation (mise à jour conditionnelle du statut).
+     *
+     * @param orderId ID de la commande
+     * @param deliveryPersonId ID du livreur
+     */
     @Override
-    public   void assignDeliveryPerson(Long orderId, Long deliveryPersonId){}
+    public void assignDeliveryPerson(Long orderId, Long deliveryPersonId) {
+        deliveryDispatchService.assignOrder(orderId, deliveryPersonId);
+    }
 
 @Override
     public CategoryResponse createCategory(CategoryRequest categoryRequest) {
@@ -423,6 +424,7 @@ public Object getDashboardStatistics() {
         throw new IllegalArgumentException("Cette catégorie existe déjà");
     }
     category = categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), false));
     return mapToCategoryResponse(category);
 }
 
@@ -452,6 +454,7 @@ public CategoryResponse updateCategory(Long id, CategoryRequest categoryRequest)
         category.setCoverImageUrl(categoryRequest.getCoverImageUrl());
     }
     category = categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), false));
     return mapToCategoryResponse(category);
 }
 
@@ -460,6 +463,7 @@ public void deleteCategory(Long id) {
     Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Catégorie non trouvée avec l'ID " + id));
     categoryRepository.delete(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(id, true));
 }
 
 // Méthode utilitaire pour mapper l'entité en DTO
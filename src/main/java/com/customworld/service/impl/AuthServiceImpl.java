@@ -5,6 +5,7 @@ import com.customworld.dto.request.RegisterRequest;
 import com.customworld.dto.response.AuthResponse;
 import com.customworld.entity.RefreshToken;
 import com.customworld.entity.User;
+import com.customworld.event.UserRegisteredEvent;
 import com.customworld.exception.BadRequestException;
 import com.customworld.repository.RefreshTokenRepository;
 import com.customworld.repository.UserRepository;
@@ -14,6 +15,7 @@ import com.customworld.service.EmailService;
 import com.customworld.service.SmsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -39,11 +41,12 @@ public class AuthServiceImpl implements AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final EmailService emailService;
     private final SmsService smsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthServiceImpl(AuthenticationManager authenticationManager, UserRepository userRepository,
                            PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider,
                            RefreshTokenRepository refreshTokenRepository, EmailService emailService,
-                           SmsService smsService) {
+                           SmsService smsService, ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
@@ -51,6 +54,7 @@ public class AuthServiceImpl implements AuthService {
         this.refreshTokenRepository = refreshTokenRepository;
         this.emailService = emailService;
         this.smsService = smsService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -94,6 +98,7 @@ public class AuthServiceImpl implements AuthService {
         user.setAddress(registerRequest.getAddress());
         user.setRole(registerRequest.getRole());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
 
         // Envoyer un email de bienvenue
         try {
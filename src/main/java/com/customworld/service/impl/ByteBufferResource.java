@@ -0,0 +1,86 @@
+package com.customworld.service.impl;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Ressource en lecture seule adossée à un ByteBuffer (direct ou mappé) du cache de fichiers.
+ * Chaque lecture travaille sur une vue indépendante du buffer partagé.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+    private final String fileName;
+    private final long lastModified;
+
+    public ByteBufferResource(ByteBuffer buffer, String fileName, long lastModified) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.fileName = fileName;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return fileName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached file [" + fileName + "]";
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return Channels.newInputStream(readableChannel());
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() {
+        ByteBuffer source = buffer.duplicate();
+        return new ReadableByteChannel() {
+            private boolean open = true;
+
+            @Override
+            public int read(ByteBuffer target) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(target.remaining(), source.remaining());
+                ByteBuffer slice = source.slice();
+                slice.limit(count);
+                target.put(slice);
+                source.position(source.position() + count);
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+}
@@ -0,0 +1,380 @@
+package com.customworld.service.impl;
+
+import com.customworld.config.FileStorageConfig;
+import com.customworld.dto.request.UploadSessionRequest;
+import com.customworld.dto.response.UploadSessionResponse;
+import com.customworld.exception.BadRequestException;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.service.ChunkedUploadService;
+import com.customworld.service.FileStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Upload reprenable par morceaux pour les fichiers volumineux (designs, templates).
+ * Chaque session pré-alloue un fichier temporaire dans lequel les morceaux sont écrits à leur offset ;
+ * le fichier assemblé est vérifié par SHA-256 puis confié au FileStorageService.
+ * Les sessions inactives au-delà de leur durée de vie sont supprimées automatiquement.
+ * Un fichier assemblé ne peut être rattaché (à un template par exemple) qu'une seule fois, et seulement
+ * par l'auteur de la session qui l'a produit.
+ */
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+    static final String PARTIAL_DIRECTORY = ".partial";
+
+    private final FileStorageService fileStorageService;
+    private final Path partialLocation;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final Duration sessionTtl;
+    private final ConcurrentHashMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletedUpload> completedUploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadServiceImpl(FileStorageService fileStorageService,
+                                    FileStorageConfig fileStorageConfig,
+                                    @Value("${file.uploads.chunk-size:1048576}") int chunkSize,
+                                    @Value("${file.uploads.max-file-size:524288000}") long maxFileSize,
+                                    @Value("${file.uploads.session-ttl:PT1H}") Duration sessionTtl) {
+        this.fileStorageService = fileStorageService;
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTtl = sessionTtl;
+        this.partialLocation = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize()
+                .resolve(PARTIAL_DIRECTORY);
+        try {
+            Files.createDirectories(this.partialLocation);
+        } catch (IOException e) {
+            throw new RuntimeException("Impossible de créer le dossier des uploads partiels", e);
+        }
+    }
+
+    /**
+     * Ouvre une session et pré-alloue le fichier de destination à la taille annoncée.
+     *
+     * @param request Nom, taille et empreinte SHA-256 du fichier.
+     * @return État initial de la session (taille des morceaux, morceaux attendus).
+     */
+    @Override
+    public UploadSessionResponse createSession(UploadSessionRequest request) {
+        if (request.getFileName().contains("..") || request.getFileName().contains("/")) {
+            throw new BadRequestException("Nom de fichier invalide", "");
+        }
+        if (request.getTotalSize() > maxFileSize) {
+            throw new BadRequestException("Fichier trop volumineux (max " + maxFileSize + " octets)", "");
+        }
+        String sessionId = UUID.randomUUID().toString();
+        Path target = partialLocation.resolve(sessionId + ".part");
+        try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+            file.setLength(request.getTotalSize());
+        } catch (IOException e) {
+            throw new BadRequestException("Impossible de préparer l'upload", e.getMessage());
+        }
+        UploadSession session = new UploadSession(sessionId, currentUser(), request.getFileName(),
+                request.getTotalSize(), request.getChecksum().toLowerCase(), target,
+                (int) ((request.getTotalSize() + chunkSize - 1) / chunkSize));
+        sessions.put(sessionId, session);
+        log.info("Upload session {} opened for {} ({} bytes, {} chunks)",
+                sessionId, request.getFileName(), request.getTotalSize(), session.chunkCount);
+        return toResponse(session);
+    }
+
+    /**
+     * Écrit un morceau directement dans le fichier pré-alloué, à l'offset indiqué.
+     * L'offset doit être aligné sur la taille des morceaux ; un morceau déjà reçu peut être renvoyé
+     * (reprise après coupure) : il est réécrit à la même place.
+     *
+     * @param sessionId Identifiant de la session.
+     * @param offset Position du morceau dans le fichier.
+     * @param content Contenu du morceau.
+     * @return État de la session après écriture.
+     */
+    @Override
+    public Mono<UploadSessionResponse> writeChunk(String sessionId, long offset, Flux<DataBuffer> content) {
+        UploadSession session = getOwnedSession(sessionId);
+        if (offset < 0 || offset >= session.totalSize || offset % chunkSize != 0) {
+            return Mono.error(new BadRequestException("Offset invalide: " + offset, ""));
+        }
+        int chunkIndex = (int) (offset / chunkSize);
+        long expectedLength = Math.min(chunkSize, session.totalSize - offset);
+        AtomicLong received = new AtomicLong();
+        Flux<DataBuffer> bounded = content.doOnNext(buffer -> {
+            if (received.addAndGet(buffer.readableByteCount()) > expectedLength) {
+                DataBufferUtils.release(buffer);
+                throw new BadRequestException("Morceau trop long (attendu " + expectedLength + " octets)", "");
+            }
+        });
+        return Mono.using(
+                        () -> AsynchronousFileChannel.open(session.path, StandardOpenOption.WRITE),
+                        channel -> DataBufferUtils.write(bounded, channel, offset)
+                                .map(DataBufferUtils::release)
+                                .then(),
+                        this::closeQuietly)
+                .then(Mono.fromCallable(() -> {
+                    if (received.get() != expectedLength) {
+                        throw new BadRequestException("Morceau incomplet: " + received.get() + "/" + expectedLength + " octets", "");
+                    }
+                    session.markReceived(chunkIndex);
+                    return toResponse(session);
+                }));
+    }
+
+    @Override
+    public UploadSessionResponse getSession(String sessionId) {
+        UploadSession session = getOwnedSession(sessionId);
+        session.touch();
+        return toResponse(session);
+    }
+
+    /**
+     * Finalise l'upload : vérifie que tous les morceaux sont reçus et que l'empreinte correspond,
+     * puis transfère le fichier dans le stockage sous un nom généré par FileStorageService.
+     * Le calcul de l'empreinte s'exécute hors de la boucle d'événements ; en cas d'empreinte invalide,
+     * la session est abandonnée.
+     *
+     * @param sessionId Identifiant de la session.
+     * @return État final de la session, avec le nom du fichier stocké.
+     */
+    @Override
+    public Mono<UploadSessionResponse> completeSession(String sessionId) {
+        UploadSession session = getOwnedSession(sessionId);
+        if (!session.isComplete()) {
+            return Mono.error(new BadRequestException("Des morceaux sont manquants: " + session.missingChunks(), ""));
+        }
+        return Mono.fromCallable(() -> {
+                    String checksum = sha256(session.path);
+                    if (!checksum.equals(session.checksum)) {
+                        discard(session);
+                        log.warn("Checksum mismatch for upload session {}: expected {}, got {}", sessionId, session.checksum, checksum);
+                        throw new BadRequestException("Empreinte SHA-256 invalide, l'upload doit être recommencé", "");
+                    }
+                    String storedFileName = fileStorageService.storeFile(session.path, session.fileName);
+                    sessions.remove(sessionId);
+                    completedUploads.put(storedFileName, new CompletedUpload(session.owner, Instant.now()));
+                    session.storedFileName = storedFileName;
+                    log.info("Upload session {} completed as {}", sessionId, storedFileName);
+                    return toResponse(session);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void cancelSession(String sessionId) {
+        discard(getOwnedSession(sessionId));
+        log.info("Upload session {} cancelled", sessionId);
+    }
+
+    /**
+     * Réserve le fichier produit par une session terminée de l'utilisateur courant. La session est consommée :
+     * le même fichier ne peut pas être rattaché une seconde fois.
+     *
+     * @param storedFileName Nom du fichier renvoyé à la fin de la session.
+     * @return Le nom du fichier, désormais rattachable.
+     * @throws ResourceNotFoundException si aucune session terminée de l'utilisateur n'a produit ce fichier
+     */
+    @Override
+    public String consumeCompletedUpload(String storedFileName) {
+        CompletedUpload upload = storedFileName == null ? null : completedUploads.get(storedFileName);
+        if (upload == null || !Objects.equals(upload.owner(), currentUser())
+                || !completedUploads.remove(storedFileName, upload)) {
+            throw new ResourceNotFoundException("Fichier uploadé non trouvé: " + storedFileName);
+        }
+        return storedFileName;
+    }
+
+    /**
+     * Supprime les sessions inactives depuis plus que leur durée de vie,
+     * ainsi que les fichiers partiels orphelins (sessions perdues au redémarrage).
+     * Un fichier terminé mais jamais rattaché pendant ce délai ne peut plus l'être.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${file.uploads.cleanup-interval-ms:300000}")
+    public void expireAbandonedSessions() {
+        Instant limit = Instant.now().minus(sessionTtl);
+        completedUploads.values().removeIf(upload -> upload.completedAt().isBefore(limit));
+        sessions.values().stream()
+                .filter(session -> session.lastActivity.isBefore(limit))
+                .forEach(session -> {
+                    discard(session);
+                    log.info("Upload session {} expired", session.id);
+                });
+        try (Stream<Path> files = Files.list(partialLocation)) {
+            files.filter(path -> sessions.keySet().stream().noneMatch(id -> path.getFileName().toString().startsWith(id)))
+                    .filter(path -> lastModified(path).isBefore(limit))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Unable to sweep partial uploads: {}", e.getMessage());
+        }
+    }
+
+    private UploadSession getOwnedSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new ResourceNotFoundException("Session d'upload non trouvée ou expirée");
+        }
+        String user = currentUser();
+        if (session.owner != null && !Objects.equals(session.owner, user)) {
+            throw new ResourceNotFoundException("Session d'upload non trouvée ou expirée");
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.id);
+        deleteQuietly(session.path);
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private String sha256(Path path) {
+        try (InputStream input = new DigestInputStream(Files.newInputStream(path), MessageDigest.getInstance("SHA-256"))) {
+            byte[] buffer = new byte[64 * 1024];
+            while (input.read(buffer) != -1) {
+                // la lecture alimente le digest
+            }
+            return HexFormat.of().formatHex(((DigestInputStream) input).getMessageDigest().digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new BadRequestException("Impossible de vérifier le fichier", e.getMessage());
+        }
+    }
+
+    private Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            return Instant.now();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete partial upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Unable to close upload channel: {}", e.getMessage());
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        List<Integer> missing = session.missingChunks();
+        return UploadSessionResponse.builder()
+                .sessionId(session.id)
+                .fileName(session.fileName)
+                .totalSize(session.totalSize)
+                .chunkSize(chunkSize)
+                .chunkCount(session.chunkCount)
+                .receivedBytes(session.receivedBytes(chunkSize))
+                .missingChunks(missing)
+                .completed(session.storedFileName != null)
+                .storedFileName(session.storedFileName)
+                .expiresAt(session.lastActivity.plus(sessionTtl))
+                .build();
+    }
+
+    /**
+     * Fichier assemblé en attente de rattachement.
+     */
+    private record CompletedUpload(String owner, Instant completedAt) {
+    }
+
+    /**
+     * État d'une session : morceaux reçus et dernière activité.
+     */
+    private static final class UploadSession {
+        private final String id;
+        private final String owner;
+        private final String fileName;
+        private final long totalSize;
+        private final String checksum;
+        private final Path path;
+        private final int chunkCount;
+        private final BitSet received;
+        private volatile Instant lastActivity = Instant.now();
+        private volatile String storedFileName;
+
+        private UploadSession(String id, String owner, String fileName, long totalSize, String checksum,
+                              Path path, int chunkCount) {
+            this.id = id;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.checksum = checksum;
+            this.path = path;
+            this.chunkCount = chunkCount;
+            this.received = new BitSet(chunkCount);
+        }
+
+        private void touch() {
+            lastActivity = Instant.now();
+        }
+
+        private synchronized void markReceived(int chunkIndex) {
+            received.set(chunkIndex);
+            touch();
+        }
+
+        private synchronized boolean isComplete() {
+            return received.cardinality() == chunkCount;
+        }
+
+        private synchronized List<Integer> missingChunks() {
+            List<Integer> missing = new ArrayList<>();
+            for (int index = received.nextClearBit(0); index < chunkCount; index = received.nextClearBit(index + 1)) {
+                missing.add(index);
+            }
+            return missing;
+        }
+
+        private synchronized long receivedBytes(int chunkSize) {
+            long bytes = (long) received.cardinality() * chunkSize;
+            if (received.get(chunkCount - 1)) {
+                bytes -= (long) chunkCount * chunkSize - totalSize;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.customworld.service.impl;
+
+import com.utils.LongFloatHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matrice creuse et symétrique de co-occurrence entre produits : une ligne {@link LongFloatHashMap} par produit,
+ * des poids d'apparition par produit, et les {@code k} plus proches voisins de chaque produit déjà calculés.
+ * La similarité est le cosinus {@code co(a, b) / sqrt(poids(a) * poids(b))}, qui évite que les produits
+ * les plus populaires ne soient voisins de tout le monde.
+ * Les écritures doivent être exclusives (verrou du propriétaire) ; les voisins se lisent sans verrou.
+ */
+final class CoOccurrenceMatrix {
+
+    private final int neighbourCount;
+    private final Map<Long, LongFloatHashMap> rows = new HashMap<>();
+    private final LongFloatHashMap weights = new LongFloatHashMap(1024);
+    private final Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    CoOccurrenceMatrix(int neighbourCount) {
+        this.neighbourCount = neighbourCount;
+    }
+
+    /**
+     * Voisins d'un produit, du plus similaire au moins similaire ; {@code ids} et {@code scores} sont parallèles.
+     */
+    record Neighbours(long[] ids, float[] scores) {
+        static final Neighbours EMPTY = new Neighbours(new long[0], new float[0]);
+    }
+
+    /**
+     * Ajoute un panier (produits aimés par un même client ou commandés ensemble), sans recalculer les voisins.
+     *
+     * @param products Produits distincts du panier.
+     */
+    void addBasket(long[] products, float weight) {
+        for (int i = 0; i < products.length; i++) {
+            weights.addTo(products[i], weight);
+            for (int j = i + 1; j < products.length; j++) {
+                row(products[i]).addTo(products[j], weight);
+                row(products[j]).addTo(products[i], weight);
+            }
+        }
+    }
+
+    /**
+     * Ajoute un produit au panier d'un client qui aimait déjà {@code others}, puis recalcule les voisins
+     * des produits dont la ligne a changé. Les listes des autres voisins du produit ajouté gardent une
+     * similarité légèrement surestimée jusqu'à la prochaine reconstruction.
+     * Comme pour {@link #addBasket}, un panier d'un seul produit ne compte pas.
+     */
+    void addToBasket(long product, long[] others, float weight) {
+        if (others.length == 0) {
+            return;
+        }
+        weights.addTo(product, weight);
+        if (others.length == 1) {
+            weights.addTo(others[0], weight);
+        }
+        for (long other : others) {
+            if (other != product) {
+                row(product).addTo(other, weight);
+                row(other).addTo(product, weight);
+            }
+        }
+        rank(product);
+        for (long other : others) {
+            if (other != product) {
+                rank(other);
+            }
+        }
+    }
+
+    /**
+     * Oublie un produit et le retire des listes de ses anciens voisins.
+     */
+    void remove(long product) {
+        LongFloatHashMap row = rows.remove(product);
+        weights.remove(product);
+        neighbours.remove(product);
+        if (row == null) {
+            return;
+        }
+        for (long other : row.keys()) {
+            LongFloatHashMap otherRow = rows.get(other);
+            if (otherRow != null) {
+                otherRow.remove(product);
+                if (otherRow.isEmpty()) {
+                    rows.remove(other);
+                }
+            }
+            rank(other);
+        }
+    }
+
+    /**
+     * Calcule les voisins de tous les produits.
+     */
+    void rankAll() {
+        rows.keySet().forEach(this::rank);
+    }
+
+    Neighbours neighbours(long product) {
+        return neighbours.getOrDefault(product, Neighbours.EMPTY);
+    }
+
+    int productCount() {
+        return rows.size();
+    }
+
+    /**
+     * Garde les {@code k} meilleurs voisins de la ligne par insertion dans des tableaux triés : k est petit,
+     * une ligne longue coûte une comparaison par entrée.
+     */
+    private void rank(long product) {
+        LongFloatHashMap row = rows.get(product);
+        if (row == null || row.isEmpty()) {
+            neighbours.remove(product);
+            return;
+        }
+        float ownWeight = weights.getOrDefault(product, 0f);
+        long[] ids = new long[neighbourCount];
+        float[] scores = new float[neighbourCount];
+        int[] count = {0};
+        row.forEach((other, co) -> {
+            float otherWeight = weights.getOrDefault(other, 0f);
+            if (co <= 0 || ownWeight <= 0 || otherWeight <= 0) {
+                return;
+            }
+            float score = (float) (co / Math.sqrt((double) ownWeight * otherWeight));
+            int size = count[0];
+            if (size == neighbourCount && !ranksAbove(score, other, scores[size - 1], ids[size - 1])) {
+                return;
+            }
+            int position = Math.min(size, neighbourCount - 1);
+            while (position > 0 && ranksAbove(score, other, scores[position - 1], ids[position - 1])) {
+                ids[position] = ids[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            ids[position] = other;
+            scores[position] = score;
+            count[0] = Math.min(size + 1, neighbourCount);
+        });
+        neighbours.put(product, new Neighbours(Arrays.copyOf(ids, count[0]), Arrays.copyOf(scores, count[0])));
+    }
+
+    private static boolean ranksAbove(float score, long id, float otherScore, long otherId) {
+        return score != otherScore ? score > otherScore : id < otherId;
+    }
+
+    private LongFloatHashMap row(long product) {
+        return rows.computeIfAbsent(product, id -> new LongFloatHashMap());
+    }
+}
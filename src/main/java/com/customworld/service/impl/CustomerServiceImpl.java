@@ -8,11 +8,15 @@ import com.customworld.entity.OrderItem;
 import com.customworld.entity.Product;
 import com.customworld.entity.User;
 import com.customworld.enums.OrderStatus;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.*;
 import com.customworld.service.CustomerService;
+import com.customworld.service.ProductCounterService;
 import com.customworld.service.FileStorageService;
 import com.customworld.service.ProductInteractionService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,12 +38,12 @@ import org.slf4j.LoggerFactory;
 public  class CustomerServiceImpl implements CustomerService {
 
     private final ProductRepository productRepository;
-    private final ProductLikeRepository likeRepository;
-    private final ProductReviewRepository reviewRepository;
+    private final ProductCounterService productCounterService;
     private final UserRepository userRepository;
     private final CustomOrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
 
     public CustomerServiceImpl(UserRepository userRepository,
@@ -47,15 +51,15 @@ public  class CustomerServiceImpl implements CustomerService {
                             ProductRepository productRepository,
                                OrderItemRepository orderItemRepository,
                                FileStorageService fileStorageService,
-                               ProductLikeRepository likeRepository,
-                               ProductReviewRepository reviewRepository) {
+                               ProductCounterService productCounterService,
+                               ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.orderItemRepository = orderItemRepository;
         this.fileStorageService = fileStorageService;
-        this.likeRepository = likeRepository;
-        this.reviewRepository = reviewRepository;
+        this.productCounterService = productCounterService;
+        this.eventPublisher = eventPublisher;
     }
     
 
@@ -89,6 +93,8 @@ public  class CustomerServiceImpl implements CustomerService {
                 .deliveryAddress(orderRequest.getDeliveryAddress())
                 .modeLivraison(orderRequest.getModeLivraison())
                 .phone(orderRequest.getPhone())
+                .amount(product.getPrice())
+                .currency("XAF")
                 .build();
 
         order = orderRepository.save(order);
@@ -98,11 +104,16 @@ public  class CustomerServiceImpl implements CustomerService {
         OrderItem orderItem = OrderItem.builder()
                 .order(order)
                 .product(product)
+                .quantity(1)
+                .unitPrice(product.getPrice())
                 .imagePath(orderRequest.getImagePath())
                 .build();
 
         orderItemRepository.save(orderItem);
         log.info("Order item added: {} to order: {}", product.getId(), order.getId());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), OrderStatus.PENDING));
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getOrderDate(),
+                product.getPrice() != null ? product.getPrice() : 0, 1));
 
         return convertToOrderResponse(order, product);
     }
@@ -145,20 +156,17 @@ public  class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public void cancelOrder(Long orderId) {
-        CustomOrder order = orderRepository.findById(orderId)
-                .orElseThrow(() -> {
-                    log.error("Order not found for cancellation: {}", orderId);
-                    return new ResourceNotFoundException("Commande non trouvée");
-                });
-
-        if (order.getStatus().canBeCancelled()) {
-            order.setStatus(OrderStatus.CANCELLED);
-            orderRepository.save(order);
-            log.info("Order cancelled: {}", orderId);
-        } else {
+        if (orderRepository.updateStatus(orderId, OrderStatus.sourcesOf(OrderStatus.CANCELLED), OrderStatus.CANCELLED) == 0) {
+            CustomOrder order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> {
+                        log.error("Order not found for cancellation: {}", orderId);
+                        return new ResourceNotFoundException("Commande non trouvée");
+                    });
             log.warn("Attempt to cancel order in non-cancellable status: {}", order.getStatus());
             throw new IllegalStateException("La commande ne peut pas être annulée dans son état actuel");
         }
+        log.info("Order cancelled: {}", orderId);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, OrderStatus.CANCELLED));
     }
 
     /**
@@ -168,8 +176,8 @@ public  class CustomerServiceImpl implements CustomerService {
      * @return ProductResponse DTO converti
      */
      private ProductResponse convertToProductResponse(Product product) {
-        long likeCount = likeRepository.countByProductId(product.getId());
-        long reviewCount = reviewRepository.countByProductId(product.getId());
+        long likeCount = productCounterService.likeCount(product);
+        long reviewCount = productCounterService.reviewCount(product);
         log.info("Converting product to response: {}", product);
         return ProductResponse.builder()
                 .id(product.getId())
@@ -185,7 +193,10 @@ public  class CustomerServiceImpl implements CustomerService {
                 .color(product.getColor())
                 .likeCount(likeCount)
                 .reviewCount(reviewCount)
-                .rating(ProductInteractionService.calculateRating(likeCount))
+                .rating(ProductInteractionService.calculateRating(product.getRatingSummary(), likeCount))
+                .averageRating(product.getRatingSummary().average())
+                .ratingCount(product.getRatingSummary().getCount())
+                .ratingHistogram(product.getRatingSummary().histogram())
                 .isOnSale(product.isOnSale())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
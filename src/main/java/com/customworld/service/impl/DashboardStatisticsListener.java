@@ -0,0 +1,140 @@
+package com.customworld.service.impl;
+
+import com.customworld.entity.Category;
+import com.customworld.entity.Product;
+import com.customworld.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relaie les écritures validées de produits et d'utilisateurs aux compteurs du tableau de bord.
+ * Les événements post-commit d'Hibernate couvrent tous les chemins d'écriture par entité
+ * (services admin, vendeur, authentification) sans modifier chacun d'eux ; une transaction annulée
+ * ne touche pas les compteurs.
+ */
+@Component
+public class DashboardStatisticsListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatisticsListener.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DashboardStatisticsServiceImpl statistics;
+
+    public DashboardStatisticsListener(EntityManagerFactory entityManagerFactory,
+                                       DashboardStatisticsServiceImpl statistics) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = statistics;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Product.class || type == User.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        safely(() -> {
+            if (event.getEntity() instanceof Product product) {
+                Category category = product.getCategory();
+                statistics.productInserted(categoryId(category), category != null ? category.getName() : null,
+                        product.isOnSale());
+            } else if (event.getEntity() instanceof User user) {
+                statistics.userInserted(user.getCreatedAt());
+            }
+        });
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Product product)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            statistics.markUnknownChange();
+            return;
+        }
+        safely(() -> {
+            Object wasOnSale = oldState[position(event.getPersister(), "isOnSale")];
+            Object oldCategory = oldState[position(event.getPersister(), "category")];
+            Category category = product.getCategory();
+            statistics.productUpdated(
+                    oldCategory instanceof Category previous ? categoryId(previous) : null,
+                    Boolean.TRUE.equals(wasOnSale),
+                    categoryId(category),
+                    category != null ? category.getName() : null,
+                    product.isOnSale());
+        });
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        safely(() -> {
+            if (event.getEntity() instanceof Product product) {
+                statistics.productDeleted(categoryId(product.getCategory()), product.isOnSale());
+            } else if (event.getEntity() instanceof User user) {
+                statistics.userDeleted(user.getCreatedAt());
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Une erreur ici (relation paresseuse illisible, etc.) ne doit pas remonter après le commit :
+     * les compteurs seront simplement recalés.
+     */
+    private void safely(Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.debug("Dashboard statistics update deferred to reconciliation: {}", e.getMessage());
+            statistics.markUnknownChange();
+        }
+    }
+
+    private static int position(EntityPersister persister, String attribute) {
+        AttributeMapping mapping = persister.findAttributeMapping(attribute);
+        return mapping.getStateArrayPosition();
+    }
+
+    private static Long categoryId(Category category) {
+        return category != null ? category.getId() : null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.customworld.service.impl;
+
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.DashboardStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques du tableau de bord administrateur, maintenues en mémoire.
+ * Les compteurs ({@link LongAdder}) sont mis à jour à chaque écriture validée de produit ou d'utilisateur
+ * (voir {@link DashboardStatisticsListener}) et recalés périodiquement sur la base, ce qui corrige
+ * les écritures qui échappent aux événements (requêtes groupées, modifications directes en base).
+ * Le tableau de bord est servi depuis un instantané reconstruit seulement après un changement.
+ */
+@Service
+public class DashboardStatisticsServiceImpl implements DashboardStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatisticsServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    private final LongAdder totalProducts = new LongAdder();
+    private final LongAdder onSaleProducts = new LongAdder();
+    private final LongAdder totalUsers = new LongAdder();
+    private final ConcurrentMap<Long, CategoryCount> productsByCategory = new ConcurrentHashMap<>();
+    private final ConcurrentMap<YearMonth, LongAdder> newUsersByMonth = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile boolean reconciled;
+    private volatile Instant reconciledAt;
+    private volatile Map<String, Object> snapshot = Map.of();
+    private volatile YearMonth snapshotMonth;
+
+    public DashboardStatisticsServiceImpl(ProductRepository productRepository, UserRepository userRepository) {
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Instantané des statistiques, sans requête en base (hormis le tout premier appel avant le recalage initial).
+     */
+    @Override
+    public Map<String, Object> getSnapshot() {
+        if (!reconciled) {
+            reconcile();
+        }
+        YearMonth month = YearMonth.now();
+        if (dirty.getAndSet(false) || !month.equals(snapshotMonth)) {
+            snapshotMonth = month;
+            snapshot = buildSnapshot(month);
+        }
+        return snapshot;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval-ms:600000}",
+            initialDelayString = "${statistics.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Dashboard statistics reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recale tous les compteurs sur la base. Les écritures validées entre la lecture et le recalage
+     * peuvent être comptées deux fois ou pas du tout ; l'écart est corrigé au recalage suivant.
+     */
+    @Override
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        long products = productRepository.count();
+        long onSale = productRepository.countByIsOnSaleTrue();
+        long users = userRepository.count();
+        YearMonth month = YearMonth.now();
+        long newUsers = userRepository.countByCreatedAtGreaterThanEqual(month.atDay(1));
+        Map<Long, CategoryCount> categories = new HashMap<>();
+        for (Object[] row : productRepository.countPerCategory()) {
+            CategoryCount count = new CategoryCount((String) row[1]);
+            count.products.add(((Number) row[2]).longValue());
+            categories.put((Long) row[0], count);
+        }
+
+        long drift = totalProducts.sum() - products;
+        reset(totalProducts, products);
+        reset(onSaleProducts, onSale);
+        reset(totalUsers, users);
+        productsByCategory.keySet().retainAll(categories.keySet());
+        categories.forEach((id, count) -> productsByCategory.merge(id, count, (current, fresh) -> {
+            current.name = fresh.name;
+            reset(current.products, fresh.products.sum());
+            return current;
+        }));
+        newUsersByMonth.keySet().removeIf(key -> !key.equals(month));
+        reset(newUsersByMonth.computeIfAbsent(month, key -> new LongAdder()), newUsers);
+
+        reconciled = true;
+        reconciledAt = Instant.now();
+        dirty.set(true);
+        if (drift != 0) {
+            log.info("Dashboard statistics reconciled in {} ms (product count drift: {})",
+                    System.currentTimeMillis() - start, drift);
+        }
+    }
+
+    // ======= WRITE EVENTS (after commit) ======= //
+
+    void productInserted(Long categoryId, String categoryName, boolean onSale) {
+        totalProducts.increment();
+        if (onSale) {
+            onSaleProducts.increment();
+        }
+        addToCategory(categoryId, categoryName, 1);
+        dirty.set(true);
+    }
+
+    void productDeleted(Long categoryId, boolean onSale) {
+        totalProducts.decrement();
+        if (onSale) {
+            onSaleProducts.decrement();
+        }
+        addToCategory(categoryId, null, -1);
+        dirty.set(true);
+    }
+
+    void productUpdated(Long oldCategoryId, boolean wasOnSale, Long newCategoryId, String newCategoryName, boolean onSale) {
+        if (wasOnSale != onSale) {
+            onSaleProducts.add(onSale ? 1 : -1);
+        }
+        if (oldCategoryId == null ? newCategoryId != null : !oldCategoryId.equals(newCategoryId)) {
+            addToCategory(oldCategoryId, null, -1);
+            addToCategory(newCategoryId, newCategoryName, 1);
+        } else if (newCategoryId != null && newCategoryName != null) {
+            CategoryCount count = productsByCategory.get(newCategoryId);
+            if (count != null) {
+                count.name = newCategoryName;
+            }
+        }
+        dirty.set(true);
+    }
+
+    void userInserted(LocalDate createdAt) {
+        totalUsers.increment();
+        if (createdAt != null) {
+            newUsersByMonth.computeIfAbsent(YearMonth.from(createdAt), key -> new LongAdder()).increment();
+        }
+        dirty.set(true);
+    }
+
+    void userDeleted(LocalDate createdAt) {
+        totalUsers.decrement();
+        if (createdAt != null) {
+            LongAdder month = newUsersByMonth.get(YearMonth.from(createdAt));
+            if (month != null) {
+                month.decrement();
+            }
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Un changement qui n'a pas pu être attribué (état précédent inconnu) : recalage au prochain passage.
+     */
+    void markUnknownChange() {
+        reconciled = false;
+    }
+
+    private void addToCategory(Long categoryId, String name, long delta) {
+        if (categoryId == null) {
+            return;
+        }
+        CategoryCount count = productsByCategory.computeIfAbsent(categoryId, id -> new CategoryCount(name));
+        if (name != null) {
+            count.name = name;
+        }
+        count.products.add(delta);
+    }
+
+    private Map<String, Object> buildSnapshot(YearMonth month) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalProducts", totalProducts.sum());
+
+        List<Map<String, Object>> categories = new ArrayList<>();
+        productsByCategory.values().stream()
+                .filter(count -> count.products.sum() > 0)
+                .sorted(Comparator.comparing((CategoryCount count) -> count.products.sum()).reversed())
+                .forEach(count -> {
+                    Map<String, Object> categoryMap = new HashMap<>();
+                    categoryMap.put("category", count.name);
+                    categoryMap.put("count", count.products.sum());
+                    categories.add(categoryMap);
+                });
+        statistics.put("categories", categories);
+
+        statistics.put("onSaleProducts", onSaleProducts.sum());
+        LongAdder newUsers = newUsersByMonth.get(month);
+        statistics.put("newUsersThisMonth", newUsers == null ? 0L : newUsers.sum());
+        statistics.put("totalUsers", totalUsers.sum());
+        statistics.put("reconciledAt", reconciledAt);
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private static void reset(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    private static final class CategoryCount {
+        private volatile String name;
+        private final LongAdder products = new LongAdder();
+
+        private CategoryCount(String name) {
+            this.name = name;
+        }
+    }
+}
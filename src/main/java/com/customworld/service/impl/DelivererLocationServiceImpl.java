@@ -0,0 +1,160 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.LocationPingRequest;
+import com.customworld.dto.response.DeliveryPositionResponse;
+import com.customworld.entity.Delivery;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.DeliveryRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.DelivererLocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Ingestion des positions GPS des livreurs.
+ * La dernière position de chaque livreur reste en mémoire ({@link LatestPositionStore}) ; seul un point
+ * par livreur et par intervalle d'échantillonnage rejoint l'historique, écrit en base par lots depuis
+ * un tampon circulaire de taille fixe. Un ping ne fait donc aucun accès à la base, hormis la résolution
+ * de l'identité du livreur, elle-même mise en cache.
+ */
+@Service
+public class DelivererLocationServiceImpl implements DelivererLocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DelivererLocationServiceImpl.class);
+    private static final Set<DeliveryStatus> TRACKABLE = EnumSet.of(DeliveryStatus.ASSIGNED, DeliveryStatus.IN_PROGRESS);
+
+    private final DeliveryRepository deliveryRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LatestPositionStore latestPositions;
+    private final PositionHistoryBuffer history;
+    private final Cache<String, Long> delivererIds;
+    private final long sampleIntervalMs;
+    private final int flushBatchSize;
+
+    public DelivererLocationServiceImpl(DeliveryRepository deliveryRepository,
+                                        UserRepository userRepository,
+                                        JdbcTemplate jdbcTemplate,
+                                        @Value("${delivery.location.stripes:64}") int stripes,
+                                        @Value("${delivery.location.history-capacity:65536}") int historyCapacity,
+                                        @Value("${delivery.location.sample-interval:PT30S}") Duration sampleInterval,
+                                        @Value("${delivery.location.flush-batch-size:1000}") int flushBatchSize,
+                                        @Value("${delivery.location.identity-ttl:PT5M}") Duration identityTtl) {
+        this.deliveryRepository = deliveryRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.latestPositions = new LatestPositionStore(stripes);
+        this.history = new PositionHistoryBuffer(historyCapacity);
+        this.sampleIntervalMs = sampleInterval.toMillis();
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.delivererIds = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(identityTtl)
+                .build();
+    }
+
+    /**
+     * Enregistre une position du livreur authentifié.
+     * Les positions plus anciennes que la dernière reçue sont ignorées.
+     *
+     * @param delivererEmail Email du livreur authentifié
+     * @param ping Position reçue
+     * @throws ResourceNotFoundException si l'utilisateur n'est pas un livreur
+     */
+    @Override
+    public void recordPing(String delivererEmail, LocationPingRequest ping) {
+        long delivererId = resolveDelivererId(delivererEmail);
+        long now = System.currentTimeMillis();
+        long recordedAt = ping.getRecordedAt() == null ? now : Math.min(ping.getRecordedAt().toEpochMilli(), now);
+        if (latestPositions.update(delivererId, ping.getLatitude(), ping.getLongitude(), recordedAt, sampleIntervalMs)) {
+            history.offer(delivererId, ping.getLatitude(), ping.getLongitude(), recordedAt);
+        }
+    }
+
+    /**
+     * Dernière position du livreur de la livraison en cours d'une commande du client.
+     *
+     * @param orderId ID de la commande
+     * @param customerId ID du client authentifié
+     * @return La position, ou vide si le livreur n'a encore envoyé aucune position
+     * @throws ResourceNotFoundException si la commande n'appartient pas au client ou n'a pas de livraison en cours
+     */
+    @Override
+    public Optional<DeliveryPositionResponse> getOrderPosition(Long orderId, Long customerId) {
+        List<Delivery> deliveries = deliveryRepository.findCustomerOrderDeliveries(orderId, customerId, TRACKABLE);
+        if (deliveries.isEmpty()) {
+            throw new ResourceNotFoundException("Aucune livraison en cours pour cette commande");
+        }
+        Delivery delivery = deliveries.get(0);
+        Long delivererId = delivery.getDeliverer().getId();
+        LatestPositionStore.Position position = latestPositions.get(delivererId);
+        if (position == null) {
+            return Optional.empty();
+        }
+        return Optional.of(DeliveryPositionResponse.builder()
+                .deliveryId(delivery.getId())
+                .orderId(orderId)
+                .delivererId(delivererId)
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .recordedAt(Instant.ofEpochMilli(position.recordedAt()))
+                .build());
+    }
+
+    /**
+     * Écrit l'historique en attente, par lots. En cas d'échec, le lot en cours est perdu :
+     * l'historique est indicatif, la position courante reste en mémoire.
+     *
+     * @return Nombre de points écrits.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${delivery.location.flush-interval-ms:5000}")
+    public int flushHistory() {
+        int written = 0;
+        List<PositionHistoryBuffer.Sample> batch;
+        while (!(batch = history.drain(flushBatchSize)).isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO deliverer_positions (deliverer_id, latitude, longitude, recorded_at) VALUES (?, ?, ?, ?)",
+                        batch, batch.size(), (statement, sample) -> {
+                            statement.setLong(1, sample.delivererId());
+                            statement.setDouble(2, sample.latitude());
+                            statement.setDouble(3, sample.longitude());
+                            statement.setTimestamp(4, Timestamp.from(Instant.ofEpochMilli(sample.recordedAt())));
+                        });
+                written += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Dropped {} deliverer position samples: {}", batch.size(), e.getMessage());
+                break;
+            }
+        }
+        if (written > 0) {
+            log.debug("Flushed {} deliverer position samples ({} overwritten so far)", written, history.overwritten());
+        }
+        return written;
+    }
+
+    private long resolveDelivererId(String email) {
+        Long id = delivererIds.get(email, key -> userRepository.findIdByEmailAndRole(key, UserRole.DELIVERY).orElse(null));
+        if (id == null) {
+            throw new ResourceNotFoundException("Livreur non trouvé ou rôle invalide");
+        }
+        return id;
+    }
+}
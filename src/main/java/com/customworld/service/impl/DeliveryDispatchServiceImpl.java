@@ -0,0 +1,280 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.OrderStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.exception.IllegalOperationException;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.DeliveryRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.DeliveryDispatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Moteur d'assignation automatique des livraisons.
+ * Les commandes confirmées ou payées sans livraison sont réparties par lots entre les livreurs,
+ * en donnant toujours la commande suivante au livreur le moins chargé (file de priorité sur la charge active).
+ * Chaque lot est écrit en deux requêtes groupées : passage conditionnel des commandes en IN_PROGRESS,
+ * puis insertion des livraisons correspondantes.
+ * Quand tous les livreurs sont à pleine charge, les commandes restantes sont mises en file : livraisons PENDING
+ * sans livreur, que les livreurs réclament eux-mêmes ({@code POST /api/delivery/deliveries/claim}).
+ */
+@Service
+public class DeliveryDispatchServiceImpl implements DeliveryDispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryDispatchServiceImpl.class);
+    private static final Set<OrderStatus> DISPATCHABLE = EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.PAID);
+    private static final Set<OrderStatus> MANUALLY_ASSIGNABLE =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PAID);
+    private static final Set<DeliveryStatus> ACTIVE = EnumSet.of(DeliveryStatus.ASSIGNED, DeliveryStatus.IN_PROGRESS);
+    private static final Comparator<DelivererLoad> LEAST_LOADED =
+            Comparator.comparingLong(DelivererLoad::activeLoad).thenComparingLong(DelivererLoad::delivererId);
+
+    private final CustomOrderRepository orderRepository;
+    private final DeliveryRepository deliveryRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxActivePerDeliverer;
+    private final boolean enabled;
+    private final boolean queueWhenFull;
+
+    public DeliveryDispatchServiceImpl(CustomOrderRepository orderRepository,
+                                       DeliveryRepository deliveryRepository,
+                                       UserRepository userRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${delivery.dispatch.batch-size:100}") int batchSize,
+                                       @Value("${delivery.dispatch.max-active-per-deliverer:8}") int maxActivePerDeliverer,
+                                       @Value("${delivery.dispatch.enabled:true}") boolean enabled,
+                                       @Value("${delivery.dispatch.queue-when-full:true}") boolean queueWhenFull) {
+        this.orderRepository = orderRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxActivePerDeliverer = maxActivePerDeliverer;
+        this.enabled = enabled;
+        this.queueWhenFull = queueWhenFull;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${delivery.dispatch.interval-ms:30000}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            dispatchPendingOrders();
+        }
+    }
+
+    /**
+     * Assigne les commandes en attente de livraison, lot par lot, jusqu'à épuisement des commandes
+     * ou de la capacité des livreurs.
+     *
+     * @return Bilan du passage (commandes assignées, lots, commandes ignorées car modifiées entre-temps).
+     */
+    @Override
+    public synchronized Map<String, Object> dispatchPendingOrders() {
+        long start = System.currentTimeMillis();
+        int assigned = 0;
+        int queued = 0;
+        int skipped = 0;
+        int batches = 0;
+        boolean capacityExhausted = false;
+
+        while (true) {
+            List<Long> orderIds = orderRepository.findUndispatchedOrderIds(DISPATCHABLE, PageRequest.of(0, batchSize));
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            List<Assignment> batch = plan(orderIds, loadQueue());
+            if (batch.size() < orderIds.size()) {
+                capacityExhausted = true;
+                if (queueWhenFull) {
+                    orderIds.subList(batch.size(), orderIds.size()).forEach(orderId -> batch.add(new Assignment(orderId, null)));
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Assignment> persisted = transactionTemplate.execute(status -> persist(batch, DISPATCHABLE));
+            int unassigned = (int) persisted.stream().filter(assignment -> assignment.delivererId() == null).count();
+            queued += unassigned;
+            assigned += persisted.size() - unassigned;
+            skipped += batch.size() - persisted.size();
+            batches++;
+            if (capacityExhausted && !queueWhenFull) {
+                break;
+            }
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (assigned > 0 || queued > 0 || capacityExhausted) {
+            log.info("Dispatch assigned {} orders and queued {} in {} batches ({} skipped, capacity exhausted: {}) in {} ms",
+                    assigned, queued, batches, skipped, capacityExhausted, System.currentTimeMillis() - start);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("assigned", assigned);
+        report.put("queued", queued);
+        report.put("skipped", skipped);
+        report.put("batches", batches);
+        report.put("capacityExhausted", capacityExhausted);
+        report.put("durationMs", System.currentTimeMillis() - start);
+        return report;
+    }
+
+    /**
+     * Assignation manuelle d'une commande à un livreur donné, par le même chemin que le moteur.
+     *
+     * @param orderId ID de la commande
+     * @param delivererId ID du livreur
+     * @throws ResourceNotFoundException si la commande ou le livreur n'existe pas
+     * @throws IllegalOperationException si la commande n'est plus assignable
+     */
+    @Override
+    public synchronized void assignOrder(Long orderId, Long delivererId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Commande non trouvée");
+        }
+        userRepository.findById(delivererId)
+                .filter(user -> user.getRole() == UserRole.DELIVERY)
+                .orElseThrow(() -> new ResourceNotFoundException("Livreur non trouvé ou rôle invalide"));
+        List<Assignment> persisted = transactionTemplate.execute(
+                status -> persist(List.of(new Assignment(orderId, delivererId)), MANUALLY_ASSIGNABLE));
+        if (persisted.isEmpty()) {
+            log.warn("Order {} could not be assigned to deliverer {}: status changed", orderId, delivererId);
+            throw new IllegalOperationException("La commande ne peut plus être assignée");
+        }
+        log.info("Delivery created for order {} with deliverer {}", orderId, delivererId);
+    }
+
+    /**
+     * File de priorité des livreurs, du moins chargé au plus chargé (livraisons ASSIGNED/IN_PROGRESS).
+     */
+    private PriorityQueue<DelivererLoad> loadQueue() {
+        Map<Long, Long> loads = new HashMap<>();
+        for (Object[] row : deliveryRepository.countByDelivererAndStatusIn(ACTIVE)) {
+            loads.put((Long) row[0], (Long) row[1]);
+        }
+        PriorityQueue<DelivererLoad> queue = new PriorityQueue<>(LEAST_LOADED);
+        for (Long delivererId : userRepository.findIdsByRole(UserRole.DELIVERY)) {
+            queue.offer(new DelivererLoad(delivererId, loads.getOrDefault(delivererId, 0L)));
+        }
+        return queue;
+    }
+
+    /**
+     * Répartit les commandes : chacune va au livreur le moins chargé, dont la charge est ensuite incrémentée.
+     * S'arrête dès que le moins chargé atteint la charge maximale.
+     */
+    static List<Assignment> plan(List<Long> orderIds, PriorityQueue<DelivererLoad> queue, int maxActivePerDeliverer) {
+        List<Assignment> batch = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            DelivererLoad leastLoaded = queue.poll();
+            if (leastLoaded == null || leastLoaded.activeLoad() >= maxActivePerDeliverer) {
+                break;
+            }
+            batch.add(new Assignment(orderId, leastLoaded.delivererId()));
+            queue.offer(new DelivererLoad(leastLoaded.delivererId(), leastLoaded.activeLoad() + 1));
+        }
+        return batch;
+    }
+
+    private List<Assignment> plan(List<Long> orderIds, PriorityQueue<DelivererLoad> queue) {
+        return plan(orderIds, queue, maxActivePerDeliverer);
+    }
+
+    /**
+     * Écrit un lot : les commandes ne passent en IN_PROGRESS que si leur statut n'a pas changé,
+     * et seules celles-ci reçoivent une livraison, ASSIGNED ou PENDING sans livreur (mise en file).
+     * Les événements de suivi partent à la validation du lot.
+     *
+     * @return Affectations écrites.
+     */
+    private List<Assignment> persist(List<Assignment> batch, Set<OrderStatus> sources) {
+        String placeholders = String.join(", ", Collections.nCopies(sources.size(), "?"));
+        List<OrderStatus> sourceList = List.copyOf(sources);
+        int[][] updated = jdbcTemplate.batchUpdate(
+                "UPDATE custom_orders SET status = ? WHERE id = ? AND status IN (" + placeholders + ")",
+                batch, batch.size(), (statement, assignment) -> {
+                    statement.setString(1, OrderStatus.IN_PROGRESS.name());
+                    statement.setLong(2, assignment.orderId());
+                    for (int i = 0; i < sourceList.size(); i++) {
+                        statement.setString(3 + i, sourceList.get(i).name());
+                    }
+                });
+        List<Assignment> accepted = new ArrayList<>(batch.size());
+        int index = 0;
+        for (int[] counts : updated) {
+            for (int count : counts) {
+                if (count != 0) {
+                    accepted.add(batch.get(index));
+                }
+                index++;
+            }
+        }
+        if (accepted.isEmpty()) {
+            return accepted;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO deliveries (order_id, deliverer_id, status, delivery_date) VALUES (?, ?, ?, ?)",
+                accepted, accepted.size(), (statement, assignment) -> {
+                    statement.setLong(1, assignment.orderId());
+                    statement.setObject(2, assignment.delivererId(), Types.BIGINT);
+                    statement.setString(3, assignment.status().name());
+                    statement.setTimestamp(4, createdAt);
+                });
+        for (Assignment assignment : accepted) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(assignment.orderId(), OrderStatus.IN_PROGRESS));
+            eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                    null, assignment.orderId(), assignment.delivererId(), assignment.status(), null));
+        }
+        return accepted;
+    }
+
+    record DelivererLoad(long delivererId, long activeLoad) {
+    }
+
+    /**
+     * @param delivererId Livreur désigné, ou null pour mettre la livraison en file
+     */
+    record Assignment(long orderId, Long delivererId) {
+
+        DeliveryStatus status() {
+            return delivererId != null ? DeliveryStatus.ASSIGNED : DeliveryStatus.PENDING;
+        }
+    }
+}
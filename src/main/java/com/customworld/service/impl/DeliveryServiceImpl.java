@@ -1,17 +1,28 @@
 package com.customworld.service.impl;
 
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.DeliveryResponse;
 import com.customworld.entity.Delivery;
 import com.customworld.enums.DeliveryStatus;
+import com.customworld.event.DeliveryStatusChangedEvent;
 import com.customworld.exception.IllegalOperationException;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.DeliveryRepository;
 import com.customworld.service.DeliveryService;
+import com.utils.KeysetCursor;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,12 +32,19 @@ import org.slf4j.LoggerFactory;
 
 public  class DeliveryServiceImpl implements DeliveryService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final DeliveryRepository deliveryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
 
     public DeliveryServiceImpl(
-                            DeliveryRepository deliveryRepository) {
+                            DeliveryRepository deliveryRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.deliveryRepository = deliveryRepository;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     public List<Delivery> getDeliveriesByDeliverer(Long delivererId) {
@@ -36,20 +54,10 @@ public  class DeliveryServiceImpl implements DeliveryService {
 
     @Override
     public Delivery updateDeliveryStatus(Long id, String status) {
-        Delivery delivery = getDeliveryOrThrow(id);
         DeliveryStatus newStatus = parseDeliveryStatus(status);
-
-        if (!delivery.getStatus().canTransitionTo(newStatus)) {
-            log.warn("Invalid status transition from {} to {} for delivery {}",
-                    delivery.getStatus(), newStatus, id);
-            throw new IllegalOperationException("Transition de statut non autorisée");
-        }
-
-        delivery.setStatus(newStatus);
-        Delivery updated = deliveryRepository.save(delivery);
+        Delivery delivery = transition(getDeliveryOrThrow(id), newStatus, "Transition de statut non autorisée");
         log.info("Updated delivery {} status to {}", id, newStatus);
-
-        return updated;
+        return published(delivery);
     }
 
     @Override
@@ -74,69 +82,71 @@ public  class DeliveryServiceImpl implements DeliveryService {
     public DeliveryResponse acceptDelivery(Long deliveryId) {
         Delivery delivery = getDeliveryOrThrow(deliveryId);
 
-        if (delivery.getStatus() != DeliveryStatus.PENDING) {
+        if (delivery.getStatus() != DeliveryStatus.PENDING || delivery.getDeliverer() == null) {
             log.warn("Delivery {} cannot be accepted in current status: {}",
                     deliveryId, delivery.getStatus());
             throw new IllegalOperationException("Seules les livraisons PENDING peuvent être acceptées");
         }
 
+        Long delivererId = delivery.getDeliverer().getId();
+        if (deliveryRepository.claim(deliveryId, delivererId) == 0) {
+            log.warn("Delivery {} was accepted concurrently", deliveryId);
+            throw new IllegalOperationException("Seules les livraisons PENDING peuvent être acceptées");
+        }
+        log.info("Delivery {} accepted by deliverer {}", deliveryId, delivererId);
         delivery.setStatus(DeliveryStatus.ASSIGNED);
-        deliveryRepository.save(delivery);
-        log.info("Delivery {} accepted by deliverer {}", deliveryId, delivery.getDeliverer().getId());
 
-        return convertToDeliveryResponse(delivery);
+        return convertToDeliveryResponse(published(delivery));
     }
 
+    /**
+     * Attribue au livreur la prochaine livraison disponible de la file PENDING, alimentée par le moteur
+     * d'assignation quand tous les livreurs sont à pleine charge.
+     * La ligne est verrouillée avec SKIP LOCKED puis attribuée par une mise à jour conditionnelle :
+     * des livreurs qui interrogent en même temps obtiennent chacun une livraison différente, sans attente de verrou.
+     * Le verrou étant tenu, la mise à jour ne peut échouer que si la ligne a disparu : pas de nouvel essai.
+     *
+     * @param delivererId ID du livreur
+     * @return La livraison attribuée, ou vide si aucune n'est disponible
+     */
     @Override
-    public DeliveryResponse startDelivery(Long deliveryId) {
-        Delivery delivery = getDeliveryOrThrow(deliveryId);
-
-        if (delivery.getStatus() != DeliveryStatus.ASSIGNED) {
-            log.warn("Delivery {} cannot be started in current status: {}",
-                    deliveryId, delivery.getStatus());
-            throw new IllegalOperationException("Seules les livraisons ASSIGNED peuvent être démarrées");
+    public Optional<DeliveryResponse> claimNextDelivery(Long delivererId) {
+        Optional<Long> candidate = deliveryRepository.findNextClaimableIdForUpdate(delivererId);
+        if (candidate.isEmpty() || deliveryRepository.claim(candidate.get(), delivererId) == 0) {
+            return Optional.empty();
         }
+        log.info("Delivery {} claimed by deliverer {}", candidate.get(), delivererId);
+        return Optional.of(convertToDeliveryResponse(published(getDeliveryOrThrow(candidate.get()))));
+    }
 
-        delivery.setStatus(DeliveryStatus.IN_PROGRESS);
-        deliveryRepository.save(delivery);
+    @Override
+    public DeliveryResponse startDelivery(Long deliveryId) {
+        Delivery delivery = transition(getDeliveryOrThrow(deliveryId), DeliveryStatus.IN_PROGRESS,
+                "Seules les livraisons ASSIGNED peuvent être démarrées");
         log.info("Delivery {} started", deliveryId);
-
-        return convertToDeliveryResponse(delivery);
+        return convertToDeliveryResponse(published(delivery));
     }
 
     @Override
     public DeliveryResponse completeDelivery(Long deliveryId) {
-        Delivery delivery = getDeliveryOrThrow(deliveryId);
-
-        if (delivery.getStatus() != DeliveryStatus.IN_PROGRESS) {
-            log.warn("Delivery {} cannot be completed in current status: {}",
-                    deliveryId, delivery.getStatus());
-            throw new IllegalOperationException("Seules les livraisons IN_PROGRESS peuvent être complétées");
-        }
-
-        delivery.setStatus(DeliveryStatus.DELIVERED);
-        deliveryRepository.save(delivery);
+        Delivery delivery = transition(getDeliveryOrThrow(deliveryId), DeliveryStatus.DELIVERED,
+                "Seules les livraisons IN_PROGRESS peuvent être complétées");
         log.info("Delivery {} completed successfully", deliveryId);
-
-        return convertToDeliveryResponse(delivery);
+        return convertToDeliveryResponse(published(delivery));
     }
 
     @Override
     public DeliveryResponse reportDeliveryIssue(Long deliveryId, String issue) {
         Delivery delivery = getDeliveryOrThrow(deliveryId);
-
-        if (!delivery.getStatus().isActiveStatus()) {
-            log.warn("Cannot report issue for delivery {} in status {}",
-                    deliveryId, delivery.getStatus());
-            throw new IllegalOperationException("Problème ne peut être signalé que pour les livraisons actives");
+        Set<DeliveryStatus> sources = DeliveryStatus.sourcesOf(DeliveryStatus.ISSUE_REPORTED);
+        if (deliveryRepository.updateStatusWithIssue(deliveryId, sources, DeliveryStatus.ISSUE_REPORTED, issue) == 0) {
+            rejectTransition(delivery, DeliveryStatus.ISSUE_REPORTED,
+                    "Problème ne peut être signalé que pour les livraisons actives");
         }
-
+        log.warn("Issue reported for delivery {}: {}", deliveryId, issue);
         delivery.setStatus(DeliveryStatus.ISSUE_REPORTED);
         delivery.setIssueDescription(issue);
-        deliveryRepository.save(delivery);
-        log.warn("Issue reported for delivery {}: {}", deliveryId, issue);
-
-        return convertToDeliveryResponse(delivery);
+        return convertToDeliveryResponse(published(delivery));
     }
 
     @Override
@@ -147,8 +157,132 @@ public  class DeliveryServiceImpl implements DeliveryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Historique paginé par curseur, du plus récent au plus ancien.
+     *
+     * @param status Statut à filtrer, ou null pour tous
+     * @param from Borne inférieure incluse de la date, ou null
+     * @param to Borne supérieure exclue de la date, ou null
+     * @param cursor Curseur renvoyé par la page précédente, ou null pour la première page
+     * @param size Taille de page (bornée à 100)
+     * @return La page et le curseur de la suivante
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DeliveryResponse> getDeliveryHistoryPage(String status, LocalDateTime from, LocalDateTime to,
+                                                                String cursor, int size) {
+        PageQuery query = pageQuery(status, from, to, cursor, size);
+        List<DeliveryResponse> rows = query.statuses() == null
+                ? deliveryRepository.findHistoryPageAnyStatus(query.from(), query.to(),
+                        query.cursorDate(), query.cursorId(), query.pageable())
+                : deliveryRepository.findHistoryPage(query.statuses(), query.from(), query.to(),
+                        query.cursorDate(), query.cursorId(), query.pageable());
+        return toPage(rows, query.size());
+    }
+
+    /**
+     * Liste de travail d'un livreur, paginée par curseur, avec les mêmes filtres que l'historique.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DeliveryResponse> getDelivererDeliveriesPage(Long delivererId, String status, LocalDateTime from,
+                                                                   LocalDateTime to, String cursor, int size) {
+        PageQuery query = pageQuery(status, from, to, cursor, size);
+        List<DeliveryResponse> rows = query.statuses() == null
+                ? deliveryRepository.findDelivererPageAnyStatus(delivererId, query.from(), query.to(),
+                        query.cursorDate(), query.cursorId(), query.pageable())
+                : deliveryRepository.findDelivererPage(delivererId, query.statuses(), query.from(), query.to(),
+                        query.cursorDate(), query.cursorId(), query.pageable());
+        return toPage(rows, query.size());
+    }
+
+    /**
+     * Les livraisons antérieures n'avaient pas de date : elles en reçoivent une au démarrage
+     * pour apparaître dans les pages triées par date.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDeliveryDates() {
+        int updated = deliveryRepository.backfillMissingDeliveryDates();
+        if (updated > 0) {
+            log.info("Backfilled delivery date on {} deliveries", updated);
+        }
+    }
+
     // ======= HELPER METHODS ======= //
 
+    /**
+     * Sans filtre de statut, {@code statuses} est null : la requête sans prédicat de statut suit alors l'index
+     * (date, id) au lieu de trier toutes les lignes d'un {@code IN} à plusieurs valeurs.
+     */
+    private PageQuery pageQuery(String status, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        Set<DeliveryStatus> statuses = status == null || status.isBlank()
+                ? null
+                : EnumSet.of(parseDeliveryStatus(status));
+        LocalDateTime lower = from != null ? from : MIN_DATE;
+        LocalDateTime upper = to != null ? to : MAX_DATE;
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return new PageQuery(statuses, lower, upper,
+                position != null ? position.getDate() : upper,
+                position != null ? position.getId() : Long.MAX_VALUE,
+                pageSize);
+    }
+
+    /**
+     * Une ligne de plus que la taille de page est lue pour savoir s'il existe une page suivante.
+     */
+    private CursorPage<DeliveryResponse> toPage(List<DeliveryResponse> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<DeliveryResponse> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore && items.get(items.size() - 1).getDeliveryDate() != null) {
+            DeliveryResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getDeliveryDate(), last.getId()).encode();
+        }
+        return CursorPage.<DeliveryResponse>builder()
+                .items(List.copyOf(items))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Applique une transition en une seule requête conditionnelle, générée depuis la table des transitions :
+     * UPDATE ... SET status = cible WHERE id = ? AND status IN (sources autorisées).
+     * La mise à jour vide le contexte de persistance : la livraison déjà lue, détachée, reçoit le nouveau statut
+     * pour construire la réponse sans relire la ligne (la modifier n'écrit plus rien en base).
+     */
+    private Delivery transition(Delivery delivery, DeliveryStatus target, String message) {
+        Set<DeliveryStatus> sources = DeliveryStatus.sourcesOf(target);
+        if (sources.isEmpty() || deliveryRepository.updateStatus(delivery.getId(), sources, target) == 0) {
+            rejectTransition(delivery, target, message);
+        }
+        delivery.setStatus(target);
+        return delivery;
+    }
+
+    /**
+     * Aucune ligne modifiée : le statut lu avant la mise à jour (ou modifié entre-temps) ne permet pas la transition.
+     */
+    private void rejectTransition(Delivery delivery, DeliveryStatus target, String message) {
+        log.warn("Invalid status transition from {} to {} for delivery {}", delivery.getStatus(), target, delivery.getId());
+        throw new IllegalOperationException(message);
+    }
+
+    /**
+     * Annonce le nouveau statut aux abonnés du suivi en temps réel (diffusé après validation de la transaction).
+     */
+    private Delivery published(Delivery delivery) {
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                delivery.getId(),
+                delivery.getOrder().getId(),
+                delivery.getDeliverer() != null ? delivery.getDeliverer().getId() : null,
+                delivery.getStatus(),
+                delivery.getIssueDescription()));
+        return delivery;
+    }
+
     private Delivery getDeliveryOrThrow(Long id) {
         return deliveryRepository.findById(id)
                 .orElseThrow(() -> {
@@ -170,10 +304,18 @@ public  class DeliveryServiceImpl implements DeliveryService {
         return DeliveryResponse.builder()
                 .id(delivery.getId())
                 .orderId(delivery.getOrder().getId())
-                .delivererId(delivery.getDeliverer().getId())
+                .delivererId(delivery.getDeliverer() != null ? delivery.getDeliverer().getId() : null)
                 .status(delivery.getStatus())
                 .issueDescription(delivery.getIssueDescription())
                 .deliveryDate(delivery.getDeliveryDate())
                 .build();
     }
-}
\ No newline at end of file
+
+    private record PageQuery(Set<DeliveryStatus> statuses, LocalDateTime from, LocalDateTime to,
+                             LocalDateTime cursorDate, Long cursorId, int size) {
+
+        PageRequest pageable() {
+            return PageRequest.of(0, size + 1);
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package com.customworld.service.impl;
 
 import com.customworld.config.FileStorageConfig;
+import com.customworld.enums.ImageVariant;
+import com.customworld.event.FileDeletedEvent;
+import com.customworld.event.FileStoredEvent;
 import com.customworld.exception.BadRequestException;
 import com.customworld.service.FileStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.beans.factory.annotation.Value;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 @Service
 public class FileStorageServiceImpl implements FileStorageService {
@@ -27,10 +39,22 @@ public class FileStorageServiceImpl implements FileStorageService {
      * Gère l'upload et la récupération des images et designs
      */
     private final Path fileStorageLocation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotFileCache hotFileCache;
+    private final boolean migrateOnStartup;
+    private final int migrationBatchSize;
+    private final long migrationPauseMillis;
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-    public FileStorageServiceImpl(FileStorageConfig fileStorageConfig) {
+    public FileStorageServiceImpl(FileStorageConfig fileStorageConfig, ApplicationEventPublisher eventPublisher,
+                                  HotFileCache hotFileCache,
+                                  @Value("${file.sharding.migrate-on-startup:true}") boolean migrateOnStartup,
+                                  @Value("${file.sharding.migration-batch-size:500}") int migrationBatchSize,
+                                  @Value("${file.sharding.migration-pause-ms:200}") long migrationPauseMillis) {
+        this.eventPublisher = eventPublisher;
+        this.hotFileCache = hotFileCache;
+        this.migrateOnStartup = migrateOnStartup;
+        this.migrationBatchSize = Math.max(1, migrationBatchSize);
+        this.migrationPauseMillis = migrationPauseMillis;
         this.fileStorageLocation = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize();
         try {
             Files.createDirectories(this.fileStorageLocation);
@@ -56,8 +80,9 @@ public class FileStorageServiceImpl implements FileStorageService {
             if (fileName.contains("..")) {
                 throw new BadRequestException("Nom de fichier invalide","");
             }
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
+            Path targetLocation = prepareTarget(fileName);
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            eventPublisher.publishEvent(new FileStoredEvent(fileName));
             return fileName;
         } catch (IOException e) {
             throw new BadRequestException("Impossible de stocker le fichier", e.getMessage());
@@ -73,15 +98,61 @@ public class FileStorageServiceImpl implements FileStorageService {
         if (fileName.contains("..")) {
             return Mono.error(new BadRequestException("Nom de fichier invalide", ""));
         }
-        Path targetLocation = this.fileStorageLocation.resolve(fileName);
-        return file.transferTo(targetLocation).thenReturn(fileName);
+        return Mono.fromCallable(() -> prepareTarget(fileName))
+                .flatMap(file::transferTo)
+                .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(new FileStoredEvent(fileName))))
+                .thenReturn(fileName);
     }
 
+    /**
+     * Transfère dans le dossier de stockage un fichier déjà présent sur disque (upload par morceaux assemblé).
+     *
+     * @param source Fichier à déplacer.
+     * @param originalFilename Nom d'origine du fichier.
+     * @return Nom du fichier enregistré (chemin relatif).
+     * @throws BadRequestException si le nom est invalide ou si une erreur d'IO survient.
+     */
+    @Override
+    public String storeFile(Path source, String originalFilename) {
+        String fileName = System.currentTimeMillis() + "_" + originalFilename;
+        if (fileName.contains("..")) {
+            throw new BadRequestException("Nom de fichier invalide", "");
+        }
+        try {
+            Path targetLocation = prepareTarget(fileName);
+            Files.move(source, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            eventPublisher.publishEvent(new FileStoredEvent(fileName));
+            return fileName;
+        } catch (IOException e) {
+            throw new BadRequestException("Impossible de stocker le fichier", e.getMessage());
+        }
+    }
+
+    /**
+     * Sert un fichier, depuis le cache en mémoire si possible. Le cache est d'abord consulté sur l'emplacement
+     * shardé, calculé sans accès disque : un fichier chaud est servi sans aucun {@code stat}. L'emplacement réel
+     * n'est résolu qu'en cas d'absence du cache.
+     */
     @Override
     public Resource loadFileAsResource(String fileName) {
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+            Path sharded = shardedPath(fileName);
+            Resource cached = hotFileCache.get(sharded, fileName);
+            if (cached != null) {
+                return cached;
+            }
+            Path filePath = resolveFilePath(fileName);
+            if (!filePath.equals(sharded)) {
+                cached = hotFileCache.get(filePath, fileName);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             Resource resource = new UrlResource(filePath.toUri());
+            if (!resource.exists() && !filePath.equals(shardedPath(fileName))) {
+                // Le fichier a pu être déplacé par la migration entre la résolution et la lecture
+                resource = new UrlResource(shardedPath(fileName).toUri());
+            }
             if (resource.exists()) {
                 return resource;
             } else {
@@ -101,11 +172,138 @@ public class FileStorageServiceImpl implements FileStorageService {
      @Override
     public void deleteFile(String fileName) {
         try {
-            Path filePath = Paths.get(uploadDir, fileName);
-            Files.deleteIfExists(filePath);
+            // Les deux emplacements sont nettoyés : la migration peut déplacer le fichier pendant la suppression
+            for (Path filePath : List.of(shardedPath(fileName), legacyPath(fileName))) {
+                Files.deleteIfExists(filePath);
+                hotFileCache.invalidate(filePath);
+                for (ImageVariant variant : ImageVariant.values()) {
+                    hotFileCache.invalidate(filePath.resolveSibling(variant.fileNameFor(fileName)));
+                }
+            }
+            eventPublisher.publishEvent(new FileDeletedEvent(fileName));
         } catch (IOException e) {
             throw new BadRequestException("Erreur lors de la suppression du fichier : " + e.getMessage(),"");
         }
     }
-    
+
+    /**
+     * Résout le chemin absolu d'un fichier : emplacement shardé s'il existe, sinon emplacement historique
+     * (dossier plat, le temps de la migration), sinon emplacement shardé pour une nouvelle écriture.
+     *
+     * @param fileName Nom du fichier (chemin relatif).
+     * @return Chemin absolu normalisé.
+     * @throws BadRequestException si le nom sort du dossier de stockage.
+     */
+    @Override
+    public Path resolveFilePath(String fileName) {
+        Path sharded = shardedPath(fileName);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path legacy = legacyPath(fileName);
+        return Files.exists(legacy) ? legacy : sharded;
+    }
+
+    /**
+     * Emplacement shardé : deux niveaux de dossiers dérivés d'un hachage du nom ({@code ab/cd/<nom>}).
+     * Le hachage porte sur le nom de l'original pour que les variantes d'une image restent à côté d'elle.
+     * Les noms comportant déjà un chemin ne sont pas shardés.
+     */
+    Path shardedPath(String fileName) {
+        if (fileName.contains("/") || fileName.contains("\\")) {
+            return legacyPath(fileName);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(ImageVariant.originalFileNameOf(fileName).getBytes(StandardCharsets.UTF_8));
+        long hash = crc.getValue();
+        String shard = String.format("%02x/%02x", (hash >>> 8) & 0xFF, hash & 0xFF);
+        return checkInside(this.fileStorageLocation.resolve(shard).resolve(fileName).normalize(), fileName);
+    }
+
+    private Path legacyPath(String fileName) {
+        return checkInside(this.fileStorageLocation.resolve(fileName).normalize(), fileName);
+    }
+
+    private Path checkInside(Path filePath, String fileName) {
+        if (!filePath.startsWith(this.fileStorageLocation) || filePath.equals(this.fileStorageLocation)) {
+            throw new BadRequestException("Nom de fichier invalide", fileName);
+        }
+        return filePath;
+    }
+
+    private Path prepareTarget(String fileName) throws IOException {
+        Path target = shardedPath(fileName);
+        Files.createDirectories(target.getParent());
+        return target;
+    }
+
+    /**
+     * Lance au démarrage, en tâche de fond, le déplacement des fichiers du dossier plat vers les dossiers shardés.
+     * L'application reste disponible : les lectures résolvent les deux emplacements pendant la migration.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLegacyMigration() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Thread migrator = new Thread(this::migrateLegacyFiles, "upload-shard-migrator");
+        migrator.setDaemon(true);
+        migrator.setPriority(Thread.MIN_PRIORITY);
+        migrator.start();
+    }
+
+    /**
+     * Déplace par lots les fichiers du dossier plat vers leur dossier shardé, avec une pause entre les lots
+     * pour ne pas saturer le disque. Un déplacement atomique garantit qu'un fichier est toujours visible
+     * à l'un des deux emplacements.
+     *
+     * @return Nombre de fichiers déplacés.
+     */
+    long migrateLegacyFiles() {
+        long moved = 0;
+        long skipped = 0;
+        try (Stream<Path> files = Files.list(this.fileStorageLocation)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path legacy = iterator.next();
+                String fileName = legacy.getFileName().toString();
+                if (fileName.startsWith(".") || !Files.isRegularFile(legacy) || fileName.endsWith(".tmp")) {
+                    continue;
+                }
+                Path target = shardedPath(fileName);
+                if (Files.exists(target)) {
+                    skipped++;
+                    log.warn("Sharded copy of {} already exists, legacy file left in place", fileName);
+                    continue;
+                }
+                try {
+                    Files.createDirectories(target.getParent());
+                    Files.move(legacy, target, StandardCopyOption.ATOMIC_MOVE);
+                    hotFileCache.invalidate(legacy);
+                    moved++;
+                } catch (IOException e) {
+                    skipped++;
+                    log.warn("Unable to migrate {} to sharded layout: {}", fileName, e.getMessage());
+                }
+                if (moved > 0 && moved % migrationBatchSize == 0) {
+                    log.info("Upload shard migration: {} files moved so far", moved);
+                    Thread.sleep(migrationPauseMillis);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Upload shard migration aborted: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Upload shard migration interrupted after {} files", moved);
+        }
+        if (moved > 0 || skipped > 0) {
+            log.info("Upload shard migration finished: {} files moved, {} skipped", moved, skipped);
+        }
+        return moved;
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        return hotFileCache.getStatistics();
+    }
 }
@@ -0,0 +1,113 @@
+package com.customworld.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache en mémoire des fichiers les plus servis, borné par un budget en octets.
+ * L'admission et l'éviction reposent sur la fréquence d'accès (W-TinyLFU de Caffeine).
+ * Les petits fichiers sont copiés dans des buffers directs (hors tas), les plus gros sont mappés en mémoire.
+ */
+@Component
+public class HotFileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HotFileCache.class);
+
+    private final Cache<Path, CachedFile> cache;
+    private final long maxBytes;
+    private final long mappedThresholdBytes;
+    private final long maxEntryBytes;
+
+    public HotFileCache(@Value("${file.cache.max-bytes:67108864}") long maxBytes,
+                        @Value("${file.cache.mapped-threshold-bytes:262144}") long mappedThresholdBytes,
+                        @Value("${file.cache.max-entry-bytes:8388608}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.mappedThresholdBytes = mappedThresholdBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Path path, CachedFile file) -> file.buffer().capacity())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Renvoie le fichier depuis le cache, en le chargeant au premier accès.
+     *
+     * @param path Chemin absolu du fichier.
+     * @param fileName Nom exposé au client.
+     * @return Ressource servie depuis la mémoire, ou null si le fichier est absent ou trop volumineux.
+     */
+    public Resource get(Path path, String fileName) {
+        CachedFile file = cache.get(path, this::load);
+        return file == null ? null : new ByteBufferResource(file.buffer(), fileName, file.lastModified());
+    }
+
+    public void invalidate(Path path) {
+        cache.invalidate(path);
+    }
+
+    /**
+     * Statistiques du cache : taux de succès et octets résidents.
+     */
+    public Map<String, Object> getStatistics() {
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("hitRatio", stats.hitRate());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("evictionCount", stats.evictionCount());
+        statistics.put("entries", cache.estimatedSize());
+        statistics.put("residentBytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        statistics.put("maxBytes", maxBytes);
+        return statistics;
+    }
+
+    private CachedFile load(Path path) {
+        try {
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+            long size = Files.size(path);
+            if (size > maxEntryBytes) {
+                return null;
+            }
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (size >= mappedThresholdBytes) {
+                    return new CachedFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), lastModified);
+                }
+                ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // lecture complète du fichier
+                }
+                buffer.flip();
+                return new CachedFile(buffer, lastModified);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to cache file {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private record CachedFile(ByteBuffer buffer, long lastModified) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.ImageVariant;
+import com.customworld.event.FileDeletedEvent;
+import com.customworld.event.FileStoredEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.service.FileStorageService;
+import com.customworld.service.ImageVariantService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génère et sert les variantes redimensionnées (vignette, carte, détail) des images uploadées.
+ * Les variantes sont produites à l'upload dans un pool borné, puis en arrière-plan à la première demande
+ * si elles manquent (l'original est servi en attendant), et stockées à côté de l'original pour n'être
+ * calculées qu'une seule fois.
+ */
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Path, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantServiceImpl(FileStorageService fileStorageService,
+                                   @Value("${file.variants.pool-size:2}") int poolSize,
+                                   @Value("${file.variants.queue-capacity:200}") int queueCapacity) {
+        this.fileStorageService = fileStorageService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        generateVariantsAsync(event.getFileName());
+    }
+
+    @EventListener
+    public void onFileDeleted(FileDeletedEvent event) {
+        if (!ImageVariant.isVariantFileName(event.getFileName())) {
+            deleteVariants(event.getFileName());
+        }
+    }
+
+    /**
+     * Planifie la génération de toutes les variantes d'une image.
+     * Si le pool est saturé, la génération est abandonnée et se fera à la demande.
+     *
+     * @param fileName Nom du fichier original.
+     */
+    @Override
+    public void generateVariantsAsync(String fileName) {
+        if (!isSupportedImage(fileName)) {
+            return;
+        }
+        try {
+            generate(fileName, EnumSet.allOf(ImageVariant.class));
+        } catch (RejectedExecutionException e) {
+            log.warn("Variant pool saturated, variants of {} will be generated on demand", fileName);
+        }
+    }
+
+    /**
+     * Renvoie la variante adaptée à la largeur demandée. Si elle n'existe pas encore, sa génération est lancée
+     * en arrière-plan et l'original est renvoyé sans attendre ; il l'est aussi pour un fichier qui n'est pas
+     * une image redimensionnable.
+     *
+     * @param fileName Nom du fichier original.
+     * @param width Largeur souhaitée en pixels.
+     * @return Ressource de la variante (ou de l'original).
+     */
+    @Override
+    public Resource loadVariant(String fileName, int width) {
+        if (width <= 0) {
+            throw new BadRequestException("Largeur invalide: " + width, "");
+        }
+        if (!isSupportedImage(fileName) || ImageVariant.isVariantFileName(fileName)) {
+            return fileStorageService.loadFileAsResource(fileName);
+        }
+        ImageVariant variant = ImageVariant.forWidth(width);
+        String variantName = variant.fileNameFor(fileName);
+        if (Files.exists(fileStorageService.resolveFilePath(variantName))) {
+            return fileStorageService.loadFileAsResource(variantName);
+        }
+        try {
+            generate(fileName, EnumSet.of(variant));
+        } catch (RejectedExecutionException e) {
+            log.warn("Variant pool saturated, serving original for {} ({})", fileName, variant);
+        }
+        return fileStorageService.loadFileAsResource(fileName);
+    }
+
+    /**
+     * Supprime les variantes d'une image (après suppression de l'original).
+     *
+     * @param fileName Nom du fichier original.
+     */
+    @Override
+    public void deleteVariants(String fileName) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            try {
+                Files.deleteIfExists(fileStorageService.resolveFilePath(variant.fileNameFor(fileName)));
+            } catch (IOException e) {
+                log.warn("Unable to delete variant {} of {}: {}", variant, fileName, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Soumet la génération des variantes manquantes, en mutualisant les demandes concurrentes
+     * portant sur le même fichier. Le retrait de la tâche terminée est enregistré hors de
+     * {@code computeIfAbsent} : une tâche déjà terminée exécute ce rappel immédiatement, ce qui
+     * modifierait la table pendant son propre calcul.
+     */
+    CompletableFuture<Void> generate(String fileName, Set<ImageVariant> variants) {
+        Path source = fileStorageService.resolveFilePath(fileName);
+        Path key = fileStorageService.resolveFilePath(variants.size() == 1
+                ? variants.iterator().next().fileNameFor(fileName)
+                : fileName);
+        CompletableFuture<Void> future = inFlight.computeIfAbsent(key, k -> CompletableFuture.runAsync(
+                () -> writeVariants(fileName, source, variants), executor));
+        future.whenComplete((result, error) -> inFlight.remove(key, future));
+        return future;
+    }
+
+    private void writeVariants(String fileName, Path source, Set<ImageVariant> variants) {
+        try {
+            BufferedImage original = ImageIO.read(source.toFile());
+            if (original == null) {
+                log.warn("Unreadable image, no variants generated for {}", fileName);
+                return;
+            }
+            String format = formatOf(fileName);
+            for (ImageVariant variant : variants) {
+                Path target = fileStorageService.resolveFilePath(variant.fileNameFor(fileName));
+                if (Files.exists(target)) {
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+                if (original.getWidth() <= variant.getWidth()) {
+                    Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    ImageIO.write(resize(original, variant.getWidth(), format), format, tmp.toFile());
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            log.info("Variants {} generated for {}", variants, fileName);
+        } catch (IOException e) {
+            log.warn("Variant generation failed for {}: {}", fileName, e.getMessage());
+            throw new IllegalStateException("Échec de génération des variantes de " + fileName, e);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage original, int width, String format) {
+        int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+        boolean opaque = format.equals("jpg") || format.equals("jpeg") || format.equals("bmp");
+        BufferedImage resized = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private boolean isSupportedImage(String fileName) {
+        return SUPPORTED_FORMATS.contains(formatOf(fileName));
+    }
+
+    private String formatOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
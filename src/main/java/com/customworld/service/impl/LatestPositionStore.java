@@ -0,0 +1,158 @@
+package com.customworld.service.impl;
+
+/**
+ * Dernière position connue de chaque livreur, dans une table à adressage ouvert sur clés {@code long}
+ * (tableaux primitifs, aucun objet alloué par ping). La table est découpée en segments verrouillés
+ * indépendamment : des livreurs différents se mettent à jour en parallèle sans contention.
+ * La mémoire est proportionnelle au nombre de livreurs, pas au nombre de pings.
+ */
+final class LatestPositionStore {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    LatestPositionStore(int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(MIN_STRIPE_CAPACITY);
+        }
+    }
+
+    /**
+     * Enregistre une position si elle est plus récente que la position connue.
+     *
+     * @param sampleIntervalMs Intervalle minimal entre deux points d'historique pour un même livreur
+     * @return {@code true} si le point doit aussi être ajouté à l'historique
+     * @throws IllegalArgumentException si l'identifiant n'est pas strictement positif
+     */
+    boolean update(long delivererId, double latitude, double longitude, long recordedAt, long sampleIntervalMs) {
+        if (delivererId <= EMPTY) {
+            throw new IllegalArgumentException("ID de livreur invalide");
+        }
+        long hash = mix(delivererId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        synchronized (stripe) {
+            int slot = stripe.slotOf(delivererId, (int) hash);
+            if (stripe.keys[slot] == EMPTY) {
+                stripe.keys[slot] = delivererId;
+                stripe.latitudes[slot] = latitude;
+                stripe.longitudes[slot] = longitude;
+                stripe.recordedAt[slot] = recordedAt;
+                stripe.sampledAt[slot] = recordedAt;
+                stripe.growIfNeeded(++stripe.size);
+                return true;
+            }
+            if (recordedAt < stripe.recordedAt[slot]) {
+                return false;
+            }
+            stripe.latitudes[slot] = latitude;
+            stripe.longitudes[slot] = longitude;
+            stripe.recordedAt[slot] = recordedAt;
+            if (recordedAt - stripe.sampledAt[slot] < sampleIntervalMs) {
+                return false;
+            }
+            stripe.sampledAt[slot] = recordedAt;
+            return true;
+        }
+    }
+
+    /**
+     * @return La dernière position du livreur, ou {@code null} si aucune n'a été reçue
+     */
+    Position get(long delivererId) {
+        if (delivererId <= EMPTY) {
+            return null;
+        }
+        long hash = mix(delivererId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        synchronized (stripe) {
+            int slot = stripe.slotOf(delivererId, (int) hash);
+            if (stripe.keys[slot] == EMPTY) {
+                return null;
+            }
+            return new Position(stripe.latitudes[slot], stripe.longitudes[slot], stripe.recordedAt[slot]);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    record Position(double latitude, double longitude, long recordedAt) {
+    }
+
+    /**
+     * Segment de la table : sondage linéaire, capacité en puissance de deux, taux de remplissage maximal 1/2.
+     */
+    private static final class Stripe {
+        private long[] keys;
+        private double[] latitudes;
+        private double[] longitudes;
+        private long[] recordedAt;
+        private long[] sampledAt;
+        private int size;
+
+        private Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private int slotOf(long key, int hash) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void growIfNeeded(int newSize) {
+            if (newSize * 2 <= keys.length) {
+                return;
+            }
+            long[] oldKeys = keys;
+            double[] oldLatitudes = latitudes;
+            double[] oldLongitudes = longitudes;
+            long[] oldRecordedAt = recordedAt;
+            long[] oldSampledAt = sampledAt;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slotOf(oldKeys[i], (int) mix(oldKeys[i]));
+                    keys[slot] = oldKeys[i];
+                    latitudes[slot] = oldLatitudes[i];
+                    longitudes[slot] = oldLongitudes[i];
+                    recordedAt[slot] = oldRecordedAt[i];
+                    sampledAt[slot] = oldSampledAt[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            latitudes = new double[capacity];
+            longitudes = new double[capacity];
+            recordedAt = new long[capacity];
+            sampledAt = new long[capacity];
+        }
+    }
+}
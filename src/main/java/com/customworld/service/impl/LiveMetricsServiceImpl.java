@@ -0,0 +1,117 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.LiveMetrics;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.OrderStatus;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.event.UserRegisteredEvent;
+import com.customworld.service.LiveMetricsService;
+import com.utils.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+
+/**
+ * Indicateurs en direct du tableau de bord administrateur, poussés en Server-Sent Events.
+ * Les événements métier validés alimentent des compteurs sur fenêtres glissantes ({@link SlidingWindowCounter},
+ * sans verrou) ; à chaque intervalle, un seul instantané est calculé puis diffusé à toutes les sessions connectées,
+ * et rien n'est calculé quand personne n'écoute. Un abonné lent ne reçoit que le dernier instantané.
+ */
+@Service
+public class LiveMetricsServiceImpl implements LiveMetricsService {
+
+    private static final long SECOND = 1_000;
+    private static final long MINUTE = 60 * SECOND;
+
+    private final SlidingWindowCounter ordersLastMinute = new SlidingWindowCounter(60, SECOND);
+    private final SlidingWindowCounter ordersLastHour = new SlidingWindowCounter(60, MINUTE);
+    private final SlidingWindowCounter registrationsLastHour = new SlidingWindowCounter(60, MINUTE);
+    private final SlidingWindowCounter deliveryIssuesLastHour = new SlidingWindowCounter(60, MINUTE);
+    private final SlidingWindowCounter paymentsSucceeded;
+    private final SlidingWindowCounter paymentsFailed;
+    private final long paymentWindowMinutes;
+    private final Sinks.Many<LiveMetrics> sink = Sinks.many().multicast().directBestEffort();
+
+    public LiveMetricsServiceImpl(@Value("${admin.metrics.payment-window-minutes:15}") int paymentWindowMinutes) {
+        this.paymentWindowMinutes = Math.max(1, paymentWindowMinutes);
+        this.paymentsSucceeded = new SlidingWindowCounter((int) this.paymentWindowMinutes, MINUTE);
+        this.paymentsFailed = new SlidingWindowCounter((int) this.paymentWindowMinutes, MINUTE);
+    }
+
+    /**
+     * Flux des instantanés, en commençant par un instantané calculé à l'abonnement.
+     */
+    @Override
+    public Flux<ServerSentEvent<LiveMetrics>> stream() {
+        return Flux.defer(() -> Flux.just(snapshot()))
+                .concatWith(sink.asFlux().onBackpressureLatest())
+                .map(metrics -> ServerSentEvent.builder(metrics).event("metrics").build());
+    }
+
+    @Override
+    public LiveMetrics snapshot() {
+        long now = System.currentTimeMillis();
+        long succeeded = paymentsSucceeded.sum(now);
+        long failed = paymentsFailed.sum(now);
+        return LiveMetrics.builder()
+                .generatedAt(Instant.ofEpochMilli(now))
+                .ordersLastMinute(ordersLastMinute.sum(now))
+                .ordersLastHour(ordersLastHour.sum(now))
+                .registrationsLastHour(registrationsLastHour.sum(now))
+                .paymentsSucceeded(succeeded)
+                .paymentsFailed(failed)
+                .paymentSuccessRate(succeeded + failed == 0 ? null : (double) succeeded / (succeeded + failed))
+                .paymentWindowMinutes(paymentWindowMinutes)
+                .deliveryIssuesLastHour(deliveryIssuesLastHour.sum(now))
+                .connectedAdmins(sink.currentSubscriberCount())
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${admin.metrics.interval-ms:2000}")
+    public void broadcast() {
+        if (sink.currentSubscriberCount() > 0) {
+            sink.tryEmitNext(snapshot());
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long now = System.currentTimeMillis();
+        ordersLastMinute.increment(now);
+        ordersLastHour.increment(now);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        registrationsLastHour.increment(System.currentTimeMillis());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.getStatus() == OrderStatus.PAID) {
+            paymentsSucceeded.increment(System.currentTimeMillis());
+        } else if (event.getStatus() == OrderStatus.FAILED) {
+            paymentsFailed.increment(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        if (event.getStatus() == DeliveryStatus.ISSUE_REPORTED) {
+            deliveryIssuesLastHour.increment(System.currentTimeMillis());
+        }
+    }
+}
@@ -12,6 +12,9 @@ import com.customworld.entity.Delivery;
 import com.customworld.enums.DeliveryStatus;
 import com.customworld.enums.OrderStatus;
 import com.customworld.enums.UserRole;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.CartRepository;
 import com.customworld.repository.CustomOrderRepository;
@@ -21,6 +24,7 @@ import com.customworld.repository.DeliveryRepository;
 import com.customworld.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,18 +47,21 @@ public class OrderServiceImpl implements OrderService {
     private final CartRepository cartRepository;
     private final OrderItemRepository orderItemRepository;
     private final DeliveryRepository deliveryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
 
     public OrderServiceImpl(CustomOrderRepository orderRepository,
                             UserRepository userRepository,
                             CartRepository cartRepository,
                             OrderItemRepository orderItemRepository,
-                            DeliveryRepository deliveryRepository) {
+                            DeliveryRepository deliveryRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.cartRepository = cartRepository;
         this.orderItemRepository = orderItemRepository;
         this.deliveryRepository = deliveryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -147,6 +154,7 @@ public class OrderServiceImpl implements OrderService {
                     .order(order)
                     .product(cartItem.getProduct())
                     .quantity(cartItem.getQuantity())
+                    .unitPrice(cartItem.getProduct().getPrice())
                     .imagePath(cartItem.getProduct().getImagePath())
                     .isCustomized(cartItem.isCustomized())
                     .build();
@@ -182,6 +190,9 @@ public class OrderServiceImpl implements OrderService {
             log.error("Failed to clear cart for user {}: {}", customerId, e.getMessage());
             throw new RuntimeException("Erreur lors de la suppression du panier", e);
         }
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), OrderStatus.PENDING));
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getOrderDate(), totalAmount,
+                order.getItems().stream().mapToLong(OrderItem::getQuantity).sum()));
 
         return convertToOrderResponse(order);
     }
@@ -265,15 +276,16 @@ public class OrderServiceImpl implements OrderService {
                     log.error("Order not found for status update: {}", orderId);
                     return new ResourceNotFoundException("Commande non trouvée");
                 });
-        order.setStatus(status);
-        try {
-            order = orderRepository.save(order);
-            log.info("Order {} status updated to {}", orderId, status);
-        } catch (Exception e) {
-            log.error("Failed to update order status for order {}: {}", orderId, e.getMessage());
-            throw new RuntimeException("Erreur lors de la mise à jour du statut de la commande", e);
+        // Réponse construite avant la mise à jour, qui détache la commande : ni relecture ni chargement paresseux après
+        OrderResponse response = convertToOrderResponse(order);
+        if (orderRepository.updateStatus(orderId, OrderStatus.sourcesOf(status), status) == 0) {
+            log.warn("Invalid status transition from {} to {} for order {}", order.getStatus(), status, orderId);
+            throw new IllegalStateException("Transition de statut non autorisée: " + order.getStatus() + " -> " + status);
         }
-        return convertToOrderResponse(order);
+        log.info("Order {} status updated to {}", orderId, status);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, status));
+        response.setStatus(status);
+        return response;
     }
 
     /**
@@ -322,12 +334,15 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         try {
-            deliveryRepository.save(delivery);
+            delivery = deliveryRepository.save(delivery);
             log.info("Delivery created for order {} with deliverer {}", orderId, delivererId);
         } catch (Exception e) {
             log.error("Failed to save delivery for order {}: {}", orderId, e.getMessage());
             throw new RuntimeException("Erreur lors de l'enregistrement de la livraison", e);
         }
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, OrderStatus.IN_PROGRESS));
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                delivery.getId(), orderId, delivererId, DeliveryStatus.ASSIGNED, null));
 
         return convertToOrderResponse(order);
     }
@@ -343,25 +358,17 @@ public class OrderServiceImpl implements OrderService {
             log.error("Invalid order ID for cancellation: {}", orderId);
             throw new IllegalArgumentException("ID de commande invalide");
         }
-        CustomOrder order = orderRepository.findById(orderId)
-                .orElseThrow(() -> {
-                    log.error("Order not found for cancellation: {}", orderId);
-                    return new ResourceNotFoundException("Commande non trouvée");
-                });
-
-        if (order.getStatus().canBeCancelled()) {
-            order.setStatus(OrderStatus.CANCELLED);
-            try {
-                orderRepository.save(order);
-                log.info("Order cancelled: {}", orderId);
-            } catch (Exception e) {
-                log.error("Failed to cancel order {}: {}", orderId, e.getMessage());
-                throw new RuntimeException("Erreur lors de l'annulation de la commande", e);
-            }
-        } else {
+        if (orderRepository.updateStatus(orderId, OrderStatus.sourcesOf(OrderStatus.CANCELLED), OrderStatus.CANCELLED) == 0) {
+            CustomOrder order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> {
+                        log.error("Order not found for cancellation: {}", orderId);
+                        return new ResourceNotFoundException("Commande non trouvée");
+                    });
             log.warn("Attempt to cancel order in non-cancellable status: {}", order.getStatus());
             throw new IllegalStateException("La commande ne peut pas être annulée dans son état actuel");
         }
+        log.info("Order cancelled: {}", orderId);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, OrderStatus.CANCELLED));
     }
 
     /**
@@ -0,0 +1,309 @@
+package com.customworld.service.impl;
+
+import com.customworld.config.FileStorageConfig;
+import com.customworld.dto.response.OrphanFileReport;
+import com.customworld.enums.ImageVariant;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.CategoryRepository;
+import com.customworld.repository.OrderItemRepository;
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.TemplateRepository;
+import com.customworld.service.FileStorageService;
+import com.customworld.service.OrphanFileCollectorService;
+import com.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ramasse-miettes des fichiers uploadés (mark-and-sweep).
+ * Marquage : les chemins référencés en base (produits, catégories, templates, lignes de commande) sont lus
+ * en flux dans un filtre de Bloom compact. Balayage : le dossier d'upload est parcouru en parallèle ; les fichiers
+ * plus anciens que le délai de grâce et absents du filtre sont revérifiés ensemble en base, en une seule relecture
+ * des références, avant d'être supprimés. Un fichier est vivant si son propre nom ou celui de l'original dont il
+ * serait une variante est référencé. Un faux positif du filtre ne fait que retarder la suppression d'un orphelin.
+ */
+@Service
+public class OrphanFileCollectorServiceImpl implements OrphanFileCollectorService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanFileCollectorServiceImpl.class);
+    private static final int SAMPLE_LIMIT = 200;
+
+    private final FileStorageService fileStorageService;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TemplateRepository templateRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path uploadLocation;
+    private final Duration gracePeriod;
+    private final double falsePositiveRate;
+    private final boolean enabled;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrphanFileCollectorServiceImpl(FileStorageService fileStorageService,
+                                          FileStorageConfig fileStorageConfig,
+                                          ProductRepository productRepository,
+                                          CategoryRepository categoryRepository,
+                                          TemplateRepository templateRepository,
+                                          OrderItemRepository orderItemRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${file.gc.grace-period:P7D}") Duration gracePeriod,
+                                          @Value("${file.gc.false-positive-rate:0.01}") double falsePositiveRate,
+                                          @Value("${file.gc.enabled:true}") boolean enabled) {
+        this.fileStorageService = fileStorageService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.templateRepository = templateRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.uploadLocation = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize();
+        this.gracePeriod = gracePeriod;
+        this.falsePositiveRate = falsePositiveRate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    @Scheduled(cron = "${file.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (!enabled || running.get()) {
+            return;
+        }
+        collect(false);
+    }
+
+    /**
+     * Exécute un passage complet du ramasse-miettes.
+     *
+     * @param dryRun Si vrai, les orphelins sont seulement comptés et listés.
+     * @return Rapport du passage.
+     * @throws BadRequestException si un passage est déjà en cours.
+     */
+    @Override
+    public OrphanFileReport collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BadRequestException("Un nettoyage des fichiers est déjà en cours", "");
+        }
+        try {
+            Instant startedAt = Instant.now();
+            return sweep(mark(), startedAt, dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Marked mark() {
+        return readOnlyTransaction.execute(status -> {
+            long expected = productRepository.count() + categoryRepository.count()
+                    + templateRepository.count() + orderItemRepository.count();
+            BloomFilter filter = new BloomFilter(expected + 1024, falsePositiveRate);
+            LongAdder references = new LongAdder();
+            Consumer<String> marker = reference -> {
+                String fileName = normalize(reference);
+                if (fileName != null) {
+                    filter.put(fileName);
+                    references.increment();
+                }
+            };
+            streamReferences(marker);
+            return new Marked(filter, references.sum());
+        });
+    }
+
+    /**
+     * Lit en flux toutes les références de fichiers ; à appeler dans une transaction.
+     */
+    private void streamReferences(Consumer<String> consumer) {
+        try (Stream<String> paths = productRepository.streamImagePaths()) {
+            paths.forEach(consumer);
+        }
+        try (Stream<String> paths = categoryRepository.streamCoverImageUrls()) {
+            paths.forEach(consumer);
+        }
+        try (Stream<String> paths = templateRepository.streamTemplatePaths()) {
+            paths.forEach(consumer);
+        }
+        try (Stream<String> paths = orderItemRepository.streamImagePaths()) {
+            paths.forEach(consumer);
+        }
+    }
+
+    private OrphanFileReport sweep(Marked marked, Instant startedAt, boolean dryRun) {
+        Instant cutoff = startedAt.minus(gracePeriod);
+        LongAdder scanned = new LongAdder();
+        LongAdder recent = new LongAdder();
+        Queue<Candidate> candidates = new ConcurrentLinkedQueue<>();
+
+        try (Stream<Path> files = Files.walk(uploadLocation)) {
+            files.parallel()
+                    .filter(path -> !isInternal(uploadLocation.relativize(path)))
+                    .forEach(path -> {
+                        BasicFileAttributes attributes = readAttributes(path);
+                        if (attributes == null || !attributes.isRegularFile()) {
+                            return;
+                        }
+                        scanned.increment();
+                        if (attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                            recent.increment();
+                            return;
+                        }
+                        String fileName = path.getFileName().toString();
+                        String owner = ImageVariant.originalFileNameOf(fileName);
+                        if (marked.filter().mightContain(fileName) || marked.filter().mightContain(owner)) {
+                            return;
+                        }
+                        candidates.add(new Candidate(fileName, owner, attributes.size()));
+                    });
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Orphan file sweep aborted: {}", e.getMessage());
+            throw new BadRequestException("Échec du parcours du dossier d'upload", e.getMessage());
+        }
+
+        Set<String> referenced = referencedAmong(candidates);
+        long orphans = 0;
+        long orphanBytes = 0;
+        long deleted = 0;
+        List<String> sample = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (referenced.contains(candidate.fileName()) || referenced.contains(candidate.owner())) {
+                continue;
+            }
+            orphans++;
+            orphanBytes += candidate.size();
+            if (sample.size() < SAMPLE_LIMIT) {
+                sample.add(candidate.fileName());
+            }
+            if (!dryRun && delete(candidate.fileName())) {
+                deleted++;
+            }
+        }
+
+        OrphanFileReport report = OrphanFileReport.builder()
+                .dryRun(dryRun)
+                .startedAt(startedAt)
+                .durationMs(Duration.between(startedAt, Instant.now()).toMillis())
+                .referenceCount(marked.references())
+                .bloomFilterBytes(marked.filter().sizeInBytes())
+                .scannedFiles(scanned.sum())
+                .skippedRecentFiles(recent.sum())
+                .orphanFiles(orphans)
+                .orphanBytes(orphanBytes)
+                .deletedFiles(deleted)
+                .sampleOrphans(List.copyOf(sample))
+                .build();
+        log.info("Orphan file sweep (dryRun={}): {} files scanned, {} orphans ({} bytes), {} deleted in {} ms",
+                dryRun, report.getScannedFiles(), report.getOrphanFiles(), report.getOrphanBytes(),
+                report.getDeletedFiles(), report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * Vérification exacte des candidats : les références sont relues une fois en flux, après le parcours, et
+     * seuls les noms candidats (fichier ou original) sont retenus. Cela couvre aussi les références créées
+     * depuis le marquage, pour quatre requêtes au total au lieu de plusieurs par fichier.
+     */
+    private Set<String> referencedAmong(Collection<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> names = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            names.add(candidate.fileName());
+            names.add(candidate.owner());
+        }
+        return readOnlyTransaction.execute(status -> {
+            Set<String> referenced = new HashSet<>();
+            Consumer<String> checker = reference -> {
+                String fileName = normalize(reference);
+                if (fileName != null && names.contains(fileName)) {
+                    referenced.add(fileName);
+                }
+            };
+            streamReferences(checker);
+            return referenced;
+        });
+    }
+
+    private boolean delete(String fileName) {
+        try {
+            fileStorageService.deleteFile(fileName);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Unable to delete orphan file {}: {}", fileName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Les références peuvent être un nom de fichier ou une URL ({@code /api/files/<nom>?w=480}) : seul le nom compte.
+     */
+    static String normalize(String reference) {
+        String value = reference.trim();
+        int query = indexOfAny(value, '?', '#');
+        if (query >= 0) {
+            value = value.substring(0, query);
+        }
+        value = value.substring(value.lastIndexOf('/') + 1);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        int a = value.indexOf(first);
+        int b = value.indexOf(second);
+        return a < 0 ? b : (b < 0 ? a : Math.min(a, b));
+    }
+
+    /**
+     * Dossiers techniques (uploads partiels, etc.) : tout chemin dont un segment commence par un point.
+     */
+    private static boolean isInternal(Path relative) {
+        for (Path segment : relative) {
+            if (segment.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private record Marked(BloomFilter filter, long references) {
+    }
+
+    /**
+     * Fichier absent du filtre, en attente de vérification exacte.
+     */
+    private record Candidate(String fileName, String owner, long size) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.customworld.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tampon circulaire de capacité fixe des points d'historique en attente d'écriture en base.
+ * Quand il est plein, le point le plus ancien est écrasé : la mémoire reste constante même si la base
+ * ne suit plus, au prix de trous dans l'historique (comptés dans {@link #overwritten()}).
+ */
+final class PositionHistoryBuffer {
+
+    private final long[] delivererIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAt;
+    private int head;
+    private int size;
+    private long overwritten;
+
+    PositionHistoryBuffer(int capacity) {
+        int length = Math.max(1, capacity);
+        this.delivererIds = new long[length];
+        this.latitudes = new double[length];
+        this.longitudes = new double[length];
+        this.recordedAt = new long[length];
+    }
+
+    synchronized void offer(long delivererId, double latitude, double longitude, long recordedAtMillis) {
+        int tail = (head + size) % delivererIds.length;
+        if (size == delivererIds.length) {
+            head = (head + 1) % delivererIds.length;
+            overwritten++;
+        } else {
+            size++;
+        }
+        delivererIds[tail] = delivererId;
+        latitudes[tail] = latitude;
+        longitudes[tail] = longitude;
+        recordedAt[tail] = recordedAtMillis;
+    }
+
+    /**
+     * Retire au plus {@code max} points, du plus ancien au plus récent.
+     */
+    synchronized List<Sample> drain(int max) {
+        int count = Math.min(max, size);
+        List<Sample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            samples.add(new Sample(delivererIds[head], latitudes[head], longitudes[head], recordedAt[head]));
+            head = (head + 1) % delivererIds.length;
+        }
+        size -= count;
+        return samples;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long overwritten() {
+        return overwritten;
+    }
+
+    record Sample(long delivererId, double latitude, double longitude, long recordedAt) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.customworld.service.impl;
+
+import com.customworld.entity.Product;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import com.customworld.service.ProductCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs de j'aime et d'avis dénormalisés sur {@code products} ({@code like_count}, {@code review_count}).
+ * Chaque interaction validée ajoute un delta à un {@link LongAdder} du produit, sans verrou ni requête ; une tâche
+ * planifiée écrit les deltas accumulés en un seul lot de {@code UPDATE ... SET like_count = like_count + ?}.
+ * Une lecture additionne la colonne et le delta pas encore écrit, si bien qu'un produit s'affiche sans compter
+ * ses j'aime ni ses avis. Les colonnes ne sont jamais écrites par la sauvegarde de l'entité.
+ * Une réconciliation nocturne (et au démarrage) recalcule les colonnes depuis les tables et corrige la dérive,
+ * par exemple des deltas perdus lors d'un arrêt brutal ; un delta reçu pendant qu'elle s'exécute peut être
+ * compté deux fois jusqu'au passage suivant.
+ */
+@Service
+public class ProductCounterServiceImpl implements ProductCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCounterServiceImpl.class);
+    private static final String ADD_COUNTS = "UPDATE products SET like_count = like_count + ?, "
+            + "review_count = review_count + ? WHERE id = ?";
+    private static final String LIKES = "(SELECT COUNT(*) FROM product_likes l WHERE l.product_id = p.id)";
+    private static final String REVIEWS = "(SELECT COUNT(*) FROM product_reviews r WHERE r.product_id = p.id)";
+    private static final String RECONCILE = "UPDATE products p SET like_count = " + LIKES + ", review_count = " + REVIEWS
+            + " WHERE p.like_count <> " + LIKES + " OR p.review_count <> " + REVIEWS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconcileOnStartup;
+    private final ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public ProductCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${product.counters.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    @Override
+    public long likeCount(Product product) {
+        Counters pending = counters.get(product.getId());
+        return Math.max(0, product.getLikeCount() + (pending != null ? pending.likes.sum() : 0));
+    }
+
+    @Override
+    public long reviewCount(Product product) {
+        Counters pending = counters.get(product.getId());
+        return Math.max(0, product.getReviewCount() + (pending != null ? pending.reviews.sum() : 0));
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductLiked(ProductLikedEvent event) {
+        add(event.getProductId(), event.isLiked() ? 1 : -1, 0);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductReviewed(ProductReviewedEvent event) {
+        add(event.getProductId(), 0, 1);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductReviewDeleted(ProductReviewDeletedEvent event) {
+        add(event.getProductId(), 0, -1);
+    }
+
+    /**
+     * Écrit les deltas en attente en un lot d'{@code UPDATE}. Un produit est retiré des produits modifiés
+     * avant la lecture de ses deltas : un incrément concurrent est soit lu, soit laissé pour le lot suivant.
+     * En cas d'échec, les deltas sont remis en attente.
+     *
+     * @return Nombre de produits mis à jour.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${product.counters.flush-interval-ms:2000}")
+    public synchronized int flush() {
+        List<long[]> batch = new ArrayList<>();
+        for (Long productId : List.copyOf(dirty)) {
+            dirty.remove(productId);
+            Counters pending = counters.get(productId);
+            long likes = pending.likes.sumThenReset();
+            long reviews = pending.reviews.sumThenReset();
+            if (likes != 0 || reviews != 0) {
+                batch.add(new long[]{likes, reviews, productId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(ADD_COUNTS, batch, batch.size(), (statement, row) -> {
+                        statement.setLong(1, row[0]);
+                        statement.setLong(2, row[1]);
+                        statement.setLong(3, row[2]);
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("Product counter flush failed for {} products, retrying later: {}", batch.size(), e.getMessage());
+            batch.forEach(row -> add(row[2], row[0], row[1]));
+            return 0;
+        }
+        return batch.size();
+    }
+
+    /**
+     * Recalcule depuis les tables les compteurs qui ont dérivé, après avoir écrit les deltas en attente.
+     *
+     * @return Nombre de produits corrigés.
+     */
+    @Override
+    @Scheduled(cron = "${product.counters.reconcile-cron:0 45 3 * * *}")
+    public synchronized int reconcile() {
+        flush();
+        Integer repaired = transactionTemplate.execute(status -> jdbcTemplate.update(RECONCILE));
+        int count = repaired == null ? 0 : repaired;
+        if (count > 0) {
+            log.info("Product counters reconciled: {} products repaired", count);
+        }
+        return count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!reconcileOnStartup) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Product counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private void add(long productId, long likes, long reviews) {
+        Counters pending = counters.computeIfAbsent(productId, id -> new Counters());
+        if (likes != 0) {
+            pending.likes.add(likes);
+        }
+        if (reviews != 0) {
+            pending.reviews.add(reviews);
+        }
+        dirty.add(productId);
+    }
+
+    /**
+     * Deltas pas encore écrits d'un produit ; conservés d'un lot à l'autre, ils ne sont jamais retirés
+     * pour qu'un incrément ne vise pas un objet déjà abandonné.
+     */
+    private static final class Counters {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder reviews = new LongAdder();
+    }
+}
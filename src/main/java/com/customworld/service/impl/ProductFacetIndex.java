@@ -0,0 +1,284 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.utils.TextNormalizer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Bitmaps de facettes sur les ordinaux de {@link ProductSearchIndex} : un {@link BitSet} par catégorie, couleur,
+ * indicateur (promotion, nouveauté, approuvé) et tranche de prix. Filtrer revient à intersecter des bitmaps et
+ * compter une valeur de facette à calculer une cardinalité. Non synchronisé : protégé par le verrou de l'index.
+ */
+final class ProductFacetIndex {
+
+    /**
+     * Facettes exposées, dans l'ordre de la réponse.
+     */
+    enum Facet {
+        CATEGORY("category"), COLOR("color"), ON_SALE("onSale"), IS_NEW("isNew"), APPROVED("approved"), PRICE("price");
+
+        private final String key;
+
+        Facet(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+    }
+
+    private final BitSet live = new BitSet();
+    private final ValueBitmaps categories = new ValueBitmaps();
+    private final ValueBitmaps colors = new ValueBitmaps();
+    private final BitSet onSale = new BitSet();
+    private final BitSet isNew = new BitSet();
+    private final BitSet approved = new BitSet();
+    private final double[] priceBounds;
+    private final BitSet[] priceBuckets;
+    private final String[] priceLabels;
+    private double[] prices = new double[64];
+
+    /**
+     * @param priceBounds Bornes croissantes des tranches de prix : n bornes donnent n + 1 tranches.
+     */
+    ProductFacetIndex(double[] priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.priceBuckets = new BitSet[this.priceBounds.length + 1];
+        this.priceLabels = new String[this.priceBounds.length + 1];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new BitSet();
+            String lower = i == 0 ? "0" : format(this.priceBounds[i - 1]);
+            priceLabels[i] = i == this.priceBounds.length ? lower + "+" : lower + "-" + format(this.priceBounds[i]);
+        }
+    }
+
+    void add(int ordinal, ProductSearchIndex.IndexedProduct product) {
+        live.set(ordinal);
+        categories.set(product.category(), ordinal);
+        for (String color : product.colors()) {
+            colors.set(color, ordinal);
+        }
+        onSale.set(ordinal, product.onSale());
+        isNew.set(ordinal, product.isNew());
+        approved.set(ordinal, product.approved());
+        if (ordinal >= prices.length) {
+            prices = Arrays.copyOf(prices, Math.max(ordinal + 1, prices.length * 2));
+        }
+        Double price = product.price();
+        prices[ordinal] = price != null ? price : Double.NaN;
+        if (price != null) {
+            priceBuckets[bucketOf(price)].set(ordinal);
+        }
+    }
+
+    void remove(int ordinal, ProductSearchIndex.IndexedProduct product) {
+        live.clear(ordinal);
+        categories.clear(product.category(), ordinal);
+        for (String color : product.colors()) {
+            colors.clear(color, ordinal);
+        }
+        onSale.clear(ordinal);
+        isNew.clear(ordinal);
+        approved.clear(ordinal);
+        if (product.price() != null) {
+            priceBuckets[bucketOf(product.price())].clear(ordinal);
+        }
+    }
+
+    BitSet live() {
+        return live;
+    }
+
+    /**
+     * Bitmaps des filtres actifs, par facette ; une facette sans filtre est absente.
+     */
+    Map<Facet, BitSet> filters(ProductSearchFilter filter) {
+        Map<Facet, BitSet> filters = new EnumMap<>(Facet.class);
+        if (filter == null) {
+            return filters;
+        }
+        putIfPresent(filters, Facet.CATEGORY, categories.union(filter.getCategories()));
+        putIfPresent(filters, Facet.COLOR, colors.union(filter.getColors()));
+        putIfPresent(filters, Facet.ON_SALE, flag(onSale, filter.getOnSale()));
+        putIfPresent(filters, Facet.IS_NEW, flag(isNew, filter.getIsNew()));
+        putIfPresent(filters, Facet.APPROVED, flag(approved, filter.getApproved()));
+        putIfPresent(filters, Facet.PRICE, priceRange(filter.getMinPrice(), filter.getMaxPrice()));
+        return filters;
+    }
+
+    /**
+     * Compte chaque valeur de facette parmi les candidats. Pour une facette donnée, ses propres filtres
+     * sont ignorés (facettes disjonctives) afin que les autres valeurs restent sélectionnables.
+     */
+    Map<String, Map<String, Long>> counts(BitSet candidates, Map<Facet, BitSet> filters) {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        BitSet base = new BitSet();
+        BitSet scratch = new BitSet();
+        for (Facet facet : Facet.values()) {
+            base.clear();
+            base.or(candidates);
+            filters.forEach((other, bitmap) -> {
+                if (other != facet) {
+                    base.and(bitmap);
+                }
+            });
+            Map<String, Long> values = new LinkedHashMap<>();
+            switch (facet) {
+                case CATEGORY -> categories.forEach((label, bitmap) -> putCount(values, label, base, bitmap, scratch));
+                case COLOR -> colors.forEach((label, bitmap) -> putCount(values, label, base, bitmap, scratch));
+                case ON_SALE -> putFlagCounts(values, base, onSale, scratch);
+                case IS_NEW -> putFlagCounts(values, base, isNew, scratch);
+                case APPROVED -> putFlagCounts(values, base, approved, scratch);
+                case PRICE -> {
+                    for (int i = 0; i < priceBuckets.length; i++) {
+                        putCount(values, priceLabels[i], base, priceBuckets[i], scratch);
+                    }
+                }
+            }
+            counts.put(facet.key(), values);
+        }
+        return counts;
+    }
+
+    private BitSet flag(BitSet set, Boolean wanted) {
+        if (wanted == null) {
+            return null;
+        }
+        BitSet result = (BitSet) set.clone();
+        if (!wanted) {
+            result.flip(0, Math.max(live.length(), 1));
+            result.and(live);
+        }
+        return result;
+    }
+
+    /**
+     * Produits dont le prix est dans [min, max] : les tranches entièrement couvertes sont réunies telles quelles,
+     * seuls les produits des tranches aux bornes sont comparés un à un.
+     */
+    private BitSet priceRange(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        double low = min != null ? min : Double.NEGATIVE_INFINITY;
+        double high = max != null ? max : Double.POSITIVE_INFINITY;
+        BitSet result = new BitSet();
+        if (low > high) {
+            return result;
+        }
+        for (int bucket = bucketOf(Math.max(low, 0)); bucket <= bucketOf(Math.max(high, 0)); bucket++) {
+            double bucketLow = bucket == 0 ? Double.NEGATIVE_INFINITY : priceBounds[bucket - 1];
+            double bucketHigh = bucket == priceBounds.length ? Double.POSITIVE_INFINITY : priceBounds[bucket];
+            if (low <= bucketLow && bucketHigh <= high) {
+                result.or(priceBuckets[bucket]);
+                continue;
+            }
+            BitSet members = priceBuckets[bucket];
+            for (int ordinal = members.nextSetBit(0); ordinal >= 0; ordinal = members.nextSetBit(ordinal + 1)) {
+                if (prices[ordinal] >= low && prices[ordinal] <= high) {
+                    result.set(ordinal);
+                }
+            }
+        }
+        return result;
+    }
+
+    private int bucketOf(double price) {
+        int position = Arrays.binarySearch(priceBounds, price);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static void putIfPresent(Map<Facet, BitSet> filters, Facet facet, BitSet bitmap) {
+        if (bitmap != null) {
+            filters.put(facet, bitmap);
+        }
+    }
+
+    private static void putFlagCounts(Map<String, Long> values, BitSet base, BitSet flag, BitSet scratch) {
+        long yes = andCardinality(base, flag, scratch);
+        values.put("true", yes);
+        values.put("false", base.cardinality() - yes);
+    }
+
+    private static void putCount(Map<String, Long> values, String label, BitSet base, BitSet bitmap, BitSet scratch) {
+        long count = andCardinality(base, bitmap, scratch);
+        if (count > 0) {
+            values.put(label, count);
+        }
+    }
+
+    private static long andCardinality(BitSet left, BitSet right, BitSet scratch) {
+        scratch.clear();
+        scratch.or(left);
+        scratch.and(right);
+        return scratch.cardinality();
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    /**
+     * Un bitmap par valeur textuelle, indexé par la valeur normalisée ; le libellé affiché est celui
+     * de la première occurrence rencontrée.
+     */
+    private static final class ValueBitmaps {
+        private final Map<String, BitSet> bitmaps = new HashMap<>();
+        private final Map<String, String> labels = new HashMap<>();
+
+        void set(String value, int ordinal) {
+            String key = key(value);
+            if (key.isEmpty()) {
+                return;
+            }
+            bitmaps.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+            labels.putIfAbsent(key, value.trim());
+        }
+
+        void clear(String value, int ordinal) {
+            String key = key(value);
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                    labels.remove(key);
+                }
+            }
+        }
+
+        BitSet union(Collection<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet result = new BitSet();
+            for (String value : values) {
+                BitSet bitmap = bitmaps.get(key(value));
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+
+        void forEach(BiConsumer<String, BitSet> action) {
+            bitmaps.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> action.accept(labels.get(entry.getKey()), entry.getValue()));
+        }
+
+        private static String key(String value) {
+            return value == null ? "" : TextNormalizer.fold(value.trim());
+        }
+    }
+}
@@ -1,47 +1,72 @@
 package com.customworld.service.impl;
 
 import com.customworld.dto.request.ReviewRequest;
+import com.customworld.dto.response.CursorPage;
 import com.customworld.dto.response.ReviewResponse;
 import com.customworld.entity.Product;
 import com.customworld.entity.ProductLike;
 import com.customworld.entity.ProductReview;
 import com.customworld.entity.User;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.ProductLikeRepository;
 import com.customworld.repository.ProductRepository;
 import com.customworld.repository.ProductReviewRepository;
 import com.customworld.repository.UserRepository;
+import com.customworld.service.ProductCounterService;
 import com.customworld.service.ProductInteractionService;
+import com.customworld.service.UserLikesService;
+import com.utils.KeysetCursor;
 import com.utils.UserInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProductInteractionServiceImpl implements ProductInteractionService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductInteractionServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Instant MAX_DATE = Instant.parse("9999-12-31T00:00:00Z");
 
     private final ProductLikeRepository likeRepository;
     private final ProductReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCounterService productCounterService;
+    private final UserLikesService userLikesService;
+    private final ReviewPageCache reviewPageCache;
 
     public ProductInteractionServiceImpl(ProductLikeRepository likeRepository,
                                          ProductReviewRepository reviewRepository,
                                          ProductRepository productRepository,
-                                         UserRepository userRepository) {
+                                         UserRepository userRepository,
+                                         ApplicationEventPublisher eventPublisher,
+                                         ProductCounterService productCounterService,
+                                         UserLikesService userLikesService,
+                                         ReviewPageCache reviewPageCache) {
         this.likeRepository = likeRepository;
         this.reviewRepository = reviewRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.productCounterService = productCounterService;
+        this.userLikesService = userLikesService;
+        this.reviewPageCache = reviewPageCache;
     }
 
     @Override
@@ -51,38 +76,47 @@ public class ProductInteractionServiceImpl implements ProductInteractionService
                 .orElseThrow(() -> new ResourceNotFoundException("Produit non trouvé"));
 
         boolean liked;
-        if (likeRepository.existsByProductIdAndUserId(productId, user.getId())) {
-            likeRepository.deleteByProductIdAndUserId(productId, user.getId());
+        Long likeId = null;
+        if (likeRepository.deleteByProductIdAndUserId(productId, user.getId()) > 0) {
             liked = false;
             log.info("User {} unliked product {}", user.getId(), productId);
         } else {
-            likeRepository.save(ProductLike.builder()
+            likeId = likeRepository.save(ProductLike.builder()
                     .product(product)
                     .user(user)
-                    .build());
+                    .build()).getId();
             liked = true;
             log.info("User {} liked product {}", user.getId(), productId);
         }
+        eventPublisher.publishEvent(new ProductLikedEvent(productId, categoryId(product), user.getId(), liked, likeId));
 
-        long likeCount = likeRepository.countByProductId(productId);
+        // Le compteur n'inclut ce j'aime qu'après la validation de la transaction
+        long likeCount = Math.max(0, productCounterService.likeCount(product) + (liked ? 1 : -1));
         Map<String, Object> result = new HashMap<>();
         result.put("liked", liked);
         result.put("likeCount", likeCount);
-        result.put("rating", ProductInteractionService.calculateRating(likeCount));
+        result.put("rating", ProductInteractionService.calculateRating(product.getRatingSummary(), likeCount));
         return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getLikeCount(Long productId) {
-        return likeRepository.countByProductId(productId);
+        return productRepository.findById(productId).map(productCounterService::likeCount).orElse(0L);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean hasCurrentUserLiked(Long productId) {
         User user = UserInterceptor.getAuthenticatedUser(userRepository);
-        return likeRepository.existsByProductIdAndUserId(productId, user.getId());
+        return userLikesService.hasLiked(user.getId(), productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getCurrentUserLikedFlags(List<Long> productIds) {
+        User user = UserInterceptor.getAuthenticatedUser(userRepository);
+        return userLikesService.likedFlags(user.getId(), productIds);
     }
 
     @Override
@@ -95,20 +129,34 @@ public class ProductInteractionServiceImpl implements ProductInteractionService
                 .product(product)
                 .user(user)
                 .content(request.getContent())
+                .rating(request.getRating())
                 .build();
 
         review = reviewRepository.save(review);
+        productRepository.addRating(productId, request.getRating(), 1);
         log.info("User {} added review on product {}", user.getId(), productId);
+        eventPublisher.publishEvent(new ProductReviewedEvent(productId, categoryId(product), user.getId()));
         return convertToReviewResponse(review);
     }
 
+    /**
+     * Avis d'un produit paginés par curseur (date, id), du plus récent au plus ancien. Une première page
+     * pas plus grande que celle mise en cache est découpée dans le cache, sans requête.
+     *
+     * @param cursor Curseur renvoyé par la page précédente, ou null pour la première page
+     * @param size Taille de page (bornée à 100)
+     * @return La page et le curseur de la suivante
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<ReviewResponse> getProductReviews(Long productId) {
-        return reviewRepository.findByProductIdOrderByCreatedAtDesc(productId)
-                .stream()
-                .map(this::convertToReviewResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ReviewResponse> getProductReviews(Long productId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (position == null && pageSize <= reviewPageCache.firstPageSize()) {
+            return toPage(reviewPageCache.firstRows(productId,
+                    id -> findReviewRows(id, null, reviewPageCache.firstPageSize())), pageSize);
+        }
+        return toPage(findReviewRows(productId, position, pageSize), pageSize);
     }
 
     @Override
@@ -121,10 +169,46 @@ public class ProductInteractionServiceImpl implements ProductInteractionService
             throw new ResourceNotFoundException("Vous n'êtes pas autorisé à supprimer cet avis");
         }
 
-        reviewRepository.deleteById(reviewId);
+        // Seule la suppression effective retire la note : deux suppressions concurrentes ne la retirent qu'une fois
+        if (reviewRepository.deleteReviewById(reviewId) == 0) {
+            return;
+        }
+        if (review.getRating() != null) {
+            productRepository.addRating(review.getProduct().getId(), review.getRating(), -1);
+        }
+        eventPublisher.publishEvent(new ProductReviewDeletedEvent(review.getProduct().getId(), reviewId));
         log.info("Review {} deleted by user {}", reviewId, user.getId());
     }
 
+    /**
+     * Une ligne de plus que la taille de page est lue pour savoir s'il existe une page suivante.
+     */
+    private List<ReviewResponse> findReviewRows(Long productId, KeysetCursor position, int size) {
+        return reviewRepository.findPage(productId,
+                position != null ? position.getDate().toInstant(ZoneOffset.UTC) : MAX_DATE,
+                position != null ? position.getId() : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+    }
+
+    private static CursorPage<ReviewResponse> toPage(List<ReviewResponse> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<ReviewResponse> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore && items.get(items.size() - 1).getCreatedAt() != null) {
+            ReviewResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(LocalDateTime.ofInstant(last.getCreatedAt(), ZoneOffset.UTC), last.getId()).encode();
+        }
+        return CursorPage.<ReviewResponse>builder()
+                .items(List.copyOf(items))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static Long categoryId(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
+
     private ReviewResponse convertToReviewResponse(ProductReview review) {
         return ReviewResponse.builder()
                 .id(review.getId())
@@ -132,6 +216,7 @@ public class ProductInteractionServiceImpl implements ProductInteractionService
                 .userId(review.getUser().getId())
                 .userName(review.getUser().getName())
                 .content(review.getContent())
+                .rating(review.getRating())
                 .createdAt(review.getCreatedAt())
                 .updatedAt(review.getUpdatedAt())
                 .build();
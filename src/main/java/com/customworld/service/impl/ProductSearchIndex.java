@@ -0,0 +1,289 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.customworld.entity.Product;
+import com.utils.TextNormalizer;
+import com.utils.TrigramIndex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire du catalogue, classé par BM25.
+ * Chaque produit reçoit un ordinal ; chaque terme pointe vers la liste des ordinaux qui le contiennent, avec une
+ * fréquence pondérée par champ (nom, catégorie, couleurs, description). Une recherche ne parcourt donc que les
+ * listes des termes de la requête. Les mêmes ordinaux indexent les bitmaps de facettes ({@link ProductFacetIndex}),
+ * si bien que le classement, les filtres et les comptes de facettes se font dans une seule passe sous le même verrou.
+ * Un terme de requête absent du vocabulaire est remplacé par les termes proches trouvés par un index de trigrammes
+ * (une faute jusqu'à 7 lettres, deux au-delà), dont le score est réduit selon la distance d'édition.
+ * Les ordinaux libérés par une suppression sont réutilisés.
+ * Lectures concurrentes, écritures exclusives.
+ */
+final class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float COLOR_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_FUZZY_EXPANSIONS = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final ProductFacetIndex facets;
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private IndexedProduct[] documents = new IndexedProduct[64];
+    private int ordinalCount;
+    private double totalLength;
+
+    /**
+     * @param priceBounds Bornes des tranches de la facette prix.
+     */
+    ProductSearchIndex(double[] priceBounds) {
+        this.facets = new ProductFacetIndex(priceBounds);
+    }
+
+    /**
+     * Ajoute ou remplace un produit.
+     */
+    void put(Product product) {
+        IndexedProduct document = IndexedProduct.of(product);
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(document.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unlink(ordinal);
+            } else {
+                ordinal = freeOrdinals.isEmpty() ? ordinalCount++ : freeOrdinals.pop();
+                if (ordinal >= documents.length) {
+                    documents = Arrays.copyOf(documents, documents.length * 2);
+                }
+                ordinals.put(document.id(), ordinal);
+            }
+            documents[ordinal] = document;
+            totalLength += document.length();
+            facets.add(ordinal, document);
+            document.terms().forEach((term, frequency) -> postings.computeIfAbsent(term, t -> {
+                vocabulary.add(t);
+                return new Postings();
+            }).add(ordinal, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                documents[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Classe les produits contenant au moins un terme de la requête (déjà normalisée) et passant les filtres,
+     * puis compte les valeurs de facettes. Sans terme, tous les produits filtrés sont renvoyés, plus récents d'abord.
+     *
+     * @param terms Termes de la requête, doublons compris ; vide pour parcourir le catalogue.
+     * @param filter Filtres de facettes, ou null.
+     * @param offset Nombre de résultats à sauter.
+     * @param limit Nombre maximal de résultats renvoyés.
+     */
+    SearchResult search(List<String> terms, ProductSearchFilter filter, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<ProductFacetIndex.Facet, BitSet> filters = facets.filters(filter);
+            float[] scores = new float[ordinalCount];
+            BitSet candidates = terms.isEmpty() ? facets.live() : score(terms, scores);
+            BitSet selected = (BitSet) candidates.clone();
+            filters.values().forEach(selected::and);
+            int total = selected.cardinality();
+
+            int wanted = offset + limit;
+            Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(ordinal -> scores[ordinal])
+                    .thenComparing(ordinal -> documents[ordinal].id());
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, total)), worstFirst);
+            for (int ordinal = selected.nextSetBit(0); ordinal >= 0 && wanted > 0; ordinal = selected.nextSetBit(ordinal + 1)) {
+                if (top.size() == wanted && !ranksAbove(ordinal, top.peek(), scores)) {
+                    continue;
+                }
+                top.offer(ordinal);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+            List<ScoredProduct> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int ordinal = top.poll();
+                ranked.add(new ScoredProduct(documents[ordinal], scores[ordinal]));
+            }
+            List<ScoredProduct> page = new ArrayList<>(limit);
+            for (int i = ranked.size() - 1 - offset; i >= 0 && page.size() < limit; i--) {
+                page.add(ranked.get(i));
+            }
+            return new SearchResult(total, page, facets.counts(candidates, filters));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cumule les scores BM25 des termes dans {@code scores} et renvoie les ordinaux touchés.
+     */
+    private BitSet score(List<String> terms, float[] scores) {
+        BitSet matched = new BitSet(ordinalCount);
+        int documentCount = ordinals.size();
+        if (documentCount == 0) {
+            return matched;
+        }
+        float averageLength = (float) (totalLength / documentCount);
+        Map<String, Float> expanded = new HashMap<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            if (postings.containsKey(term) || term.length() < MIN_FUZZY_LENGTH) {
+                expanded.merge(term, 1f, Math::max);
+                continue;
+            }
+            for (TrigramIndex.Match match : vocabulary.search(term, maxDistance(term), MAX_FUZZY_EXPANSIONS)) {
+                expanded.merge(match.word(), 1f / (1 + match.distance()), Math::max);
+            }
+        }
+        for (Map.Entry<String, Float> entry : expanded.entrySet()) {
+            Postings list = postings.get(entry.getKey());
+            if (list == null) {
+                continue;
+            }
+            double idf = entry.getValue() * Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = list.ordinals[i];
+                float frequency = list.frequencies[i];
+                float norm = K1 * (1 - B + B * documents[ordinal].length() / averageLength);
+                scores[ordinal] += (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                matched.set(ordinal);
+            }
+        }
+        return matched;
+    }
+
+    private boolean ranksAbove(int ordinal, int other, float[] scores) {
+        return scores[ordinal] != scores[other] ? scores[ordinal] > scores[other]
+                : documents[ordinal].id() > documents[other].id();
+    }
+
+    /**
+     * Fautes tolérées pour un terme : une jusqu'à 7 lettres, deux au-delà.
+     */
+    static int maxDistance(String term) {
+        return term.length() < 8 ? 1 : 2;
+    }
+
+    private void unlink(int ordinal) {
+        IndexedProduct previous = documents[ordinal];
+        totalLength -= previous.length();
+        facets.remove(ordinal, previous);
+        for (String term : previous.terms().keySet()) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(term);
+                vocabulary.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Champs d'un produit conservés par l'index, avec ses termes et leur fréquence pondérée.
+     */
+    record IndexedProduct(Long id, String name, String category, List<String> colors, Double price,
+                          Double originalPrice, String imagePath, boolean approved, boolean isNew, boolean onSale,
+                          Map<String, Float> terms, float length) {
+
+        static IndexedProduct of(Product product) {
+            Map<String, Float> terms = new HashMap<>();
+            float length = 0;
+            String category = product.getCategory() != null ? product.getCategory().getName() : null;
+            List<String> colors = product.getColor() != null ? List.copyOf(product.getColor()) : List.of();
+            length += addTerms(terms, product.getName(), NAME_WEIGHT);
+            length += addTerms(terms, category, CATEGORY_WEIGHT);
+            for (String color : colors) {
+                length += addTerms(terms, color, COLOR_WEIGHT);
+            }
+            length += addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+            return new IndexedProduct(product.getId(), product.getName(), category, colors, product.getPrice(),
+                    product.getOriginalPrice(), product.getImagePath(), product.isApproved(), product.isNew(),
+                    product.isOnSale(), terms, length);
+        }
+
+        private static float addTerms(Map<String, Float> terms, String text, float weight) {
+            List<String> tokens = TextNormalizer.tokenize(text);
+            for (String token : tokens) {
+                terms.merge(token, weight, Float::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+
+    record ScoredProduct(IndexedProduct product, float score) {
+    }
+
+    record SearchResult(int total, List<ScoredProduct> hits, Map<String, Map<String, Long>> facets) {
+    }
+
+    /**
+     * Liste des ordinaux contenant un terme, non triée ; une suppression remplace l'entrée par la dernière.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int ordinal, float frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = frequency;
+        }
+
+        boolean remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
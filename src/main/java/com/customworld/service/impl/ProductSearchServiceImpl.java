@@ -0,0 +1,166 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.customworld.dto.response.ProductSearchResponse;
+import com.customworld.entity.Product;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.ProductRepository;
+import com.customworld.service.ProductSearchService;
+import com.utils.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche plein texte dans le catalogue (nom, description, catégorie, couleurs), servie depuis un index
+ * inversé en mémoire classé par BM25 : aucune requête {@code LIKE '%...%'} n'atteint la base. Les fautes de frappe
+ * sont rattrapées par un index de trigrammes sur le vocabulaire (« tshirt » trouve « t-shirt »).
+ * Les filtres de facettes (catégorie, couleur, promotion, nouveauté, approbation, prix) et leurs comptes sont
+ * calculés par intersections de bitmaps dans la même passe. L'index est construit au démarrage puis tenu à jour
+ * produit par produit à chaque écriture validée ; un renommage de catégorie réindexe les produits de la catégorie.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final int maxPageSize;
+    private final boolean buildOnStartup;
+    private final double[] priceBuckets;
+    private volatile ProductSearchIndex index;
+
+    public ProductSearchServiceImpl(ProductRepository productRepository,
+                                    @Value("${product.search.max-page-size:100}") int maxPageSize,
+                                    @Value("${product.search.build-on-startup:true}") boolean buildOnStartup,
+                                    @Value("${product.search.price-buckets:5000,10000,25000,50000,100000}") double[] priceBuckets) {
+        this.productRepository = productRepository;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.buildOnStartup = buildOnStartup;
+        this.priceBuckets = priceBuckets.clone();
+        this.index = new ProductSearchIndex(this.priceBuckets);
+    }
+
+    /**
+     * Recherche les produits correspondant à la requête, accents et casse ignorés, parmi ceux qui passent les filtres.
+     *
+     * @param query Texte saisi par le client ; vide pour parcourir le catalogue, plus récents d'abord.
+     * @param filter Filtres de facettes, ou null.
+     * @param page Numéro de page, à partir de 0.
+     * @param size Taille de page, bornée par la configuration.
+     * @throws BadRequestException si la page est négative
+     */
+    @Override
+    public ProductSearchResponse search(String query, ProductSearchFilter filter, int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("Numéro de page invalide: " + page, "");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty() && query != null && !query.isBlank()) {
+            return ProductSearchResponse.builder()
+                    .query(query).total(0).page(page).size(pageSize).hits(List.of()).facets(Map.of())
+                    .build();
+        }
+        ProductSearchIndex.SearchResult result = index.search(terms, filter,
+                (int) Math.min(Integer.MAX_VALUE - pageSize, (long) page * pageSize), pageSize);
+        return ProductSearchResponse.builder()
+                .query(query)
+                .total(result.total())
+                .page(page)
+                .size(pageSize)
+                .hits(result.hits().stream().map(ProductSearchServiceImpl::toHit).toList())
+                .facets(result.facets())
+                .build();
+    }
+
+    /**
+     * Reconstruit l'index complet depuis la base puis remplace l'ancien d'un coup.
+     *
+     * @return Nombre de produits indexés.
+     */
+    @Override
+    public synchronized int rebuild() {
+        ProductSearchIndex fresh = new ProductSearchIndex(priceBuckets);
+        for (Product product : productRepository.findAll()) {
+            fresh.put(product);
+        }
+        index = fresh;
+        log.info("Product search index rebuilt with {} products", fresh.size());
+        return fresh.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!buildOnStartup) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Product search index build failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relit le produit modifié et met à jour sa seule entrée dans l'index.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        try {
+            Product product = event.isDeleted() ? null : productRepository.findById(event.getProductId()).orElse(null);
+            if (product == null) {
+                index.remove(event.getProductId());
+            } else {
+                index.put(product);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reindex product {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Réindexe les produits de la catégorie renommée : leur nom de catégorie est un champ de recherche et une
+     * valeur de la facette {@code category}. Une catégorie n'est supprimable que sans produits ; rien à relire alors.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDeleted()) {
+            return;
+        }
+        try {
+            List<Product> products = productRepository.findByCategoryId(event.getCategoryId());
+            products.forEach(index::put);
+            log.debug("Reindexed {} products of category {}", products.size(), event.getCategoryId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to reindex category {}: {}", event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    private static ProductSearchResponse.Hit toHit(ProductSearchIndex.ScoredProduct scored) {
+        ProductSearchIndex.IndexedProduct product = scored.product();
+        return ProductSearchResponse.Hit.builder()
+                .productId(product.id())
+                .name(product.name())
+                .category(product.category())
+                .price(product.price())
+                .originalPrice(product.originalPrice())
+                .imagePath(product.imagePath())
+                .approved(product.approved())
+                .isNew(product.isNew())
+                .isOnSale(product.onSale())
+                .score(scored.score())
+                .build();
+    }
+}
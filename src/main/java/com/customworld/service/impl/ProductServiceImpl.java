@@ -5,9 +5,8 @@ import com.customworld.dto.response.ProductResponse;
 import com.customworld.entity.Category;
 import com.customworld.entity.Product;
 import com.customworld.repository.CategoryRepository;
-import com.customworld.repository.ProductLikeRepository;
 import com.customworld.repository.ProductRepository;
-import com.customworld.repository.ProductReviewRepository;
+import com.customworld.service.ProductCounterService;
 import com.customworld.service.ProductInteractionService;
 import com.customworld.service.ProductService;
 import org.slf4j.Logger;
@@ -28,15 +27,13 @@ public class ProductServiceImpl implements ProductService {
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-    private final ProductLikeRepository likeRepository;
-    private final ProductReviewRepository reviewRepository;
+    private final ProductCounterService productCounterService;
 
     public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository,
-                              ProductLikeRepository likeRepository, ProductReviewRepository reviewRepository) {
+                              ProductCounterService productCounterService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
-        this.likeRepository = likeRepository;
-        this.reviewRepository = reviewRepository;
+        this.productCounterService = productCounterService;
     }
 
     @Override
@@ -86,8 +83,8 @@ public class ProductServiceImpl implements ProductService {
     }
 
     private ProductResponse convertToProductResponse(Product product) {
-        long likeCount = likeRepository.countByProductId(product.getId());
-        long reviewCount = reviewRepository.countByProductId(product.getId());
+        long likeCount = productCounterService.likeCount(product);
+        long reviewCount = productCounterService.reviewCount(product);
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -103,7 +100,10 @@ public class ProductServiceImpl implements ProductService {
                 .color(product.getColor())
                 .likeCount(likeCount)
                 .reviewCount(reviewCount)
-                .rating(ProductInteractionService.calculateRating(likeCount))
+                .rating(ProductInteractionService.calculateRating(product.getRatingSummary(), likeCount))
+                .averageRating(product.getRatingSummary().average())
+                .ratingCount(product.getRatingSummary().getCount())
+                .ratingHistogram(product.getRatingSummary().histogram())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
@@ -0,0 +1,181 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.SuggestionResponse;
+import com.customworld.entity.Category;
+import com.customworld.enums.SuggestionType;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.repository.CategoryRepository;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductRepository;
+import com.customworld.service.ProductSuggestService;
+import com.utils.CompletionTrie;
+import com.utils.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Suggestions de la barre de recherche, sur les noms de produits et de catégories, pondérées par les j'aime.
+ * Elles sont servies depuis un {@link CompletionTrie} immuable : une saisie ne touche jamais la base.
+ * Le trie est reconstruit en tâche de fond quand le catalogue a changé (ou qu'il est trop ancien pour refléter
+ * les j'aime), puis remplacé d'un coup ; les lectures en cours gardent l'ancien jusqu'à la fin.
+ * Chaque mot d'un nom est aussi un point d'entrée, si bien que « fil » propose « Souris sans fil ».
+ */
+@Service
+public class ProductSuggestServiceImpl implements ProductSuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestServiceImpl.class);
+    private static final int MAX_WORD_ENTRIES = 6;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductLikeRepository likeRepository;
+    private final int maxSuggestions;
+    private final Duration maxAge;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final ThreadLocal<int[]> buffers;
+    private volatile Snapshot snapshot = new Snapshot(CompletionTrie.builder(1).build(), new SuggestionResponse[0], 0);
+
+    public ProductSuggestServiceImpl(ProductRepository productRepository,
+                                     CategoryRepository categoryRepository,
+                                     ProductLikeRepository likeRepository,
+                                     @Value("${product.suggest.max-suggestions:10}") int maxSuggestions,
+                                     @Value("${product.suggest.max-age:PT10M}") Duration maxAge) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.likeRepository = likeRepository;
+        this.maxSuggestions = Math.max(1, maxSuggestions);
+        this.maxAge = maxAge;
+        this.buffers = ThreadLocal.withInitial(() -> new int[this.maxSuggestions]);
+    }
+
+    /**
+     * Meilleures complétions du préfixe saisi, accents et casse ignorés.
+     *
+     * @param limit Nombre de suggestions, borné par la configuration.
+     */
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int[] buffer = buffers.get();
+        int count = Math.min(current.trie().complete(key, buffer), Math.max(1, limit));
+        List<SuggestionResponse> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(current.suggestions()[buffer[i]]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Construit un nouveau trie depuis la base et le substitue à l'ancien.
+     *
+     * @return Nombre de produits et catégories indexés.
+     */
+    @Override
+    public synchronized int rebuild() {
+        dirty.set(false);
+        Map<Long, Long> likes = new HashMap<>();
+        for (Object[] row : likeRepository.countPerProduct()) {
+            likes.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        List<Object[]> products = productRepository.findIdNameAndCategoryId();
+        List<Category> categories = categoryRepository.findAll();
+
+        Map<Long, Long> categoryWeights = new HashMap<>();
+        SuggestionResponse[] suggestions = new SuggestionResponse[products.size() + categories.size()];
+        CompletionTrie.Builder builder = CompletionTrie.builder(maxSuggestions);
+        int entry = 0;
+        for (Object[] row : products) {
+            Long productId = (Long) row[0];
+            long weight = likes.getOrDefault(productId, 0L);
+            if (row[2] != null) {
+                categoryWeights.merge((Long) row[2], weight + 1, Long::sum);
+            }
+            suggestions[entry] = new SuggestionResponse(SuggestionType.PRODUCT, productId, (String) row[1], weight);
+            addKeys(builder, (String) row[1], entry++, weight);
+        }
+        for (Category category : categories) {
+            long weight = categoryWeights.getOrDefault(category.getId(), 0L);
+            suggestions[entry] = new SuggestionResponse(SuggestionType.CATEGORY, category.getId(), category.getName(), weight);
+            addKeys(builder, category.getName(), entry++, weight);
+        }
+        CompletionTrie trie = builder.build();
+        snapshot = new Snapshot(trie, suggestions, System.currentTimeMillis());
+        log.info("Suggestion trie rebuilt: {} entries, {} nodes", entry, trie.nodeCount());
+        return entry;
+    }
+
+    /**
+     * Reconstruit le trie si le catalogue a changé ou s'il a dépassé son âge maximal.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${product.suggest.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!dirty.get() && System.currentTimeMillis() - snapshot.builtAt() < maxAge.toMillis()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("Suggestion trie rebuild failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        dirty.set(true);
+    }
+
+    private static void addKeys(CompletionTrie.Builder builder, String text, int entry, long weight) {
+        String key = normalize(text);
+        builder.add(key, entry, weight);
+        int words = 1;
+        for (int i = key.indexOf(' '); i >= 0 && words < MAX_WORD_ENTRIES; i = key.indexOf(' ', i + 1), words++) {
+            builder.add(key.substring(i + 1), entry, weight);
+        }
+    }
+
+    /**
+     * Texte replié ({@link TextNormalizer#fold}) dont les séparateurs sont ramenés à une seule espace.
+     */
+    static String normalize(String text) {
+        String folded = TextNormalizer.fold(text);
+        StringBuilder key = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            } else if (key.length() > 0 && key.charAt(key.length() - 1) != ' ') {
+                key.append(' ');
+            }
+        }
+        int end = key.length();
+        return end > 0 && key.charAt(end - 1) == ' ' ? key.substring(0, end - 1) : key.toString();
+    }
+
+    private record Snapshot(CompletionTrie trie, SuggestionResponse[] suggestions, long builtAt) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.TrendingProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductReviewRepository;
+import com.customworld.service.ProductTrendingService;
+import com.utils.SlidingWindowCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Produits tendance, au global et par catégorie, classés par une popularité amortie dans le temps.
+ * Chaque produit actif a des compteurs à fenêtre glissante (j'aime, retraits, avis) alimentés par les événements
+ * d'interaction ; son score est la somme des tranches pondérées par une demi-vie, si bien qu'un j'aime d'hier pèse
+ * plus qu'un j'aime d'il y a cinq jours et que tout disparaît à la sortie de la fenêtre.
+ * Les classements sont des ensembles triés concurrents bornés à {@code leaderboardSize} entrées : une lecture
+ * ne parcourt que les k premières, sans requête. Les scores baissant avec le temps, une tâche planifiée recalcule
+ * périodiquement les produits actifs et oublie ceux dont la fenêtre est vide ; au démarrage, la fenêtre est
+ * reconstituée depuis les j'aime et avis récents en base.
+ */
+@Service
+public class ProductTrendingServiceImpl implements ProductTrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductTrendingServiceImpl.class);
+    private static final Comparator<Rank> BEST_FIRST = Comparator.comparingDouble(Rank::score).reversed()
+            .thenComparingLong(Rank::productId);
+
+    private final ProductLikeRepository likeRepository;
+    private final ProductReviewRepository reviewRepository;
+    private final int slotCount;
+    private final long slotMillis;
+    private final long halfLifeMillis;
+    private final int leaderboardSize;
+    private final double reviewWeight;
+    private final boolean backfillOnStartup;
+    private final ConcurrentMap<Long, Activity> activities = new ConcurrentHashMap<>();
+    private final Leaderboard overall;
+    private final ConcurrentMap<Long, Leaderboard> byCategory = new ConcurrentHashMap<>();
+
+    public ProductTrendingServiceImpl(ProductLikeRepository likeRepository,
+                                      ProductReviewRepository reviewRepository,
+                                      @Value("${product.trending.slots:28}") int slotCount,
+                                      @Value("${product.trending.slot-duration:PT6H}") Duration slotDuration,
+                                      @Value("${product.trending.half-life:P2D}") Duration halfLife,
+                                      @Value("${product.trending.leaderboard-size:100}") int leaderboardSize,
+                                      @Value("${product.trending.review-weight:3}") double reviewWeight,
+                                      @Value("${product.trending.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.likeRepository = likeRepository;
+        this.reviewRepository = reviewRepository;
+        this.slotCount = Math.max(1, slotCount);
+        this.slotMillis = Math.max(1, slotDuration.toMillis());
+        this.halfLifeMillis = Math.max(1, halfLife.toMillis());
+        this.leaderboardSize = Math.max(1, leaderboardSize);
+        this.reviewWeight = reviewWeight;
+        this.backfillOnStartup = backfillOnStartup;
+        this.overall = new Leaderboard(this.leaderboardSize);
+    }
+
+    /**
+     * Meilleurs produits du moment, au global ou dans une catégorie.
+     *
+     * @param categoryId Catégorie, ou null pour le classement global.
+     * @param limit Nombre de produits, borné par la taille des classements.
+     */
+    @Override
+    public List<TrendingProductResponse> trending(Long categoryId, int limit) {
+        Leaderboard board = categoryId == null ? overall : byCategory.get(categoryId);
+        if (board == null) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        int wanted = Math.min(Math.max(1, limit), leaderboardSize);
+        List<TrendingProductResponse> result = new ArrayList<>(wanted);
+        for (Rank rank : board.ranks) {
+            if (result.size() == wanted) {
+                break;
+            }
+            Activity activity = activities.get(rank.productId());
+            result.add(TrendingProductResponse.builder()
+                    .rank(result.size() + 1)
+                    .productId(rank.productId())
+                    .categoryId(rank.categoryId())
+                    .score(rank.score())
+                    .likes(activity != null ? Math.max(0, activity.likes.sum(now) - activity.unlikes.sum(now)) : 0)
+                    .reviews(activity != null ? activity.reviews.sum(now) : 0)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Reconstitue la fenêtre depuis les j'aime et avis récents en base, puis recalcule les classements.
+     * Les retraits de j'aime passés ne sont pas conservés en base : seuls les j'aime encore présents comptent.
+     *
+     * @return Nombre d'interactions rejouées.
+     */
+    @Override
+    public int backfill() {
+        long windowMillis = slotCount * slotMillis;
+        Instant since = Instant.now().minusMillis(windowMillis);
+        int replayed = 0;
+        for (Object[] row : likeRepository.findRecent(since)) {
+            record((Long) row[0], (Long) row[1], activity -> activity.likes, ((Instant) row[2]).toEpochMilli());
+            replayed++;
+        }
+        for (Object[] row : reviewRepository.findRecent(since)) {
+            record((Long) row[0], (Long) row[1], activity -> activity.reviews, ((Instant) row[2]).toEpochMilli());
+            replayed++;
+        }
+        refresh();
+        log.info("Trending leaderboards backfilled: {} interactions, {} active products", replayed, activities.size());
+        return replayed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.warn("Trending leaderboards backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcule le score de chaque produit actif (les tranches vieillissent) et oublie ceux dont la fenêtre est vide.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${product.trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Long productId : activities.keySet()) {
+            Activity activity = activities.get(productId);
+            if (activity == null) {
+                continue;
+            }
+            rescore(productId, activity, now);
+            activities.computeIfPresent(productId, (id, current) -> current.isIdle(now) ? null : current);
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductLiked(ProductLikedEvent event) {
+        long now = System.currentTimeMillis();
+        Activity activity = record(event.getProductId(), event.getCategoryId(),
+                event.isLiked() ? a -> a.likes : a -> a.unlikes, now);
+        rescore(event.getProductId(), activity, now);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductReviewed(ProductReviewedEvent event) {
+        long now = System.currentTimeMillis();
+        Activity activity = record(event.getProductId(), event.getCategoryId(), a -> a.reviews, now);
+        rescore(event.getProductId(), activity, now);
+    }
+
+    /**
+     * Retire un produit supprimé des classements.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.isDeleted()) {
+            return;
+        }
+        Activity activity = activities.remove(event.getProductId());
+        if (activity != null) {
+            synchronized (activity) {
+                unrank(activity);
+            }
+        }
+    }
+
+    /**
+     * Incrémente un compteur du produit, dans {@code compute} pour ne pas croiser l'oubli d'un produit inactif.
+     */
+    private Activity record(Long productId, Long categoryId, Function<Activity, SlidingWindowCounter> counter,
+                            long atMillis) {
+        return activities.compute(productId, (id, current) -> {
+            Activity activity = current != null ? current : new Activity();
+            if (categoryId != null) {
+                activity.categoryId = categoryId;
+            }
+            counter.apply(activity).increment(atMillis);
+            return activity;
+        });
+    }
+
+    private void rescore(Long productId, Activity activity, long now) {
+        double score = activity.likes.decayedSum(now, halfLifeMillis)
+                - activity.unlikes.decayedSum(now, halfLifeMillis)
+                + reviewWeight * activity.reviews.decayedSum(now, halfLifeMillis);
+        synchronized (activity) {
+            unrank(activity);
+            if (score <= 0 || activities.get(productId) != activity) {
+                return;
+            }
+            Rank rank = new Rank(productId, activity.categoryId, score);
+            activity.rank = rank;
+            overall.add(rank);
+            if (rank.categoryId() != null) {
+                byCategory.computeIfAbsent(rank.categoryId(), id -> new Leaderboard(leaderboardSize)).add(rank);
+            }
+        }
+    }
+
+    private void unrank(Activity activity) {
+        Rank previous = activity.rank;
+        if (previous == null) {
+            return;
+        }
+        activity.rank = null;
+        overall.ranks.remove(previous);
+        if (previous.categoryId() != null) {
+            Leaderboard board = byCategory.get(previous.categoryId());
+            if (board != null) {
+                board.ranks.remove(previous);
+            }
+        }
+    }
+
+    /**
+     * Activité récente d'un produit ; {@code rank} est son entrée actuelle dans les classements, gardée par le moniteur.
+     */
+    private final class Activity {
+        private final SlidingWindowCounter likes = new SlidingWindowCounter(slotCount, slotMillis);
+        private final SlidingWindowCounter unlikes = new SlidingWindowCounter(slotCount, slotMillis);
+        private final SlidingWindowCounter reviews = new SlidingWindowCounter(slotCount, slotMillis);
+        private volatile Long categoryId;
+        private Rank rank;
+
+        private boolean isIdle(long now) {
+            return likes.sum(now) == 0 && unlikes.sum(now) == 0 && reviews.sum(now) == 0;
+        }
+    }
+
+    private record Rank(long productId, Long categoryId, double score) {
+    }
+
+    /**
+     * Classement borné : au-delà de sa capacité, les entrées les moins bien classées sont évincées ;
+     * un produit évincé y revient au prochain recalcul si son score remonte.
+     */
+    private static final class Leaderboard {
+        private final ConcurrentSkipListSet<Rank> ranks = new ConcurrentSkipListSet<>(BEST_FIRST);
+        private final int capacity;
+
+        private Leaderboard(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void add(Rank rank) {
+            ranks.add(rank);
+            while (ranks.size() > capacity) {
+                ranks.pollLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.RelatedProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.repository.OrderItemRepository;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.service.RelatedProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Recommandations « les clients ont aussi aimé » : voisins d'un produit dans une matrice de co-occurrence
+ * ({@link CoOccurrenceMatrix}) construite depuis les j'aime (produits aimés par un même client) et les commandes
+ * (produits commandés ensemble, au poids {@code orderWeight}). Les réponses sont lues en mémoire, sans requête.
+ * La matrice est reconstruite en tâche de fond (au démarrage puis chaque nuit) dans une copie qui remplace
+ * l'ancienne d'un coup ; entre deux reconstructions, chaque nouveau j'aime met à jour la ligne du produit et celles
+ * des autres produits aimés par le client. Une reconstruction ne lit que les j'aime jusqu'au plus grand ID relevé
+ * à son début ; seuls les j'aime plus récents reçus pendant qu'elle tourne sont rejoués sur la copie.
+ * Les paniers de plus de {@code maxBasketSize} produits sont ignorés : peu informatifs, ils coûtent un nombre
+ * de paires quadratique.
+ */
+@Service
+public class RelatedProductServiceImpl implements RelatedProductService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedProductServiceImpl.class);
+    private static final float LIKE_WEIGHT = 1f;
+
+    private final ProductLikeRepository likeRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int neighbourCount;
+    private final int maxBasketSize;
+    private final float orderWeight;
+    private final boolean buildOnStartup;
+    private final Object lock = new Object();
+    private volatile CoOccurrenceMatrix matrix;
+    private List<PendingUpdate> pendingUpdates;
+
+    public RelatedProductServiceImpl(ProductLikeRepository likeRepository,
+                                     OrderItemRepository orderItemRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${product.related.neighbours:20}") int neighbourCount,
+                                     @Value("${product.related.max-basket-size:200}") int maxBasketSize,
+                                     @Value("${product.related.order-weight:2}") float orderWeight,
+                                     @Value("${product.related.build-on-startup:true}") boolean buildOnStartup) {
+        this.likeRepository = likeRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.neighbourCount = Math.max(1, neighbourCount);
+        this.maxBasketSize = Math.max(2, maxBasketSize);
+        this.orderWeight = orderWeight;
+        this.buildOnStartup = buildOnStartup;
+        this.matrix = new CoOccurrenceMatrix(this.neighbourCount);
+    }
+
+    /**
+     * Produits les plus souvent aimés ou commandés avec le produit donné ; vide si aucun signal.
+     *
+     * @param limit Nombre de produits, borné par le nombre de voisins conservés.
+     */
+    @Override
+    public List<RelatedProductResponse> related(Long productId, int limit) {
+        CoOccurrenceMatrix.Neighbours neighbours = matrix.neighbours(productId);
+        int count = Math.min(neighbours.ids().length, Math.max(1, limit));
+        List<RelatedProductResponse> related = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            related.add(new RelatedProductResponse(neighbours.ids()[i], neighbours.scores()[i]));
+        }
+        return related;
+    }
+
+    /**
+     * Reconstruit la matrice depuis la base et la substitue à l'ancienne.
+     *
+     * @return Nombre de produits ayant au moins un voisin.
+     */
+    @Override
+    @Scheduled(cron = "${product.related.rebuild-cron:0 30 3 * * *}")
+    public synchronized int rebuild() {
+        synchronized (lock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        try {
+            CoOccurrenceMatrix fresh = new CoOccurrenceMatrix(neighbourCount);
+            long[] baskets = new long[2];
+            long[] lastLikeId = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Long maxId = likeRepository.findMaxId();
+                lastLikeId[0] = maxId != null ? maxId : 0;
+                try (Stream<Object[]> likes = likeRepository.streamUserProductPairs(lastLikeId[0])) {
+                    baskets[0] = addBaskets(fresh, likes, LIKE_WEIGHT);
+                }
+                try (Stream<Object[]> orders = orderItemRepository.streamOrderProductPairs()) {
+                    baskets[1] = addBaskets(fresh, orders, orderWeight);
+                }
+            });
+            fresh.rankAll();
+            synchronized (lock) {
+                // Un j'aime déjà lu dans le flux est compté une fois : seuls les plus récents sont rejoués
+                for (PendingUpdate pending : pendingUpdates) {
+                    if (pending.likeId() == null || pending.likeId() > lastLikeId[0]) {
+                        pending.update().accept(fresh);
+                    }
+                }
+                matrix = fresh;
+            }
+            log.info("Related products rebuilt: {} like baskets, {} orders, {} products",
+                    baskets[0], baskets[1], fresh.productCount());
+            return fresh.productCount();
+        } finally {
+            synchronized (lock) {
+                pendingUpdates = null;
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!buildOnStartup) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Related products build failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ajoute le produit aimé au panier du client : une requête pour ses autres j'aime, puis la mise à jour
+     * des seules lignes concernées. Les retraits ne sont pris en compte qu'à la reconstruction suivante.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductLiked(ProductLikedEvent event) {
+        if (!event.isLiked()) {
+            return;
+        }
+        List<Long> liked = likeRepository.findProductIdsByUserId(event.getUserId());
+        if (liked.size() > maxBasketSize) {
+            return;
+        }
+        long product = event.getProductId();
+        long[] others = liked.stream().mapToLong(Long::longValue).filter(id -> id != product).toArray();
+        apply(event.getLikeId(), current -> current.addToBasket(product, others, LIKE_WEIGHT));
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            long product = event.getProductId();
+            apply(null, current -> current.remove(product));
+        }
+    }
+
+    /**
+     * @param likeId ID du j'aime à l'origine de la mise à jour, ou null pour une mise à jour toujours rejouée
+     */
+    private void apply(Long likeId, Consumer<CoOccurrenceMatrix> update) {
+        synchronized (lock) {
+            update.accept(matrix);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(new PendingUpdate(likeId, update));
+            }
+        }
+    }
+
+    /**
+     * Regroupe des paires [panier, produit] triées par panier et ajoute chaque panier à la matrice.
+     *
+     * @return Nombre de paniers ajoutés.
+     */
+    private long addBaskets(CoOccurrenceMatrix target, Stream<Object[]> pairs, float weight) {
+        long added = 0;
+        long[] basket = new long[16];
+        int size = 0;
+        Object current = null;
+        for (Iterator<Object[]> rows = pairs.iterator(); rows.hasNext(); ) {
+            Object[] row = rows.next();
+            if (!row[0].equals(current)) {
+                added += addBasket(target, basket, size, weight);
+                size = 0;
+                current = row[0];
+            }
+            if (size == basket.length) {
+                basket = Arrays.copyOf(basket, size * 2);
+            }
+            basket[size++] = (Long) row[1];
+        }
+        return added + addBasket(target, basket, size, weight);
+    }
+
+    private int addBasket(CoOccurrenceMatrix target, long[] basket, int size, float weight) {
+        long[] products = distinct(basket, size);
+        if (products.length < 2 || products.length > maxBasketSize) {
+            return 0;
+        }
+        target.addBasket(products, weight);
+        return 1;
+    }
+
+    private static long[] distinct(long[] values, int size) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private record PendingUpdate(Long likeId, Consumer<CoOccurrenceMatrix> update) {
+    }
+}
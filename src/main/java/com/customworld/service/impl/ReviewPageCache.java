@@ -0,0 +1,63 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.ReviewResponse;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Première page d'avis de chaque produit consulté, gardée en mémoire : c'est la seule que lisent la plupart
+ * des visiteurs. L'entrée d'un produit est retirée après la validation d'un ajout ou d'une suppression d'avis ;
+ * la durée de vie borne le retard sur les autres changements (nom d'un auteur, par exemple).
+ */
+@Component
+public class ReviewPageCache {
+
+    private final int firstPageSize;
+    private final Cache<Long, List<ReviewResponse>> firstPages;
+
+    public ReviewPageCache(@Value("${product.reviews.first-page-size:20}") int firstPageSize,
+                           @Value("${product.reviews.cache-max-products:10000}") long maxProducts,
+                           @Value("${product.reviews.cache-ttl:PT10M}") Duration ttl) {
+        this.firstPageSize = Math.max(1, firstPageSize);
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Nombre d'avis servis depuis le cache : une première page plus petite se découpe dans l'entrée en cache.
+     */
+    public int firstPageSize() {
+        return firstPageSize;
+    }
+
+    /**
+     * Les {@code firstPageSize + 1} avis les plus récents du produit (la ligne de plus indique s'il existe
+     * une page suivante), chargés au premier accès.
+     *
+     * @param loader Lecture en base de ces avis pour un produit
+     */
+    public List<ReviewResponse> firstRows(Long productId, Function<Long, List<ReviewResponse>> loader) {
+        return firstPages.get(productId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductReviewed(ProductReviewedEvent event) {
+        firstPages.invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductReviewDeleted(ProductReviewDeletedEvent event) {
+        firstPages.invalidate(event.getProductId());
+    }
+}
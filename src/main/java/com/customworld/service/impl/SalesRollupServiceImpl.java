@@ -0,0 +1,266 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.SalesBucketResponse;
+import com.customworld.entity.SalesRollup;
+import com.customworld.enums.SalesGranularity;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.SalesRollupRepository;
+import com.customworld.service.SalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Séries temporelles des commandes passées, pour les graphiques du tableau de bord.
+ * Chaque commande validée est gardée en mémoire par ID avec son seau horaire ; un passage périodique cumule
+ * les commandes en attente par heure, ajoute ces cumuls aux heures en base ({@code ON CONFLICT ... + EXCLUDED}) puis recompacte les jours et mois touchés.
+ * Une série ne lit donc que quelques centaines de lignes pré-agrégées. Les heures au-delà de la rétention
+ * sont supprimées (les jours et mois restent), et la veille est recalculée chaque nuit depuis les commandes
+ * pour corriger les créations qui n'auraient pas été relayées.
+ */
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupServiceImpl.class);
+    private static final String UPSERT_HOUR = "INSERT INTO sales_rollups (granularity, bucket_start, order_count, item_count, amount) "
+            + "VALUES ('HOUR', ?, ?, ?, ?) ON CONFLICT (granularity, bucket_start) DO UPDATE SET "
+            + "order_count = sales_rollups.order_count + EXCLUDED.order_count, "
+            + "item_count = sales_rollups.item_count + EXCLUDED.item_count, "
+            + "amount = sales_rollups.amount + EXCLUDED.amount";
+
+    private final SalesRollupRepository rollupRepository;
+    private final CustomOrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int hourlyRetentionDays;
+    private final int maxPoints;
+    private final boolean backfillOnStartup;
+    private final ConcurrentMap<Long, PendingOrder> pending = new ConcurrentHashMap<>();
+
+    public SalesRollupServiceImpl(SalesRollupRepository rollupRepository,
+                                  CustomOrderRepository orderRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${sales.rollups.hourly-retention-days:90}") int hourlyRetentionDays,
+                                  @Value("${sales.rollups.max-points:1000}") int maxPoints,
+                                  @Value("${sales.rollups.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.rollupRepository = rollupRepository;
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hourlyRetentionDays = Math.max(1, hourlyRetentionDays);
+        this.maxPoints = Math.max(1, maxPoints);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDateTime orderDate = event.getOrderDate() != null ? event.getOrderDate() : LocalDateTime.now();
+        pending.put(event.getOrderId(), new PendingOrder(SalesGranularity.HOUR.truncate(orderDate),
+                new Delta(1, event.getItemCount(), event.getAmount())));
+    }
+
+    /**
+     * Ajoute les cumuls en attente aux heures en base et recompacte les jours et mois touchés, dans une
+     * même transaction. En cas d'échec, les commandes sont remises en attente.
+     *
+     * @return Nombre de seaux horaires écrits.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${sales.rollups.flush-interval-ms:10000}")
+    public synchronized int flush() {
+        Map<Long, PendingOrder> drained = new HashMap<>();
+        TreeMap<LocalDateTime, Delta> batch = new TreeMap<>();
+        for (Long orderId : List.copyOf(pending.keySet())) {
+            PendingOrder order = pending.remove(orderId);
+            if (order != null) {
+                drained.put(orderId, order);
+                batch.merge(order.hour(), order.delta(), Delta::plus);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Map.Entry<LocalDateTime, Delta>> rows = new ArrayList<>(batch.entrySet());
+                jdbcTemplate.batchUpdate(UPSERT_HOUR, rows, rows.size(), (statement, row) -> {
+                    statement.setObject(1, row.getKey());
+                    statement.setLong(2, row.getValue().orders());
+                    statement.setLong(3, row.getValue().items());
+                    statement.setDouble(4, row.getValue().amount());
+                });
+                compact(SalesGranularity.DAY.truncate(batch.firstKey()),
+                        SalesGranularity.DAY.next(SalesGranularity.DAY.truncate(batch.lastKey())));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Sales rollup flush failed for {} hourly buckets, retrying later: {}", batch.size(), e.getMessage());
+            drained.forEach(pending::putIfAbsent);
+            return 0;
+        }
+        return batch.size();
+    }
+
+    /**
+     * Série dense (seaux vides à zéro) sur les jours donnés, bornes incluses.
+     *
+     * @throws BadRequestException si la période est invalide ou compte trop de points
+     */
+    @Override
+    public List<SalesBucketResponse> getSeries(SalesGranularity granularity, LocalDate from, LocalDate to) {
+        if (granularity == null || from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Période invalide: " + from + " -> " + to, "");
+        }
+        LocalDateTime start = granularity.truncate(from.atStartOfDay());
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long points = switch (granularity) {
+            case HOUR -> ChronoUnit.HOURS.between(start, end);
+            case DAY -> ChronoUnit.DAYS.between(start, end);
+            case MONTH -> ChronoUnit.MONTHS.between(start, end) + 1;
+        };
+        if (points > maxPoints) {
+            throw new BadRequestException("Trop de points demandés (" + points + ", max " + maxPoints + ")", "");
+        }
+
+        Map<LocalDateTime, SalesRollup> stored = new HashMap<>();
+        for (SalesRollup rollup : rollupRepository.findRange(granularity, start, end)) {
+            stored.put(rollup.getId().getBucketStart(), rollup);
+        }
+        List<SalesBucketResponse> series = new ArrayList<>((int) points);
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            SalesRollup rollup = stored.get(bucket);
+            series.add(SalesBucketResponse.builder()
+                    .bucketStart(bucket)
+                    .orderCount(rollup != null ? rollup.getOrderCount() : 0)
+                    .itemCount(rollup != null ? rollup.getItemCount() : 0)
+                    .amount(rollup != null ? rollup.getAmount() : 0)
+                    .build());
+        }
+        return series;
+    }
+
+    /**
+     * Recalcule depuis les commandes les heures et jours de la période (bornes incluses), puis les mois
+     * qui la recouvrent. Les cumuls en attente sont écrits avant ; le recalcul ne lit que les commandes d'ID au
+     * plus égal au plus grand ID lu dans sa transaction. Les commandes de la période relayées pendant le recalcul
+     * sont ensuite abandonnées jusqu'à cet ID, déjà comptées, et gardées au-delà, pour le prochain passage.
+     *
+     * @return Nombre de seaux horaires recalculés.
+     */
+    @Override
+    public synchronized int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Période invalide: " + from + " -> " + to, "");
+        }
+        flush();
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long[] watermark = new long[1];
+        Integer hours = transactionTemplate.execute(status -> {
+            Long maxId = orderRepository.findMaxId();
+            watermark[0] = maxId == null ? 0L : maxId;
+            rollupRepository.deleteRange(SalesGranularity.HOUR, start, end);
+            rollupRepository.deleteRange(SalesGranularity.DAY, start, end);
+            int inserted = rollupRepository.insertHoursFromOrders(start, end, watermark[0]);
+            compact(start, end);
+            return inserted;
+        });
+        // Seules les commandes de la plage déjà lues par l'INSERT sont écartées ; les plus récentes seront ajoutées
+        pending.entrySet().removeIf(entry -> entry.getKey() <= watermark[0]
+                && !entry.getValue().hour().isBefore(start) && entry.getValue().hour().isBefore(end));
+        log.info("Sales rollups rebuilt from {} to {} ({} hourly buckets)", from, to, hours);
+        return hours == null ? 0 : hours;
+    }
+
+    /**
+     * Recalcule la veille depuis les commandes et supprime les heures au-delà de la rétention.
+     */
+    @Override
+    @Scheduled(cron = "${sales.rollups.maintenance-cron:0 15 3 * * *}")
+    public void nightlyMaintenance() {
+        try {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            rebuild(yesterday, yesterday);
+            LocalDateTime cutoff = LocalDate.now().minusDays(hourlyRetentionDays).atStartOfDay();
+            Integer purged = transactionTemplate.execute(status ->
+                    rollupRepository.deleteRange(SalesGranularity.HOUR, LocalDateTime.of(1970, 1, 1, 0, 0), cutoff));
+            log.debug("Purged {} hourly sales buckets older than {}", purged, cutoff);
+        } catch (RuntimeException e) {
+            log.warn("Sales rollup maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Construit l'historique au premier démarrage, quand la table d'agrégats est encore vide.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (rollupRepository.count() > 0) {
+                return;
+            }
+            LocalDateTime earliest = orderRepository.findEarliestOrderDate();
+            if (earliest != null) {
+                rebuild(earliest.toLocalDate(), LocalDate.now());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sales rollup backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompacte les jours de [from, to) depuis les heures, puis les mois qui les contiennent depuis les jours.
+     */
+    private void compact(LocalDateTime from, LocalDateTime to) {
+        rollupRepository.compactDays(from, to);
+        LocalDateTime monthStart = SalesGranularity.MONTH.truncate(from);
+        LocalDateTime monthEnd = SalesGranularity.MONTH.next(SalesGranularity.MONTH.truncate(to.minusNanos(1)));
+        rollupRepository.deleteRange(SalesGranularity.MONTH, monthStart, monthEnd);
+        rollupRepository.compactMonths(monthStart, monthEnd);
+    }
+
+    int pendingOrders() {
+        return pending.size();
+    }
+
+    /**
+     * Commande validée, pas encore ajoutée aux heures en base.
+     */
+    record PendingOrder(LocalDateTime hour, Delta delta) {
+    }
+
+    /**
+     * Cumul immuable d'un seau horaire.
+     */
+    record Delta(long orders, long items, double amount) {
+        Delta plus(Delta other) {
+            return new Delta(orders + other.orders, items + other.items, amount + other.amount);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.TemplateRepository;
 import com.customworld.repository.ProductRepository;
 import com.customworld.repository.UserRepository;
+import com.customworld.service.ChunkedUploadService;
 import com.customworld.service.FileStorageService;
 import com.customworld.service.TemplateService;
 import org.springframework.stereotype.Service;
@@ -27,13 +28,15 @@ public class TemplateServiceImpl implements TemplateService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final ChunkedUploadService chunkedUploadService;
 
 
-    public TemplateServiceImpl(TemplateRepository templateRepository, ProductRepository productRepository, UserRepository userRepository, FileStorageService fileStorageService) {
+    public TemplateServiceImpl(TemplateRepository templateRepository, ProductRepository productRepository, UserRepository userRepository, FileStorageService fileStorageService, ChunkedUploadService chunkedUploadService) {
         this.templateRepository = templateRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.fileStorageService = fileStorageService;
+        this.chunkedUploadService = chunkedUploadService;
     }
 
     /**
@@ -57,6 +60,8 @@ public class TemplateServiceImpl implements TemplateService {
         template.setCreatedBy(user);
         if (file != null && !file.isEmpty()) {
             template.setTemplatePath(fileStorageService.storeFile(file));
+        } else if (request.getUploadedFileName() != null) {
+            template.setTemplatePath(chunkedUploadService.consumeCompletedUpload(request.getUploadedFileName()));
         }
 
         template = templateRepository.save(template);
@@ -142,6 +147,13 @@ public class TemplateServiceImpl implements TemplateService {
                 fileStorageService.deleteFile(template.getTemplatePath());
             }
             template.setTemplatePath(fileStorageService.storeFile(file));
+        } else if (request.getUploadedFileName() != null
+                && !request.getUploadedFileName().equals(template.getTemplatePath())) {
+            String uploadedFileName = chunkedUploadService.consumeCompletedUpload(request.getUploadedFileName());
+            if (template.getTemplatePath() != null) {
+                fileStorageService.deleteFile(template.getTemplatePath());
+            }
+            template.setTemplatePath(uploadedFileName);
         }
 
         template = templateRepository.save(template);
@@ -180,4 +192,4 @@ public class TemplateServiceImpl implements TemplateService {
         response.setTemplatePath(template.getTemplatePath());
         return response;
     }
-}
\ No newline at end of file
+}
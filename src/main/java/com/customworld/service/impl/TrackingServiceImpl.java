@@ -0,0 +1,253 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.TrackingEvent;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.service.TrackingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Diffusion en temps réel des changements de statut des commandes et des livraisons (Server-Sent Events).
+ * Chaque sujet (une commande, un livreur, toutes les livraisons) possède un sink multicast et un historique
+ * borné des derniers événements, rejoué aux clients qui se reconnectent avec l'en-tête Last-Event-ID.
+ * Chaque abonné dispose de son propre tampon borné : un client lent perd ses événements les plus anciens
+ * sans ralentir les autres. Un commentaire de heartbeat garde la connexion ouverte à travers les proxys.
+ */
+@Service
+public class TrackingServiceImpl implements TrackingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackingServiceImpl.class);
+
+    static final String ORDER_STATUS = "order-status";
+    static final String DELIVERY_STATUS = "delivery-status";
+    static final String RESYNC = "resync";
+    private static final String ALL_DELIVERIES = "deliveries";
+    private static final long NO_REPLAY = -1;
+
+    private final ConcurrentMap<String, Topic> topics = new ConcurrentHashMap<>();
+    /**
+     * Amorcée sur l'horloge pour que les identifiants restent croissants d'un redémarrage à l'autre.
+     */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Duration heartbeatInterval;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final Duration topicIdleTimeout;
+
+    public TrackingServiceImpl(@Value("${tracking.sse.heartbeat:PT15S}") Duration heartbeatInterval,
+                               @Value("${tracking.sse.replay-size:64}") int replaySize,
+                               @Value("${tracking.sse.subscriber-buffer:256}") int subscriberBuffer,
+                               @Value("${tracking.sse.topic-idle-timeout:PT10M}") Duration topicIdleTimeout) {
+        this.heartbeatInterval = heartbeatInterval;
+        this.replaySize = Math.max(1, replaySize);
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+        this.topicIdleTimeout = topicIdleTimeout;
+    }
+
+    @Override
+    public Flux<ServerSentEvent<TrackingEvent>> orderEvents(Long orderId, String lastEventId) {
+        return subscribe(orderTopic(orderId), lastEventId);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<TrackingEvent>> delivererEvents(Long delivererId, String lastEventId) {
+        return subscribe(delivererTopic(delivererId), lastEventId);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<TrackingEvent>> allDeliveryEvents(String lastEventId) {
+        return subscribe(ALL_DELIVERIES, lastEventId);
+    }
+
+    /**
+     * Diffusé après validation de la transaction, pour ne jamais annoncer un statut annulé par un rollback.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Instant occurredAt = Instant.now();
+        publish(orderTopic(event.getOrderId()), id -> TrackingEvent.builder()
+                .id(id)
+                .type(ORDER_STATUS)
+                .orderId(event.getOrderId())
+                .status(event.getStatus().name())
+                .occurredAt(occurredAt)
+                .build());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        Instant occurredAt = Instant.now();
+        LongFunction<TrackingEvent> factory = id -> TrackingEvent.builder()
+                .id(id)
+                .type(DELIVERY_STATUS)
+                .orderId(event.getOrderId())
+                .deliveryId(event.getDeliveryId())
+                .delivererId(event.getDelivererId())
+                .status(event.getStatus().name())
+                .issueDescription(event.getIssueDescription())
+                .occurredAt(occurredAt)
+                .build();
+        publish(orderTopic(event.getOrderId()), factory);
+        if (event.getDelivererId() != null) {
+            publish(delivererTopic(event.getDelivererId()), factory);
+        }
+        publish(ALL_DELIVERIES, factory);
+    }
+
+    /**
+     * Supprime les sujets sans abonné ni activité depuis le délai d'inactivité, avec leur historique.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${tracking.sse.evict-interval-ms:60000}")
+    public void evictIdleTopics() {
+        long now = System.nanoTime();
+        topics.forEach((key, topic) -> {
+            synchronized (topic) {
+                if (topic.sink.currentSubscriberCount() == 0 && now - topic.lastActivity >= topicIdleTimeout.toNanos()) {
+                    topic.retired = true;
+                    topics.remove(key, topic);
+                }
+            }
+        });
+    }
+
+    int topicCount() {
+        return topics.size();
+    }
+
+    /**
+     * L'identifiant est attribué sous le verrou du sujet : il est strictement croissant dans chaque sujet,
+     * ce qui permet de reprendre un flux par simple comparaison avec Last-Event-ID.
+     */
+    private void publish(String key, LongFunction<TrackingEvent> factory) {
+        while (true) {
+            Topic topic = topics.computeIfAbsent(key, k -> new Topic(sequence.get()));
+            synchronized (topic) {
+                if (topic.retired) {
+                    continue;
+                }
+                TrackingEvent event = factory.apply(sequence.incrementAndGet());
+                if (topic.replay.size() == replaySize) {
+                    topic.evictedUpTo = topic.replay.removeFirst().getId();
+                }
+                topic.replay.addLast(event);
+                topic.lastActivity = System.nanoTime();
+                topic.sink.tryEmitNext(event);
+                return;
+            }
+        }
+    }
+
+    private Flux<ServerSentEvent<TrackingEvent>> subscribe(String key, String lastEventId) {
+        long after = parseLastEventId(lastEventId);
+        Flux<ServerSentEvent<TrackingEvent>> events = Flux.<TrackingEvent>create(emitter -> attach(key, after, emitter),
+                        FluxSink.OverflowStrategy.BUFFER)
+                .map(TrackingServiceImpl::toServerSentEvent);
+        Flux<ServerSentEvent<TrackingEvent>> heartbeats = Flux.interval(heartbeatInterval)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<TrackingEvent>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats)
+                .onBackpressureBuffer(subscriberBuffer,
+                        dropped -> log.debug("Tracking event {} dropped for a slow subscriber of {}", dropped.id(), key),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * Rejoue l'historique puis branche l'abonné sur le sink, sous le verrou du sujet :
+     * aucun événement ne peut être publié entre les deux, donc ni perte ni doublon.
+     */
+    private void attach(String key, long after, FluxSink<TrackingEvent> emitter) {
+        while (true) {
+            Topic topic = topics.computeIfAbsent(key, k -> new Topic(sequence.get()));
+            synchronized (topic) {
+                if (topic.retired) {
+                    continue;
+                }
+                if (after != NO_REPLAY) {
+                    if (after < topic.evictedUpTo) {
+                        emitter.next(TrackingEvent.builder().type(RESYNC).occurredAt(Instant.now()).build());
+                    }
+                    for (TrackingEvent event : topic.replay) {
+                        if (event.getId() > after) {
+                            emitter.next(event);
+                        }
+                    }
+                }
+                topic.lastActivity = System.nanoTime();
+                Disposable live = topic.sink.asFlux().subscribe(emitter::next);
+                emitter.onDispose(() -> {
+                    live.dispose();
+                    synchronized (topic) {
+                        topic.lastActivity = System.nanoTime();
+                    }
+                });
+                return;
+            }
+        }
+    }
+
+    private static ServerSentEvent<TrackingEvent> toServerSentEvent(TrackingEvent event) {
+        ServerSentEvent.Builder<TrackingEvent> builder = ServerSentEvent.builder(event).event(event.getType());
+        if (event.getId() > 0) {
+            builder.id(Long.toString(event.getId()));
+        }
+        return builder.build();
+    }
+
+    private static long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return NO_REPLAY;
+        }
+        try {
+            return Math.max(0, Long.parseLong(lastEventId.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid Last-Event-ID: {}", lastEventId);
+            return NO_REPLAY;
+        }
+    }
+
+    private static String orderTopic(Long orderId) {
+        return "order:" + orderId;
+    }
+
+    private static String delivererTopic(Long delivererId) {
+        return "deliverer:" + delivererId;
+    }
+
+    /**
+     * Sujet de diffusion. Les champs mutables sont protégés par le verrou de l'instance.
+     * Un sujet recréé ignore ce qui a précédé sa création : un client qui reprend plus tôt reçoit un resync.
+     */
+    private static final class Topic {
+        private final Sinks.Many<TrackingEvent> sink = Sinks.many().multicast().directBestEffort();
+        private final ArrayDeque<TrackingEvent> replay = new ArrayDeque<>();
+        private long evictedUpTo;
+        private long lastActivity = System.nanoTime();
+        private boolean retired;
+
+        private Topic(long createdAt) {
+            this.evictedUpTo = createdAt;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.customworld.service.impl;
+
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.service.UserLikesService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Produits aimés par chaque client actif, chargés en une requête à la première lecture puis gardés en mémoire
+ * sous forme de tableau trié de {@code long} : « ai-je aimé ce produit ? » devient une recherche dichotomique,
+ * et une grille de produits entière se vérifie en un seul appel. Le cache est borné par le nombre total
+ * d'identifiants retenus (les clients les moins actifs sont évincés d'abord) et oublie un client inactif.
+ * Un j'aime ou un retrait validé remplace le tableau du client s'il est en cache ; sinon le prochain
+ * chargement lit la base, déjà à jour.
+ */
+@Service
+public class UserLikesServiceImpl implements UserLikesService {
+
+    private static final long[] NONE = new long[0];
+
+    private final ProductLikeRepository likeRepository;
+    private final int maxBulkIds;
+    private final LoadingCache<Long, long[]> likedByUser;
+
+    public UserLikesServiceImpl(ProductLikeRepository likeRepository,
+                                @Value("${product.likes.cache-max-ids:2000000}") long cacheMaxIds,
+                                @Value("${product.likes.cache-idle-ttl:PT30M}") Duration idleTtl,
+                                @Value("${product.likes.max-bulk-ids:200}") int maxBulkIds) {
+        this.likeRepository = likeRepository;
+        this.maxBulkIds = Math.max(1, maxBulkIds);
+        this.likedByUser = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxIds)
+                .<Long, long[]>weigher((userId, products) -> products.length + 1)
+                .expireAfterAccess(idleTtl)
+                .build(this::load);
+    }
+
+    @Override
+    public boolean hasLiked(Long userId, Long productId) {
+        return productId != null && Arrays.binarySearch(likedByUser.get(userId), productId) >= 0;
+    }
+
+    /**
+     * Indique pour chaque produit demandé si le client l'a aimé, dans l'ordre de la demande.
+     *
+     * @throws BadRequestException si la liste dépasse la taille maximale autorisée
+     */
+    @Override
+    public Map<Long, Boolean> likedFlags(Long userId, Collection<Long> productIds) {
+        if (productIds.size() > maxBulkIds) {
+            throw new BadRequestException("Trop de produits demandés (" + productIds.size() + ", max " + maxBulkIds + ")", "");
+        }
+        long[] liked = likedByUser.get(userId);
+        Map<Long, Boolean> flags = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            if (productId != null) {
+                flags.put(productId, Arrays.binarySearch(liked, productId) >= 0);
+            }
+        }
+        return flags;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductLiked(ProductLikedEvent event) {
+        long productId = event.getProductId();
+        likedByUser.asMap().computeIfPresent(event.getUserId(),
+                (userId, liked) -> event.isLiked() ? with(liked, productId) : without(liked, productId));
+    }
+
+    private long[] load(Long userId) {
+        long[] liked = likeRepository.findProductIdsByUserId(userId).stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(liked);
+        return liked.length == 0 ? NONE : liked;
+    }
+
+    /**
+     * Copie triée avec le produit ajouté (les tableaux en cache ne sont jamais modifiés sur place).
+     */
+    static long[] with(long[] sorted, long productId) {
+        int position = Arrays.binarySearch(sorted, productId);
+        if (position >= 0) {
+            return sorted;
+        }
+        int insertion = -position - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertion);
+        result[insertion] = productId;
+        System.arraycopy(sorted, insertion, result, insertion + 1, sorted.length - insertion);
+        return result;
+    }
+
+    static long[] without(long[] sorted, long productId) {
+        int position = Arrays.binarySearch(sorted, productId);
+        if (position < 0) {
+            return sorted;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        System.arraycopy(sorted, position + 1, result, position, sorted.length - position - 1);
+        return result;
+    }
+}
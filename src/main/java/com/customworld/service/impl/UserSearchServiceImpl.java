@@ -0,0 +1,132 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.UserMatchResponse;
+import com.customworld.enums.UserRole;
+import com.customworld.event.UserRegisteredEvent;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.UserSearchService;
+import com.utils.TextNormalizer;
+import com.utils.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recherche approximative d'utilisateurs par nom ou email pour l'administration.
+ * Les mots des noms et emails forment un vocabulaire indexé par trigrammes : chaque mot de la requête
+ * retrouve les mots à une ou deux fautes près, et les utilisateurs sont classés par la somme des
+ * proximités de leurs mots. L'index est reconstruit à la demande après une inscription ou quand il
+ * a dépassé son âge maximal (suppressions et modifications de profil).
+ */
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchServiceImpl.class);
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_EXPANSIONS = 16;
+    private static final int MAX_LIMIT = 100;
+
+    private final UserRepository userRepository;
+    private final Duration maxAge;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile Snapshot snapshot;
+
+    public UserSearchServiceImpl(UserRepository userRepository,
+                                 @Value("${admin.user-search.max-age:PT5M}") Duration maxAge) {
+        this.userRepository = userRepository;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Utilisateurs dont le nom ou l'email ressemble à la requête, les plus proches d'abord.
+     */
+    @Override
+    public List<UserMatchResponse> search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = fresh();
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Map<Integer, Double> best = new HashMap<>();
+            int maxDistance = term.length() < MIN_FUZZY_LENGTH ? 0 : ProductSearchIndex.maxDistance(term);
+            for (TrigramIndex.Match match : current.vocabulary().search(term, maxDistance, MAX_EXPANSIONS)) {
+                double proximity = 1.0 / (1 + match.distance());
+                for (int user : current.postings().get(match.word())) {
+                    best.merge(user, proximity, Math::max);
+                }
+            }
+            best.forEach((user, proximity) -> scores.merge(user, proximity, Double::sum));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> current.users()[entry.getKey()].id()))
+                .limit(size)
+                .map(entry -> {
+                    IndexedUser user = current.users()[entry.getKey()];
+                    return new UserMatchResponse(user.id(), user.name(), user.email(), user.role(), entry.getValue());
+                })
+                .toList();
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        dirty.set(true);
+    }
+
+    private Snapshot fresh() {
+        Snapshot current = snapshot;
+        if (current != null && !dirty.get() && System.currentTimeMillis() - current.builtAt() < maxAge.toMillis()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || dirty.get() || System.currentTimeMillis() - current.builtAt() >= maxAge.toMillis()) {
+                dirty.set(false);
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build() {
+        List<Object[]> rows = userRepository.findSearchFields();
+        IndexedUser[] users = new IndexedUser[rows.size()];
+        Map<String, List<Integer>> lists = new HashMap<>();
+        TrigramIndex vocabulary = new TrigramIndex();
+        for (int i = 0; i < users.length; i++) {
+            Object[] row = rows.get(i);
+            users[i] = new IndexedUser((Long) row[0], (String) row[1], (String) row[2], (UserRole) row[3]);
+            LinkedHashSet<String> words = new LinkedHashSet<>(TextNormalizer.tokenize(users[i].name()));
+            words.addAll(TextNormalizer.tokenize(users[i].email()));
+            for (String word : words) {
+                lists.computeIfAbsent(word, w -> new ArrayList<>()).add(i);
+                vocabulary.add(word);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((word, list) -> postings.put(word, list.stream().mapToInt(Integer::intValue).toArray()));
+        log.debug("User search index rebuilt: {} users, {} words", users.length, postings.size());
+        return new Snapshot(users, postings, vocabulary, System.currentTimeMillis());
+    }
+
+    private record IndexedUser(Long id, String name, String email, UserRole role) {
+    }
+
+    private record Snapshot(IndexedUser[] users, Map<String, int[]> postings, TrigramIndex vocabulary, long builtAt) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.OrderStatus;
+import com.customworld.event.DirectOrderStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.OrderRepository;
+import com.customworld.repository.VendorDailyOrderStatusRepository;
+import com.customworld.repository.VendorDailySalesRepository;
+import com.customworld.service.VendorSalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Maintient les agrégats journaliers des ventes par vendeur ({@code vendor_daily_sales},
+ * {@code vendor_daily_order_status}).
+ * Chaque changement de commande validé marque la commande ; un passage périodique résout les couples
+ * (vendeur, jour) touchés et recalcule uniquement ceux-là, à partir des commandes de ce jour. Le recalcul
+ * est idempotent : un événement manqué ou rejoué se corrige au passage suivant sur la même clé, et le coût
+ * ne dépend que du volume d'une journée, jamais de la taille de l'historique.
+ * Les jours sont découpés dans un fuseau explicite ({@code vendor.rollups.zone}), le même pour les bornes calculées
+ * ici et pour le jour des commandes horodatées ({@code orders.created_at}) calculé en SQL.
+ */
+@Service
+public class VendorSalesRollupServiceImpl implements VendorSalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(VendorSalesRollupServiceImpl.class);
+
+    /**
+     * Statuts comptés dans le chiffre d'affaires et les unités vendues.
+     */
+    static final Set<OrderStatus> SOLD = EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.PAID, OrderStatus.IN_PROGRESS,
+            OrderStatus.COMPLETED, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+    private static final int ID_BATCH_SIZE = 500;
+    private static final int REBUILD_WINDOW_DAYS = 31;
+
+    private final VendorDailySalesRepository salesRepository;
+    private final VendorDailyOrderStatusRepository statusRepository;
+    private final CustomOrderRepository customOrderRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private final ZoneId zone;
+    private final List<String> soldStatuses = SOLD.stream().map(Enum::name).toList();
+    private final Set<Long> dirtyCustomOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyPaymentOrders = ConcurrentHashMap.newKeySet();
+    private final Set<RollupKey> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    public VendorSalesRollupServiceImpl(VendorDailySalesRepository salesRepository,
+                                        VendorDailyOrderStatusRepository statusRepository,
+                                        CustomOrderRepository customOrderRepository,
+                                        OrderRepository orderRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${vendor.rollups.backfill-on-startup:true}") boolean backfillOnStartup,
+                                        @Value("${vendor.rollups.zone:Africa/Douala}") ZoneId zone) {
+        this.salesRepository = salesRepository;
+        this.statusRepository = statusRepository;
+        this.customOrderRepository = customOrderRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+        this.zone = zone;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        dirtyCustomOrders.add(event.getOrderId());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        dirtyPaymentOrders.add(event.getOrderId());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectOrderStatusChanged(DirectOrderStatusChangedEvent event) {
+        dirtyPaymentOrders.add(event.getOrderId());
+    }
+
+    /**
+     * Recalcule les couples (vendeur, jour) touchés depuis le dernier passage.
+     * Une clé dont le recalcul échoue est reprise au passage suivant.
+     *
+     * @return Nombre de couples recalculés.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${vendor.rollups.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        Set<RollupKey> keys = new HashSet<>(drain(pendingKeys));
+        resolve(dirtyCustomOrders, salesRepository::findCustomOrderKeys, keys);
+        resolve(dirtyPaymentOrders, orderIds -> salesRepository.findPaymentOrderKeys(orderIds, zone.getId()), keys);
+        return rebuildAll(keys);
+    }
+
+    /**
+     * Reconstruit les agrégats de la période (bornes incluses), fenêtre par fenêtre : couples ayant des
+     * commandes, plus ceux déjà agrégés dont les commandes ont disparu.
+     *
+     * @return Nombre de couples recalculés.
+     */
+    @Override
+    public synchronized int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Période invalide: " + from + " -> " + to, "");
+        }
+        long start = System.currentTimeMillis();
+        int rebuilt = 0;
+        for (LocalDate windowStart = from; !windowStart.isAfter(to); windowStart = windowStart.plusDays(REBUILD_WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(REBUILD_WINDOW_DAYS - 1L);
+            if (windowEnd.isAfter(to)) {
+                windowEnd = to;
+            }
+            Set<RollupKey> keys = new HashSet<>();
+            toKeys(salesRepository.findOrderKeysBetween(windowStart.atStartOfDay(), windowEnd.plusDays(1).atStartOfDay(),
+                    startOf(windowStart), startOf(windowEnd.plusDays(1)), zone.getId()), keys);
+            toKeys(statusRepository.findKeysBetween(windowStart, windowEnd), keys);
+            rebuilt += rebuildAll(keys);
+        }
+        log.info("Vendor sales rollups rebuilt from {} to {}: {} vendor-days in {} ms",
+                from, to, rebuilt, System.currentTimeMillis() - start);
+        return rebuilt;
+    }
+
+    /**
+     * Construit l'historique au premier démarrage, quand les tables d'agrégats sont encore vides.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (statusRepository.count() > 0) {
+                return;
+            }
+            LocalDate earliest = earliestOrderDay();
+            if (earliest != null) {
+                rebuild(earliest, LocalDate.now());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Vendor sales rollup backfill failed: {}", e.getMessage());
+        }
+    }
+
+    private LocalDate earliestOrderDay() {
+        LocalDateTime customOrder = customOrderRepository.findEarliestOrderDate();
+        Instant paymentOrder = orderRepository.findEarliestCreatedAt();
+        LocalDate earliest = customOrder != null ? customOrder.toLocalDate() : null;
+        if (paymentOrder != null) {
+            LocalDate day = LocalDate.ofInstant(paymentOrder, zone);
+            if (earliest == null || day.isBefore(earliest)) {
+                earliest = day;
+            }
+        }
+        return earliest;
+    }
+
+    private void resolve(Set<Long> dirtyOrders, Function<Collection<Long>, List<Object[]>> finder, Set<RollupKey> keys) {
+        List<Long> orderIds = drain(dirtyOrders);
+        for (int i = 0; i < orderIds.size(); i += ID_BATCH_SIZE) {
+            List<Long> batch = orderIds.subList(i, Math.min(i + ID_BATCH_SIZE, orderIds.size()));
+            try {
+                toKeys(finder.apply(batch), keys);
+            } catch (RuntimeException e) {
+                log.warn("Could not resolve vendor rollup keys for {} orders, retrying later: {}", batch.size(), e.getMessage());
+                dirtyOrders.addAll(batch);
+            }
+        }
+    }
+
+    private int rebuildAll(Set<RollupKey> keys) {
+        int rebuilt = 0;
+        for (RollupKey key : keys) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuild(key));
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("Vendor rollup rebuild failed for vendor {} on {}, retrying later: {}",
+                        key.vendorId(), key.day(), e.getMessage());
+                pendingKeys.add(key);
+            }
+        }
+        return rebuilt;
+    }
+
+    private void rebuild(RollupKey key) {
+        LocalDate day = key.day();
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        Instant startInstant = startOf(day);
+        Instant endInstant = startOf(day.plusDays(1));
+        salesRepository.deleteVendorDay(key.vendorId(), day);
+        statusRepository.deleteVendorDay(key.vendorId(), day);
+        salesRepository.insertVendorDay(key.vendorId(), day, start, end, startInstant, endInstant, soldStatuses);
+        statusRepository.insertVendorDay(key.vendorId(), day, start, end, startInstant, endInstant);
+    }
+
+    private Instant startOf(LocalDate day) {
+        return day.atStartOfDay(zone).toInstant();
+    }
+
+    private static void toKeys(List<Object[]> rows, Set<RollupKey> keys) {
+        for (Object[] row : rows) {
+            Object day = row[1];
+            keys.add(new RollupKey(((Number) row[0]).longValue(),
+                    day instanceof Date date ? date.toLocalDate() : (LocalDate) day));
+        }
+    }
+
+    private static <T> List<T> drain(Set<T> set) {
+        List<T> drained = new ArrayList<>();
+        for (Iterator<T> iterator = set.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    record RollupKey(long vendorId, LocalDate day) {
+    }
+}
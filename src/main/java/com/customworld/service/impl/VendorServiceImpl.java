@@ -3,11 +3,16 @@ package com.customworld.service.impl;
 import com.customworld.dto.request.ProductRequest;
 import com.customworld.dto.response.OrderResponse;
 import com.customworld.dto.response.ProductResponse;
+import com.customworld.dto.response.VendorStatisticsResponse;
 import com.customworld.enums.OrderStatus;
 import com.customworld.entity.Category;
 import com.customworld.entity.Order;
 import com.customworld.entity.Product;
 import com.customworld.entity.User;
+import com.customworld.event.DirectOrderStatusChangedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.exception.BadRequestException;
 import com.customworld.exception.ResourceNotFoundException;
 import com.customworld.repository.CategoryRepository;
 import com.customworld.repository.OrderRepository;
@@ -15,11 +20,15 @@ import com.customworld.repository.ProductLikeRepository;
 import com.customworld.repository.ProductRepository;
 import com.customworld.repository.ProductReviewRepository;
 import com.customworld.repository.UserRepository;
+import com.customworld.repository.VendorDailyOrderStatusRepository;
+import com.customworld.repository.VendorDailySalesRepository;
 import com.customworld.service.FileStorageService;
+import com.customworld.service.ProductCounterService;
 import com.customworld.service.ProductInteractionService;
 import com.customworld.service.VendorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,7 +37,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +62,13 @@ public class VendorServiceImpl implements VendorService {
     private final FileStorageService fileStorageService;
     private final ProductLikeRepository likeRepository;
     private final ProductReviewRepository reviewRepository;
+    private final VendorDailySalesRepository salesRollupRepository;
+    private final VendorDailyOrderStatusRepository orderStatusRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCounterService productCounterService;
+    private static final int TOP_PRODUCTS = 5;
+    private static final int DEFAULT_STATISTICS_DAYS = 30;
+    private static final int MAX_STATISTICS_DAYS = 3660;
     private static final Logger log = LoggerFactory.getLogger(VendorServiceImpl.class);
 
     public VendorServiceImpl(
@@ -56,7 +78,11 @@ public class VendorServiceImpl implements VendorService {
             OrderRepository orderRepository,
             FileStorageService fileStorageService,
             ProductLikeRepository likeRepository,
-            ProductReviewRepository reviewRepository
+            ProductReviewRepository reviewRepository,
+            VendorDailySalesRepository salesRollupRepository,
+            VendorDailyOrderStatusRepository orderStatusRollupRepository,
+            ApplicationEventPublisher eventPublisher,
+            ProductCounterService productCounterService
     ) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
@@ -65,6 +91,10 @@ public class VendorServiceImpl implements VendorService {
         this.fileStorageService = fileStorageService;
         this.likeRepository = likeRepository;
         this.reviewRepository = reviewRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderStatusRollupRepository = orderStatusRollupRepository;
+        this.eventPublisher = eventPublisher;
+        this.productCounterService = productCounterService;
     }
 
     @Override
@@ -90,6 +120,7 @@ public class VendorServiceImpl implements VendorService {
 
         product = productRepository.save(product);
         log.info("Product created with ID: {}", product.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), false));
 
         return convertToProductResponse(product);
     }
@@ -167,6 +198,7 @@ public class VendorServiceImpl implements VendorService {
 
         product = productRepository.save(product);
         log.info("Product updated: {}", productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, false));
 
         return convertToProductResponse(product);
     }
@@ -199,6 +231,7 @@ public class VendorServiceImpl implements VendorService {
 
         productRepository.deleteById(productId);
         log.info("Product deleted: {}", productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, true));
     }
 
 
@@ -229,23 +262,103 @@ public class VendorServiceImpl implements VendorService {
             throw new ResourceNotFoundException("Vous n'êtes pas autorisé à modifier cette commande");
         }
 
-        order.setStatus(status);
-        order.setUpdatedAt(Instant.now());
-        order = orderRepository.save(order);
+        // Réponse construite avant la mise à jour, qui détache la commande déjà lue : pas de relecture ensuite
+        OrderResponse response = convertToOrderResponse(order);
+        if (orderRepository.updateStatus(orderId, OrderStatus.sourcesOf(status), status, Instant.now()) == 0) {
+            log.warn("Invalid status transition from {} to {} for order {}", order.getStatus(), status, orderId);
+            throw new IllegalStateException("Transition de statut non autorisée: " + order.getStatus() + " -> " + status);
+        }
         log.info("Order status updated: {} to {}", orderId, status);
+        eventPublisher.publishEvent(new DirectOrderStatusChangedEvent(orderId, status));
+        if (status == OrderStatus.PAID || status == OrderStatus.FAILED) {
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(orderId, status));
+        }
 
-        return convertToOrderResponse(order);
+        response.setStatus(status);
+        return response;
     }
 
+    /**
+     * Statistiques du vendeur authentifié sur la période (bornes incluses), lues uniquement dans les agrégats
+     * journaliers et les compteurs par produit : le coût ne dépend ni du nombre de commandes ni de leurs articles.
+     *
+     * @param from Premier jour (par défaut : 29 jours avant {@code to})
+     * @param to Dernier jour (par défaut : aujourd'hui)
+     * @return Chiffre d'affaires, unités, commandes par statut, meilleurs produits et interactions par produit.
+     */
     @Override
-    public Object getVendorStatistics() {
-        log.warn("getVendorStatistics() not implemented");
-        return new Object();
+    @Transactional(readOnly = true)
+    public VendorStatisticsResponse getVendorStatistics(LocalDate from, LocalDate to) {
+        User vendor = com.utils.UserInterceptor.getAuthenticatedUser(userRepository);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_STATISTICS_DAYS - 1L);
+        if (start.isAfter(end) || start.plusDays(MAX_STATISTICS_DAYS).isBefore(end)) {
+            throw new BadRequestException("Période invalide: " + start + " -> " + end, "");
+        }
+        Long vendorId = vendor.getId();
+
+        Map<Long, VendorStatisticsResponse.ProductStatistics> products = new LinkedHashMap<>();
+        for (Object[] row : productRepository.findIdAndNameByVendorId(vendorId)) {
+            products.put((Long) row[0], VendorStatisticsResponse.ProductStatistics.builder()
+                    .productId((Long) row[0])
+                    .name((String) row[1])
+                    .build());
+        }
+        double revenue = 0;
+        long unitsSold = 0;
+        for (Object[] row : salesRollupRepository.sumPerProduct(vendorId, start, end)) {
+            VendorStatisticsResponse.ProductStatistics product = products.computeIfAbsent((Long) row[0],
+                    id -> VendorStatisticsResponse.ProductStatistics.builder().productId(id).build());
+            product.setUnitsSold(((Number) row[1]).longValue());
+            product.setRevenue(((Number) row[2]).doubleValue());
+            product.setOrderCount(((Number) row[3]).longValue());
+            unitsSold += product.getUnitsSold();
+            revenue += product.getRevenue();
+        }
+        for (Object[] row : likeRepository.countPerProductOfVendor(vendorId)) {
+            VendorStatisticsResponse.ProductStatistics product = products.get((Long) row[0]);
+            if (product != null) {
+                product.setLikeCount(((Number) row[1]).longValue());
+            }
+        }
+        for (Object[] row : reviewRepository.countPerProductOfVendor(vendorId)) {
+            VendorStatisticsResponse.ProductStatistics product = products.get((Long) row[0]);
+            if (product != null) {
+                product.setReviewCount(((Number) row[1]).longValue());
+            }
+        }
+
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        long orderCount = 0;
+        for (Object[] row : orderStatusRollupRepository.countPerStatus(vendorId, start, end)) {
+            long count = ((Number) row[1]).longValue();
+            ordersByStatus.put((OrderStatus) row[0], count);
+            orderCount += count;
+        }
+
+        List<VendorStatisticsResponse.ProductStatistics> topProducts = products.values().stream()
+                .filter(product -> product.getUnitsSold() > 0)
+                .sorted(Comparator.comparingDouble(VendorStatisticsResponse.ProductStatistics::getRevenue).reversed()
+                        .thenComparing(Comparator.comparingLong(VendorStatisticsResponse.ProductStatistics::getUnitsSold).reversed()))
+                .limit(TOP_PRODUCTS)
+                .collect(Collectors.toList());
+
+        return VendorStatisticsResponse.builder()
+                .from(start)
+                .to(end)
+                .revenue(revenue)
+                .unitsSold(unitsSold)
+                .orderCount(orderCount)
+                .ordersByStatus(ordersByStatus)
+                .topProducts(topProducts)
+                .products(new ArrayList<>(products.values()))
+                .generatedAt(Instant.now())
+                .build();
     }
 
     private ProductResponse convertToProductResponse(Product product) {
-        long likeCount = likeRepository.countByProductId(product.getId());
-        long reviewCount = reviewRepository.countByProductId(product.getId());
+        long likeCount = productCounterService.likeCount(product);
+        long reviewCount = productCounterService.reviewCount(product);
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -261,7 +374,10 @@ public class VendorServiceImpl implements VendorService {
                 .color(product.getColor())
                 .likeCount(likeCount)
                 .reviewCount(reviewCount)
-                .rating(ProductInteractionService.calculateRating(likeCount))
+                .rating(ProductInteractionService.calculateRating(product.getRatingSummary(), likeCount))
+                .averageRating(product.getRatingSummary().average())
+                .ratingCount(product.getRatingSummary().getCount())
+                .ratingHistogram(product.getRatingSummary().histogram())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
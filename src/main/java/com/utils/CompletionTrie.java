@@ -0,0 +1,240 @@
+package com.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Trie de complétion immuable et compact : les nœuds sont rangés en largeur dans des tableaux primitifs
+ * (les enfants d'un nœud sont contigus et triés, trouvés par recherche dichotomique) et chaque nœud connaît
+ * d'avance ses {@code maxCompletions} meilleures entrées par poids décroissant. Une complétion parcourt donc
+ * le préfixe puis copie une liste déjà triée, sans allocation. Un nœud à enfant unique et sans entrée propre
+ * partage la liste de son enfant, ce qui évite de la dupliquer le long des branches.
+ * Sûr en lecture concurrente une fois construit.
+ */
+public final class CompletionTrie {
+
+    private final char[] labels;
+    private final int[] childStart;
+    private final int[] topOffset;
+    private final int[] topLength;
+    private final int[] topEntries;
+
+    private CompletionTrie(char[] labels, int[] childStart, int[] topOffset, int[] topLength, int[] topEntries) {
+        this.labels = labels;
+        this.childStart = childStart;
+        this.topOffset = topOffset;
+        this.topLength = topLength;
+        this.topEntries = topEntries;
+    }
+
+    public static Builder builder(int maxCompletions) {
+        return new Builder(maxCompletions);
+    }
+
+    /**
+     * Copie dans {@code out} les meilleures entrées dont une clé commence par {@code prefix}.
+     *
+     * @return Nombre d'entrées copiées (au plus {@code out.length}).
+     */
+    public int complete(CharSequence prefix, int[] out) {
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        if (node < 0) {
+            return 0;
+        }
+        int count = Math.min(out.length, topLength[node]);
+        System.arraycopy(topEntries, topOffset[node], out, 0, count);
+        return count;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char candidate = labels[middle];
+            if (candidate < label) {
+                low = middle + 1;
+            } else if (candidate > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collecte les clés (dans n'importe quel ordre) puis construit le trie en une fois.
+     */
+    public static final class Builder {
+
+        private final int maxCompletions;
+        private final List<String> keys = new ArrayList<>();
+        private int[] keyEntries = new int[16];
+        private long[] weights = new long[16];
+
+        private Builder(int maxCompletions) {
+            if (maxCompletions < 1) {
+                throw new IllegalArgumentException("Le nombre de complétions doit être positif");
+            }
+            this.maxCompletions = maxCompletions;
+        }
+
+        /**
+         * Associe une clé à une entrée ; une même entrée peut être atteinte par plusieurs clés.
+         *
+         * @param entry Identifiant de l'entrée, de 0 à n - 1.
+         * @param weight Poids de l'entrée (le plus grand d'abord) ; le dernier poids donné pour une entrée l'emporte.
+         */
+        public Builder add(String key, int entry, long weight) {
+            if (key == null || key.isEmpty()) {
+                return this;
+            }
+            if (entry >= weights.length) {
+                weights = Arrays.copyOf(weights, Math.max(entry + 1, weights.length * 2));
+            }
+            weights[entry] = weight;
+            if (keys.size() == keyEntries.length) {
+                keyEntries = Arrays.copyOf(keyEntries, keyEntries.length * 2);
+            }
+            keyEntries[keys.size()] = entry;
+            keys.add(key);
+            return this;
+        }
+
+        public CompletionTrie build() {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keys::get));
+
+            Node root = new Node('\0');
+            for (int index : order) {
+                String key = keys.get(index);
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childFor(key.charAt(i));
+                }
+                node.addOwn(keyEntries[index]);
+            }
+            Comparator<Integer> best = Comparator.<Integer>comparingLong(entry -> weights[entry]).reversed()
+                    .thenComparing(Comparator.naturalOrder());
+            computeTops(root, best);
+            return flatten(root);
+        }
+
+        /**
+         * Calcule les meilleures entrées de chaque nœud, des feuilles vers la racine.
+         */
+        private void computeTops(Node root, Comparator<Integer> best) {
+            List<Node> postOrder = new ArrayList<>();
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                postOrder.add(node);
+                node.children.forEach(stack::push);
+            }
+            for (int i = postOrder.size() - 1; i >= 0; i--) {
+                Node node = postOrder.get(i);
+                if (node.own == null && node.children.size() == 1) {
+                    node.top = node.children.get(0).top;
+                    continue;
+                }
+                List<Integer> candidates = new ArrayList<>();
+                if (node.own != null) {
+                    candidates.addAll(node.own);
+                }
+                for (Node child : node.children) {
+                    for (int entry : child.top) {
+                        candidates.add(entry);
+                    }
+                }
+                node.top = candidates.stream().distinct().sorted(best).limit(maxCompletions)
+                        .mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        private CompletionTrie flatten(Node root) {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(root);
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.addAll(nodes.get(i).children);
+            }
+            int count = nodes.size();
+            char[] labels = new char[count];
+            int[] childStart = new int[count + 1];
+            int[] topOffset = new int[count];
+            int[] topLength = new int[count];
+            int[] topEntries = new int[count * 2];
+            int nextChild = 1;
+            int nextTop = 0;
+            IdentityHashMap<int[], Integer> sharedTops = new IdentityHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Node node = nodes.get(i);
+                labels[i] = node.label;
+                childStart[i] = nextChild;
+                nextChild += node.children.size();
+                Integer offset = sharedTops.get(node.top);
+                if (offset == null) {
+                    if (nextTop + node.top.length > topEntries.length) {
+                        topEntries = Arrays.copyOf(topEntries, Math.max(nextTop + node.top.length, topEntries.length * 2));
+                    }
+                    System.arraycopy(node.top, 0, topEntries, nextTop, node.top.length);
+                    offset = nextTop;
+                    nextTop += node.top.length;
+                    sharedTops.put(node.top, offset);
+                }
+                topOffset[i] = offset;
+                topLength[i] = node.top.length;
+            }
+            childStart[count] = nextChild;
+            return new CompletionTrie(labels, childStart, topOffset, topLength, Arrays.copyOf(topEntries, nextTop));
+        }
+    }
+
+    /**
+     * Nœud de construction ; les clés étant insérées triées, un enfant existant est toujours le dernier ajouté.
+     */
+    private static final class Node {
+        private final char label;
+        private final List<Node> children = new ArrayList<>(2);
+        private List<Integer> own;
+        private int[] top;
+
+        private Node(char label) {
+            this.label = label;
+        }
+
+        private Node childFor(char label) {
+            if (!children.isEmpty()) {
+                Node last = children.get(children.size() - 1);
+                if (last.label == label) {
+                    return last;
+                }
+            }
+            Node child = new Node(label);
+            children.add(child);
+            return child;
+        }
+
+        private void addOwn(int entry) {
+            if (own == null) {
+                own = new ArrayList<>(1);
+            }
+            own.add(entry);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.utils;
+
+import com.customworld.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination par clé (keyset) sur un couple (date, id) trié par ordre décroissant.
+ * La page suivante reprend strictement après la dernière ligne renvoyée, avec un coût constant
+ * quelle que soit la profondeur, contrairement à un OFFSET.
+ */
+public final class KeysetCursor {
+
+    private final LocalDateTime date;
+    private final long id;
+
+    public KeysetCursor(LocalDateTime date, long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Forme transmise au client (base64 URL, sans remplissage).
+     */
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Curseur reçu du client, ou null pour la première page
+     * @return Le curseur décodé, ou null pour la première page
+     * @throws BadRequestException si le curseur est illisible
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Curseur de pagination invalide", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.utils;
+
+/**
+ * Table de hachage {@code long -> float} à adressage ouvert (sondage linéaire), sans objet par entrée :
+ * clés et valeurs sont rangées dans des tableaux primitifs, d'où une empreinte de 13 octets par case au lieu
+ * d'une soixantaine pour un {@code HashMap<Long, Float>}. La suppression décale les entrées suivantes de la grappe
+ * (pas de marqueur de tombe), si bien que la table ne se dégrade pas après de nombreuses suppressions.
+ * Non synchronisée.
+ */
+public final class LongFloatHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private float[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    public LongFloatHashMap() {
+        this(8);
+    }
+
+    public LongFloatHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Visiteur des entrées.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, float value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return La valeur associée, ou {@code defaultValue} si la clé est absente.
+     */
+    public float getOrDefault(long key, float defaultValue) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(long key, float value) {
+        int slot = slotFor(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        growIfNeeded();
+    }
+
+    /**
+     * Ajoute {@code delta} à la valeur de la clé (0 si absente).
+     *
+     * @return La nouvelle valeur.
+     */
+    public float addTo(long key, float delta) {
+        int slot = slotFor(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = delta;
+            size++;
+            growIfNeeded();
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * @return Vrai si la clé était présente.
+     */
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        size--;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        return true;
+    }
+
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Clés présentes, dans un ordre quelconque.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[count++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private int find(long key) {
+        for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Case de la clé si elle est présente, sinon première case libre de sa grappe.
+     */
+    private int slotFor(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growIfNeeded() {
+        if (size <= keys.length * LOAD_FACTOR) {
+            return;
+        }
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotFor(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Mélange des bits (finaliseur de MurmurHash3) : des identifiants consécutifs ne forment pas de grappes.
+     */
+    private static int hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
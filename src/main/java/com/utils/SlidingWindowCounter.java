@@ -0,0 +1,100 @@
+package com.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteur sur fenêtre glissante, sans verrou : un anneau de {@code slotCount} tranches de {@code slotMillis}.
+ * Chaque tranche tient dans un seul {@code long} (numéro de tranche sur les 40 bits hauts, compte sur les 24 bits bas),
+ * si bien qu'un incrément et la remise à zéro d'une tranche périmée se font par un même compare-and-set.
+ * La somme couvre les {@code slotCount} dernières tranches, tranche courante incluse : la fenêtre effective varie
+ * entre {@code (slotCount - 1) * slotMillis} et {@code slotCount * slotMillis}.
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long STAMP_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private final AtomicLongArray slots;
+    private final long slotMillis;
+
+    public SlidingWindowCounter(int slotCount, long slotMillis) {
+        if (slotCount < 1 || slotMillis < 1) {
+            throw new IllegalArgumentException("La fenêtre doit compter au moins une tranche d'au moins 1 ms");
+        }
+        this.slots = new AtomicLongArray(slotCount);
+        this.slotMillis = slotMillis;
+    }
+
+    public void increment(long nowMillis) {
+        add(nowMillis, 1);
+    }
+
+    /**
+     * Ajoute {@code delta} (positif) à la tranche courante ; une tranche saturée reste à sa valeur maximale.
+     */
+    public void add(long nowMillis, long delta) {
+        long stamp = stamp(nowMillis);
+        int index = index(nowMillis);
+        while (true) {
+            long current = slots.get(index);
+            long slotStamp = current >>> COUNT_BITS;
+            if (slotStamp != stamp && ((slotStamp - stamp) & STAMP_MASK) < STAMP_MASK / 2) {
+                return; // La tranche a déjà été réutilisée par un instant plus récent : incrément tardif ignoré
+            }
+            long count = slotStamp == stamp ? current & COUNT_MASK : 0;
+            long next = (stamp << COUNT_BITS) | Math.min(COUNT_MASK, count + delta);
+            if (current == next || slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Somme des tranches encore dans la fenêtre à l'instant donné.
+     */
+    public long sum(long nowMillis) {
+        long stamp = stamp(nowMillis);
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            long age = (stamp - (value >>> COUNT_BITS)) & STAMP_MASK;
+            if (age < slots.length()) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Somme des tranches de la fenêtre, chacune pondérée par {@code 0.5^(âge / demi-vie)} :
+     * la tranche courante compte pleinement, une tranche vieille d'une demi-vie pour moitié.
+     */
+    public double decayedSum(long nowMillis, long halfLifeMillis) {
+        long stamp = stamp(nowMillis);
+        double total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            long age = (stamp - (value >>> COUNT_BITS)) & STAMP_MASK;
+            if (age < slots.length() && (value & COUNT_MASK) > 0) {
+                total += (value & COUNT_MASK) * Math.pow(0.5, (double) age * slotMillis / halfLifeMillis);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Durée maximale couverte par la fenêtre.
+     */
+    public long windowMillis() {
+        return slots.length() * slotMillis;
+    }
+
+    private long stamp(long nowMillis) {
+        return (nowMillis / slotMillis) & STAMP_MASK;
+    }
+
+    private int index(long nowMillis) {
+        return (int) ((nowMillis / slotMillis) % slots.length());
+    }
+}
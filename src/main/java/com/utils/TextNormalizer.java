@@ -0,0 +1,97 @@
+package com.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalisation de texte pour la recherche : minuscules, accents retirés (« Téléphone » → « telephone »),
+ * ligatures dépliées (« œ » → « oe ») et découpage en mots sur tout ce qui n'est ni lettre ni chiffre.
+ * Les mots vides courants (français et anglais) sont ignorés et le pluriel régulier est ramené au singulier,
+ * de sorte que l'index et les requêtes passent par exactement la même analyse.
+ */
+public final class TextNormalizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "au", "aux", "avec", "ce", "ces", "d", "dans", "de", "des", "du", "en", "et", "l", "la", "le",
+            "les", "ou", "par", "pour", "sa", "se", "ses", "sur", "un", "une",
+            "an", "and", "for", "in", "of", "on", "or", "the", "to", "with");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Texte en minuscules, sans accents ni ligatures ; la ponctuation est conservée.
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            switch (Character.getType(c)) {
+                case Character.NON_SPACING_MARK, Character.COMBINING_SPACING_MARK, Character.ENCLOSING_MARK -> {
+                }
+                default -> {
+                    switch (c) {
+                        case 'œ' -> folded.append("oe");
+                        case 'æ' -> folded.append("ae");
+                        case 'ß' -> folded.append("ss");
+                        case '’' -> folded.append('\'');
+                        default -> folded.append(c);
+                    }
+                }
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Mots normalisés d'un texte, dans l'ordre, mots vides retirés et pluriels réguliers ramenés au singulier.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Retire le « s » ou « x » final des mots assez longs (« chemises » → « chemise », « bijoux » → « bijou »).
+     */
+    static String stem(String token) {
+        int length = token.length();
+        if (length > 3) {
+            char last = token.charAt(length - 1);
+            if ((last == 's' || last == 'x') && Character.isLetter(token.charAt(length - 2))
+                    && token.charAt(length - 2) != 's') {
+                return token.substring(0, length - 1);
+            }
+        }
+        return token;
+    }
+}
@@ -0,0 +1,197 @@
+package com.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index de trigrammes sur un vocabulaire de mots, pour retrouver les mots proches d'un mot mal orthographié.
+ * Chaque mot, encadré de marqueurs ({@code "  mot "}), est découpé en trigrammes ; les candidats d'une requête
+ * sont les mots qui partagent assez de trigrammes avec elle (une modification en détruit au plus trois, une inversion
+ * de deux lettres voisines au plus quatre), puis
+ * la distance d'édition est vérifiée avec une borne, ce qui coupe le calcul dès qu'elle est dépassée.
+ * Un trigramme répété dans un mot figure autant de fois dans sa liste : le filtre peut laisser passer
+ * trop de candidats, jamais en écarter un bon.
+ * Les recherches peuvent être concurrentes (tampons de comptage par thread) ; les ajouts et suppressions
+ * doivent être exclusifs, sous le verrou du propriétaire.
+ */
+public final class TrigramIndex {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final ThreadLocal<int[]> overlaps = ThreadLocal.withInitial(() -> new int[16]);
+
+    /**
+     * Mot proche trouvé, avec sa distance d'édition à la requête.
+     */
+    public record Match(String word, int distance) {
+    }
+
+    public void add(String word) {
+        if (word == null || word.isEmpty() || ids.containsKey(word)) {
+            return;
+        }
+        int id;
+        if (freeIds.isEmpty()) {
+            id = words.size();
+            words.add(word);
+        } else {
+            id = freeIds.pop();
+            words.set(id, word);
+        }
+        ids.put(word, id);
+        for (String trigram : trigrams(word)) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(id);
+        }
+    }
+
+    public void remove(String word) {
+        Integer id = ids.remove(word);
+        if (id == null) {
+            return;
+        }
+        for (String trigram : trigrams(word)) {
+            IntList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        words.set(id, null);
+        freeIds.push(id);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Mots du vocabulaire à au plus {@code maxDistance} modifications de {@code query}
+     * (insertion, suppression, substitution ou inversion de deux lettres voisines), les plus proches d'abord.
+     */
+    public List<Match> search(String query, int maxDistance, int limit) {
+        if (query == null || query.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        List<String> grams = trigrams(query);
+        int[] overlap = overlaps.get();
+        if (overlap.length < words.size()) {
+            overlap = new int[Math.max(words.size(), overlap.length * 2)];
+            overlaps.set(overlap);
+        }
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        for (String gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int id = list.values[i];
+                if (overlap[id]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            String word = words.get(id);
+            int shared = overlap[id];
+            overlap[id] = 0;
+            int required = Math.max(query.length(), word.length()) + 1 - 4 * maxDistance;
+            if (shared < required || Math.abs(word.length() - query.length()) > maxDistance) {
+                continue;
+            }
+            int distance = boundedDistance(query, word, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(word, distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::word));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Distance d'édition avec inversion de lettres voisines (alignement optimal), calculée dans une bande
+     * de largeur {@code 2 * max + 1} ; renvoie {@code max + 1} dès que la borne est certainement dépassée.
+     */
+    public static int boundedDistance(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int infinity = max + 1;
+        int[] before = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = Math.min(j, infinity);
+        }
+        for (int i = 1; i <= n; i++) {
+            Arrays.fill(current, infinity);
+            current[0] = Math.min(i, infinity);
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = Math.min(value, infinity);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return infinity;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+
+    private static List<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -12,13 +12,7 @@ public class UserInterceptor {
     
     public static User getAuthenticatedUser(com.customworld.repository.UserRepository userRepository) {
     
-       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            log.error("Utilisateur non authentifié");
-            throw new ResourceNotFoundException("Utilisateur non authentifié");
-        }
-
-        String email = authentication.getName(); // Récupère l'email ou le nom d'utilisateur
+        String email = getAuthenticatedEmail(); // Récupère l'email ou le nom d'utilisateur
         User vendor = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     log.error("Vendor not found with email: {}", email);
@@ -27,4 +21,16 @@ public class UserInterceptor {
 
         return vendor;
             }
+
+    /**
+     * Email de l'utilisateur authentifié, sans accès à la base (chemins à fort débit).
+     */
+    public static String getAuthenticatedEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            log.error("Utilisateur non authentifié");
+            throw new ResourceNotFoundException("Utilisateur non authentifié");
+        }
+        return authentication.getName();
+    }
 }
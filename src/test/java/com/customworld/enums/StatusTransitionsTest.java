@@ -0,0 +1,62 @@
+package com.customworld.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusTransitionsTest {
+
+    @Test
+    void orderSourcesAreTheInverseOfTheTransitionTable() {
+        for (OrderStatus target : OrderStatus.values()) {
+            for (OrderStatus from : OrderStatus.values()) {
+                assertThat(OrderStatus.sourcesOf(target).contains(from))
+                        .as("%s -> %s", from, target)
+                        .isEqualTo(from.canTransitionTo(target));
+            }
+        }
+    }
+
+    @Test
+    void deliverySourcesAreTheInverseOfTheTransitionTable() {
+        for (DeliveryStatus target : DeliveryStatus.values()) {
+            for (DeliveryStatus from : DeliveryStatus.values()) {
+                assertThat(DeliveryStatus.sourcesOf(target).contains(from))
+                        .as("%s -> %s", from, target)
+                        .isEqualTo(from.canTransitionTo(target));
+            }
+        }
+    }
+
+    @Test
+    void orderTransitions() {
+        assertThat(OrderStatus.sourcesOf(OrderStatus.PAID))
+                .containsExactlyInAnyOrder(OrderStatus.PENDING, OrderStatus.FAILED, OrderStatus.CONFIRMED);
+        assertThat(OrderStatus.sourcesOf(OrderStatus.CANCELLED))
+                .containsExactlyInAnyOrder(OrderStatus.PENDING, OrderStatus.IN_PROGRESS);
+        assertThat(OrderStatus.sourcesOf(OrderStatus.PENDING)).containsExactly(OrderStatus.FAILED);
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.PENDING)).isFalse();
+        assertThat(OrderStatus.PENDING.canBeCancelled()).isTrue();
+        assertThat(OrderStatus.SHIPPED.canBeCancelled()).isFalse();
+    }
+
+    @Test
+    void deliveryTransitions() {
+        assertThat(DeliveryStatus.sourcesOf(DeliveryStatus.ASSIGNED)).containsExactly(DeliveryStatus.PENDING);
+        assertThat(DeliveryStatus.sourcesOf(DeliveryStatus.ISSUE_REPORTED))
+                .containsExactlyInAnyOrder(DeliveryStatus.ASSIGNED, DeliveryStatus.IN_PROGRESS);
+        assertThat(DeliveryStatus.sourcesOf(DeliveryStatus.PENDING)).isEmpty();
+        assertThat(DeliveryStatus.DELIVERED.canTransitionTo(DeliveryStatus.IN_PROGRESS)).isFalse();
+    }
+
+    @Test
+    void sourcesCannotBeModifiedByCallers() {
+        assertThatThrownBy(() -> OrderStatus.sourcesOf(OrderStatus.PAID).add(OrderStatus.DELIVERED))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> DeliveryStatus.sourcesOf(DeliveryStatus.PENDING).add(DeliveryStatus.DELIVERED))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(OrderStatus.sourcesOf(OrderStatus.PAID)).doesNotContain(OrderStatus.DELIVERED);
+    }
+}
@@ -0,0 +1,174 @@
+package com.customworld.service.impl;
+
+import com.customworld.config.FileStorageConfig;
+import com.customworld.dto.request.UploadSessionRequest;
+import com.customworld.dto.response.UploadSessionResponse;
+import com.customworld.exception.BadRequestException;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.service.FileStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceImplTest {
+
+    private static final int CHUNK_SIZE = 4;
+
+    @TempDir
+    Path directory;
+
+    private FileStorageService fileStorageService;
+    private ChunkedUploadServiceImpl service;
+    private final byte[] content = "0123456789".getBytes();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = mock(FileStorageService.class);
+        service = new ChunkedUploadServiceImpl(fileStorageService, configFor(directory), CHUNK_SIZE, 1024, Duration.ofHours(1));
+    }
+
+    @Test
+    void assemblesChunksSentOutOfOrderAndVerifiesChecksum() throws Exception {
+        byte[][] assembled = new byte[1][];
+        when(fileStorageService.storeFile(any(Path.class), eq("design.psd"))).thenAnswer(invocation -> {
+            assembled[0] = Files.readAllBytes(invocation.getArgument(0, Path.class));
+            return "123_design.psd";
+        });
+        UploadSessionResponse session = service.createSession(request(content));
+        assertThat(session.getChunkCount()).isEqualTo(3);
+
+        service.writeChunk(session.getSessionId(), 8, chunk(8, 10)).block();
+        UploadSessionResponse partial = service.writeChunk(session.getSessionId(), 0, chunk(0, 4)).block();
+        assertThat(partial.getMissingChunks()).containsExactly(1);
+        assertThat(partial.getReceivedBytes()).isEqualTo(6);
+
+        service.writeChunk(session.getSessionId(), 4, chunk(4, 8)).block();
+        UploadSessionResponse completed = service.completeSession(session.getSessionId()).block();
+
+        assertThat(completed.isCompleted()).isTrue();
+        assertThat(completed.getStoredFileName()).isEqualTo("123_design.psd");
+        assertThat(assembled[0]).isEqualTo(content);
+        assertThatThrownBy(() -> service.getSession(session.getSessionId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void rejectsMisalignedOffsetsAndOversizedChunks() {
+        UploadSessionResponse session = service.createSession(request(content));
+
+        assertThatThrownBy(() -> service.writeChunk(session.getSessionId(), 3, chunk(0, 4)).block())
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.writeChunk(session.getSessionId(), 0, chunk(0, 6)).block())
+                .isInstanceOf(BadRequestException.class);
+        assertThat(service.getSession(session.getSessionId()).getMissingChunks()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void discardsSessionWhenChecksumDoesNotMatch() {
+        UploadSessionRequest request = request(content);
+        request.setChecksum("0".repeat(64));
+        UploadSessionResponse session = service.createSession(request);
+        service.writeChunk(session.getSessionId(), 0, chunk(0, 4)).block();
+        service.writeChunk(session.getSessionId(), 4, chunk(4, 8)).block();
+        service.writeChunk(session.getSessionId(), 8, chunk(8, 10)).block();
+
+        assertThatThrownBy(() -> service.completeSession(session.getSessionId()).block())
+                .isInstanceOf(BadRequestException.class);
+        verify(fileStorageService, never()).storeFile(any(Path.class), any());
+        assertThat(directory.resolve(".partial").resolve(session.getSessionId() + ".part")).doesNotExist();
+    }
+
+    @Test
+    void completedFileCanBeAttachedOnlyOnceAndOnlyByItsUploader() {
+        when(fileStorageService.storeFile(any(Path.class), eq("design.psd"))).thenReturn("123_design.psd");
+        authenticate("alice@example.com");
+        UploadSessionResponse session = service.createSession(request(content));
+        service.writeChunk(session.getSessionId(), 0, chunk(0, 4)).block();
+        service.writeChunk(session.getSessionId(), 4, chunk(4, 8)).block();
+        service.writeChunk(session.getSessionId(), 8, chunk(8, 10)).block();
+        service.completeSession(session.getSessionId()).block();
+
+        authenticate("bob@example.com");
+        assertThatThrownBy(() -> service.consumeCompletedUpload("123_design.psd"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.consumeCompletedUpload("999_product.png"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        authenticate("alice@example.com");
+        assertThat(service.consumeCompletedUpload("123_design.psd")).isEqualTo("123_design.psd");
+        assertThatThrownBy(() -> service.consumeCompletedUpload("123_design.psd"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void expiresIdleSessions() {
+        ChunkedUploadServiceImpl shortLived = new ChunkedUploadServiceImpl(fileStorageService,
+                configFor(directory), CHUNK_SIZE, 1024, Duration.ZERO);
+        UploadSessionResponse session = shortLived.createSession(request(content));
+
+        shortLived.expireAbandonedSessions();
+
+        assertThatThrownBy(() -> shortLived.getSession(session.getSessionId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(directory.resolve(".partial").resolve(session.getSessionId() + ".part")).doesNotExist();
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, "password", Collections.emptyList()));
+    }
+
+    private UploadSessionRequest request(byte[] bytes) {
+        return UploadSessionRequest.builder()
+                .fileName("design.psd")
+                .totalSize((long) bytes.length)
+                .checksum(sha256(bytes))
+                .build();
+    }
+
+    private Flux<DataBuffer> chunk(int from, int to) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(content, from, to)));
+    }
+
+    private static FileStorageConfig configFor(Path directory) {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(directory.toString());
+        return config;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
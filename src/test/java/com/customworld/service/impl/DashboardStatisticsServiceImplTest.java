@@ -0,0 +1,78 @@
+package com.customworld.service.impl;
+
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardStatisticsServiceImplTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final DashboardStatisticsServiceImpl statistics =
+            new DashboardStatisticsServiceImpl(productRepository, userRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.count()).thenReturn(10L);
+        when(productRepository.countByIsOnSaleTrue()).thenReturn(2L);
+        when(productRepository.countPerCategory()).thenReturn(List.of(
+                new Object[]{1L, "Sacs", 6L},
+                new Object[]{2L, "Tasses", 4L}));
+        when(userRepository.count()).thenReturn(50L);
+        when(userRepository.countByCreatedAtGreaterThanEqual(any())).thenReturn(5L);
+    }
+
+    @Test
+    void servesWriteEventsFromMemoryAfterTheInitialReconciliation() {
+        assertThat(statistics.getSnapshot()).containsEntry("totalProducts", 10L).containsEntry("totalUsers", 50L);
+
+        statistics.productInserted(2L, "Tasses", true);
+        statistics.productUpdated(1L, false, 2L, "Tasses", false);
+        statistics.productDeleted(1L, false);
+        statistics.userInserted(LocalDate.now());
+        statistics.userDeleted(LocalDate.now().minusYears(1));
+
+        Map<String, Object> snapshot = statistics.getSnapshot();
+        assertThat(snapshot)
+                .containsEntry("totalProducts", 10L)
+                .containsEntry("onSaleProducts", 3L)
+                .containsEntry("totalUsers", 50L)
+                .containsEntry("newUsersThisMonth", 6L);
+        assertThat(snapshot.get("categories")).isEqualTo(List.of(
+                Map.of("category", "Tasses", "count", 6L),
+                Map.of("category", "Sacs", "count", 4L)));
+        verify(productRepository, times(1)).count();
+    }
+
+    @Test
+    void reusesTheSnapshotUntilSomethingChanges() {
+        Map<String, Object> first = statistics.getSnapshot();
+
+        assertThat(statistics.getSnapshot()).isSameAs(first);
+        statistics.userInserted(LocalDate.now());
+        assertThat(statistics.getSnapshot()).isNotSameAs(first);
+    }
+
+    @Test
+    void unknownChangesTriggerAReconciliation() {
+        statistics.getSnapshot();
+        statistics.productInserted(1L, "Sacs", false);
+
+        statistics.markUnknownChange();
+
+        assertThat(statistics.getSnapshot()).containsEntry("totalProducts", 10L);
+        verify(productRepository, times(2)).count();
+    }
+}
@@ -0,0 +1,140 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.LocationPingRequest;
+import com.customworld.dto.response.DeliveryPositionResponse;
+import com.customworld.entity.CustomOrder;
+import com.customworld.entity.Delivery;
+import com.customworld.entity.User;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.DeliveryRepository;
+import com.customworld.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DelivererLocationServiceImplTest {
+
+    private final DeliveryRepository deliveryRepository = mock(DeliveryRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DelivererLocationServiceImpl service = new DelivererLocationServiceImpl(
+            deliveryRepository, userRepository, jdbcTemplate, 4, 3, Duration.ofSeconds(30), 2, Duration.ofMinutes(5));
+
+    @Test
+    void keepsLatestPositionAndSamplesHistory() {
+        when(userRepository.findIdByEmailAndRole("rider@cw.com", UserRole.DELIVERY)).thenReturn(Optional.of(11L));
+        Instant start = Instant.now().minusSeconds(120);
+
+        service.recordPing("rider@cw.com", ping(4.05, 9.70, start));
+        service.recordPing("rider@cw.com", ping(4.06, 9.71, start.plusSeconds(10)));
+        service.recordPing("rider@cw.com", ping(4.00, 9.00, start.plusSeconds(5)));
+        service.recordPing("rider@cw.com", ping(4.07, 9.72, start.plusSeconds(40)));
+
+        when(deliveryRepository.findCustomerOrderDeliveries(eq(7L), eq(3L), anyCollection()))
+                .thenReturn(List.of(delivery(5L, 7L, 11L)));
+        DeliveryPositionResponse position = service.getOrderPosition(7L, 3L).orElseThrow();
+        assertThat(position.getLatitude()).isEqualTo(4.07);
+        assertThat(position.getRecordedAt()).isEqualTo(Instant.ofEpochMilli(start.plusSeconds(40).toEpochMilli()));
+
+        assertThat(service.flushHistory()).isEqualTo(2);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(List.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(userRepository, times(1)).findIdByEmailAndRole("rider@cw.com", UserRole.DELIVERY);
+    }
+
+    @Test
+    void rejectsUsersThatAreNotDeliverers() {
+        when(userRepository.findIdByEmailAndRole("buyer@cw.com", UserRole.DELIVERY)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.recordPing("buyer@cw.com", ping(4.05, 9.70, null)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void positionRequiresAnActiveDeliveryOfTheCustomer() {
+        when(deliveryRepository.findCustomerOrderDeliveries(eq(7L), eq(99L), anyCollection())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.getOrderPosition(7L, 99L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void historyBufferOverwritesOldestWhenFull() {
+        PositionHistoryBuffer buffer = new PositionHistoryBuffer(3);
+        for (long id = 1; id <= 5; id++) {
+            buffer.offer(id, 0, 0, id);
+        }
+
+        assertThat(buffer.overwritten()).isEqualTo(2);
+        assertThat(buffer.drain(10)).extracting(PositionHistoryBuffer.Sample::delivererId).containsExactly(3L, 4L, 5L);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void storeHandlesConcurrentDeliverers() throws Exception {
+        LatestPositionStore store = new LatestPositionStore(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                tasks.add(executor.submit(() -> {
+                    for (int ping = 1; ping <= 50; ping++) {
+                        for (long id = 1 + offset * 500L; id <= 500 + offset * 500L; id++) {
+                            store.update(id, id, ping, ping, 0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.size()).isEqualTo(4000);
+        for (long id = 1; id <= 4000; id++) {
+            LatestPositionStore.Position position = store.get(id);
+            assertThat(position.latitude()).isEqualTo(id);
+            assertThat(position.recordedAt()).isEqualTo(50);
+        }
+        assertThat(store.get(4001)).isNull();
+    }
+
+    private static LocationPingRequest ping(double latitude, double longitude, Instant recordedAt) {
+        return LocationPingRequest.builder().latitude(latitude).longitude(longitude).recordedAt(recordedAt).build();
+    }
+
+    private static Delivery delivery(Long id, Long orderId, Long delivererId) {
+        return Delivery.builder()
+                .id(id)
+                .order(CustomOrder.builder().id(orderId).build())
+                .deliverer(User.builder().id(delivererId).build())
+                .status(DeliveryStatus.IN_PROGRESS)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.DeliveryRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.impl.DeliveryDispatchServiceImpl.Assignment;
+import com.customworld.service.impl.DeliveryDispatchServiceImpl.DelivererLoad;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeliveryDispatchServiceImplTest {
+
+    @Test
+    void assignsEachOrderToTheLeastLoadedDeliverer() {
+        PriorityQueue<DelivererLoad> queue = queueOf(new DelivererLoad(1, 2), new DelivererLoad(2, 0), new DelivererLoad(3, 1));
+
+        List<Assignment> batch = DeliveryDispatchServiceImpl.plan(List.of(10L, 11L, 12L, 13L), queue, 8);
+
+        assertThat(batch).extracting(Assignment::delivererId).containsExactly(2L, 2L, 3L, 1L);
+        assertThat(queue).extracting(DelivererLoad::activeLoad).containsExactlyInAnyOrder(3L, 2L, 2L);
+    }
+
+    @Test
+    void stopsWhenEveryDelivererIsAtCapacity() {
+        PriorityQueue<DelivererLoad> queue = queueOf(new DelivererLoad(1, 1), new DelivererLoad(2, 2));
+
+        List<Assignment> batch = DeliveryDispatchServiceImpl.plan(List.of(10L, 11L, 12L), queue, 2);
+
+        assertThat(batch).containsExactly(new Assignment(10L, 1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queuesOrdersNoDelivererCanTakeAsUnassignedPendingDeliveries() {
+        CustomOrderRepository orderRepository = mock(CustomOrderRepository.class);
+        DeliveryRepository deliveryRepository = mock(DeliveryRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        DeliveryDispatchServiceImpl dispatch = new DeliveryDispatchServiceImpl(orderRepository, deliveryRepository,
+                userRepository, jdbcTemplate, mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class),
+                10, 1, true, true);
+        when(orderRepository.findUndispatchedOrderIds(any(), any())).thenReturn(new ArrayList<>(List.of(10L, 11L, 12L)));
+        when(userRepository.findIdsByRole(UserRole.DELIVERY)).thenReturn(List.of(1L));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList(), eq(3), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 1, 1}});
+        List<Assignment> inserted = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    inserted.addAll(invocation.getArgument(1));
+                    return new int[][]{{1, 1, 1}};
+                });
+
+        Map<String, Object> report = dispatch.dispatchPendingOrders();
+
+        assertThat(report).containsEntry("assigned", 1).containsEntry("queued", 2).containsEntry("capacityExhausted", true);
+        assertThat(inserted).containsExactly(new Assignment(10L, 1L), new Assignment(11L, null), new Assignment(12L, null));
+        assertThat(inserted.get(1).status()).isEqualTo(DeliveryStatus.PENDING);
+    }
+
+    private PriorityQueue<DelivererLoad> queueOf(DelivererLoad... loads) {
+        PriorityQueue<DelivererLoad> queue = new PriorityQueue<>(
+                Comparator.comparingLong(DelivererLoad::activeLoad).thenComparingLong(DelivererLoad::delivererId));
+        queue.addAll(List.of(loads));
+        return queue;
+    }
+}
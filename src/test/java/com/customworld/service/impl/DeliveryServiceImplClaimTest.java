@@ -0,0 +1,78 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.DeliveryResponse;
+import com.customworld.entity.CustomOrder;
+import com.customworld.entity.Delivery;
+import com.customworld.entity.User;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.repository.DeliveryRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chemin d'attribution du service : ligne verrouillée par le dépôt, mise à jour conditionnelle, réponse et événement.
+ * La répartition de lignes disjointes entre livreurs concurrents repose sur {@code FOR UPDATE SKIP LOCKED} et relève
+ * d'un test contre PostgreSQL, pas d'un dépôt simulé.
+ */
+class DeliveryServiceImplClaimTest {
+
+    private final DeliveryRepository deliveryRepository = mock(DeliveryRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final DeliveryServiceImpl deliveryService = new DeliveryServiceImpl(deliveryRepository, eventPublisher);
+
+    @Test
+    void claimAssignsTheLockedRowAndAnswersWithIt() {
+        when(deliveryRepository.findNextClaimableIdForUpdate(9L)).thenReturn(Optional.of(3L));
+        when(deliveryRepository.claim(3L, 9L)).thenReturn(1);
+        when(deliveryRepository.findById(3L)).thenReturn(Optional.of(Delivery.builder()
+                .id(3L)
+                .order(CustomOrder.builder().id(5L).build())
+                .deliverer(User.builder().id(9L).build())
+                .status(DeliveryStatus.ASSIGNED)
+                .build()));
+
+        Optional<DeliveryResponse> claimed = deliveryService.claimNextDelivery(9L);
+
+        assertThat(claimed).get().satisfies(response -> {
+            assertThat(response.getId()).isEqualTo(3L);
+            assertThat(response.getOrderId()).isEqualTo(5L);
+            assertThat(response.getDelivererId()).isEqualTo(9L);
+            assertThat(response.getStatus()).isEqualTo(DeliveryStatus.ASSIGNED);
+        });
+        ArgumentCaptor<DeliveryStatusChangedEvent> event = ArgumentCaptor.forClass(DeliveryStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getDelivererId()).isEqualTo(9L);
+    }
+
+    @Test
+    void emptyQueueClaimsNothing() {
+        when(deliveryRepository.findNextClaimableIdForUpdate(9L)).thenReturn(Optional.empty());
+
+        assertThat(deliveryService.claimNextDelivery(9L)).isEmpty();
+        verify(deliveryRepository, never()).claim(anyLong(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void lockedRowIsNotRequestedTwice() {
+        when(deliveryRepository.findNextClaimableIdForUpdate(9L)).thenReturn(Optional.of(3L));
+        when(deliveryRepository.claim(3L, 9L)).thenReturn(0);
+
+        assertThat(deliveryService.claimNextDelivery(9L)).isEmpty();
+        verify(deliveryRepository, times(1)).findNextClaimableIdForUpdate(9L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
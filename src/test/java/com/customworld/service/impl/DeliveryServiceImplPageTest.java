@@ -0,0 +1,79 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.CursorPage;
+import com.customworld.dto.response.DeliveryResponse;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.DeliveryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeliveryServiceImplPageTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private final DeliveryRepository deliveryRepository = mock(DeliveryRepository.class);
+    private final DeliveryServiceImpl deliveryService =
+            new DeliveryServiceImpl(deliveryRepository, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void returnsCursorThatResumesAfterTheLastRow() {
+        when(deliveryRepository.findDelivererPage(eq(11L), eq(EnumSet.of(DeliveryStatus.ASSIGNED)), any(), any(),
+                any(), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(row(9L, DAY), row(8L, DAY), row(5L, DAY.minusDays(1))));
+
+        CursorPage<DeliveryResponse> first = deliveryService.getDelivererDeliveriesPage(11L, "assigned", null, null, null, 2);
+
+        assertThat(first.getItems()).extracting(DeliveryResponse::getId).containsExactly(9L, 8L);
+        assertThat(first.isHasMore()).isTrue();
+
+        when(deliveryRepository.findDelivererPage(eq(11L), any(), any(), any(), eq(DAY), eq(8L), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(row(5L, DAY.minusDays(1))));
+
+        CursorPage<DeliveryResponse> second =
+                deliveryService.getDelivererDeliveriesPage(11L, "assigned", null, null, first.getNextCursor(), 2);
+
+        assertThat(second.getItems()).extracting(DeliveryResponse::getId).containsExactly(5L);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void capsPageSizeAndRejectsUnreadableCursors() {
+        when(deliveryRepository.findHistoryPageAnyStatus(any(), any(), any(), any(), eq(PageRequest.of(0, 101))))
+                .thenReturn(List.of());
+
+        assertThat(deliveryService.getDeliveryHistoryPage(null, null, null, null, 5000).getItems()).isEmpty();
+        assertThatThrownBy(() -> deliveryService.getDeliveryHistoryPage(null, null, null, "not-a-cursor", 20))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void withoutStatusTheDelivererPageHasNoStatusPredicate() {
+        when(deliveryRepository.findDelivererPageAnyStatus(eq(11L), any(), any(), any(), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(row(9L, DAY)));
+
+        assertThat(deliveryService.getDelivererDeliveriesPage(11L, " ", null, null, null, 2).getItems())
+                .extracting(DeliveryResponse::getId).containsExactly(9L);
+        verify(deliveryRepository, never()).findDelivererPage(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    private static DeliveryResponse row(Long id, LocalDateTime date) {
+        return new DeliveryResponse(id, id * 10, 11L, DeliveryStatus.ASSIGNED, null, date);
+    }
+}
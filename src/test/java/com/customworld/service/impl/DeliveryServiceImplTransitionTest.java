@@ -0,0 +1,129 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.DeliveryResponse;
+import com.customworld.entity.CustomOrder;
+import com.customworld.entity.Delivery;
+import com.customworld.entity.User;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.exception.IllegalOperationException;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeliveryServiceImplTransitionTest {
+
+    private final DeliveryRepository deliveryRepository = mock(DeliveryRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final DeliveryServiceImpl deliveryService = new DeliveryServiceImpl(deliveryRepository, eventPublisher);
+
+    private final Delivery delivery = Delivery.builder()
+            .id(3L)
+            .order(CustomOrder.builder().id(5L).build())
+            .deliverer(User.builder().id(9L).build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(deliveryRepository.findById(3L)).thenReturn(Optional.of(delivery));
+    }
+
+    @Test
+    void startAnswersWithTheNewStatusWithoutRereadingTheDelivery() {
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+        when(deliveryRepository.updateStatus(3L, DeliveryStatus.sourcesOf(DeliveryStatus.IN_PROGRESS),
+                DeliveryStatus.IN_PROGRESS)).thenReturn(1);
+
+        DeliveryResponse response = deliveryService.startDelivery(3L);
+
+        assertThat(response.getStatus()).isEqualTo(DeliveryStatus.IN_PROGRESS);
+        assertThat(response.getOrderId()).isEqualTo(5L);
+        verify(deliveryRepository, times(1)).findById(3L);
+        ArgumentCaptor<DeliveryStatusChangedEvent> event = ArgumentCaptor.forClass(DeliveryStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getStatus()).isEqualTo(DeliveryStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void completingADeliveryThatWasNotStartedIsRejected() {
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+
+        assertThatThrownBy(() -> deliveryService.completeDelivery(3L))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void concurrentChangeMakesTheConditionalUpdateReject() {
+        delivery.setStatus(DeliveryStatus.IN_PROGRESS);
+        when(deliveryRepository.updateStatus(anyLong(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> deliveryService.completeDelivery(3L))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void statusWithoutSourcesIsRejectedWithoutUpdating() {
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+
+        assertThatThrownBy(() -> deliveryService.updateDeliveryStatus(3L, "pending"))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(deliveryRepository, never()).updateStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void reportedIssueIsReturnedAndPublished() {
+        delivery.setStatus(DeliveryStatus.IN_PROGRESS);
+        when(deliveryRepository.updateStatusWithIssue(3L, DeliveryStatus.sourcesOf(DeliveryStatus.ISSUE_REPORTED),
+                DeliveryStatus.ISSUE_REPORTED, "Adresse introuvable")).thenReturn(1);
+
+        DeliveryResponse response = deliveryService.reportDeliveryIssue(3L, "Adresse introuvable");
+
+        assertThat(response.getStatus()).isEqualTo(DeliveryStatus.ISSUE_REPORTED);
+        assertThat(response.getIssueDescription()).isEqualTo("Adresse introuvable");
+        verify(deliveryRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void issueOnAFinishedDeliveryIsRejected() {
+        delivery.setStatus(DeliveryStatus.DELIVERED);
+
+        assertThatThrownBy(() -> deliveryService.reportDeliveryIssue(3L, "Colis abîmé"))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void acceptingAnAlreadyClaimedDeliveryIsRejected() {
+        delivery.setStatus(DeliveryStatus.PENDING);
+        when(deliveryRepository.claim(3L, 9L)).thenReturn(0);
+
+        assertThatThrownBy(() -> deliveryService.acceptDelivery(3L))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void unknownDeliveryIsNotFound() {
+        when(deliveryRepository.findById(4L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> deliveryService.startDelivery(4L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
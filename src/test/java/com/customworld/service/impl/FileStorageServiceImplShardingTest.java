@@ -0,0 +1,92 @@
+package com.customworld.service.impl;
+
+import com.customworld.config.FileStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class FileStorageServiceImplShardingTest {
+
+    @TempDir
+    Path directory;
+
+    private FileStorageServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(directory.toString());
+        service = new FileStorageServiceImpl(config, mock(ApplicationEventPublisher.class),
+                new HotFileCache(1024 * 1024, 64, 4096), false, 2, 0);
+    }
+
+    @Test
+    void shardsOriginalsAndVariantsIntoTheSameTwoLevelDirectory() {
+        Path original = service.shardedPath("1700_mug.png");
+        Path variant = service.shardedPath("1700_mug@w160.png");
+
+        assertThat(directory.relativize(original).getNameCount()).isEqualTo(3);
+        assertThat(directory.relativize(original).getName(0).toString()).matches("[0-9a-f]{2}");
+        assertThat(variant.getParent()).isEqualTo(original.getParent());
+    }
+
+    @Test
+    void resolvesLegacyFilesUntilTheyAreMigrated() throws Exception {
+        Files.write(directory.resolve("1700_a.txt"), "a".getBytes());
+        Files.write(directory.resolve("1700_b.txt"), "b".getBytes());
+        Files.write(directory.resolve("1700_c.txt"), "c".getBytes());
+        Files.createDirectories(directory.resolve(".partial"));
+
+        assertThat(service.resolveFilePath("1700_a.txt")).isEqualTo(directory.resolve("1700_a.txt"));
+
+        assertThat(service.migrateLegacyFiles()).isEqualTo(3);
+
+        assertThat(directory.resolve("1700_a.txt")).doesNotExist();
+        assertThat(directory.resolve(".partial")).isDirectory();
+        assertThat(service.resolveFilePath("1700_a.txt")).isEqualTo(service.shardedPath("1700_a.txt"));
+        try (InputStream input = service.loadFileAsResource("1700_b.txt").getInputStream()) {
+            assertThat(input.readAllBytes()).isEqualTo("b".getBytes());
+        }
+    }
+
+    @Test
+    void servesCachedFilesWithoutTouchingTheDisk() throws Exception {
+        Path stored = service.shardedPath("1700_hot.txt");
+        Files.createDirectories(stored.getParent());
+        Files.write(stored, "hot".getBytes());
+        FileStorageServiceImpl watched = spy(service);
+        watched.loadFileAsResource("1700_hot.txt");
+        clearInvocations(watched);
+
+        try (InputStream input = watched.loadFileAsResource("1700_hot.txt").getInputStream()) {
+            assertThat(input.readAllBytes()).isEqualTo("hot".getBytes());
+        }
+        verify(watched, never()).resolveFilePath(anyString());
+    }
+
+    @Test
+    void deletesFromBothLocations() throws Exception {
+        Files.write(directory.resolve("1700_d.txt"), "legacy".getBytes());
+        Path sharded = service.shardedPath("1700_d.txt");
+        Files.createDirectories(sharded.getParent());
+        Files.write(sharded, "sharded".getBytes());
+
+        service.deleteFile("1700_d.txt");
+
+        assertThat(directory.resolve("1700_d.txt")).doesNotExist();
+        assertThat(sharded).doesNotExist();
+    }
+}
@@ -0,0 +1,55 @@
+package com.customworld.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final HotFileCache cache = new HotFileCache(1024 * 1024, 64, 4096);
+
+    @Test
+    void servesSmallAndMappedFilesFromMemory() throws Exception {
+        Path small = Files.write(directory.resolve("small.txt"), "bonjour".getBytes());
+        Path large = Files.write(directory.resolve("large.bin"), new byte[1000]);
+
+        assertThat(read(cache.get(small, "small.txt"))).isEqualTo("bonjour".getBytes());
+        assertThat(read(cache.get(small, "small.txt"))).isEqualTo("bonjour".getBytes());
+        assertThat(cache.get(large, "large.bin").contentLength()).isEqualTo(1000);
+
+        assertThat(cache.getStatistics())
+                .containsEntry("hitCount", 1L)
+                .containsEntry("missCount", 2L)
+                .containsEntry("residentBytes", 1007L);
+    }
+
+    @Test
+    void skipsMissingOrOversizedFilesAndInvalidates() throws Exception {
+        Path oversized = Files.write(directory.resolve("oversized.bin"), new byte[5000]);
+        Path file = Files.write(directory.resolve("a.txt"), "v1".getBytes());
+
+        assertThat(cache.get(directory.resolve("missing.txt"), "missing.txt")).isNull();
+        assertThat(cache.get(oversized, "oversized.bin")).isNull();
+
+        cache.get(file, "a.txt");
+        Files.write(file, "v2".getBytes());
+        cache.invalidate(file);
+
+        assertThat(read(cache.get(file, "a.txt"))).isEqualTo("v2".getBytes());
+    }
+
+    private byte[] read(Resource resource) throws Exception {
+        try (InputStream input = resource.getInputStream()) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.ImageVariant;
+import com.customworld.service.FileStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageVariantServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ImageVariantServiceImpl service = new ImageVariantServiceImpl(fileStorageService, 1, 10);
+
+    @BeforeEach
+    void setUp() {
+        // Les écritures du pool attendent le feu vert du test : une génération reste « en cours » à volonté
+        when(fileStorageService.resolveFilePath(anyString())).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().startsWith("image-variant-")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return uploadDir.resolve((String) invocation.getArgument(0));
+        });
+        when(fileStorageService.loadFileAsResource(anyString()))
+                .thenAnswer(invocation -> new FileSystemResource(uploadDir.resolve((String) invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void variantNamesAndWidthSelection() {
+        assertThat(ImageVariant.CARD.fileNameFor("1700_logo.png")).isEqualTo("1700_logo@w480.png");
+        assertThat(ImageVariant.THUMBNAIL.fileNameFor("1700_scan")).isEqualTo("1700_scan@w160");
+        assertThat(ImageVariant.originalFileNameOf("1700_logo@w480.png")).isEqualTo("1700_logo.png");
+        assertThat(ImageVariant.isVariantFileName("1700_logo.png")).isFalse();
+
+        assertThat(ImageVariant.forWidth(1)).isEqualTo(ImageVariant.THUMBNAIL);
+        assertThat(ImageVariant.forWidth(160)).isEqualTo(ImageVariant.THUMBNAIL);
+        assertThat(ImageVariant.forWidth(161)).isEqualTo(ImageVariant.CARD);
+        assertThat(ImageVariant.forWidth(1080)).isEqualTo(ImageVariant.DETAIL);
+        assertThat(ImageVariant.forWidth(4000)).isEqualTo(ImageVariant.DETAIL);
+    }
+
+    @Test
+    void concurrentRequestsShareOneGeneration() throws Exception {
+        writeImage("1700_logo.png", 600);
+
+        CompletableFuture<Void> first = service.generate("1700_logo.png", EnumSet.of(ImageVariant.CARD));
+        CompletableFuture<Void> second = service.generate("1700_logo.png", EnumSet.of(ImageVariant.CARD));
+
+        assertThat(second).isSameAs(first);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(ImageIO.read(uploadDir.resolve("1700_logo@w480.png").toFile()).getWidth()).isEqualTo(480);
+    }
+
+    @Test
+    void missingVariantServesTheOriginalWithoutWaiting() throws Exception {
+        writeImage("1700_logo.png", 600);
+
+        Resource served = service.loadVariant("1700_logo.png", 200);
+
+        assertThat(served.getFilename()).isEqualTo("1700_logo.png");
+        release.countDown();
+        waitFor(uploadDir.resolve("1700_logo@w480.png"));
+        assertThat(service.loadVariant("1700_logo.png", 200).getFilename()).isEqualTo("1700_logo@w480.png");
+    }
+
+    @Test
+    void quickFailuresLeaveNoStaleGeneration() throws Exception {
+        Files.writeString(uploadDir.resolve("broken.png"), "not an image");
+        release.countDown();
+
+        for (int i = 0; i < 50; i++) {
+            service.generate("broken.png", EnumSet.of(ImageVariant.THUMBNAIL)).get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(uploadDir.resolve("broken@w160.png")).doesNotExist();
+    }
+
+    private void writeImage(String fileName, int width) throws IOException {
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_RGB), "png",
+                uploadDir.resolve(fileName).toFile());
+    }
+
+    private static void waitFor(Path path) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Files.exists(path) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.LiveMetrics;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.OrderStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.event.UserRegisteredEvent;
+import com.utils.SlidingWindowCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveMetricsServiceImplTest {
+
+    private final LiveMetricsServiceImpl service = new LiveMetricsServiceImpl(15);
+
+    @Test
+    void countsEventsAndComputesThePaymentSuccessRate() {
+        service.onOrderPlaced(new OrderPlacedEvent(1L, LocalDateTime.now(), 1000, 2));
+        service.onOrderPlaced(new OrderPlacedEvent(2L, LocalDateTime.now(), 500, 1));
+        service.onUserRegistered(new UserRegisteredEvent(3L, UserRole.CUSTOMER));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(1L, OrderStatus.PAID));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(1L, OrderStatus.PAID));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(1L, OrderStatus.PAID));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(2L, OrderStatus.FAILED));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(2L, OrderStatus.PENDING));
+        service.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(5L, 1L, 9L, DeliveryStatus.ISSUE_REPORTED, "colis abîmé"));
+        service.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(5L, 1L, 9L, DeliveryStatus.DELIVERED, null));
+
+        LiveMetrics metrics = service.snapshot();
+
+        assertThat(metrics.getOrdersLastMinute()).isEqualTo(2);
+        assertThat(metrics.getOrdersLastHour()).isEqualTo(2);
+        assertThat(metrics.getRegistrationsLastHour()).isEqualTo(1);
+        assertThat(metrics.getPaymentsSucceeded()).isEqualTo(3);
+        assertThat(metrics.getPaymentsFailed()).isEqualTo(1);
+        assertThat(metrics.getPaymentSuccessRate()).isEqualTo(0.75);
+        assertThat(metrics.getDeliveryIssuesLastHour()).isEqualTo(1);
+        assertThat(metrics.getPaymentWindowMinutes()).isEqualTo(15);
+    }
+
+    @Test
+    void streamStartsWithACurrentSnapshot() {
+        service.onOrderPlaced(new OrderPlacedEvent(1L, LocalDateTime.now(), 1000, 2));
+
+        var first = service.stream().blockFirst();
+
+        assertThat(first).isNotNull();
+        assertThat(first.event()).isEqualTo("metrics");
+        assertThat(first.data().getOrdersLastMinute()).isEqualTo(1);
+        assertThat(service.snapshot().getPaymentSuccessRate()).isNull();
+    }
+
+    @Test
+    void counterForgetsSlotsThatLeftTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60, 1_000);
+        long start = 1_700_000_000_000L;
+
+        counter.increment(start);
+        counter.add(start + 30_000, 4);
+
+        assertThat(counter.sum(start + 30_000)).isEqualTo(5);
+        assertThat(counter.sum(start + 60_500)).isEqualTo(4);
+        assertThat(counter.sum(start + 91_000)).isZero();
+
+        counter.increment(start + 120_000);
+        counter.increment(start + 60_000); // Même tranche de l'anneau, déjà réutilisée : ignoré
+        assertThat(counter.sum(start + 120_000)).isEqualTo(1);
+    }
+
+    @Test
+    void counterKeepsEveryConcurrentIncrement() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60, 60_000);
+        long now = 1_700_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(now);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.sum(now)).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,89 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.OrderResponse;
+import com.customworld.entity.CustomOrder;
+import com.customworld.entity.User;
+import com.customworld.enums.OrderStatus;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.CartRepository;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.DeliveryRepository;
+import com.customworld.repository.OrderItemRepository;
+import com.customworld.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplStatusTest {
+
+    private final CustomOrderRepository orderRepository = mock(CustomOrderRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final OrderServiceImpl orderService = new OrderServiceImpl(
+            orderRepository,
+            mock(UserRepository.class),
+            mock(CartRepository.class),
+            mock(OrderItemRepository.class),
+            mock(DeliveryRepository.class),
+            eventPublisher
+    );
+
+    private final CustomOrder order = CustomOrder.builder()
+            .id(5L)
+            .customer(User.builder().id(7L).build())
+            .status(OrderStatus.PENDING)
+            .build();
+
+    @Test
+    void successfulTransitionAnswersWithoutRereadingTheOrder() {
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+        when(orderRepository.updateStatus(5L, OrderStatus.sourcesOf(OrderStatus.PAID), OrderStatus.PAID)).thenReturn(1);
+
+        OrderResponse response = orderService.updateOrderStatus(5L, OrderStatus.PAID);
+
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(response.getCustomerId()).isEqualTo(7L);
+        verify(orderRepository, times(1)).findById(5L);
+        verify(eventPublisher).publishEvent(any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    void rejectedTransitionReportsTheCurrentStatusAndPublishesNothing() {
+        order.setStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(5L, OrderStatus.CANCELLED))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DELIVERED -> CANCELLED");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void unknownOrderIsNotUpdated() {
+        when(orderRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(5L, OrderStatus.PAID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(orderRepository, never()).updateStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void cancellingAShippedOrderIsRejected() {
+        order.setStatus(OrderStatus.SHIPPED);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.cancelOrder(5L)).isInstanceOf(IllegalStateException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,136 @@
+package com.customworld.service.impl;
+
+import com.customworld.config.FileStorageConfig;
+import com.customworld.dto.response.OrphanFileReport;
+import com.customworld.enums.ImageVariant;
+import com.customworld.repository.CategoryRepository;
+import com.customworld.repository.OrderItemRepository;
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.TemplateRepository;
+import com.customworld.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrphanFileCollectorServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final TemplateRepository templateRepository = mock(TemplateRepository.class);
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private final List<String> productImages = new ArrayList<>();
+    private OrphanFileCollectorServiceImpl collector;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.toString());
+        collector = new OrphanFileCollectorServiceImpl(fileStorageService, config, productRepository,
+                categoryRepository, templateRepository, orderItemRepository, mock(PlatformTransactionManager.class),
+                Duration.ofDays(7), 0.01, true);
+        when(productRepository.streamImagePaths()).thenAnswer(invocation -> productImages.stream());
+        when(categoryRepository.streamCoverImageUrls()).thenAnswer(invocation -> Stream.empty());
+        when(templateRepository.streamTemplatePaths()).thenAnswer(invocation -> Stream.empty());
+        when(orderItemRepository.streamImagePaths()).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @Test
+    void normalizesFileNamesAndUrls() {
+        assertThat(OrphanFileCollectorServiceImpl.normalize("1700_logo.png")).isEqualTo("1700_logo.png");
+        assertThat(OrphanFileCollectorServiceImpl.normalize(" /api/files/1700_logo.png?w=480 ")).isEqualTo("1700_logo.png");
+        assertThat(OrphanFileCollectorServiceImpl.normalize("https://cdn.example.com/a/1700_logo.png#top")).isEqualTo("1700_logo.png");
+        assertThat(OrphanFileCollectorServiceImpl.normalize("/api/files/")).isNull();
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedFilesAndTheirVariantsFollowTheOriginal() throws IOException {
+        productImages.add("/api/files/1700_kept.png?w=480");
+        oldFile("1700_kept.png");
+        oldFile(ImageVariant.CARD.fileNameFor("1700_kept.png"));
+        oldFile("1700_orphan.png");
+        oldFile(ImageVariant.THUMBNAIL.fileNameFor("1700_orphan.png"));
+        Files.writeString(uploadDir.resolve("1700_fresh.png"), "x");
+        oldFile(".partial/session.part");
+
+        OrphanFileReport report = collector.collect(false);
+
+        assertThat(report.getScannedFiles()).isEqualTo(5);
+        assertThat(report.getSkippedRecentFiles()).isEqualTo(1);
+        assertThat(report.getOrphanFiles()).isEqualTo(2);
+        assertThat(report.getDeletedFiles()).isEqualTo(2);
+        verify(fileStorageService).deleteFile("1700_orphan.png");
+        verify(fileStorageService).deleteFile("1700_orphan@w160.png");
+        verify(fileStorageService, never()).deleteFile("1700_kept.png");
+        verify(fileStorageService, never()).deleteFile("1700_kept@w480.png");
+        verify(fileStorageService, never()).deleteFile("1700_fresh.png");
+    }
+
+    @Test
+    void dryRunReportsWithoutDeleting() throws IOException {
+        oldFile("1700_orphan.png");
+
+        OrphanFileReport report = collector.collect(true);
+
+        assertThat(report.isDryRun()).isTrue();
+        assertThat(report.getOrphanFiles()).isEqualTo(1);
+        assertThat(report.getOrphanBytes()).isEqualTo(1);
+        assertThat(report.getDeletedFiles()).isZero();
+        assertThat(report.getSampleOrphans()).containsExactly("1700_orphan.png");
+        verify(fileStorageService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void uploadsWhoseNameLooksLikeAVariantAreKept() throws IOException {
+        productImages.add("1700_logo@w200.png");
+        productImages.add("1700_banner@w480.png");
+        oldFile("1700_logo@w200.png");
+        oldFile("1700_banner@w480.png");
+
+        OrphanFileReport report = collector.collect(false);
+
+        assertThat(report.getOrphanFiles()).isZero();
+        verify(fileStorageService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void referencesAddedSinceTheMarkPhaseAreHonoured() throws IOException {
+        oldFile("1700_late.png");
+        when(productRepository.streamImagePaths())
+                .thenAnswer(invocation -> Stream.empty())
+                .thenAnswer(invocation -> Stream.of("1700_late.png"));
+
+        OrphanFileReport report = collector.collect(false);
+
+        assertThat(report.getOrphanFiles()).isZero();
+        verify(fileStorageService, never()).deleteFile(anyString());
+    }
+
+    private void oldFile(String relative) throws IOException {
+        Path file = uploadDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "x");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+    }
+}
@@ -0,0 +1,92 @@
+package com.customworld.service.impl;
+
+import com.customworld.entity.Product;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCounterServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ProductCounterServiceImpl service = new ProductCounterServiceImpl(jdbcTemplate,
+            mock(PlatformTransactionManager.class), false);
+
+    @Test
+    void readsAddPendingDeltasToTheStoredColumns() {
+        Product product = Product.builder().id(1L).likeCount(10).reviewCount(2).build();
+
+        service.onProductLiked(new ProductLikedEvent(1L, null, 5L, true));
+        service.onProductLiked(new ProductLikedEvent(1L, null, 6L, true));
+        service.onProductLiked(new ProductLikedEvent(1L, null, 7L, false));
+        service.onProductReviewed(new ProductReviewedEvent(1L, null, 5L));
+        service.onProductReviewDeleted(new ProductReviewDeletedEvent(1L, 40L));
+        service.onProductReviewDeleted(new ProductReviewDeletedEvent(1L, 41L));
+
+        assertThat(service.likeCount(product)).isEqualTo(11);
+        assertThat(service.reviewCount(product)).isEqualTo(1);
+        assertThat(service.likeCount(Product.builder().id(2L).build())).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushesOneRowPerChangedProductAndClearsTheDeltas() {
+        service.onProductLiked(new ProductLikedEvent(1L, null, 5L, true));
+        service.onProductLiked(new ProductLikedEvent(1L, null, 6L, true));
+        service.onProductReviewed(new ProductReviewedEvent(2L, null, 5L));
+        service.onProductLiked(new ProductLikedEvent(3L, null, 5L, true));
+        service.onProductLiked(new ProductLikedEvent(3L, null, 5L, false));
+
+        assertThat(service.flush()).isEqualTo(2);
+
+        var rows = forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE products SET like_count = like_count + ?"),
+                rows.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        List<long[]> written = rows.getValue();
+        assertThat(written).containsExactlyInAnyOrder(new long[]{2, 0, 1}, new long[]{0, 1, 2});
+        assertThat(service.likeCount(Product.builder().id(1L).likeCount(2).build())).isEqualTo(2);
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    void keepsPendingDeltasWhenTheFlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        service.onProductLiked(new ProductLikedEvent(1L, null, 5L, true));
+
+        assertThat(service.flush()).isZero();
+
+        assertThat(service.likeCount(Product.builder().id(1L).build())).isEqualTo(1);
+    }
+
+    @Test
+    void reconciliationFlushesPendingDeltasFirst() {
+        service.onProductLiked(new ProductLikedEvent(1L, null, 5L, true));
+        when(jdbcTemplate.update(anyString())).thenReturn(3);
+
+        assertThat(service.reconcile()).isEqualTo(3);
+
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(startsWith("UPDATE products p SET like_count = (SELECT COUNT(*)"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ReviewRequest;
+import com.customworld.dto.response.CursorPage;
+import com.customworld.dto.response.ReviewResponse;
+import com.customworld.entity.Product;
+import com.customworld.entity.ProductReview;
+import com.customworld.entity.RatingSummary;
+import com.customworld.entity.User;
+import com.customworld.enums.UserRole;
+import com.customworld.event.ProductReviewDeletedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.ProductReviewRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.service.ProductCounterService;
+import com.customworld.service.ProductInteractionService;
+import com.customworld.service.UserLikesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductInteractionServiceImplTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final ProductReviewRepository reviewRepository = mock(ProductReviewRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ReviewPageCache reviewPageCache = new ReviewPageCache(3, 100, Duration.ofMinutes(10));
+
+    private final ProductInteractionServiceImpl service = new ProductInteractionServiceImpl(
+            mock(ProductLikeRepository.class),
+            reviewRepository,
+            productRepository,
+            userRepository,
+            eventPublisher,
+            mock(ProductCounterService.class),
+            mock(UserLikesService.class),
+            reviewPageCache
+    );
+
+    private final User customer = User.builder().id(7L).email("client@example.com").name("Client").role(UserRole.CUSTOMER).build();
+    private final Product product = Product.builder().id(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("client@example.com", "password", Collections.emptyList())
+        );
+        when(userRepository.findByEmail("client@example.com")).thenReturn(Optional.of(customer));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void addReviewRecordsItsRatingOnTheProduct() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(reviewRepository.save(any(ProductReview.class))).thenAnswer(invocation -> {
+            ProductReview saved = invocation.getArgument(0);
+            saved.setId(30L);
+            return saved;
+        });
+
+        ReviewResponse response = service.addReview(1L, new ReviewRequest("Très bien", 4));
+
+        assertThat(response.getRating()).isEqualTo(4);
+        verify(productRepository).addRating(1L, 4, 1);
+    }
+
+    @Test
+    void concurrentDeletesRemoveTheRatingOnce() {
+        ProductReview review = ProductReview.builder().id(30L).product(product).user(customer).rating(5).build();
+        when(reviewRepository.findById(30L)).thenReturn(Optional.of(review));
+        when(reviewRepository.deleteReviewById(30L)).thenReturn(1, 0);
+
+        service.deleteReview(30L);
+        service.deleteReview(30L);
+
+        verify(productRepository, times(1)).addRating(1L, 5, -1);
+        verify(eventPublisher, times(1)).publishEvent(any(ProductReviewDeletedEvent.class));
+    }
+
+    @Test
+    void unratedReviewsLeaveTheAggregateUntouched() {
+        ProductReview legacy = ProductReview.builder().id(31L).product(product).user(customer).build();
+        when(reviewRepository.findById(31L)).thenReturn(Optional.of(legacy));
+        when(reviewRepository.deleteReviewById(31L)).thenReturn(1);
+
+        service.deleteReview(31L);
+
+        verify(productRepository, never()).addRating(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void firstPageIsServedFromTheCacheUntilAReviewChanges() {
+        when(reviewRepository.findPage(eq(1L), any(Instant.class), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 4))))
+                .thenReturn(reviews(50, 49, 48, 47));
+
+        CursorPage<ReviewResponse> page = service.getProductReviews(1L, null, 3);
+        CursorPage<ReviewResponse> smaller = service.getProductReviews(1L, null, 2);
+
+        assertThat(page.getItems()).extracting(ReviewResponse::getId).containsExactly(50L, 49L, 48L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(smaller.getItems()).extracting(ReviewResponse::getId).containsExactly(50L, 49L);
+        verify(reviewRepository, times(1)).findPage(anyLong(), any(), anyLong(), any());
+
+        reviewPageCache.onProductReviewed(new ProductReviewedEvent(1L, null, 7L));
+        service.getProductReviews(1L, null, 3);
+
+        verify(reviewRepository, times(2)).findPage(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void nextPagesResumeStrictlyAfterTheCursor() {
+        when(reviewRepository.findPage(eq(1L), any(Instant.class), eq(Long.MAX_VALUE), any()))
+                .thenReturn(reviews(50, 49, 48, 47));
+        String cursor = service.getProductReviews(1L, null, 3).getNextCursor();
+        when(reviewRepository.findPage(1L, CREATED.plusSeconds(48), 48L, PageRequest.of(0, 11)))
+                .thenReturn(reviews(47));
+
+        CursorPage<ReviewResponse> next = service.getProductReviews(1L, cursor, 10);
+
+        assertThat(next.getItems()).extracting(ReviewResponse::getId).containsExactly(47L);
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void displayedRatingUsesStarsThenFallsBackToLikes() {
+        RatingSummary ratings = new RatingSummary(3, 11, 0, 0, 1, 2, 0);
+
+        assertThat(ratings.average()).isEqualTo(11 / 3.0);
+        assertThat(ratings.histogram()).containsExactly(0L, 0L, 1L, 2L, 0L);
+        assertThat(ProductInteractionService.calculateRating(ratings, 0)).isEqualTo(4);
+        assertThat(new RatingSummary().average()).isNull();
+        assertThat(ProductInteractionService.calculateRating(new RatingSummary(), 20)).isEqualTo(3);
+    }
+
+    private static List<ReviewResponse> reviews(long... ids) {
+        return Arrays.stream(ids)
+                .mapToObj(id -> ReviewResponse.builder().id(id).productId(1L).userName("Client")
+                        .createdAt(CREATED.plusSeconds(id)).build())
+                .toList();
+    }
+}
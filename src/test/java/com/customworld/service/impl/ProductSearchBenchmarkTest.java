@@ -0,0 +1,91 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.customworld.entity.Category;
+import com.customworld.entity.Product;
+import com.utils.TextNormalizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure de l'index de recherche sur un catalogue synthétique (1 million de produits par défaut).
+ * Désactivé par défaut ; à lancer avec :
+ * {@code mvn test -Dtest=ProductSearchBenchmarkTest -Dbenchmark=true -Dbenchmark.products=1000000 -DargLine=-Xmx4g}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductSearchBenchmarkTest {
+
+    private static final String[] NOUNS = {"chemise", "souris", "clavier", "telephone", "coque", "sac", "robe",
+            "pantalon", "montre", "lampe", "tasse", "casque", "chaussure", "bracelet", "ecran", "chargeur", "t-shirt",
+            "veste", "coussin", "tapis", "bouteille", "cahier", "stylo", "sandale", "pagne", "boubou", "collier"};
+    private static final String[] ADJECTIVES = {"rouge", "noir", "blanc", "bleu", "vert", "léger", "élégant",
+            "ergonomique", "sans fil", "imprimé", "brodé", "personnalisé", "en cuir", "en coton", "en wax", "premium"};
+    private static final String[] CATEGORIES = {"Vêtements", "Électronique", "Maison", "Accessoires", "Papeterie",
+            "Beauté", "Sport", "Bijoux"};
+    private static final String[] COLORS = {"Rouge", "Noir", "Blanc", "Bleu", "Vert", "Jaune", "Gris", "Rose"};
+
+    @Test
+    void searchesASyntheticCatalog() {
+        int productCount = Integer.getInteger("benchmark.products", 1_000_000);
+        Random random = new Random(42);
+        Category[] categories = Arrays.stream(CATEGORIES).map(name -> {
+            Category category = new Category();
+            category.setName(name);
+            return category;
+        }).toArray(Category[]::new);
+
+        ProductSearchIndex index = new ProductSearchIndex(new double[]{5_000, 10_000, 25_000, 50_000, 100_000});
+        long start = System.nanoTime();
+        for (int i = 0; i < productCount; i++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            index.put(Product.builder()
+                    .id((long) i + 1)
+                    .name(noun + " " + adjective + " modele" + random.nextInt(50_000))
+                    .description("Un " + noun + " " + adjective + " fabriqué au Cameroun, idéal pour offrir")
+                    .category(categories[random.nextInt(categories.length)])
+                    .color(List.of(COLORS[random.nextInt(COLORS.length)]))
+                    .price((double) (500 + random.nextInt(150_000)))
+                    .isOnSale(random.nextInt(5) == 0)
+                    .isNew(random.nextBoolean())
+                    .approved(random.nextInt(10) != 0)
+                    .build());
+        }
+        System.out.printf("Indexed %,d products in %,d ms%n", productCount, (System.nanoTime() - start) / 1_000_000);
+
+        ProductSearchFilter facets = ProductSearchFilter.builder()
+                .categories(List.of("Vêtements")).colors(List.of("Rouge")).onSale(true).maxPrice(20_000.0).build();
+        measure("exact two terms", index, i -> TextNormalizer.tokenize(NOUNS[i % NOUNS.length] + " rouge"), null);
+        measure("rare model term", index, i -> TextNormalizer.tokenize("modele" + (i * 97 % 50_000)), null);
+        measure("typo (fuzzy)", index, i -> TextNormalizer.tokenize(i % 2 == 0 ? "chemsie" : "telephnoe"), null);
+        measure("text + facets", index, i -> TextNormalizer.tokenize(NOUNS[i % NOUNS.length]), facets);
+        measure("facets only", index, i -> List.of(), facets);
+    }
+
+    private static void measure(String label, ProductSearchIndex index, IntFunction<List<String>> query,
+                                ProductSearchFilter filter) {
+        for (int i = 0; i < 20; i++) {
+            index.search(query.apply(i), filter, 0, 20);
+        }
+        int runs = 200;
+        long[] micros = new long[runs];
+        long matched = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            ProductSearchIndex.SearchResult result = index.search(query.apply(i), filter, 0, 20);
+            micros[i] = (System.nanoTime() - start) / 1_000;
+            matched += result.total();
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-16s p50 %,8d us  p99 %,8d us  avg hits %,d%n",
+                label, micros[runs / 2], micros[runs * 99 / 100], matched / runs);
+        assertThat(matched).isPositive();
+    }
+}
@@ -0,0 +1,161 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.request.ProductSearchFilter;
+import com.customworld.dto.response.ProductSearchResponse;
+import com.customworld.entity.Category;
+import com.customworld.entity.Product;
+import com.customworld.event.CategoryChangedEvent;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.ProductRepository;
+import com.utils.TextNormalizer;
+import com.utils.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchServiceImplTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductSearchServiceImpl service = new ProductSearchServiceImpl(productRepository, 50, false,
+            new double[]{5_000, 20_000});
+
+    @BeforeEach
+    void indexCatalog() {
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Téléphone portable", "Écran OLED et batterie longue durée", "Électronique", List.of("Noir"), 95_000.0),
+                product(2L, "Coque de téléphone", "Protège votre téléphone des chocs", "Accessoires", List.of("Rouge"), 3_000.0),
+                product(3L, "Chemises en lin", "Chemise légère pour l'été", "Vêtements", List.of("Blanc", "Bleu"), 12_000.0),
+                product(4L, "Souris sans fil", "Souris ergonomique", "Électronique", List.of("noir"), 7_500.0)));
+        assertThat(service.rebuild()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoresAccentsCaseAndPlurals() {
+        assertThat(ids(service.search("TELEPHONE", null, 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(service.search("chemise", null, 0, 10))).containsExactly(3L);
+        assertThat(ids(service.search("electronique noir", null, 0, 10))).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(TextNormalizer.tokenize("Les bijoux de l’Œuvre")).containsExactly("bijou", "oeuvre");
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        ProductSearchResponse response = service.search("téléphone", null, 0, 10);
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getHits().get(0).getScore()).isGreaterThan(0);
+        assertThat(ids(service.search("ergonomique souris", null, 0, 10))).containsExactly(4L);
+        assertThat(ids(service.search("portable telephone", null, 0, 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void paginatesRankedHits() {
+        ProductSearchResponse first = service.search("telephone", null, 0, 1);
+        ProductSearchResponse second = service.search("telephone", null, 1, 1);
+
+        assertThat(first.getTotal()).isEqualTo(2);
+        assertThat(ids(first)).hasSize(1);
+        assertThat(ids(second)).hasSize(1).doesNotContainAnyElementsOf(ids(first));
+        assertThat(service.search("telephone", null, 2, 1).getHits()).isEmpty();
+        assertThatThrownBy(() -> service.search("telephone", null, -1, 10)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void appliesProductChangesIncrementally() {
+        when(productRepository.findById(4L)).thenReturn(Optional.of(
+                product(4L, "Clavier mécanique", "Clavier rétroéclairé", "Électronique", List.of("Gris"), 20_000.0)));
+
+        service.onProductChanged(new ProductChangedEvent(4L, false));
+        service.onProductChanged(new ProductChangedEvent(2L, true));
+
+        assertThat(service.search("souris", null, 0, 10).getHits()).isEmpty();
+        assertThat(ids(service.search("clavier", null, 0, 10))).containsExactly(4L);
+        assertThat(ids(service.search("telephone", null, 0, 10))).containsExactly(1L);
+        assertThat(service.search("le la de", null, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void renamedCategoryIsReindexedForSearchAndFacets() {
+        when(productRepository.findByCategoryId(8L)).thenReturn(List.of(
+                product(2L, "Coque de téléphone", "Protège votre téléphone des chocs", "Étuis", List.of("Rouge"), 3_000.0)));
+
+        service.onCategoryChanged(new CategoryChangedEvent(8L, false));
+
+        assertThat(ids(service.search("etuis", null, 0, 10))).containsExactly(2L);
+        assertThat(service.search("accessoires", null, 0, 10).getTotal()).isZero();
+        assertThat(service.search(null, null, 0, 10).getFacets().get("category"))
+                .containsEntry("Étuis", 1L).doesNotContainKey("Accessoires");
+    }
+
+    @Test
+    void filtersByFacetsAndCountsOtherValues() {
+        ProductSearchFilter electronics = ProductSearchFilter.builder().categories(List.of("électronique")).build();
+
+        ProductSearchResponse response = service.search(null, electronics, 0, 10);
+
+        assertThat(ids(response)).containsExactly(4L, 1L);
+        assertThat(response.getFacets().get("category")).containsEntry("Électronique", 2L).containsEntry("Vêtements", 1L);
+        assertThat(response.getFacets().get("color")).containsExactly(entry("Noir", 2L));
+        assertThat(response.getFacets().get("onSale")).containsEntry("true", 1L).containsEntry("false", 1L);
+        assertThat(response.getFacets().get("price")).containsEntry("5000-20000", 1L).containsEntry("20000+", 1L);
+    }
+
+    @Test
+    void combinesTextFlagsAndPriceRange() {
+        ProductSearchFilter cheapOnSale = ProductSearchFilter.builder().onSale(true).minPrice(1_000.0).maxPrice(8_000.0).build();
+
+        assertThat(ids(service.search(null, cheapOnSale, 0, 10))).containsExactly(4L, 2L);
+        assertThat(ids(service.search("telephone", cheapOnSale, 0, 10))).containsExactly(2L);
+        assertThat(service.search("telephone", cheapOnSale, 0, 10).getFacets().get("category"))
+                .containsExactly(entry("Accessoires", 1L));
+        assertThat(service.search(null, ProductSearchFilter.builder().colors(List.of("Vert")).build(), 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void toleratesTyposInQueryTerms() {
+        when(productRepository.findById(5L)).thenReturn(Optional.of(
+                product(5L, "T-shirt col rond", "Coton bio", "Vêtements", List.of("Blanc"), 6_000.0)));
+        service.onProductChanged(new ProductChangedEvent(5L, false));
+
+        assertThat(ids(service.search("tshirt", null, 0, 10))).containsExactly(5L);
+        assertThat(ids(service.search("chemsie", null, 0, 10))).containsExactly(3L);
+        assertThat(ids(service.search("telephnoe portabel", null, 0, 10))).containsExactly(1L, 2L);
+        assertThat(ids(service.search("sourit", null, 0, 10))).containsExactly(4L);
+        assertThat(service.search("zzzzzz", null, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void boundedDistanceStopsPastTheLimit() {
+        assertThat(TrigramIndex.boundedDistance("chemise", "chemsie", 2)).isEqualTo(1);
+        assertThat(TrigramIndex.boundedDistance("souris", "sourit", 1)).isEqualTo(1);
+        assertThat(TrigramIndex.boundedDistance("clavier", "tablier", 1)).isEqualTo(2);
+        assertThat(TrigramIndex.boundedDistance("a", "abcd", 2)).isEqualTo(3);
+    }
+
+    private static List<Long> ids(ProductSearchResponse response) {
+        return response.getHits().stream().map(ProductSearchResponse.Hit::getProductId).toList();
+    }
+
+    private static Product product(Long id, String name, String description, String category, List<String> colors,
+                                   Double price) {
+        Category productCategory = new Category();
+        productCategory.setName(category);
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .category(productCategory)
+                .color(colors)
+                .price(price)
+                .isOnSale(id % 2 == 0)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.SuggestionResponse;
+import com.customworld.entity.Category;
+import com.customworld.enums.SuggestionType;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.repository.CategoryRepository;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductRepository;
+import com.utils.CompletionTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSuggestServiceImplTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final ProductLikeRepository likeRepository = mock(ProductLikeRepository.class);
+    private final ProductSuggestServiceImpl service = new ProductSuggestServiceImpl(productRepository,
+            categoryRepository, likeRepository, 3, Duration.ofMinutes(10));
+
+    @BeforeEach
+    void buildTrie() {
+        when(productRepository.findIdNameAndCategoryId()).thenReturn(List.of(
+                new Object[]{1L, "Souris sans fil", 10L},
+                new Object[]{2L, "Souris gamer RGB", 10L},
+                new Object[]{3L, "Sous-verre en liège", 20L},
+                new Object[]{4L, "Sac à dos", 20L}));
+        when(likeRepository.countPerProduct()).thenReturn(List.of(new Object[]{2L, 7L}, new Object[]{3L, 2L}));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(10L, "Électronique"), category(20L, "Maison")));
+        service.refresh();
+    }
+
+    @Test
+    void completesPrefixesByLikesIgnoringAccentsAndCase() {
+        assertThat(texts(service.suggest("SOU", 10))).containsExactly("Souris gamer RGB", "Sous-verre en liège", "Souris sans fil");
+        assertThat(texts(service.suggest("sous v", 10))).containsExactly("Sous-verre en liège");
+        assertThat(service.suggest("elec", 10)).singleElement()
+                .satisfies(suggestion -> {
+                    assertThat(suggestion.getType()).isEqualTo(SuggestionType.CATEGORY);
+                    assertThat(suggestion.getWeight()).isEqualTo(9);
+                });
+        assertThat(service.suggest("s", 2)).hasSize(2);
+        assertThat(service.suggest("xyz", 10)).isEmpty();
+        assertThat(service.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void completesFromAnyWordOfAName() {
+        assertThat(texts(service.suggest("fil", 10))).containsExactly("Souris sans fil");
+        assertThat(texts(service.suggest("lie", 10))).containsExactly("Sous-verre en liège");
+    }
+
+    @Test
+    void rebuildsOnlyAfterACatalogChange() {
+        service.refresh();
+        verify(productRepository, times(1)).findIdNameAndCategoryId();
+
+        when(productRepository.findIdNameAndCategoryId()).thenReturn(List.<Object[]>of(new Object[]{5L, "Sourdine", 20L}));
+        service.onProductChanged(new ProductChangedEvent(5L, false));
+        service.refresh();
+
+        assertThat(texts(service.suggest("sou", 10))).containsExactly("Sourdine");
+    }
+
+    @Test
+    void trieKeepsTheBestEntriesPerPrefix() {
+        CompletionTrie trie = CompletionTrie.builder(2)
+                .add("abc", 0, 1).add("abd", 1, 5).add("ab", 2, 3).add("b", 3, 9)
+                .build();
+        int[] out = new int[2];
+
+        assertThat(trie.complete("ab", out)).isEqualTo(2);
+        assertThat(out).containsExactly(1, 2);
+        assertThat(trie.complete("", out)).isEqualTo(2);
+        assertThat(out).containsExactly(3, 1);
+        assertThat(trie.complete("abc", out)).isEqualTo(1);
+        assertThat(out[0]).isZero();
+        assertThat(trie.complete("abz", out)).isZero();
+    }
+
+    private static List<String> texts(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getText).toList();
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,107 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.TrendingProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.event.ProductReviewedEvent;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductReviewRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductTrendingServiceImplTest {
+
+    private final ProductLikeRepository likeRepository = mock(ProductLikeRepository.class);
+    private final ProductReviewRepository reviewRepository = mock(ProductReviewRepository.class);
+    private final ProductTrendingServiceImpl service = new ProductTrendingServiceImpl(likeRepository, reviewRepository,
+            28, Duration.ofHours(6), Duration.ofDays(1), 3, 3, false);
+
+    @Test
+    void ranksProductsOverallAndPerCategory() {
+        like(1L, 10L, 2);
+        like(2L, 10L, 1);
+        service.onProductReviewed(new ProductReviewedEvent(3L, 20L, 99L));
+
+        assertThat(ids(service.trending(null, 10))).containsExactly(3L, 1L, 2L);
+        assertThat(ids(service.trending(10L, 10))).containsExactly(1L, 2L);
+        assertThat(ids(service.trending(20L, 10))).containsExactly(3L);
+        assertThat(service.trending(30L, 10)).isEmpty();
+        assertThat(service.trending(null, 1)).singleElement().satisfies(top -> {
+            assertThat(top.getRank()).isEqualTo(1);
+            assertThat(top.getReviews()).isEqualTo(1);
+            assertThat(top.getScore()).isEqualTo(3.0);
+        });
+    }
+
+    @Test
+    void unlikesLowerTheScoreAndEmptyProductsLeaveTheBoard() {
+        like(1L, 10L, 2);
+        like(2L, 10L, 1);
+        service.onProductLiked(new ProductLikedEvent(1L, 10L, 100L, false));
+        service.onProductLiked(new ProductLikedEvent(1L, 10L, 101L, false));
+
+        assertThat(ids(service.trending(null, 10))).containsExactly(2L);
+        assertThat(service.trending(null, 10).get(0).getLikes()).isEqualTo(1);
+    }
+
+    @Test
+    void boardsKeepOnlyTheBestEntries() {
+        for (long id = 1; id <= 5; id++) {
+            like(id, 10L, (int) id);
+        }
+
+        assertThat(ids(service.trending(null, 10))).containsExactly(5L, 4L, 3L);
+        assertThat(ids(service.trending(10L, 2))).containsExactly(5L, 4L);
+    }
+
+    @Test
+    void olderInteractionsWeighLessAfterBackfill() {
+        Instant now = Instant.now();
+        List<Object[]> likes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            likes.add(new Object[]{1L, 10L, now.minus(Duration.ofDays(5))});
+        }
+        likes.add(new Object[]{2L, 10L, now});
+        likes.add(new Object[]{3L, null, now.minus(Duration.ofDays(8))});
+        when(likeRepository.findRecent(any())).thenReturn(likes);
+        when(reviewRepository.findRecent(any())).thenReturn(List.of());
+
+        assertThat(service.backfill()).isEqualTo(5);
+
+        List<TrendingProductResponse> overall = service.trending(null, 10);
+        assertThat(ids(overall)).containsExactly(2L, 1L);
+        assertThat(overall.get(1).getLikes()).isEqualTo(3);
+        assertThat(overall.get(1).getScore()).isLessThan(0.5);
+    }
+
+    @Test
+    void deletedProductsAreRemoved() {
+        like(1L, 10L, 1);
+        like(2L, 10L, 2);
+
+        service.onProductChanged(new ProductChangedEvent(2L, true));
+        service.onProductChanged(new ProductChangedEvent(1L, false));
+
+        assertThat(ids(service.trending(null, 10))).containsExactly(1L);
+        assertThat(ids(service.trending(10L, 10))).containsExactly(1L);
+    }
+
+    private void like(Long productId, Long categoryId, int times) {
+        for (int i = 0; i < times; i++) {
+            service.onProductLiked(new ProductLikedEvent(productId, categoryId, 100L + i, true));
+        }
+    }
+
+    private static List<Long> ids(List<TrendingProductResponse> trending) {
+        return trending.stream().map(TrendingProductResponse::getProductId).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.RelatedProductResponse;
+import com.customworld.event.ProductChangedEvent;
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.repository.OrderItemRepository;
+import com.customworld.repository.ProductLikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RelatedProductServiceImplTest {
+
+    private final ProductLikeRepository likeRepository = mock(ProductLikeRepository.class);
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private final RelatedProductServiceImpl service = new RelatedProductServiceImpl(likeRepository, orderItemRepository,
+            mock(PlatformTransactionManager.class), 5, 3, 2, false);
+
+    @BeforeEach
+    void buildMatrix() {
+        when(likeRepository.findMaxId()).thenReturn(12L);
+        when(likeRepository.streamUserProductPairs(12L)).thenAnswer(invocation -> likes());
+        when(orderItemRepository.streamOrderProductPairs()).thenAnswer(invocation -> orders());
+        service.rebuild();
+    }
+
+    @Test
+    void ranksNeighboursByCosineOfLikesAndOrders() {
+        List<RelatedProductResponse> related = service.related(1L, 10);
+
+        assertThat(ids(related)).containsExactly(3L, 2L);
+        assertThat(related.get(0).getScore()).isCloseTo(3 / Math.sqrt(12), within(1e-6));
+        assertThat(ids(service.related(4L, 10))).containsExactly(2L);
+        assertThat(ids(service.related(1L, 1))).containsExactly(3L);
+        assertThat(service.related(5L, 10)).isEmpty();
+        assertThat(service.related(99L, 10)).isEmpty();
+    }
+
+    @Test
+    void newLikesUpdateOnlyTheAffectedRows() {
+        when(likeRepository.findProductIdsByUserId(5L)).thenReturn(List.of(4L, 3L));
+
+        service.onProductLiked(new ProductLikedEvent(3L, null, 5L, true));
+
+        assertThat(ids(service.related(4L, 10))).containsExactly(2L, 3L);
+        assertThat(ids(service.related(3L, 10))).containsExactly(1L, 4L, 2L);
+        assertThat(service.related(3L, 10).get(0).getScore()).isCloseTo(0.75, within(1e-6));
+    }
+
+    @Test
+    void unlikesAndOversizedBasketsAreIgnored() {
+        when(likeRepository.findProductIdsByUserId(7L)).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+
+        service.onProductLiked(new ProductLikedEvent(5L, null, 7L, true));
+        service.onProductLiked(new ProductLikedEvent(5L, null, 8L, false));
+
+        assertThat(service.related(5L, 10)).isEmpty();
+        verify(likeRepository, never()).findProductIdsByUserId(8L);
+    }
+
+    @Test
+    void deletedProductsLeaveTheirNeighboursLists() {
+        service.onProductChanged(new ProductChangedEvent(1L, true));
+        service.onProductChanged(new ProductChangedEvent(2L, false));
+
+        assertThat(service.related(1L, 10)).isEmpty();
+        assertThat(ids(service.related(3L, 10))).containsExactly(2L);
+        assertThat(ids(service.related(2L, 10))).containsExactly(4L, 3L);
+        verify(likeRepository, never()).findProductIdsByUserId(anyLong());
+    }
+
+    @Test
+    void onlyLikesNewerThanTheStreamAreReplayedOntoARebuild() {
+        when(likeRepository.findProductIdsByUserId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(likeRepository.findProductIdsByUserId(5L)).thenReturn(List.of(4L, 5L));
+        when(orderItemRepository.streamOrderProductPairs()).thenAnswer(invocation -> {
+            // Reçus pendant la lecture : le premier j'aime est déjà dans le flux, le second est plus récent
+            service.onProductLiked(new ProductLikedEvent(3L, null, 1L, true, 12L));
+            service.onProductLiked(new ProductLikedEvent(5L, null, 5L, true, 13L));
+            return orders();
+        });
+
+        service.rebuild();
+
+        assertThat(service.related(1L, 10).get(0).getScore()).isCloseTo(3 / Math.sqrt(12), within(1e-6));
+        assertThat(ids(service.related(5L, 10))).containsExactly(4L);
+    }
+
+    private static Stream<Object[]> likes() {
+        return Stream.of(
+                new Object[]{1L, 1L}, new Object[]{1L, 2L}, new Object[]{1L, 3L},
+                new Object[]{2L, 1L}, new Object[]{2L, 2L},
+                new Object[]{3L, 2L}, new Object[]{3L, 4L},
+                new Object[]{4L, 5L},
+                new Object[]{6L, 1L}, new Object[]{6L, 2L}, new Object[]{6L, 3L}, new Object[]{6L, 4L});
+    }
+
+    private static Stream<Object[]> orders() {
+        return Stream.of(new Object[]{10L, 1L}, new Object[]{10L, 3L}, new Object[]{10L, 3L});
+    }
+
+    private static List<Long> ids(List<RelatedProductResponse> related) {
+        return related.stream().map(RelatedProductResponse::getProductId).toList();
+    }
+}
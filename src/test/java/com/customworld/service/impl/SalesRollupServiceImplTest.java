@@ -0,0 +1,127 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.SalesBucketResponse;
+import com.customworld.entity.SalesRollup;
+import com.customworld.enums.SalesGranularity;
+import com.customworld.event.OrderPlacedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalesRollupServiceImplTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 3, 14, 12, 0);
+
+    private final SalesRollupRepository rollupRepository = mock(SalesRollupRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CustomOrderRepository orderRepository = mock(CustomOrderRepository.class);
+    private final SalesRollupServiceImpl service = new SalesRollupServiceImpl(rollupRepository,
+            orderRepository, jdbcTemplate, mock(PlatformTransactionManager.class), 90, 100, false);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accumulatesOrdersPerHourAndFlushesOneRowPerHour() {
+        service.onOrderPlaced(new OrderPlacedEvent(1L, NOON.plusMinutes(5), 1000, 2));
+        service.onOrderPlaced(new OrderPlacedEvent(2L, NOON.plusMinutes(55), 500, 1));
+        service.onOrderPlaced(new OrderPlacedEvent(3L, NOON.plusHours(1), 250, 3));
+
+        assertThat(service.flush()).isEqualTo(2);
+
+        var rows = forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        List<Map.Entry<LocalDateTime, SalesRollupServiceImpl.Delta>> written = rows.getValue();
+        assertThat(written).extracting(Map.Entry::getKey).containsExactly(NOON, NOON.plusHours(1));
+        assertThat(written.get(0).getValue()).isEqualTo(new SalesRollupServiceImpl.Delta(2, 3, 1500));
+        verify(rollupRepository).compactDays(NOON.toLocalDate().atStartOfDay(), NOON.toLocalDate().plusDays(1).atStartOfDay());
+        verify(rollupRepository).compactMonths(LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    void keepsPendingDeltasWhenTheFlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new IllegalStateException("connection reset"));
+        service.onOrderPlaced(new OrderPlacedEvent(1L, NOON, 1000, 2));
+
+        assertThat(service.flush()).isZero();
+        service.onOrderPlaced(new OrderPlacedEvent(2L, NOON, 500, 1));
+
+        assertThat(service.pendingOrders()).isEqualTo(2);
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onlyOrdersNewerThanTheRebuildAreReplayedOntoIt() {
+        LocalDate day = NOON.toLocalDate();
+        when(orderRepository.findMaxId()).thenReturn(7L);
+        when(rollupRepository.insertHoursFromOrders(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 7L)).thenAnswer(invocation -> {
+            // Relayées pendant le recalcul : la 7 est lue par l'INSERT, la 8 validée après, la 3 hors période
+            service.onOrderPlaced(new OrderPlacedEvent(7L, NOON, 1000, 2));
+            service.onOrderPlaced(new OrderPlacedEvent(8L, NOON, 500, 1));
+            service.onOrderPlaced(new OrderPlacedEvent(3L, NOON.plusDays(1), 250, 4));
+            return 1;
+        });
+
+        service.rebuild(day, day);
+
+        assertThat(service.pendingOrders()).isEqualTo(2);
+        var rows = forClass(List.class);
+        assertThat(service.flush()).isEqualTo(2);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        List<Map.Entry<LocalDateTime, SalesRollupServiceImpl.Delta>> written = rows.getValue();
+        assertThat(written).extracting(Map.Entry::getKey).containsExactly(NOON, NOON.plusDays(1));
+        assertThat(written.get(0).getValue()).isEqualTo(new SalesRollupServiceImpl.Delta(1, 1, 500));
+    }
+
+    @Test
+    void seriesFillsEmptyBucketsWithZero() {
+        LocalDate day = NOON.toLocalDate();
+        when(rollupRepository.findRange(SalesGranularity.DAY, day.atStartOfDay(), day.plusDays(3).atStartOfDay()))
+                .thenReturn(List.of(new SalesRollup(new SalesRollup.Key(SalesGranularity.DAY, day.plusDays(1).atStartOfDay()), 4, 6, 900)));
+
+        List<SalesBucketResponse> series = service.getSeries(SalesGranularity.DAY, day, day.plusDays(2));
+
+        assertThat(series).extracting(SalesBucketResponse::getOrderCount).containsExactly(0L, 4L, 0L);
+        assertThat(series.get(1).getAmount()).isEqualTo(900);
+    }
+
+    @Test
+    void rejectsSeriesWithTooManyPoints() {
+        LocalDate day = NOON.toLocalDate();
+
+        assertThatThrownBy(() -> service.getSeries(SalesGranularity.HOUR, day, day.plusDays(5)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(service.getSeries(SalesGranularity.MONTH, day, day.plusYears(2))).hasSize(25);
+    }
+
+    @Test
+    void granularityTruncatesToBucketStart() {
+        LocalDateTime time = LocalDateTime.of(2025, 3, 14, 12, 34, 56);
+
+        assertThat(SalesGranularity.HOUR.truncate(time)).isEqualTo(LocalDateTime.of(2025, 3, 14, 12, 0));
+        assertThat(SalesGranularity.DAY.truncate(time)).isEqualTo(LocalDateTime.of(2025, 3, 14, 0, 0));
+        assertThat(SalesGranularity.MONTH.truncate(time)).isEqualTo(LocalDateTime.of(2025, 3, 1, 0, 0));
+        assertThat(SalesGranularity.MONTH.next(LocalDateTime.of(2025, 1, 1, 0, 0))).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+}
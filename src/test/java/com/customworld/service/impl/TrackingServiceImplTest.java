@@ -0,0 +1,111 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.TrackingEvent;
+import com.customworld.enums.DeliveryStatus;
+import com.customworld.enums.OrderStatus;
+import com.customworld.event.DeliveryStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackingServiceImplTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final TrackingServiceImpl trackingService =
+            new TrackingServiceImpl(Duration.ofHours(1), 3, 2, Duration.ZERO);
+
+    @Test
+    void liveSubscribersReceiveOrderAndDeliveryEvents() {
+        List<ServerSentEvent<TrackingEvent>> received = new CopyOnWriteArrayList<>();
+        trackingService.orderEvents(7L, null).take(2).subscribe(received::add);
+
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, OrderStatus.IN_PROGRESS));
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(8L, OrderStatus.CANCELLED));
+        trackingService.onDeliveryStatusChanged(
+                new DeliveryStatusChangedEvent(3L, 7L, 11L, DeliveryStatus.IN_PROGRESS, null));
+
+        assertThat(received).extracting(ServerSentEvent::event)
+                .containsExactly(TrackingServiceImpl.ORDER_STATUS, TrackingServiceImpl.DELIVERY_STATUS);
+        assertThat(received).extracting(event -> event.data().getOrderId()).containsOnly(7L);
+        assertThat(Long.parseLong(received.get(1).id())).isGreaterThan(Long.parseLong(received.get(0).id()));
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        String firstId = firstEventId(7L);
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, OrderStatus.IN_PROGRESS));
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, OrderStatus.SHIPPED));
+
+        List<ServerSentEvent<TrackingEvent>> resumed =
+                trackingService.orderEvents(7L, firstId).take(2).collectList().block(TIMEOUT);
+
+        assertThat(resumed).extracting(event -> event.data().getStatus()).containsExactly("IN_PROGRESS", "SHIPPED");
+    }
+
+    @Test
+    void asksForResyncWhenMissedEventsLeftTheHistory() {
+        String firstId = firstEventId(7L);
+        for (int i = 0; i < 4; i++) {
+            trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, OrderStatus.IN_PROGRESS));
+        }
+
+        List<ServerSentEvent<TrackingEvent>> resumed =
+                trackingService.orderEvents(7L, firstId).take(4).collectList().block(TIMEOUT);
+
+        assertThat(resumed.get(0).event()).isEqualTo(TrackingServiceImpl.RESYNC);
+        assertThat(resumed.subList(1, 4)).extracting(ServerSentEvent::event).containsOnly(TrackingServiceImpl.ORDER_STATUS);
+    }
+
+    @Test
+    void slowSubscriberKeepsOnlyTheNewestEvents() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<ServerSentEvent<TrackingEvent>> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(ServerSentEvent<TrackingEvent> event) {
+                received.add(event.data().getStatus());
+            }
+        };
+        trackingService.allDeliveryEvents(null).subscribe(slow);
+
+        for (DeliveryStatus status : List.of(DeliveryStatus.ASSIGNED, DeliveryStatus.IN_PROGRESS, DeliveryStatus.DELIVERED)) {
+            trackingService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(3L, 7L, 11L, status, null));
+        }
+        slow.request(10);
+        slow.dispose();
+
+        assertThat(received).containsExactly("IN_PROGRESS", "DELIVERED");
+    }
+
+    @Test
+    void evictsIdleTopicsWithoutSubscribers() {
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, OrderStatus.CONFIRMED));
+        var subscription = trackingService.orderEvents(8L, null).subscribe();
+
+        trackingService.evictIdleTopics();
+
+        assertThat(trackingService.topicCount()).isEqualTo(1);
+        subscription.dispose();
+        trackingService.evictIdleTopics();
+        assertThat(trackingService.topicCount()).isZero();
+    }
+
+    private String firstEventId(Long orderId) {
+        List<ServerSentEvent<TrackingEvent>> first = new CopyOnWriteArrayList<>();
+        trackingService.orderEvents(orderId, null).take(1).subscribe(first::add);
+        trackingService.onOrderStatusChanged(new OrderStatusChangedEvent(orderId, OrderStatus.CONFIRMED));
+        return first.get(0).id();
+    }
+}
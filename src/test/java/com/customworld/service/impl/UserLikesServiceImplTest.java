@@ -0,0 +1,72 @@
+package com.customworld.service.impl;
+
+import com.customworld.event.ProductLikedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.ProductLikeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLikesServiceImplTest {
+
+    private final ProductLikeRepository likeRepository = mock(ProductLikeRepository.class);
+    private final UserLikesServiceImpl service = new UserLikesServiceImpl(likeRepository, 1000, Duration.ofMinutes(30), 50);
+
+    @Test
+    void answersAWholeGridWithOneLoad() {
+        when(likeRepository.findProductIdsByUserId(7L)).thenReturn(List.of(42L, 3L, 17L));
+        List<Long> grid = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        var flags = service.likedFlags(7L, grid);
+
+        assertThat(flags).hasSize(50).containsKeys(1L, 50L);
+        assertThat(flags.entrySet()).filteredOn(entry -> entry.getValue()).extracting(entry -> entry.getKey())
+                .containsExactly(3L, 17L, 42L);
+        assertThat(service.hasLiked(7L, 42L)).isTrue();
+        assertThat(service.hasLiked(7L, 4L)).isFalse();
+        verify(likeRepository, times(1)).findProductIdsByUserId(7L);
+    }
+
+    @Test
+    void committedLikesUpdateTheCachedSet() {
+        when(likeRepository.findProductIdsByUserId(7L)).thenReturn(List.of(3L, 17L));
+        assertThat(service.hasLiked(7L, 10L)).isFalse();
+
+        service.onProductLiked(new ProductLikedEvent(10L, null, 7L, true));
+        service.onProductLiked(new ProductLikedEvent(3L, null, 7L, false));
+        service.onProductLiked(new ProductLikedEvent(5L, null, 8L, true));
+
+        assertThat(service.hasLiked(7L, 10L)).isTrue();
+        assertThat(service.hasLiked(7L, 3L)).isFalse();
+        assertThat(service.hasLiked(7L, 17L)).isTrue();
+        verify(likeRepository, times(1)).findProductIdsByUserId(7L);
+    }
+
+    @Test
+    void rejectsOversizedRequests() {
+        List<Long> tooMany = LongStream.rangeClosed(1, 51).boxed().toList();
+
+        assertThatThrownBy(() -> service.likedFlags(7L, tooMany)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void sortedCopiesKeepOrderAndIgnoreDuplicates() {
+        long[] liked = {2, 5, 9};
+
+        assertThat(UserLikesServiceImpl.with(liked, 6)).containsExactly(2, 5, 6, 9);
+        assertThat(UserLikesServiceImpl.with(liked, 1)).containsExactly(1, 2, 5, 9);
+        assertThat(UserLikesServiceImpl.with(liked, 5)).isSameAs(liked);
+        assertThat(UserLikesServiceImpl.without(liked, 9)).containsExactly(2, 5);
+        assertThat(UserLikesServiceImpl.without(liked, 4)).isSameAs(liked);
+        assertThat(liked).containsExactly(2, 5, 9);
+    }
+}
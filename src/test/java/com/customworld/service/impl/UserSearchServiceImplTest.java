@@ -0,0 +1,63 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.UserMatchResponse;
+import com.customworld.enums.UserRole;
+import com.customworld.event.UserRegisteredEvent;
+import com.customworld.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSearchServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSearchServiceImpl service = new UserSearchServiceImpl(userRepository, Duration.ofMinutes(5));
+
+    @BeforeEach
+    void users() {
+        when(userRepository.findSearchFields()).thenReturn(List.of(
+                new Object[]{1L, "Jean-Baptiste Mbarga", "jb.mbarga@gmail.com", UserRole.VENDOR},
+                new Object[]{2L, "Aïcha Ngono", "aicha.ngono@yahoo.fr", UserRole.CUSTOMER},
+                new Object[]{3L, "Paul Mbarga", "paul@customworld.cm", UserRole.DELIVERY}));
+    }
+
+    @Test
+    void findsUsersDespiteTyposInNameOrEmail() {
+        assertThat(ids(service.search("mbraga", 10))).containsExactly(1L, 3L);
+        assertThat(ids(service.search("aicha", 10))).containsExactly(2L);
+        assertThat(ids(service.search("ngonno yahoo", 10))).containsExactly(2L);
+        assertThat(service.search("zzzz", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksUsersMatchingMoreWordsFirst() {
+        List<UserMatchResponse> matches = service.search("paul mbarga", 10);
+
+        assertThat(ids(matches)).containsExactly(3L, 1L);
+        assertThat(matches.get(0).getScore()).isGreaterThan(matches.get(1).getScore());
+        assertThat(matches.get(0).getRole()).isEqualTo(UserRole.DELIVERY);
+    }
+
+    @Test
+    void rebuildsOnlyAfterARegistration() {
+        service.search("paul", 10);
+        service.search("jean", 10);
+        verify(userRepository, times(1)).findSearchFields();
+
+        service.onUserRegistered(new UserRegisteredEvent(4L, UserRole.CUSTOMER));
+        service.search("paul", 10);
+        verify(userRepository, times(2)).findSearchFields();
+    }
+
+    private static List<Long> ids(List<UserMatchResponse> matches) {
+        return matches.stream().map(UserMatchResponse::getId).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.customworld.service.impl;
+
+import com.customworld.enums.OrderStatus;
+import com.customworld.event.DirectOrderStatusChangedEvent;
+import com.customworld.event.OrderStatusChangedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.exception.BadRequestException;
+import com.customworld.repository.CustomOrderRepository;
+import com.customworld.repository.OrderRepository;
+import com.customworld.repository.VendorDailyOrderStatusRepository;
+import com.customworld.repository.VendorDailySalesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorSalesRollupServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    private final VendorDailySalesRepository salesRepository = mock(VendorDailySalesRepository.class);
+    private final VendorDailyOrderStatusRepository statusRepository = mock(VendorDailyOrderStatusRepository.class);
+    private final VendorSalesRollupServiceImpl service = new VendorSalesRollupServiceImpl(salesRepository, statusRepository,
+            mock(CustomOrderRepository.class), mock(OrderRepository.class), mock(PlatformTransactionManager.class), false,
+            ZoneId.of("Africa/Douala"));
+
+    @Test
+    void coalescesChangesIntoOneRebuildPerVendorDay() {
+        when(salesRepository.findCustomOrderKeys(List.of(1L))).thenReturn(List.<Object[]>of(
+                new Object[]{10L, Date.valueOf(DAY)}, new Object[]{11L, Date.valueOf(DAY)}));
+        when(salesRepository.findPaymentOrderKeys(List.of(7L, 8L), "Africa/Douala")).thenReturn(List.<Object[]>of(
+                new Object[]{10L, Date.valueOf(DAY)}));
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING));
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PAID));
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(7L, OrderStatus.PAID));
+        service.onDirectOrderStatusChanged(new DirectOrderStatusChangedEvent(8L, OrderStatus.SHIPPED));
+
+        assertThat(service.flush()).isEqualTo(2);
+        verify(salesRepository).deleteVendorDay(10L, DAY);
+        verify(salesRepository).deleteVendorDay(11L, DAY);
+        verify(salesRepository, times(1)).insertVendorDay(eq(10L), eq(DAY), any(), any(), any(), any(), anyCollection());
+        verify(statusRepository, times(1)).insertVendorDay(eq(11L), eq(DAY), any(), any(), any(), any());
+
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    void retriesAFailedVendorDayOnTheNextFlush() {
+        when(salesRepository.findCustomOrderKeys(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{10L, Date.valueOf(DAY)}));
+        when(salesRepository.deleteVendorDay(10L, DAY)).thenThrow(new IllegalStateException("connection reset")).thenReturn(1);
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PAID));
+
+        assertThat(service.flush()).isZero();
+        assertThat(service.flush()).isEqualTo(1);
+        verify(salesRepository, times(1)).findCustomOrderKeys(anyCollection());
+        verify(statusRepository, times(1)).insertVendorDay(eq(10L), eq(DAY), any(), any(), any(), any());
+    }
+
+    @Test
+    void rebuildAlsoClearsVendorDaysWhoseOrdersAreGone() {
+        when(salesRepository.findOrderKeysBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, Date.valueOf(DAY)}));
+        when(statusRepository.findKeysBetween(DAY.minusDays(1), DAY))
+                .thenReturn(List.<Object[]>of(new Object[]{12L, DAY.minusDays(1)}, new Object[]{10L, DAY}));
+
+        assertThat(service.rebuild(DAY.minusDays(1), DAY)).isEqualTo(2);
+        verify(statusRepository).deleteVendorDay(12L, DAY.minusDays(1));
+        verify(salesRepository).insertVendorDay(eq(10L), eq(DAY), any(), any(), any(), any(), anyCollection());
+    }
+
+    @Test
+    void rejectsAnInvertedRange() {
+        assertThatThrownBy(() -> service.rebuild(DAY, DAY.minusDays(1))).isInstanceOf(BadRequestException.class);
+        verify(salesRepository, never()).findOrderKeysBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void paymentOrderDaysAreCutInTheConfiguredZone() {
+        when(salesRepository.findPaymentOrderKeys(List.of(7L), "Africa/Douala"))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, Date.valueOf(DAY)}));
+
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(7L, OrderStatus.PAID));
+        service.flush();
+
+        Instant midnight = DAY.atStartOfDay(ZoneId.of("Africa/Douala")).toInstant();
+        verify(salesRepository).insertVendorDay(10L, DAY, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(),
+                midnight, midnight.plus(Duration.ofDays(1)), VendorSalesRollupServiceImpl.SOLD.stream().map(Enum::name).toList());
+    }
+}
@@ -0,0 +1,129 @@
+package com.customworld.service.impl;
+
+import com.customworld.dto.response.OrderResponse;
+import com.customworld.entity.Order;
+import com.customworld.entity.Product;
+import com.customworld.entity.User;
+import com.customworld.enums.OrderStatus;
+import com.customworld.enums.UserRole;
+import com.customworld.event.DirectOrderStatusChangedEvent;
+import com.customworld.event.PaymentStatusChangedEvent;
+import com.customworld.exception.ResourceNotFoundException;
+import com.customworld.repository.CategoryRepository;
+import com.customworld.repository.OrderRepository;
+import com.customworld.repository.ProductLikeRepository;
+import com.customworld.repository.ProductRepository;
+import com.customworld.repository.ProductReviewRepository;
+import com.customworld.repository.UserRepository;
+import com.customworld.repository.VendorDailyOrderStatusRepository;
+import com.customworld.repository.VendorDailySalesRepository;
+import com.customworld.service.FileStorageService;
+import com.customworld.service.ProductCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorServiceImplOrderStatusTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final VendorServiceImpl vendorService = new VendorServiceImpl(
+            mock(ProductRepository.class),
+            userRepository,
+            mock(CategoryRepository.class),
+            orderRepository,
+            mock(FileStorageService.class),
+            mock(ProductLikeRepository.class),
+            mock(ProductReviewRepository.class),
+            mock(VendorDailySalesRepository.class),
+            mock(VendorDailyOrderStatusRepository.class),
+            eventPublisher,
+            mock(ProductCounterService.class)
+    );
+
+    private final User vendor = User.builder().id(10L).email("vendor@example.com").role(UserRole.VENDOR).build();
+    private final Order order = Order.builder()
+            .id(5L)
+            .customer(User.builder().id(7L).build())
+            .product(Product.builder().id(1L).vendor(vendor).build())
+            .status(OrderStatus.PENDING)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("vendor@example.com", "password", Collections.emptyList())
+        );
+        when(userRepository.findByEmail("vendor@example.com")).thenReturn(Optional.of(vendor));
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void successfulTransitionAnswersWithoutRereadingTheOrder() {
+        when(orderRepository.updateStatus(eq(5L), eq(OrderStatus.sourcesOf(OrderStatus.PAID)), eq(OrderStatus.PAID),
+                any(Instant.class))).thenReturn(1);
+
+        OrderResponse response = vendorService.updateOrderStatus(5L, OrderStatus.PAID);
+
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(response.getCustomerId()).isEqualTo(7L);
+        verify(orderRepository, times(1)).findById(5L);
+        verify(eventPublisher).publishEvent(any(PaymentStatusChangedEvent.class));
+    }
+
+    @Test
+    void nonPaymentStatusesAreNotAnnouncedAsPayments() {
+        order.setStatus(OrderStatus.PAID);
+        when(orderRepository.updateStatus(eq(5L), eq(OrderStatus.sourcesOf(OrderStatus.SHIPPED)), eq(OrderStatus.SHIPPED),
+                any(Instant.class))).thenReturn(1);
+
+        vendorService.updateOrderStatus(5L, OrderStatus.SHIPPED);
+
+        verify(eventPublisher).publishEvent(any(DirectOrderStatusChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(PaymentStatusChangedEvent.class));
+    }
+
+    @Test
+    void rejectedTransitionReportsTheCurrentStatusAndPublishesNothing() {
+        order.setStatus(OrderStatus.SHIPPED);
+
+        assertThatThrownBy(() -> vendorService.updateOrderStatus(5L, OrderStatus.PENDING))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SHIPPED -> PENDING");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void anotherVendorsOrderIsNotUpdated() {
+        order.setProduct(Product.builder().id(1L).vendor(User.builder().id(11L).build()).build());
+
+        assertThatThrownBy(() -> vendorService.updateOrderStatus(5L, OrderStatus.PAID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(orderRepository, never()).updateStatus(anyLong(), any(), any(), any());
+    }
+}
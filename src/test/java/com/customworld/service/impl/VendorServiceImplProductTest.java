@@ -13,10 +13,14 @@ import com.customworld.repository.ProductLikeRepository;
 import com.customworld.repository.ProductRepository;
 import com.customworld.repository.ProductReviewRepository;
 import com.customworld.repository.UserRepository;
+import com.customworld.repository.VendorDailyOrderStatusRepository;
+import com.customworld.repository.VendorDailySalesRepository;
 import com.customworld.service.FileStorageService;
+import com.customworld.service.ProductCounterService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -48,7 +52,11 @@ class VendorServiceImplProductTest {
             orderRepository,
             fileStorageService,
             likeRepository,
-            reviewRepository
+            reviewRepository,
+            mock(VendorDailySalesRepository.class),
+            mock(VendorDailyOrderStatusRepository.class),
+            mock(ApplicationEventPublisher.class),
+            mock(ProductCounterService.class)
     );
 
     @BeforeEach
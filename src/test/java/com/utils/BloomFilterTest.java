@@ -0,0 +1,39 @@
+package com.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnInsertedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(i + "_design.png"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain(i + "_design.png"))).isTrue();
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(i + "_design.png"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("absent_" + i + ".png"))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.sizeInBytes()).isLessThan(16 * 1024);
+        assertThat(filter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsImpossibleRates() {
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}